@@ -46,7 +46,7 @@ namespace rb CassandraThrift
 #           for every edit that doesn't result in a change to major/minor.
 #
 # See the Semantic Versioning Specification (SemVer) http://semver.org.
-const string VERSION = "2.2.0"
+const string VERSION = "2.3.0"
 
 #
 # data structures
@@ -303,6 +303,19 @@ service Cassandra {
                           4:required ConsistencyLevel consistency_level=ONE)
                       throws (1:InvalidRequestException ire, 2:NotFoundException nfe, 3:UnavailableException ue, 4:TimedOutException te),
 
+  /**
+    Get length bytes of the blob held by the Column at the given column_path, starting at offset. Only the pieces
+    of a torrent-backed value that cover the range are fetched. Fewer bytes are returned if the range extends
+    past the end of the blob. If no value is present, NotFoundException is thrown.
+   */
+  binary get_blob_range(1:required string keyspace,
+                        2:required string key,
+                        3:required ColumnPath column_path,
+                        4:required i64 offset,
+                        5:required i32 length,
+                        6:required ConsistencyLevel consistency_level=ONE)
+         throws (1:InvalidRequestException ire, 2:NotFoundException nfe, 3:UnavailableException ue, 4:TimedOutException te),
+
   /**
     Get the group of columns contained by column_parent (either a ColumnFamily name or a ColumnFamily/SuperColumn name
     pair) specified by the given SlicePredicate. If no matching values are found, an empty list is returned.
@@ -28,11 +28,10 @@ package org.apache.cassandra.thrift;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.security.NoSuchAlgorithmException;
 import java.util.Formatter;
 import java.util.List;
@@ -45,6 +44,12 @@ import java.util.HashSet;
 import java.util.EnumSet;
 import java.util.Collections;
 import java.util.BitSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.Semaphore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,7 +60,11 @@ import org.apache.thrift.protocol.*;
 
 import com.google.common.io.Files;
 
+import edu.berkeley.poseidon.torrent.Torrent;
+import edu.berkeley.poseidon.torrent.TorrentException;
+import edu.berkeley.poseidon.torrent.TorrentWriter;
 import edu.berkeley.poseidon.torrent.Torrentizer;
+import edu.berkeley.poseidon.util.DaemonThreadFactory;
 
 public class Cassandra {
 
@@ -74,6 +83,20 @@ public class Cassandra {
 		 */
 		public ColumnOrSuperColumn get(String keyspace, String key, ColumnPath column_path, ConsistencyLevel consistency_level) throws InvalidRequestException, NotFoundException, UnavailableException, TimedOutException, TException;
 
+		/**
+		 * Get length bytes of the blob held by the Column at the given column_path, starting at offset. Only the pieces
+		 * of a torrent-backed value that cover the range are fetched. Fewer bytes are returned if the range extends
+		 * past the end of the blob. If no value is present, NotFoundException is thrown.
+		 * 
+		 * @param keyspace
+		 * @param key
+		 * @param column_path
+		 * @param offset
+		 * @param length
+		 * @param consistency_level
+		 */
+		public byte[] get_blob_range(String keyspace, String key, ColumnPath column_path, long offset, int length, ConsistencyLevel consistency_level) throws InvalidRequestException, NotFoundException, UnavailableException, TimedOutException, TException;
+
 		/**
 		 * Get the group of columns contained by column_parent (either a ColumnFamily name or a ColumnFamily/SuperColumn name
 		 * pair) specified by the given SlicePredicate. If no matching values are found, an empty list is returned.
@@ -281,6 +304,10 @@ public class Cassandra {
 		}
 
 		private final ClientTorrentizer clientTorrentizer;
+		/** True while an _async read is receiving its result, whose torrent columns it fetches itself. */
+		private boolean deferFetches;
+		/** The TorrentThreshold of each column family, by keyspace. */
+		private final Map<String, Map<String, Integer>> torrentThresholds = new HashMap<String, Map<String, Integer>>();
 		protected TProtocol iprot_;
 		protected TProtocol oprot_;
 
@@ -382,12 +409,78 @@ public class Cassandra {
 			throw new TApplicationException(TApplicationException.MISSING_RESULT, "get failed: unknown result");
 		}
 
+		public byte[] get_blob_range(String keyspace, String key, ColumnPath column_path, long offset, int length, ConsistencyLevel consistency_level) throws InvalidRequestException, NotFoundException, UnavailableException, TimedOutException, TException
+		{
+			send_get_blob_range(keyspace, key, column_path, offset, length, consistency_level);
+			return recv_get_blob_range();
+		}
+
+		public void send_get_blob_range(String keyspace, String key, ColumnPath column_path, long offset, int length, ConsistencyLevel consistency_level) throws TException
+		{
+			oprot_.writeMessageBegin(new TMessage("get_blob_range", TMessageType.CALL, seqid_));
+			get_blob_range_args args = new get_blob_range_args();
+			args.keyspace = keyspace;
+			args.key = key;
+			args.column_path = column_path;
+			args.offset = offset;
+			args.length = length;
+			args.consistency_level = consistency_level;
+			args.write(oprot_);
+			oprot_.writeMessageEnd();
+			oprot_.getTransport().flush();
+		}
+
+		public byte[] recv_get_blob_range() throws InvalidRequestException, NotFoundException, UnavailableException, TimedOutException, TException
+		{
+			TMessage msg = iprot_.readMessageBegin();
+			if (msg.type == TMessageType.EXCEPTION) {
+				TApplicationException x = TApplicationException.read(iprot_);
+				iprot_.readMessageEnd();
+				throw x;
+			}
+			get_blob_range_result result = new get_blob_range_result();
+			result.read(iprot_);
+			iprot_.readMessageEnd();
+			if (result.isSetSuccess()) {
+				return result.success;
+			}
+			if (result.ire != null) {
+				throw result.ire;
+			}
+			if (result.nfe != null) {
+				throw result.nfe;
+			}
+			if (result.ue != null) {
+				throw result.ue;
+			}
+			if (result.te != null) {
+				throw result.te;
+			}
+			throw new TApplicationException(TApplicationException.MISSING_RESULT, "get_blob_range failed: unknown result");
+		}
+
 		public List<ColumnOrSuperColumn> get_slice(String keyspace, String key, ColumnParent column_parent, SlicePredicate predicate, ConsistencyLevel consistency_level) throws InvalidRequestException, UnavailableException, TimedOutException, TException
 		{
 			send_get_slice(keyspace, key, column_parent, predicate, consistency_level);
 			return recv_get_slice();
 		}
 
+		/**
+		 * Like get_slice, but returns as soon as the columns are read. The torrent columns of the result are
+		 * fetched in the background, and each names its file once its future is done.
+		 */
+		public PendingResult<List<ColumnOrSuperColumn>> get_slice_async(String keyspace, String key, ColumnParent column_parent, SlicePredicate predicate, ConsistencyLevel consistency_level) throws InvalidRequestException, UnavailableException, TimedOutException, TException
+		{
+			send_get_slice(keyspace, key, column_parent, predicate, consistency_level);
+			deferFetches = true;
+			try {
+				List<ColumnOrSuperColumn> result = recv_get_slice();
+				return new PendingResult<List<ColumnOrSuperColumn>>(result, clientTorrentizer.deTorrentizeAsync(result.iterator()));
+			} finally {
+				deferFetches = false;
+			}
+		}
+
 		public void send_get_slice(String keyspace, String key, ColumnParent column_parent, SlicePredicate predicate, ConsistencyLevel consistency_level) throws TException
 		{
 			oprot_.writeMessageBegin(new TMessage("get_slice", TMessageType.CALL, seqid_));
@@ -414,7 +507,8 @@ public class Cassandra {
 			result.read(iprot_);
 			iprot_.readMessageEnd();
 			if (result.isSetSuccess()) {
-				clientTorrentizer.deTorrentize(result.success.iterator());
+				if (!deferFetches)
+					clientTorrentizer.deTorrentize(result.success.iterator());
 				return result.success;
 			}
 			if (result.ire != null) {
@@ -481,6 +575,19 @@ public class Cassandra {
 			return recv_multiget_slice();
 		}
 
+		/** Like multiget_slice, but fetches the torrent columns of the result in the background as get_slice_async does. */
+		public PendingResult<Map<String,List<ColumnOrSuperColumn>>> multiget_slice_async(String keyspace, List<String> keys, ColumnParent column_parent, SlicePredicate predicate, ConsistencyLevel consistency_level) throws InvalidRequestException, UnavailableException, TimedOutException, TException
+		{
+			send_multiget_slice(keyspace, keys, column_parent, predicate, consistency_level);
+			deferFetches = true;
+			try {
+				Map<String,List<ColumnOrSuperColumn>> result = recv_multiget_slice();
+				return new PendingResult<Map<String,List<ColumnOrSuperColumn>>>(result, clientTorrentizer.deTorrentizeAsync(result));
+			} finally {
+				deferFetches = false;
+			}
+		}
+
 		public void send_multiget_slice(String keyspace, List<String> keys, ColumnParent column_parent, SlicePredicate predicate, ConsistencyLevel consistency_level) throws TException
 		{
 			oprot_.writeMessageBegin(new TMessage("multiget_slice", TMessageType.CALL, seqid_));
@@ -507,7 +614,8 @@ public class Cassandra {
 			result.read(iprot_);
 			iprot_.readMessageEnd();
 			if (result.isSetSuccess()) {
-				clientTorrentizer.deTorrentize(result.success);
+				if (!deferFetches)
+					clientTorrentizer.deTorrentize(result.success);
 				return result.success;
 			}
 			if (result.ire != null) {
@@ -622,6 +730,19 @@ public class Cassandra {
 			return recv_get_range_slices();
 		}
 
+		/** Like get_range_slices, but fetches the torrent columns of the result in the background as get_slice_async does. */
+		public PendingResult<List<KeySlice>> get_range_slices_async(String keyspace, ColumnParent column_parent, SlicePredicate predicate, KeyRange range, ConsistencyLevel consistency_level) throws InvalidRequestException, UnavailableException, TimedOutException, TException
+		{
+			send_get_range_slices(keyspace, column_parent, predicate, range, consistency_level);
+			deferFetches = true;
+			try {
+				List<KeySlice> result = recv_get_range_slices();
+				return new PendingResult<List<KeySlice>>(result, clientTorrentizer.deTorrentizeAsync(result));
+			} finally {
+				deferFetches = false;
+			}
+		}
+
 		public void send_get_range_slices(String keyspace, ColumnParent column_parent, SlicePredicate predicate, KeyRange range, ConsistencyLevel consistency_level) throws TException
 		{
 			oprot_.writeMessageBegin(new TMessage("get_range_slices", TMessageType.CALL, seqid_));
@@ -648,7 +769,8 @@ public class Cassandra {
 			result.read(iprot_);
 			iprot_.readMessageEnd();
 			if (result.isSetSuccess()) {
-				clientTorrentizer.deTorrentize(result.success);
+				if (!deferFetches)
+					clientTorrentizer.deTorrentize(result.success);
 				return result.success;
 			}
 			if (result.ire != null) {
@@ -726,13 +848,15 @@ public class Cassandra {
 
 		public void send_batch_insert(String keyspace, String key, Map<String,List<ColumnOrSuperColumn>> cfmap, ConsistencyLevel consistency_level) throws TException
 		{
+			// The thresholds are looked up before this call's message begins.
+			Map<String, Integer> thresholds = getTorrentThresholds(keyspace);
 			oprot_.writeMessageBegin(new TMessage("batch_insert", TMessageType.CALL, seqid_));
 			batch_insert_args args = new batch_insert_args();
 			args.keyspace = keyspace;
 			args.key = key;
 			args.cfmap = cfmap;
 			args.consistency_level = consistency_level;
-			clientTorrentizer.torrentize(args);
+			clientTorrentizer.torrentize(args, thresholds);
 			args.write(oprot_);
 			oprot_.writeMessageEnd();
 			oprot_.getTransport().flush();
@@ -1146,101 +1270,206 @@ public class Cassandra {
 			throw new TApplicationException(TApplicationException.MISSING_RESULT, "describe_splits failed: unknown result");
 		}
 
+		/** Returns the TorrentThreshold of each column family in keyspace, which is described once. */
+		private Map<String, Integer> getTorrentThresholds(String keyspace) throws TException
+		{
+			Map<String, Integer> thresholds = torrentThresholds.get(keyspace);
+			if (thresholds == null) {
+				thresholds = new HashMap<String, Integer>();
+				try {
+					for (Map.Entry<String, Map<String, String>> cf : describe_keyspace(keyspace).entrySet()) {
+						String threshold = cf.getValue().get("TorrentThreshold");
+						if (threshold != null)
+							thresholds.put(cf.getKey(), Integer.valueOf(threshold));
+					}
+				} catch (NotFoundException e) {
+					// The server rejects the mutation itself.
+				}
+				torrentThresholds.put(keyspace, thresholds);
+			}
+			return thresholds;
+		}
+
+		/** The result of an _async read, whose torrent columns may still be being fetched. */
+		public static class PendingResult<T> {
+
+			public final T result;
+			/**
+			 * A future for each torrent column of the result, in the order they appear in it. Each returns its
+			 * column once the column's value is the path name of its file.
+			 */
+			public final List<Future<Column>> columns;
+
+			public PendingResult(T result, List<Future<Column>> columns) {
+				this.result = result;
+				this.columns = columns;
+			}
+
+			/** Waits until every torrent column of the result has been fetched and returns the result. */
+			public T get() throws InterruptedException, ExecutionException {
+				for (Future<Column> column : columns)
+					column.get();
+				return result;
+			}
+		}
+
 		public static class ClientTorrentizer {
 
+			/** The number of torrent columns that all clients in this process fetch at once. */
+			private static final int FETCH_THREADS = Integer.getInteger("poseidon.client.fetchThreads", 16);
+			private static final ExecutorService fetchExecutor =
+				Executors.newFixedThreadPool(FETCH_THREADS, new DaemonThreadFactory("TorrentFetchFile"));
+
 			public void deTorrentize(ColumnOrSuperColumn readVal) {
-				Counter counter = new Counter();
-				deTorrentize(counter, readVal);
-				counter.numCompleted.acquireUninterruptibly(counter.numRequests);
+				await(deTorrentizeAsync(readVal));
 			}
 
 			public void deTorrentize(Column readVal) {
-				Counter counter = new Counter();
-				deTorrentize(counter, readVal);
-				counter.numCompleted.acquireUninterruptibly(counter.numRequests);
+				await(deTorrentizeAsync(readVal));
 			}
 
 			public void deTorrentize(SuperColumn readVal) {
-				Counter counter = new Counter();
-				deTorrentize(counter, readVal);
-				counter.numCompleted.acquireUninterruptibly(counter.numRequests);
+				await(deTorrentizeAsync(readVal));
 			}
 
 			public void deTorrentize(java.util.Iterator<ColumnOrSuperColumn> readVal) {
-				Counter counter = new Counter();
-				deTorrentize(counter, readVal);
-				counter.numCompleted.acquireUninterruptibly(counter.numRequests);
+				await(deTorrentizeAsync(readVal));
 			}
 
 			public void deTorrentize(Map<String,List<ColumnOrSuperColumn>> readVal) {
-				Counter counter = new Counter();
-				deTorrentize(counter, readVal);
-				counter.numCompleted.acquireUninterruptibly(counter.numRequests);
+				await(deTorrentizeAsync(readVal));
 			}
 
 			public void deTorrentize(List<KeySlice> readVal) {
-				Counter counter = new Counter();
-				deTorrentize(counter, readVal);
-				counter.numCompleted.acquireUninterruptibly(counter.numRequests);
+				await(deTorrentizeAsync(readVal));
 			}
 
-			private void deTorrentize(Counter counter, Column readVal) {
-				if (Torrentizer.isTorrent(readVal)) {
-					counter.numRequests++;
-					(new Thread (new TorrentFetchFile(counter.numCompleted, readVal), "TorrentFetchFile")).start();
+			/**
+			 * Starts fetching the torrent columns of readVal and returns a future for each of them. Inline
+			 * columns are written out before this returns, so their futures are already done.
+			 */
+			public List<Future<Column>> deTorrentizeAsync(ColumnOrSuperColumn readVal) {
+				List<Future<Column>> fetches = new ArrayList<Future<Column>>();
+				deTorrentize(fetches, readVal);
+				return fetches;
+			}
+
+			public List<Future<Column>> deTorrentizeAsync(Column readVal) {
+				List<Future<Column>> fetches = new ArrayList<Future<Column>>();
+				deTorrentize(fetches, readVal);
+				return fetches;
+			}
+
+			public List<Future<Column>> deTorrentizeAsync(SuperColumn readVal) {
+				List<Future<Column>> fetches = new ArrayList<Future<Column>>();
+				deTorrentize(fetches, readVal);
+				return fetches;
+			}
+
+			public List<Future<Column>> deTorrentizeAsync(java.util.Iterator<ColumnOrSuperColumn> readVal) {
+				List<Future<Column>> fetches = new ArrayList<Future<Column>>();
+				deTorrentize(fetches, readVal);
+				return fetches;
+			}
+
+			public List<Future<Column>> deTorrentizeAsync(Map<String,List<ColumnOrSuperColumn>> readVal) {
+				List<Future<Column>> fetches = new ArrayList<Future<Column>>();
+				deTorrentize(fetches, readVal);
+				return fetches;
+			}
+
+			public List<Future<Column>> deTorrentizeAsync(List<KeySlice> readVal) {
+				List<Future<Column>> fetches = new ArrayList<Future<Column>>();
+				deTorrentize(fetches, readVal);
+				return fetches;
+			}
+
+			/** Waits for every fetch, even if interrupted, and rethrows the first failure. */
+			private static void await(List<Future<Column>> fetches) {
+				boolean interrupted = false;
+				RuntimeException failure = null;
+				for (Future<Column> fetch : fetches) {
+					while (true) {
+						try {
+							fetch.get();
+							break;
+						} catch (InterruptedException e) {
+							interrupted = true;
+						} catch (ExecutionException e) {
+							if (failure == null)
+								failure = new RuntimeException("Couldn't fetch a torrent column", e.getCause());
+							break;
+						}
+					}
 				}
+				if (interrupted)
+					Thread.currentThread().interrupt();
+				if (failure != null)
+					throw failure;
 			}
 
-			private class TorrentFetchFile implements Runnable{
+			private void deTorrentize(List<Future<Column>> fetches, Column readVal) {
+				if (Torrentizer.isTorrent(readVal) && Torrentizer.isInline(readVal.value)) {
+					// Small values are returned in the column, so they are only written out.
+					readVal.value = extractInlineFile(readVal).getAbsolutePath().getBytes();
+					fetches.add(completed(readVal));
+				} else if (Torrentizer.isTorrent(readVal)) {
+					fetches.add(fetchExecutor.submit(new TorrentFetchFile(readVal)));
+				}
+			}
+
+			/** Returns a future that is already done with col. */
+			private static Future<Column> completed(final Column col) {
+				FutureTask<Column> done = new FutureTask<Column>(new Callable<Column>() {
+					public Column call() {
+						return col;
+					}
+				});
+				done.run();
+				return done;
+			}
+
+			private class TorrentFetchFile implements Callable<Column> {
 
-				private final Semaphore numCompleted;
 				private final Column readVal;
 
-				public TorrentFetchFile (Semaphore numCompleted, Column readVal) {
-					this.numCompleted = numCompleted;
+				public TorrentFetchFile (Column readVal) {
 					this.readVal = readVal;
 				}
-				
-				private void execute() {
+
+				public Column call() {
 					File file = torrentizer.fetchFile(readVal);
 					readVal.value = file.getAbsolutePath().getBytes();
-				}
-
-				public void run() {
-					try {
-						execute();
-					} finally {
-						numCompleted.release();
-					}
+					return readVal;
 				}
 
 			}
 
-			private  void deTorrentize(Counter counter, SuperColumn readVal) {
+			private  void deTorrentize(List<Future<Column>> fetches, SuperColumn readVal) {
 				for (Column col : readVal.columns)
-					deTorrentize(counter, col);
+					deTorrentize(fetches, col);
 			}
 
-			private  void deTorrentize(Counter counter, ColumnOrSuperColumn readVal) {
+			private  void deTorrentize(List<Future<Column>> fetches, ColumnOrSuperColumn readVal) {
 				if (readVal.isSetSuper_column())
-					deTorrentize(counter, readVal.super_column);
+					deTorrentize(fetches, readVal.super_column);
 				else
-					deTorrentize(counter, readVal.column);
+					deTorrentize(fetches, readVal.column);
 			}
 
-			private  void deTorrentize(Counter counter, java.util.Iterator<ColumnOrSuperColumn> readVal) {
+			private  void deTorrentize(List<Future<Column>> fetches, java.util.Iterator<ColumnOrSuperColumn> readVal) {
 				while (readVal.hasNext()) 
-					deTorrentize(counter, readVal.next());
+					deTorrentize(fetches, readVal.next());
 			}
 
-			private  void deTorrentize(Counter counter, Map<String,List<ColumnOrSuperColumn>> readVal) {
+			private  void deTorrentize(List<Future<Column>> fetches, Map<String,List<ColumnOrSuperColumn>> readVal) {
 				for (List<ColumnOrSuperColumn> slice : readVal.values())
-					deTorrentize(counter, slice.iterator());
+					deTorrentize(fetches, slice.iterator());
 			}
 
-			private  void deTorrentize(Counter counter, List<KeySlice> readVal) {
+			private  void deTorrentize(List<Future<Column>> fetches, List<KeySlice> readVal) {
 				for (KeySlice kSlice : readVal)
-					deTorrentize(counter, kSlice.getColumnsIterator());
+					deTorrentize(fetches, kSlice.getColumnsIterator());
 			}
 
 			public String extractFileBasePathName(String key, String keyspace, String columnFamily, byte[] superColumnName, byte[] columnName) {
@@ -1257,8 +1486,11 @@ public class Cassandra {
 				}
 			}
 
-			public String extractFilePathName(String basePathName, File file) throws IOException {
-				String delimiter = ".";
+			/**
+			 * Returns the content address of a file: its name is the SHA-1 hash of its contents,
+			 * so identical blobs written under different columns share one file and one torrent.
+			 */
+			public String extractFilePathName(File file) throws IOException {
 				byte[] sha1;
 				try {
 					sha1 = com.google.common.io.Files.getDigest(file, java.security.MessageDigest.getInstance("SHA-1"));
@@ -1266,32 +1498,40 @@ public class Cassandra {
 					e.printStackTrace();
 					throw new RuntimeException("Couldn't use SHA-1");
 				}
-
 				Formatter formatter = new Formatter();
 				for (byte b : sha1)
 					formatter.format("%02x", b);
 
-				return basePathName + delimiter + formatter.toString();
+				return torrentizer.torrentDirectoryPathName() + File.separator + formatter.toString();
 			}
 
-			public void torrentize(batch_insert_args writeVal) {
+			/**
+			 * Torrentizes the torrent columns of writeVal, except those whose values are no larger than
+			 * the TorrentThreshold of their column family, which are stored inline.
+			 */
+			public void torrentize(batch_insert_args writeVal, Map<String, Integer> thresholds) {
 				Counter counter = new Counter();
 
-				for (Map.Entry<String, List<ColumnOrSuperColumn>> cf : writeVal.cfmap.entrySet())
+				for (Map.Entry<String, List<ColumnOrSuperColumn>> cf : writeVal.cfmap.entrySet()) {
+					int threshold = thresholds.containsKey(cf.getKey()) ? thresholds.get(cf.getKey()) : 0;
 					for (ColumnOrSuperColumn c : cf.getValue())
 						if (c.isSetSuper_column())
 							for (Column col : c.super_column.columns)
 								torrentize(counter, col, extractFileBasePathName
-										(writeVal.key, writeVal.keyspace, cf.getKey(), c.super_column.name, col.name));
+										(writeVal.key, writeVal.keyspace, cf.getKey(), c.super_column.name, col.name), threshold);
 						else
 							torrentize(counter, c.column, extractFileBasePathName
-									(writeVal.key, writeVal.keyspace, cf.getKey(), null, c.column.name));
+									(writeVal.key, writeVal.keyspace, cf.getKey(), null, c.column.name), threshold);
+				}
 
 				counter.numCompleted.acquireUninterruptibly(counter.numRequests);
 			}
 
-			private void torrentize(Counter counter, Column col, String basePathName) {
+			private void torrentize(Counter counter, Column col, String basePathName, int threshold) {
 				if (Torrentizer.isTorrent(col)) {
+					// Small values are inlined synchronously, which costs less than a thread.
+					if (threshold > 0 && isInlined(col, threshold))
+						return;
 					counter.numRequests++;
 					if (Torrentizer.isPathName(col)) {
 						(new Thread (new TorrentSeedFile(counter.numCompleted, col, basePathName), 
@@ -1311,6 +1551,47 @@ public class Cassandra {
 				}
 			}
 
+			/** Inlines the value of col and returns true if it is no larger than threshold. */
+			private static boolean isInlined(Column col, int threshold) {
+				if (Torrentizer.isPathName(col)) {
+					File file = new File(new String(col.value));
+					if (file.length() > threshold)
+						return false;
+					try {
+						col.value = Torrentizer.wrapInline(Files.toByteArray(file));
+					} catch (IOException e) {
+						e.printStackTrace();
+						throw new RuntimeException("Could not read input file in column " + col.name);
+					}
+				} else {
+					if (col.value.length > threshold)
+						return false;
+					col.value = Torrentizer.wrapInline(col.value);
+				}
+				return true;
+			}
+
+			/** Requires Torrentizer.isInline(col.value). Writes the value to its content address. */
+			private File extractInlineFile(Column col) {
+				ByteBuffer value = Torrentizer.unwrapInline(col.value);
+				byte[] bytes = new byte[value.remaining()];
+				value.get(bytes);
+				File directory = new File(torrentizer.torrentDirectoryPathName());
+				try {
+					TorrentWriter writer = new TorrentWriter(File.createTempFile("inline", ".tmp", directory));
+					writer.write(bytes);
+					writer.close();
+					writer.moveToContentAddress(directory);
+					return writer.getFile();
+				} catch (TorrentException e) {
+					e.printStackTrace();
+					throw new RuntimeException("Couldn't write inline value of column " + col.name);
+				} catch (IOException e) {
+					e.printStackTrace();
+					throw new RuntimeException("Couldn't write inline value of column " + col.name);
+				}
+			}
+
 			private class TorrentSeedFile implements Runnable {
 
 				private final Semaphore numCompleted;
@@ -1327,8 +1608,9 @@ public class Cassandra {
 					File file = new File(new String(fileName.value));	
 					File movedFile;
 					try {
-						movedFile = new File(extractFilePathName(basePathName, file));
-						boolean success = file.renameTo(movedFile);
+						movedFile = new File(extractFilePathName(file));
+						// An existing file at the content address holds the same bytes.
+						boolean success = movedFile.exists() ? file.delete() : file.renameTo(movedFile);
 						assert(success);
 					} catch (IOException e) {
 						e.printStackTrace();
@@ -1361,22 +1643,22 @@ public class Cassandra {
 				
 				public void execute() {
 					File file = new File(basePathName);
-					File movedFile;
+					TorrentWriter writer;
 					try {
-						FileOutputStream fos = new FileOutputStream(file);
-						fos.write(writeVal.value);
-						fos.close();
-						movedFile = new File(extractFilePathName(this.basePathName, file));
-						boolean success = file.renameTo(movedFile);
-						assert(success);
-					} catch (FileNotFoundException e) {
+						// The pieces are hashed as the value is written, so the
+						// file is never read back to name or seed it.
+						writer = new TorrentWriter(file, Torrent.PieceHasher.pieceLengthFor(writeVal.value.length));
+						writer.write(writeVal.value);
+						writer.close();
+						writer.moveToContentAddress(new File(torrentizer.torrentDirectoryPathName()));
+					} catch (TorrentException e) {
 						e.printStackTrace();
-						throw new RuntimeException("TorrentCreateAndSeedFile couldn't find file");
+						throw new RuntimeException("TorrentCreateAndSeedFile couldn't write/move file");
 					} catch (IOException e) {
 						e.printStackTrace();
 						throw new RuntimeException("TorrentCreateAndSeedFile couldn't write/move file");
 					}
-					torrentizer.seed(movedFile, writeVal);
+					torrentizer.seed(writer, writeVal);
 				}
 
 				public void run() {
@@ -1449,6 +1731,7 @@ public class Cassandra {
 			iface_ = iface;
 			processMap_.put("login", new login());
 			processMap_.put("get", new get());
+			processMap_.put("get_blob_range", new get_blob_range());
 			processMap_.put("get_slice", new get_slice());
 			processMap_.put("multiget", new multiget());
 			processMap_.put("multiget_slice", new multiget_slice());
@@ -1579,6 +1862,50 @@ public class Cassandra {
 
 		}
 
+		private class get_blob_range implements ProcessFunction {
+			public void process(int seqid, TProtocol iprot, TProtocol oprot) throws TException
+			{
+				get_blob_range_args args = new get_blob_range_args();
+				try {
+					args.read(iprot);
+				} catch (TProtocolException e) {
+					iprot.readMessageEnd();
+					TApplicationException x = new TApplicationException(TApplicationException.PROTOCOL_ERROR, e.getMessage());
+					oprot.writeMessageBegin(new TMessage("get_blob_range", TMessageType.EXCEPTION, seqid));
+					x.write(oprot);
+					oprot.writeMessageEnd();
+					oprot.getTransport().flush();
+					return;
+				}
+				iprot.readMessageEnd();
+				get_blob_range_result result = new get_blob_range_result();
+				try {
+					result.success = iface_.get_blob_range(args.keyspace, args.key, args.column_path, args.offset, args.length, args.consistency_level);
+				} catch (InvalidRequestException ire) {
+					result.ire = ire;
+				} catch (NotFoundException nfe) {
+					result.nfe = nfe;
+				} catch (UnavailableException ue) {
+					result.ue = ue;
+				} catch (TimedOutException te) {
+					result.te = te;
+				} catch (Throwable th) {
+					LOGGER.error("Internal error processing get_blob_range", th);
+					TApplicationException x = new TApplicationException(TApplicationException.INTERNAL_ERROR, "Internal error processing get_blob_range");
+					oprot.writeMessageBegin(new TMessage("get_blob_range", TMessageType.EXCEPTION, seqid));
+					x.write(oprot);
+					oprot.writeMessageEnd();
+					oprot.getTransport().flush();
+					return;
+				}
+				oprot.writeMessageBegin(new TMessage("get_blob_range", TMessageType.REPLY, seqid));
+				result.write(oprot);
+				oprot.writeMessageEnd();
+				oprot.getTransport().flush();
+			}
+
+		}
+
 		private class get_slice implements ProcessFunction {
 			public void process(int seqid, TProtocol iprot, TProtocol oprot) throws TException
 			{
@@ -4158,6 +4485,1365 @@ public class Cassandra {
 
 	}
 
+	public static class get_blob_range_args implements TBase<get_blob_range_args._Fields>, java.io.Serializable, Cloneable, Comparable<get_blob_range_args>   {
+		private static final TStruct STRUCT_DESC = new TStruct("get_blob_range_args");
+
+		private static final TField KEYSPACE_FIELD_DESC = new TField("keyspace", TType.STRING, (short)1);
+		private static final TField KEY_FIELD_DESC = new TField("key", TType.STRING, (short)2);
+		private static final TField COLUMN_PATH_FIELD_DESC = new TField("column_path", TType.STRUCT, (short)3);
+		private static final TField OFFSET_FIELD_DESC = new TField("offset", TType.I64, (short)4);
+		private static final TField LENGTH_FIELD_DESC = new TField("length", TType.I32, (short)5);
+		private static final TField CONSISTENCY_LEVEL_FIELD_DESC = new TField("consistency_level", TType.I32, (short)6);
+
+		public String keyspace;
+		public String key;
+		public ColumnPath column_path;
+		public long offset;
+		public int length;
+		/**
+		 * 
+		 * @see ConsistencyLevel
+		 */
+		public ConsistencyLevel consistency_level;
+
+		/** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+		public enum _Fields implements TFieldIdEnum {
+			KEYSPACE((short)1, "keyspace"),
+			KEY((short)2, "key"),
+			COLUMN_PATH((short)3, "column_path"),
+			OFFSET((short)4, "offset"),
+			LENGTH((short)5, "length"),
+			/**
+			 * 
+			 * @see ConsistencyLevel
+			 */
+			CONSISTENCY_LEVEL((short)6, "consistency_level");
+
+			private static final Map<Integer, _Fields> byId = new HashMap<Integer, _Fields>();
+			private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+			static {
+				for (_Fields field : EnumSet.allOf(_Fields.class)) {
+					byId.put((int)field._thriftId, field);
+					byName.put(field.getFieldName(), field);
+				}
+			}
+
+			/**
+			 * Find the _Fields constant that matches fieldId, or null if its not found.
+			 */
+			public static _Fields findByThriftId(int fieldId) {
+				return byId.get(fieldId);
+			}
+
+			/**
+			 * Find the _Fields constant that matches fieldId, throwing an exception
+			 * if it is not found.
+			 */
+			public static _Fields findByThriftIdOrThrow(int fieldId) {
+				_Fields fields = findByThriftId(fieldId);
+				if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+				return fields;
+			}
+
+			/**
+			 * Find the _Fields constant that matches name, or null if its not found.
+			 */
+			public static _Fields findByName(String name) {
+				return byName.get(name);
+			}
+
+			private final short _thriftId;
+			private final String _fieldName;
+
+			_Fields(short thriftId, String fieldName) {
+				_thriftId = thriftId;
+				_fieldName = fieldName;
+			}
+
+			public short getThriftFieldId() {
+				return _thriftId;
+			}
+
+			public String getFieldName() {
+				return _fieldName;
+			}
+		}
+
+		// isset id assignments
+		private static final int __OFFSET_ISSET_ID = 0;
+		private static final int __LENGTH_ISSET_ID = 1;
+		private BitSet __isset_bit_vector = new BitSet(2);
+
+		public static final Map<_Fields, FieldMetaData> metaDataMap = Collections.unmodifiableMap(new EnumMap<_Fields, FieldMetaData>(_Fields.class) {{
+			put(_Fields.KEYSPACE, new FieldMetaData("keyspace", TFieldRequirementType.REQUIRED, 
+					new FieldValueMetaData(TType.STRING)));
+			put(_Fields.KEY, new FieldMetaData("key", TFieldRequirementType.REQUIRED, 
+					new FieldValueMetaData(TType.STRING)));
+			put(_Fields.COLUMN_PATH, new FieldMetaData("column_path", TFieldRequirementType.REQUIRED, 
+					new StructMetaData(TType.STRUCT, ColumnPath.class)));
+			put(_Fields.OFFSET, new FieldMetaData("offset", TFieldRequirementType.REQUIRED, 
+					new FieldValueMetaData(TType.I64)));
+			put(_Fields.LENGTH, new FieldMetaData("length", TFieldRequirementType.REQUIRED, 
+					new FieldValueMetaData(TType.I32)));
+			put(_Fields.CONSISTENCY_LEVEL, new FieldMetaData("consistency_level", TFieldRequirementType.DEFAULT, 
+					new EnumMetaData(TType.ENUM, ConsistencyLevel.class)));
+		}});
+
+		static {
+			FieldMetaData.addStructMetaDataMap(get_blob_range_args.class, metaDataMap);
+		}
+
+		public get_blob_range_args() {
+			this.consistency_level = ConsistencyLevel.ONE;
+
+		}
+
+		public get_blob_range_args(
+				String keyspace,
+				String key,
+				ColumnPath column_path,
+				long offset,
+				int length,
+				ConsistencyLevel consistency_level)
+		{
+			this();
+			this.keyspace = keyspace;
+			this.key = key;
+			this.column_path = column_path;
+			this.offset = offset;
+			setOffsetIsSet(true);
+			this.length = length;
+			setLengthIsSet(true);
+			this.consistency_level = consistency_level;
+		}
+
+		/**
+		 * Performs a deep copy on <i>other</i>.
+		 */
+		public get_blob_range_args(get_blob_range_args other) {
+			__isset_bit_vector.clear();
+			__isset_bit_vector.or(other.__isset_bit_vector);
+			if (other.isSetKeyspace()) {
+				this.keyspace = other.keyspace;
+			}
+			if (other.isSetKey()) {
+				this.key = other.key;
+			}
+			if (other.isSetColumn_path()) {
+				this.column_path = new ColumnPath(other.column_path);
+			}
+			this.offset = other.offset;
+			this.length = other.length;
+			if (other.isSetConsistency_level()) {
+				this.consistency_level = other.consistency_level;
+			}
+		}
+
+		public get_blob_range_args deepCopy() {
+			return new get_blob_range_args(this);
+		}
+
+		@Deprecated
+		public get_blob_range_args clone() {
+			return new get_blob_range_args(this);
+		}
+
+		public String getKeyspace() {
+			return this.keyspace;
+		}
+
+		public get_blob_range_args setKeyspace(String keyspace) {
+			this.keyspace = keyspace;
+			return this;
+		}
+
+		public void unsetKeyspace() {
+			this.keyspace = null;
+		}
+
+		/** Returns true if field keyspace is set (has been asigned a value) and false otherwise */
+		public boolean isSetKeyspace() {
+			return this.keyspace != null;
+		}
+
+		public void setKeyspaceIsSet(boolean value) {
+			if (!value) {
+				this.keyspace = null;
+			}
+		}
+
+		public String getKey() {
+			return this.key;
+		}
+
+		public get_blob_range_args setKey(String key) {
+			this.key = key;
+			return this;
+		}
+
+		public void unsetKey() {
+			this.key = null;
+		}
+
+		/** Returns true if field key is set (has been asigned a value) and false otherwise */
+		public boolean isSetKey() {
+			return this.key != null;
+		}
+
+		public void setKeyIsSet(boolean value) {
+			if (!value) {
+				this.key = null;
+			}
+		}
+
+		public ColumnPath getColumn_path() {
+			return this.column_path;
+		}
+
+		public get_blob_range_args setColumn_path(ColumnPath column_path) {
+			this.column_path = column_path;
+			return this;
+		}
+
+		public void unsetColumn_path() {
+			this.column_path = null;
+		}
+
+		/** Returns true if field column_path is set (has been asigned a value) and false otherwise */
+		public boolean isSetColumn_path() {
+			return this.column_path != null;
+		}
+
+		public void setColumn_pathIsSet(boolean value) {
+			if (!value) {
+				this.column_path = null;
+			}
+		}
+
+		public long getOffset() {
+			return this.offset;
+		}
+
+		public get_blob_range_args setOffset(long offset) {
+			this.offset = offset;
+			setOffsetIsSet(true);
+			return this;
+		}
+
+		public void unsetOffset() {
+			__isset_bit_vector.clear(__OFFSET_ISSET_ID);
+		}
+
+		/** Returns true if field offset is set (has been asigned a value) and false otherwise */
+		public boolean isSetOffset() {
+			return __isset_bit_vector.get(__OFFSET_ISSET_ID);
+		}
+
+		public void setOffsetIsSet(boolean value) {
+			__isset_bit_vector.set(__OFFSET_ISSET_ID, value);
+		}
+
+		public int getLength() {
+			return this.length;
+		}
+
+		public get_blob_range_args setLength(int length) {
+			this.length = length;
+			setLengthIsSet(true);
+			return this;
+		}
+
+		public void unsetLength() {
+			__isset_bit_vector.clear(__LENGTH_ISSET_ID);
+		}
+
+		/** Returns true if field length is set (has been asigned a value) and false otherwise */
+		public boolean isSetLength() {
+			return __isset_bit_vector.get(__LENGTH_ISSET_ID);
+		}
+
+		public void setLengthIsSet(boolean value) {
+			__isset_bit_vector.set(__LENGTH_ISSET_ID, value);
+		}
+
+		/**
+		 * 
+		 * @see ConsistencyLevel
+		 */
+		public ConsistencyLevel getConsistency_level() {
+			return this.consistency_level;
+		}
+
+		/**
+		 * 
+		 * @see ConsistencyLevel
+		 */
+		public get_blob_range_args setConsistency_level(ConsistencyLevel consistency_level) {
+			this.consistency_level = consistency_level;
+			return this;
+		}
+
+		public void unsetConsistency_level() {
+			this.consistency_level = null;
+		}
+
+		/** Returns true if field consistency_level is set (has been asigned a value) and false otherwise */
+		public boolean isSetConsistency_level() {
+			return this.consistency_level != null;
+		}
+
+		public void setConsistency_levelIsSet(boolean value) {
+			if (!value) {
+				this.consistency_level = null;
+			}
+		}
+
+		public void setFieldValue(_Fields field, Object value) {
+			switch (field) {
+			case KEYSPACE:
+				if (value == null) {
+					unsetKeyspace();
+				} else {
+					setKeyspace((String)value);
+				}
+				break;
+
+			case KEY:
+				if (value == null) {
+					unsetKey();
+				} else {
+					setKey((String)value);
+				}
+				break;
+
+			case COLUMN_PATH:
+				if (value == null) {
+					unsetColumn_path();
+				} else {
+					setColumn_path((ColumnPath)value);
+				}
+				break;
+
+			case OFFSET:
+				if (value == null) {
+					unsetOffset();
+				} else {
+					setOffset((Long)value);
+				}
+				break;
+
+			case LENGTH:
+				if (value == null) {
+					unsetLength();
+				} else {
+					setLength((Integer)value);
+				}
+				break;
+
+			case CONSISTENCY_LEVEL:
+				if (value == null) {
+					unsetConsistency_level();
+				} else {
+					setConsistency_level((ConsistencyLevel)value);
+				}
+				break;
+
+			}
+		}
+
+		public void setFieldValue(int fieldID, Object value) {
+			setFieldValue(_Fields.findByThriftIdOrThrow(fieldID), value);
+		}
+
+		public Object getFieldValue(_Fields field) {
+			switch (field) {
+			case KEYSPACE:
+				return getKeyspace();
+
+			case KEY:
+				return getKey();
+
+			case COLUMN_PATH:
+				return getColumn_path();
+
+			case OFFSET:
+				return new Long(getOffset());
+
+			case LENGTH:
+				return new Integer(getLength());
+
+			case CONSISTENCY_LEVEL:
+				return getConsistency_level();
+
+			}
+			throw new IllegalStateException();
+		}
+
+		public Object getFieldValue(int fieldId) {
+			return getFieldValue(_Fields.findByThriftIdOrThrow(fieldId));
+		}
+
+		/** Returns true if field corresponding to fieldID is set (has been asigned a value) and false otherwise */
+		public boolean isSet(_Fields field) {
+			switch (field) {
+			case KEYSPACE:
+				return isSetKeyspace();
+			case KEY:
+				return isSetKey();
+			case COLUMN_PATH:
+				return isSetColumn_path();
+			case OFFSET:
+				return isSetOffset();
+			case LENGTH:
+				return isSetLength();
+			case CONSISTENCY_LEVEL:
+				return isSetConsistency_level();
+			}
+			throw new IllegalStateException();
+		}
+
+		public boolean isSet(int fieldID) {
+			return isSet(_Fields.findByThriftIdOrThrow(fieldID));
+		}
+
+		@Override
+		public boolean equals(Object that) {
+			if (that == null)
+				return false;
+			if (that instanceof get_blob_range_args)
+				return this.equals((get_blob_range_args)that);
+			return false;
+		}
+
+		public boolean equals(get_blob_range_args that) {
+			if (that == null)
+				return false;
+
+			boolean this_present_keyspace = true && this.isSetKeyspace();
+			boolean that_present_keyspace = true && that.isSetKeyspace();
+			if (this_present_keyspace || that_present_keyspace) {
+				if (!(this_present_keyspace && that_present_keyspace))
+					return false;
+				if (!this.keyspace.equals(that.keyspace))
+					return false;
+			}
+
+			boolean this_present_key = true && this.isSetKey();
+			boolean that_present_key = true && that.isSetKey();
+			if (this_present_key || that_present_key) {
+				if (!(this_present_key && that_present_key))
+					return false;
+				if (!this.key.equals(that.key))
+					return false;
+			}
+
+			boolean this_present_column_path = true && this.isSetColumn_path();
+			boolean that_present_column_path = true && that.isSetColumn_path();
+			if (this_present_column_path || that_present_column_path) {
+				if (!(this_present_column_path && that_present_column_path))
+					return false;
+				if (!this.column_path.equals(that.column_path))
+					return false;
+			}
+
+			boolean this_present_offset = true;
+			boolean that_present_offset = true;
+			if (this_present_offset || that_present_offset) {
+				if (!(this_present_offset && that_present_offset))
+					return false;
+				if (this.offset != that.offset)
+					return false;
+			}
+
+			boolean this_present_length = true;
+			boolean that_present_length = true;
+			if (this_present_length || that_present_length) {
+				if (!(this_present_length && that_present_length))
+					return false;
+				if (this.length != that.length)
+					return false;
+			}
+
+			boolean this_present_consistency_level = true && this.isSetConsistency_level();
+			boolean that_present_consistency_level = true && that.isSetConsistency_level();
+			if (this_present_consistency_level || that_present_consistency_level) {
+				if (!(this_present_consistency_level && that_present_consistency_level))
+					return false;
+				if (!this.consistency_level.equals(that.consistency_level))
+					return false;
+			}
+
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return 0;
+		}
+
+		public int compareTo(get_blob_range_args other) {
+			if (!getClass().equals(other.getClass())) {
+				return getClass().getName().compareTo(other.getClass().getName());
+			}
+
+			int lastComparison = 0;
+			get_blob_range_args typedOther = (get_blob_range_args)other;
+
+			lastComparison = Boolean.valueOf(isSetKeyspace()).compareTo(typedOther.isSetKeyspace());
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			if (isSetKeyspace()) {        lastComparison = TBaseHelper.compareTo(keyspace, typedOther.keyspace);
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			}
+			lastComparison = Boolean.valueOf(isSetKey()).compareTo(typedOther.isSetKey());
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			if (isSetKey()) {        lastComparison = TBaseHelper.compareTo(key, typedOther.key);
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			}
+			lastComparison = Boolean.valueOf(isSetColumn_path()).compareTo(typedOther.isSetColumn_path());
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			if (isSetColumn_path()) {        lastComparison = TBaseHelper.compareTo(column_path, typedOther.column_path);
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			}
+			lastComparison = Boolean.valueOf(isSetOffset()).compareTo(typedOther.isSetOffset());
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			if (isSetOffset()) {        lastComparison = TBaseHelper.compareTo(offset, typedOther.offset);
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			}
+			lastComparison = Boolean.valueOf(isSetLength()).compareTo(typedOther.isSetLength());
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			if (isSetLength()) {        lastComparison = TBaseHelper.compareTo(length, typedOther.length);
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			}
+			lastComparison = Boolean.valueOf(isSetConsistency_level()).compareTo(typedOther.isSetConsistency_level());
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			if (isSetConsistency_level()) {        lastComparison = TBaseHelper.compareTo(consistency_level, typedOther.consistency_level);
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			}
+			return 0;
+		}
+
+		public void read(TProtocol iprot) throws TException {
+			TField field;
+			iprot.readStructBegin();
+			while (true)
+			{
+				field = iprot.readFieldBegin();
+				if (field.type == TType.STOP) { 
+					break;
+				}
+				switch (field.id) {
+				case 1: // KEYSPACE
+					if (field.type == TType.STRING) {
+						this.keyspace = iprot.readString();
+					} else { 
+						TProtocolUtil.skip(iprot, field.type);
+					}
+					break;
+				case 2: // KEY
+					if (field.type == TType.STRING) {
+						this.key = iprot.readString();
+					} else { 
+						TProtocolUtil.skip(iprot, field.type);
+					}
+					break;
+				case 3: // COLUMN_PATH
+					if (field.type == TType.STRUCT) {
+						this.column_path = new ColumnPath();
+						this.column_path.read(iprot);
+					} else { 
+						TProtocolUtil.skip(iprot, field.type);
+					}
+					break;
+				case 4: // OFFSET
+					if (field.type == TType.I64) {
+						this.offset = iprot.readI64();
+						setOffsetIsSet(true);
+					} else { 
+						TProtocolUtil.skip(iprot, field.type);
+					}
+					break;
+				case 5: // LENGTH
+					if (field.type == TType.I32) {
+						this.length = iprot.readI32();
+						setLengthIsSet(true);
+					} else { 
+						TProtocolUtil.skip(iprot, field.type);
+					}
+					break;
+				case 6: // CONSISTENCY_LEVEL
+					if (field.type == TType.I32) {
+						this.consistency_level = ConsistencyLevel.findByValue(iprot.readI32());
+					} else { 
+						TProtocolUtil.skip(iprot, field.type);
+					}
+					break;
+				default:
+					TProtocolUtil.skip(iprot, field.type);
+				}
+				iprot.readFieldEnd();
+			}
+			iprot.readStructEnd();
+
+			// check for required fields of primitive type, which can't be checked in the validate method
+			if (!isSetOffset()) {
+				throw new TProtocolException("Required field 'offset' was not found in serialized data! Struct: " + toString());
+			}
+			if (!isSetLength()) {
+				throw new TProtocolException("Required field 'length' was not found in serialized data! Struct: " + toString());
+			}
+			validate();
+		}
+
+		public void write(TProtocol oprot) throws TException {
+			validate();
+
+			oprot.writeStructBegin(STRUCT_DESC);
+			if (this.keyspace != null) {
+				oprot.writeFieldBegin(KEYSPACE_FIELD_DESC);
+				oprot.writeString(this.keyspace);
+				oprot.writeFieldEnd();
+			}
+			if (this.key != null) {
+				oprot.writeFieldBegin(KEY_FIELD_DESC);
+				oprot.writeString(this.key);
+				oprot.writeFieldEnd();
+			}
+			if (this.column_path != null) {
+				oprot.writeFieldBegin(COLUMN_PATH_FIELD_DESC);
+				this.column_path.write(oprot);
+				oprot.writeFieldEnd();
+			}
+			oprot.writeFieldBegin(OFFSET_FIELD_DESC);
+			oprot.writeI64(this.offset);
+			oprot.writeFieldEnd();
+			oprot.writeFieldBegin(LENGTH_FIELD_DESC);
+			oprot.writeI32(this.length);
+			oprot.writeFieldEnd();
+			if (this.consistency_level != null) {
+				oprot.writeFieldBegin(CONSISTENCY_LEVEL_FIELD_DESC);
+				oprot.writeI32(this.consistency_level.getValue());
+				oprot.writeFieldEnd();
+			}
+			oprot.writeFieldStop();
+			oprot.writeStructEnd();
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder("get_blob_range_args(");
+			boolean first = true;
+
+			sb.append("keyspace:");
+			if (this.keyspace == null) {
+				sb.append("null");
+			} else {
+				sb.append(this.keyspace);
+			}
+			first = false;
+			if (!first) sb.append(", ");
+			sb.append("key:");
+			if (this.key == null) {
+				sb.append("null");
+			} else {
+				sb.append(this.key);
+			}
+			first = false;
+			if (!first) sb.append(", ");
+			sb.append("column_path:");
+			if (this.column_path == null) {
+				sb.append("null");
+			} else {
+				sb.append(this.column_path);
+			}
+			first = false;
+			if (!first) sb.append(", ");
+			sb.append("offset:");
+			sb.append(this.offset);
+			first = false;
+			if (!first) sb.append(", ");
+			sb.append("length:");
+			sb.append(this.length);
+			first = false;
+			if (!first) sb.append(", ");
+			sb.append("consistency_level:");
+			if (this.consistency_level == null) {
+				sb.append("null");
+			} else {
+				sb.append(this.consistency_level);
+			}
+			first = false;
+			sb.append(")");
+			return sb.toString();
+		}
+
+		public void validate() throws TException {
+			// check for required fields
+			if (keyspace == null) {
+				throw new TProtocolException("Required field 'keyspace' was not present! Struct: " + toString());
+			}
+			if (key == null) {
+				throw new TProtocolException("Required field 'key' was not present! Struct: " + toString());
+			}
+			if (column_path == null) {
+				throw new TProtocolException("Required field 'column_path' was not present! Struct: " + toString());
+			}
+			// alas, we cannot check 'offset' because it's a primitive and you chose the non-beans generator.
+			// alas, we cannot check 'length' because it's a primitive and you chose the non-beans generator.
+		}
+
+	}
+
+	public static class get_blob_range_result implements TBase<get_blob_range_result._Fields>, java.io.Serializable, Cloneable, Comparable<get_blob_range_result>   {
+		private static final TStruct STRUCT_DESC = new TStruct("get_blob_range_result");
+
+		private static final TField SUCCESS_FIELD_DESC = new TField("success", TType.STRING, (short)0);
+		private static final TField IRE_FIELD_DESC = new TField("ire", TType.STRUCT, (short)1);
+		private static final TField NFE_FIELD_DESC = new TField("nfe", TType.STRUCT, (short)2);
+		private static final TField UE_FIELD_DESC = new TField("ue", TType.STRUCT, (short)3);
+		private static final TField TE_FIELD_DESC = new TField("te", TType.STRUCT, (short)4);
+
+		public byte[] success;
+		public InvalidRequestException ire;
+		public NotFoundException nfe;
+		public UnavailableException ue;
+		public TimedOutException te;
+
+		/** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+		public enum _Fields implements TFieldIdEnum {
+			SUCCESS((short)0, "success"),
+			IRE((short)1, "ire"),
+			NFE((short)2, "nfe"),
+			UE((short)3, "ue"),
+			TE((short)4, "te");
+
+			private static final Map<Integer, _Fields> byId = new HashMap<Integer, _Fields>();
+			private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
+
+			static {
+				for (_Fields field : EnumSet.allOf(_Fields.class)) {
+					byId.put((int)field._thriftId, field);
+					byName.put(field.getFieldName(), field);
+				}
+			}
+
+			/**
+			 * Find the _Fields constant that matches fieldId, or null if its not found.
+			 */
+			public static _Fields findByThriftId(int fieldId) {
+				return byId.get(fieldId);
+			}
+
+			/**
+			 * Find the _Fields constant that matches fieldId, throwing an exception
+			 * if it is not found.
+			 */
+			public static _Fields findByThriftIdOrThrow(int fieldId) {
+				_Fields fields = findByThriftId(fieldId);
+				if (fields == null) throw new IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+				return fields;
+			}
+
+			/**
+			 * Find the _Fields constant that matches name, or null if its not found.
+			 */
+			public static _Fields findByName(String name) {
+				return byName.get(name);
+			}
+
+			private final short _thriftId;
+			private final String _fieldName;
+
+			_Fields(short thriftId, String fieldName) {
+				_thriftId = thriftId;
+				_fieldName = fieldName;
+			}
+
+			public short getThriftFieldId() {
+				return _thriftId;
+			}
+
+			public String getFieldName() {
+				return _fieldName;
+			}
+		}
+
+		// isset id assignments
+
+		public static final Map<_Fields, FieldMetaData> metaDataMap = Collections.unmodifiableMap(new EnumMap<_Fields, FieldMetaData>(_Fields.class) {{
+			put(_Fields.SUCCESS, new FieldMetaData("success", TFieldRequirementType.DEFAULT, 
+					new FieldValueMetaData(TType.STRING)));
+			put(_Fields.IRE, new FieldMetaData("ire", TFieldRequirementType.DEFAULT, 
+					new FieldValueMetaData(TType.STRUCT)));
+			put(_Fields.NFE, new FieldMetaData("nfe", TFieldRequirementType.DEFAULT, 
+					new FieldValueMetaData(TType.STRUCT)));
+			put(_Fields.UE, new FieldMetaData("ue", TFieldRequirementType.DEFAULT, 
+					new FieldValueMetaData(TType.STRUCT)));
+			put(_Fields.TE, new FieldMetaData("te", TFieldRequirementType.DEFAULT, 
+					new FieldValueMetaData(TType.STRUCT)));
+		}});
+
+		static {
+			FieldMetaData.addStructMetaDataMap(get_blob_range_result.class, metaDataMap);
+		}
+
+		public get_blob_range_result() {
+		}
+
+		public get_blob_range_result(
+				byte[] success,
+				InvalidRequestException ire,
+				NotFoundException nfe,
+				UnavailableException ue,
+				TimedOutException te)
+		{
+			this();
+			this.success = success;
+			this.ire = ire;
+			this.nfe = nfe;
+			this.ue = ue;
+			this.te = te;
+		}
+
+		/**
+		 * Performs a deep copy on <i>other</i>.
+		 */
+		public get_blob_range_result(get_blob_range_result other) {
+			if (other.isSetSuccess()) {
+				this.success = new byte[other.success.length];
+				System.arraycopy(other.success, 0, success, 0, other.success.length);
+			}
+			if (other.isSetIre()) {
+				this.ire = new InvalidRequestException(other.ire);
+			}
+			if (other.isSetNfe()) {
+				this.nfe = new NotFoundException(other.nfe);
+			}
+			if (other.isSetUe()) {
+				this.ue = new UnavailableException(other.ue);
+			}
+			if (other.isSetTe()) {
+				this.te = new TimedOutException(other.te);
+			}
+		}
+
+		public get_blob_range_result deepCopy() {
+			return new get_blob_range_result(this);
+		}
+
+		@Deprecated
+		public get_blob_range_result clone() {
+			return new get_blob_range_result(this);
+		}
+
+		public byte[] getSuccess() {
+			return this.success;
+		}
+
+		public get_blob_range_result setSuccess(byte[] success) {
+			this.success = success;
+			return this;
+		}
+
+		public void unsetSuccess() {
+			this.success = null;
+		}
+
+		/** Returns true if field success is set (has been asigned a value) and false otherwise */
+		public boolean isSetSuccess() {
+			return this.success != null;
+		}
+
+		public void setSuccessIsSet(boolean value) {
+			if (!value) {
+				this.success = null;
+			}
+		}
+
+		public InvalidRequestException getIre() {
+			return this.ire;
+		}
+
+		public get_blob_range_result setIre(InvalidRequestException ire) {
+			this.ire = ire;
+			return this;
+		}
+
+		public void unsetIre() {
+			this.ire = null;
+		}
+
+		/** Returns true if field ire is set (has been asigned a value) and false otherwise */
+		public boolean isSetIre() {
+			return this.ire != null;
+		}
+
+		public void setIreIsSet(boolean value) {
+			if (!value) {
+				this.ire = null;
+			}
+		}
+
+		public NotFoundException getNfe() {
+			return this.nfe;
+		}
+
+		public get_blob_range_result setNfe(NotFoundException nfe) {
+			this.nfe = nfe;
+			return this;
+		}
+
+		public void unsetNfe() {
+			this.nfe = null;
+		}
+
+		/** Returns true if field nfe is set (has been asigned a value) and false otherwise */
+		public boolean isSetNfe() {
+			return this.nfe != null;
+		}
+
+		public void setNfeIsSet(boolean value) {
+			if (!value) {
+				this.nfe = null;
+			}
+		}
+
+		public UnavailableException getUe() {
+			return this.ue;
+		}
+
+		public get_blob_range_result setUe(UnavailableException ue) {
+			this.ue = ue;
+			return this;
+		}
+
+		public void unsetUe() {
+			this.ue = null;
+		}
+
+		/** Returns true if field ue is set (has been asigned a value) and false otherwise */
+		public boolean isSetUe() {
+			return this.ue != null;
+		}
+
+		public void setUeIsSet(boolean value) {
+			if (!value) {
+				this.ue = null;
+			}
+		}
+
+		public TimedOutException getTe() {
+			return this.te;
+		}
+
+		public get_blob_range_result setTe(TimedOutException te) {
+			this.te = te;
+			return this;
+		}
+
+		public void unsetTe() {
+			this.te = null;
+		}
+
+		/** Returns true if field te is set (has been asigned a value) and false otherwise */
+		public boolean isSetTe() {
+			return this.te != null;
+		}
+
+		public void setTeIsSet(boolean value) {
+			if (!value) {
+				this.te = null;
+			}
+		}
+
+		public void setFieldValue(_Fields field, Object value) {
+			switch (field) {
+			case SUCCESS:
+				if (value == null) {
+					unsetSuccess();
+				} else {
+					setSuccess((byte[])value);
+				}
+				break;
+
+			case IRE:
+				if (value == null) {
+					unsetIre();
+				} else {
+					setIre((InvalidRequestException)value);
+				}
+				break;
+
+			case NFE:
+				if (value == null) {
+					unsetNfe();
+				} else {
+					setNfe((NotFoundException)value);
+				}
+				break;
+
+			case UE:
+				if (value == null) {
+					unsetUe();
+				} else {
+					setUe((UnavailableException)value);
+				}
+				break;
+
+			case TE:
+				if (value == null) {
+					unsetTe();
+				} else {
+					setTe((TimedOutException)value);
+				}
+				break;
+
+			}
+		}
+
+		public void setFieldValue(int fieldID, Object value) {
+			setFieldValue(_Fields.findByThriftIdOrThrow(fieldID), value);
+		}
+
+		public Object getFieldValue(_Fields field) {
+			switch (field) {
+			case SUCCESS:
+				return getSuccess();
+
+			case IRE:
+				return getIre();
+
+			case NFE:
+				return getNfe();
+
+			case UE:
+				return getUe();
+
+			case TE:
+				return getTe();
+
+			}
+			throw new IllegalStateException();
+		}
+
+		public Object getFieldValue(int fieldId) {
+			return getFieldValue(_Fields.findByThriftIdOrThrow(fieldId));
+		}
+
+		/** Returns true if field corresponding to fieldID is set (has been asigned a value) and false otherwise */
+		public boolean isSet(_Fields field) {
+			switch (field) {
+			case SUCCESS:
+				return isSetSuccess();
+			case IRE:
+				return isSetIre();
+			case NFE:
+				return isSetNfe();
+			case UE:
+				return isSetUe();
+			case TE:
+				return isSetTe();
+			}
+			throw new IllegalStateException();
+		}
+
+		public boolean isSet(int fieldID) {
+			return isSet(_Fields.findByThriftIdOrThrow(fieldID));
+		}
+
+		@Override
+		public boolean equals(Object that) {
+			if (that == null)
+				return false;
+			if (that instanceof get_blob_range_result)
+				return this.equals((get_blob_range_result)that);
+			return false;
+		}
+
+		public boolean equals(get_blob_range_result that) {
+			if (that == null)
+				return false;
+
+			boolean this_present_success = true && this.isSetSuccess();
+			boolean that_present_success = true && that.isSetSuccess();
+			if (this_present_success || that_present_success) {
+				if (!(this_present_success && that_present_success))
+					return false;
+				if (!java.util.Arrays.equals(this.success, that.success))
+					return false;
+			}
+
+			boolean this_present_ire = true && this.isSetIre();
+			boolean that_present_ire = true && that.isSetIre();
+			if (this_present_ire || that_present_ire) {
+				if (!(this_present_ire && that_present_ire))
+					return false;
+				if (!this.ire.equals(that.ire))
+					return false;
+			}
+
+			boolean this_present_nfe = true && this.isSetNfe();
+			boolean that_present_nfe = true && that.isSetNfe();
+			if (this_present_nfe || that_present_nfe) {
+				if (!(this_present_nfe && that_present_nfe))
+					return false;
+				if (!this.nfe.equals(that.nfe))
+					return false;
+			}
+
+			boolean this_present_ue = true && this.isSetUe();
+			boolean that_present_ue = true && that.isSetUe();
+			if (this_present_ue || that_present_ue) {
+				if (!(this_present_ue && that_present_ue))
+					return false;
+				if (!this.ue.equals(that.ue))
+					return false;
+			}
+
+			boolean this_present_te = true && this.isSetTe();
+			boolean that_present_te = true && that.isSetTe();
+			if (this_present_te || that_present_te) {
+				if (!(this_present_te && that_present_te))
+					return false;
+				if (!this.te.equals(that.te))
+					return false;
+			}
+
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return 0;
+		}
+
+		public int compareTo(get_blob_range_result other) {
+			if (!getClass().equals(other.getClass())) {
+				return getClass().getName().compareTo(other.getClass().getName());
+			}
+
+			int lastComparison = 0;
+			get_blob_range_result typedOther = (get_blob_range_result)other;
+
+			lastComparison = Boolean.valueOf(isSetSuccess()).compareTo(typedOther.isSetSuccess());
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			if (isSetSuccess()) {        lastComparison = TBaseHelper.compareTo(success, typedOther.success);
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			}
+			lastComparison = Boolean.valueOf(isSetIre()).compareTo(typedOther.isSetIre());
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			if (isSetIre()) {        lastComparison = TBaseHelper.compareTo(ire, typedOther.ire);
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			}
+			lastComparison = Boolean.valueOf(isSetNfe()).compareTo(typedOther.isSetNfe());
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			if (isSetNfe()) {        lastComparison = TBaseHelper.compareTo(nfe, typedOther.nfe);
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			}
+			lastComparison = Boolean.valueOf(isSetUe()).compareTo(typedOther.isSetUe());
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			if (isSetUe()) {        lastComparison = TBaseHelper.compareTo(ue, typedOther.ue);
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			}
+			lastComparison = Boolean.valueOf(isSetTe()).compareTo(typedOther.isSetTe());
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			if (isSetTe()) {        lastComparison = TBaseHelper.compareTo(te, typedOther.te);
+			if (lastComparison != 0) {
+				return lastComparison;
+			}
+			}
+			return 0;
+		}
+
+		public void read(TProtocol iprot) throws TException {
+			TField field;
+			iprot.readStructBegin();
+			while (true)
+			{
+				field = iprot.readFieldBegin();
+				if (field.type == TType.STOP) { 
+					break;
+				}
+				switch (field.id) {
+				case 0: // SUCCESS
+					if (field.type == TType.STRING) {
+						this.success = iprot.readBinary();
+					} else { 
+						TProtocolUtil.skip(iprot, field.type);
+					}
+					break;
+				case 1: // IRE
+					if (field.type == TType.STRUCT) {
+						this.ire = new InvalidRequestException();
+						this.ire.read(iprot);
+					} else { 
+						TProtocolUtil.skip(iprot, field.type);
+					}
+					break;
+				case 2: // NFE
+					if (field.type == TType.STRUCT) {
+						this.nfe = new NotFoundException();
+						this.nfe.read(iprot);
+					} else { 
+						TProtocolUtil.skip(iprot, field.type);
+					}
+					break;
+				case 3: // UE
+					if (field.type == TType.STRUCT) {
+						this.ue = new UnavailableException();
+						this.ue.read(iprot);
+					} else { 
+						TProtocolUtil.skip(iprot, field.type);
+					}
+					break;
+				case 4: // TE
+					if (field.type == TType.STRUCT) {
+						this.te = new TimedOutException();
+						this.te.read(iprot);
+					} else { 
+						TProtocolUtil.skip(iprot, field.type);
+					}
+					break;
+				default:
+					TProtocolUtil.skip(iprot, field.type);
+				}
+				iprot.readFieldEnd();
+			}
+			iprot.readStructEnd();
+
+			// check for required fields of primitive type, which can't be checked in the validate method
+			validate();
+		}
+
+		public void write(TProtocol oprot) throws TException {
+			oprot.writeStructBegin(STRUCT_DESC);
+
+			if (this.isSetSuccess()) {
+				oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+				oprot.writeBinary(this.success);
+				oprot.writeFieldEnd();
+			} else if (this.isSetIre()) {
+				oprot.writeFieldBegin(IRE_FIELD_DESC);
+				this.ire.write(oprot);
+				oprot.writeFieldEnd();
+			} else if (this.isSetNfe()) {
+				oprot.writeFieldBegin(NFE_FIELD_DESC);
+				this.nfe.write(oprot);
+				oprot.writeFieldEnd();
+			} else if (this.isSetUe()) {
+				oprot.writeFieldBegin(UE_FIELD_DESC);
+				this.ue.write(oprot);
+				oprot.writeFieldEnd();
+			} else if (this.isSetTe()) {
+				oprot.writeFieldBegin(TE_FIELD_DESC);
+				this.te.write(oprot);
+				oprot.writeFieldEnd();
+			}
+			oprot.writeFieldStop();
+			oprot.writeStructEnd();
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder("get_blob_range_result(");
+			boolean first = true;
+
+			sb.append("success:");
+			if (this.success == null) {
+				sb.append("null");
+			} else {
+				int __success_size = Math.min(this.success.length, 128);
+				for (int i = 0; i < __success_size; i++) {
+					if (i != 0) sb.append(" ");
+					sb.append(Integer.toHexString(this.success[i]).length() > 1 ? Integer.toHexString(this.success[i]).substring(Integer.toHexString(this.success[i]).length() - 2).toUpperCase() : "0" + Integer.toHexString(this.success[i]).toUpperCase());
+				}
+				if (this.success.length > 128) sb.append(" ...");
+			}
+			first = false;
+			if (!first) sb.append(", ");
+			sb.append("ire:");
+			if (this.ire == null) {
+				sb.append("null");
+			} else {
+				sb.append(this.ire);
+			}
+			first = false;
+			if (!first) sb.append(", ");
+			sb.append("nfe:");
+			if (this.nfe == null) {
+				sb.append("null");
+			} else {
+				sb.append(this.nfe);
+			}
+			first = false;
+			if (!first) sb.append(", ");
+			sb.append("ue:");
+			if (this.ue == null) {
+				sb.append("null");
+			} else {
+				sb.append(this.ue);
+			}
+			first = false;
+			if (!first) sb.append(", ");
+			sb.append("te:");
+			if (this.te == null) {
+				sb.append("null");
+			} else {
+				sb.append(this.te);
+			}
+			first = false;
+			sb.append(")");
+			return sb.toString();
+		}
+
+		public void validate() throws TException {
+			// check for required fields
+		}
+
+	}
+
 	public static class get_slice_args implements TBase<get_slice_args._Fields>, java.io.Serializable, Cloneable, Comparable<get_slice_args>   {
 		private static final TStruct STRUCT_DESC = new TStruct("get_slice_args");
 
@@ -42,6 +42,6 @@ import org.slf4j.LoggerFactory;
 
 public class Constants {
 
-  public static final String VERSION = "2.2.0";
+  public static final String VERSION = "2.3.0";
 
 }
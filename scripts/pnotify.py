@@ -3,12 +3,17 @@ import sys
 from urllib import urlencode
 from urllib2 import urlopen
 
-def notify_poseidon(torrent_name, torrent_file, serverport):
+def notify_poseidon(torrent_name, torrent_file, serverport, torrent_hash=None):
     """Notifies a locally running Poseidon server that the torrent with the
-    given name has been downloaded to the specified file.
+    given name (and info hash, if given) has been downloaded to the specified
+    file. Poseidon also finds finished torrents by polling uTorrent, so this
+    notifier is optional and only makes completions known sooner.
     """
     url = 'http://'+serverport+'/download-finished'
-    query = urlencode({'name': torrent_name, 'file': torrent_file})
+    params = {'name': torrent_name, 'file': torrent_file}
+    if torrent_hash:
+        params['hash'] = torrent_hash
+    query = urlencode(params)
     connection = urlopen(url, query)
     print connection.read()
 
@@ -16,11 +21,13 @@ if __name__ == '__main__':
     fp = open("/tmp/pnotify.log","at")
     print >>fp, sys.argv
     if len(sys.argv) < 3:
-        print 'Usage: python pnotify.py <name> <file> <httpserver:port>'
+        print 'Usage: python pnotify.py <name> <file> <httpserver:port> [<hash>]'
         sys.exit(2)
     try:
         torrent_name, torrent_file, serverport = sys.argv[1:4]
-        notify_poseidon(torrent_name, torrent_file, serverport)
+        # uTorrent passes the info hash as %I
+        torrent_hash = sys.argv[4] if len(sys.argv) > 4 else None
+        notify_poseidon(torrent_name, torrent_file, serverport, torrent_hash)
         print >>fp, "Finished"
     except:
         print >>fp, sys.exc_info()
@@ -0,0 +1,1642 @@
+// $ANTLR 3.1.3 Mar 18, 2009 10:09:25 /root/project/src/java/org/apache/cassandra/cli/Cli.g 2026-10-18 11:06:54
+
+package org.apache.cassandra.cli;
+
+
+import org.antlr.runtime.*;
+import java.util.Stack;
+import java.util.List;
+import java.util.ArrayList;
+
+public class CliLexer extends Lexer {
+    public static final int K_DESCRIBE=37;
+    public static final int K_SET=27;
+    public static final int K_CLUSTER=31;
+    public static final int NODE_SHOW_VERSION=11;
+    public static final int K_CONSISTENCY_ONE=44;
+    public static final int NODE_CONSISTENCY=19;
+    public static final int K_CONFIG=33;
+    public static final int K_GET=26;
+    public static final int NODE_SHOW_TABLES=12;
+    public static final int K_CONSISTENCY_ANY=49;
+    public static final int Identifier=40;
+    public static final int SEMICOLON=20;
+    public static final int T__55=55;
+    public static final int K_VERSION=35;
+    public static final int T__56=56;
+    public static final int T__57=57;
+    public static final int T__58=58;
+    public static final int Alnum=52;
+    public static final int NODE_SHOW_CONFIG_FILE=10;
+    public static final int K_COUNT=28;
+    public static final int IntegerLiteral=41;
+    public static final int K_QUIT=24;
+    public static final int NODE_THRIFT_SET=14;
+    public static final int NODE_EXIT=6;
+    public static final int K_NAME=32;
+    public static final int K_FILE=34;
+    public static final int DOT=39;
+    public static final int K_TABLES=36;
+    public static final int K_SHOW=30;
+    public static final int NODE_THRIFT_COUNT=15;
+    public static final int Letter=50;
+    public static final int K_CONSISTENCY_ZERO=43;
+    public static final int StringLiteral=42;
+    public static final int NODE_THRIFT_GET=13;
+    public static final int NODE_CONNECT=4;
+    public static final int K_DEL=29;
+    public static final int NODE_COLUMN_ACCESS=17;
+    public static final int NODE_ID_LIST=18;
+    public static final int K_EXIT=25;
+    public static final int NODE_HELP=7;
+    public static final int K_CONSISTENCY_DCQUORUM=46;
+    public static final int K_CONSISTENCY_ALL=48;
+    public static final int K_CONNECT=21;
+    public static final int NODE_NO_OP=8;
+    public static final int COMMENT=54;
+    public static final int NODE_SHOW_CLUSTER_NAME=9;
+    public static final int WS=53;
+    public static final int EOF=-1;
+    public static final int K_CONSISTENCY_DCQUORUMSYNC=47;
+    public static final int K_HELP=23;
+    public static final int Digit=51;
+    public static final int SLASH=22;
+    public static final int NODE_DESCRIBE_TABLE=5;
+    public static final int K_CONSISTENCY_QUORUM=45;
+    public static final int K_TABLE=38;
+    public static final int NODE_THRIFT_DEL=16;
+
+    // delegates
+    // delegators
+
+    public CliLexer() {;} 
+    public CliLexer(CharStream input) {
+        this(input, new RecognizerSharedState());
+    }
+    public CliLexer(CharStream input, RecognizerSharedState state) {
+        super(input,state);
+
+    }
+    public String getGrammarFileName() { return "/root/project/src/java/org/apache/cassandra/cli/Cli.g"; }
+
+    // $ANTLR start "T__55"
+    public final void mT__55() throws RecognitionException {
+        try {
+            int _type = T__55;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:7:7: ( '?' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:7:9: '?'
+            {
+            match('?'); 
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "T__55"
+
+    // $ANTLR start "T__56"
+    public final void mT__56() throws RecognitionException {
+        try {
+            int _type = T__56;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:8:7: ( '=' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:8:9: '='
+            {
+            match('='); 
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "T__56"
+
+    // $ANTLR start "T__57"
+    public final void mT__57() throws RecognitionException {
+        try {
+            int _type = T__57;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:9:7: ( '[' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:9:9: '['
+            {
+            match('['); 
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "T__57"
+
+    // $ANTLR start "T__58"
+    public final void mT__58() throws RecognitionException {
+        try {
+            int _type = T__58;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:10:7: ( ']' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:10:9: ']'
+            {
+            match(']'); 
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "T__58"
+
+    // $ANTLR start "K_CONFIG"
+    public final void mK_CONFIG() throws RecognitionException {
+        try {
+            int _type = K_CONFIG;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:186:9: ( 'CONFIG' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:186:15: 'CONFIG'
+            {
+            match("CONFIG"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_CONFIG"
+
+    // $ANTLR start "K_CONNECT"
+    public final void mK_CONNECT() throws RecognitionException {
+        try {
+            int _type = K_CONNECT;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:187:10: ( 'CONNECT' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:187:15: 'CONNECT'
+            {
+            match("CONNECT"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_CONNECT"
+
+    // $ANTLR start "K_COUNT"
+    public final void mK_COUNT() throws RecognitionException {
+        try {
+            int _type = K_COUNT;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:188:8: ( 'COUNT' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:188:15: 'COUNT'
+            {
+            match("COUNT"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_COUNT"
+
+    // $ANTLR start "K_CLUSTER"
+    public final void mK_CLUSTER() throws RecognitionException {
+        try {
+            int _type = K_CLUSTER;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:189:10: ( 'CLUSTER' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:189:15: 'CLUSTER'
+            {
+            match("CLUSTER"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_CLUSTER"
+
+    // $ANTLR start "K_DEL"
+    public final void mK_DEL() throws RecognitionException {
+        try {
+            int _type = K_DEL;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:190:6: ( 'DEL' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:190:15: 'DEL'
+            {
+            match("DEL"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_DEL"
+
+    // $ANTLR start "K_DESCRIBE"
+    public final void mK_DESCRIBE() throws RecognitionException {
+        try {
+            int _type = K_DESCRIBE;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:191:11: ( 'DESCRIBE' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:191:15: 'DESCRIBE'
+            {
+            match("DESCRIBE"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_DESCRIBE"
+
+    // $ANTLR start "K_GET"
+    public final void mK_GET() throws RecognitionException {
+        try {
+            int _type = K_GET;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:192:6: ( 'GET' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:192:15: 'GET'
+            {
+            match("GET"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_GET"
+
+    // $ANTLR start "K_HELP"
+    public final void mK_HELP() throws RecognitionException {
+        try {
+            int _type = K_HELP;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:193:7: ( 'HELP' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:193:15: 'HELP'
+            {
+            match("HELP"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_HELP"
+
+    // $ANTLR start "K_EXIT"
+    public final void mK_EXIT() throws RecognitionException {
+        try {
+            int _type = K_EXIT;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:194:7: ( 'EXIT' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:194:15: 'EXIT'
+            {
+            match("EXIT"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_EXIT"
+
+    // $ANTLR start "K_FILE"
+    public final void mK_FILE() throws RecognitionException {
+        try {
+            int _type = K_FILE;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:195:7: ( 'FILE' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:195:15: 'FILE'
+            {
+            match("FILE"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_FILE"
+
+    // $ANTLR start "K_NAME"
+    public final void mK_NAME() throws RecognitionException {
+        try {
+            int _type = K_NAME;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:196:7: ( 'NAME' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:196:15: 'NAME'
+            {
+            match("NAME"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_NAME"
+
+    // $ANTLR start "K_QUIT"
+    public final void mK_QUIT() throws RecognitionException {
+        try {
+            int _type = K_QUIT;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:197:7: ( 'QUIT' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:197:15: 'QUIT'
+            {
+            match("QUIT"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_QUIT"
+
+    // $ANTLR start "K_SET"
+    public final void mK_SET() throws RecognitionException {
+        try {
+            int _type = K_SET;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:198:6: ( 'SET' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:198:15: 'SET'
+            {
+            match("SET"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_SET"
+
+    // $ANTLR start "K_SHOW"
+    public final void mK_SHOW() throws RecognitionException {
+        try {
+            int _type = K_SHOW;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:199:7: ( 'SHOW' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:199:15: 'SHOW'
+            {
+            match("SHOW"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_SHOW"
+
+    // $ANTLR start "K_TABLE"
+    public final void mK_TABLE() throws RecognitionException {
+        try {
+            int _type = K_TABLE;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:200:8: ( 'KEYSPACE' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:200:15: 'KEYSPACE'
+            {
+            match("KEYSPACE"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_TABLE"
+
+    // $ANTLR start "K_TABLES"
+    public final void mK_TABLES() throws RecognitionException {
+        try {
+            int _type = K_TABLES;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:201:9: ( 'KEYSPACES' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:201:15: 'KEYSPACES'
+            {
+            match("KEYSPACES"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_TABLES"
+
+    // $ANTLR start "K_VERSION"
+    public final void mK_VERSION() throws RecognitionException {
+        try {
+            int _type = K_VERSION;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:202:10: ( 'API VERSION' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:202:15: 'API VERSION'
+            {
+            match("API VERSION"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_VERSION"
+
+    // $ANTLR start "K_CONSISTENCY_ZERO"
+    public final void mK_CONSISTENCY_ZERO() throws RecognitionException {
+        try {
+            int _type = K_CONSISTENCY_ZERO;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:204:19: ( 'ZERO' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:204:21: 'ZERO'
+            {
+            match("ZERO"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_CONSISTENCY_ZERO"
+
+    // $ANTLR start "K_CONSISTENCY_ONE"
+    public final void mK_CONSISTENCY_ONE() throws RecognitionException {
+        try {
+            int _type = K_CONSISTENCY_ONE;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:205:18: ( 'ONE' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:205:20: 'ONE'
+            {
+            match("ONE"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_CONSISTENCY_ONE"
+
+    // $ANTLR start "K_CONSISTENCY_QUORUM"
+    public final void mK_CONSISTENCY_QUORUM() throws RecognitionException {
+        try {
+            int _type = K_CONSISTENCY_QUORUM;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:206:21: ( 'QUORUM' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:206:23: 'QUORUM'
+            {
+            match("QUORUM"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_CONSISTENCY_QUORUM"
+
+    // $ANTLR start "K_CONSISTENCY_DCQUORUM"
+    public final void mK_CONSISTENCY_DCQUORUM() throws RecognitionException {
+        try {
+            int _type = K_CONSISTENCY_DCQUORUM;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:207:23: ( 'DCQUORUM' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:207:25: 'DCQUORUM'
+            {
+            match("DCQUORUM"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_CONSISTENCY_DCQUORUM"
+
+    // $ANTLR start "K_CONSISTENCY_DCQUORUMSYNC"
+    public final void mK_CONSISTENCY_DCQUORUMSYNC() throws RecognitionException {
+        try {
+            int _type = K_CONSISTENCY_DCQUORUMSYNC;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:208:27: ( 'DCQUORUMSYNC' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:208:29: 'DCQUORUMSYNC'
+            {
+            match("DCQUORUMSYNC"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_CONSISTENCY_DCQUORUMSYNC"
+
+    // $ANTLR start "K_CONSISTENCY_ALL"
+    public final void mK_CONSISTENCY_ALL() throws RecognitionException {
+        try {
+            int _type = K_CONSISTENCY_ALL;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:209:18: ( 'ALL' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:209:20: 'ALL'
+            {
+            match("ALL"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_CONSISTENCY_ALL"
+
+    // $ANTLR start "K_CONSISTENCY_ANY"
+    public final void mK_CONSISTENCY_ANY() throws RecognitionException {
+        try {
+            int _type = K_CONSISTENCY_ANY;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:210:18: ( 'ANY' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:210:20: 'ANY'
+            {
+            match("ANY"); 
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "K_CONSISTENCY_ANY"
+
+    // $ANTLR start "Letter"
+    public final void mLetter() throws RecognitionException {
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:215:5: ( 'a' .. 'z' | 'A' .. 'Z' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:
+            {
+            if ( (input.LA(1)>='A' && input.LA(1)<='Z')||(input.LA(1)>='a' && input.LA(1)<='z') ) {
+                input.consume();
+
+            }
+            else {
+                MismatchedSetException mse = new MismatchedSetException(null,input);
+                recover(mse);
+                throw mse;}
+
+
+            }
+
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "Letter"
+
+    // $ANTLR start "Digit"
+    public final void mDigit() throws RecognitionException {
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:221:5: ( '0' .. '9' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:221:7: '0' .. '9'
+            {
+            matchRange('0','9'); 
+
+            }
+
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "Digit"
+
+    // $ANTLR start "Alnum"
+    public final void mAlnum() throws RecognitionException {
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:226:5: ( Letter | Digit )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:
+            {
+            if ( (input.LA(1)>='0' && input.LA(1)<='9')||(input.LA(1)>='A' && input.LA(1)<='Z')||(input.LA(1)>='a' && input.LA(1)<='z') ) {
+                input.consume();
+
+            }
+            else {
+                MismatchedSetException mse = new MismatchedSetException(null,input);
+                recover(mse);
+                throw mse;}
+
+
+            }
+
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "Alnum"
+
+    // $ANTLR start "IntegerLiteral"
+    public final void mIntegerLiteral() throws RecognitionException {
+        try {
+            int _type = IntegerLiteral;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:231:4: ( ( Digit )+ )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:231:6: ( Digit )+
+            {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:231:6: ( Digit )+
+            int cnt1=0;
+            loop1:
+            do {
+                int alt1=2;
+                int LA1_0 = input.LA(1);
+
+                if ( ((LA1_0>='0' && LA1_0<='9')) ) {
+                    alt1=1;
+                }
+
+
+                switch (alt1) {
+            	case 1 :
+            	    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:231:6: Digit
+            	    {
+            	    mDigit(); 
+
+            	    }
+            	    break;
+
+            	default :
+            	    if ( cnt1 >= 1 ) break loop1;
+                        EarlyExitException eee =
+                            new EarlyExitException(1, input);
+                        throw eee;
+                }
+                cnt1++;
+            } while (true);
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "IntegerLiteral"
+
+    // $ANTLR start "Identifier"
+    public final void mIdentifier() throws RecognitionException {
+        try {
+            int _type = Identifier;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:235:5: ( Alnum ( Alnum | '_' | '-' )* )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:235:7: Alnum ( Alnum | '_' | '-' )*
+            {
+            mAlnum(); 
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:235:13: ( Alnum | '_' | '-' )*
+            loop2:
+            do {
+                int alt2=2;
+                int LA2_0 = input.LA(1);
+
+                if ( (LA2_0=='-'||(LA2_0>='0' && LA2_0<='9')||(LA2_0>='A' && LA2_0<='Z')||LA2_0=='_'||(LA2_0>='a' && LA2_0<='z')) ) {
+                    alt2=1;
+                }
+
+
+                switch (alt2) {
+            	case 1 :
+            	    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:
+            	    {
+            	    if ( input.LA(1)=='-'||(input.LA(1)>='0' && input.LA(1)<='9')||(input.LA(1)>='A' && input.LA(1)<='Z')||input.LA(1)=='_'||(input.LA(1)>='a' && input.LA(1)<='z') ) {
+            	        input.consume();
+
+            	    }
+            	    else {
+            	        MismatchedSetException mse = new MismatchedSetException(null,input);
+            	        recover(mse);
+            	        throw mse;}
+
+
+            	    }
+            	    break;
+
+            	default :
+            	    break loop2;
+                }
+            } while (true);
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "Identifier"
+
+    // $ANTLR start "StringLiteral"
+    public final void mStringLiteral() throws RecognitionException {
+        try {
+            int _type = StringLiteral;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:240:5: ( '\\'' (~ '\\'' )* '\\'' ( '\\'' (~ '\\'' )* '\\'' )* )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:241:5: '\\'' (~ '\\'' )* '\\'' ( '\\'' (~ '\\'' )* '\\'' )*
+            {
+            match('\''); 
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:241:10: (~ '\\'' )*
+            loop3:
+            do {
+                int alt3=2;
+                int LA3_0 = input.LA(1);
+
+                if ( ((LA3_0>='\u0000' && LA3_0<='&')||(LA3_0>='(' && LA3_0<='\uFFFF')) ) {
+                    alt3=1;
+                }
+
+
+                switch (alt3) {
+            	case 1 :
+            	    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:241:11: ~ '\\''
+            	    {
+            	    if ( (input.LA(1)>='\u0000' && input.LA(1)<='&')||(input.LA(1)>='(' && input.LA(1)<='\uFFFF') ) {
+            	        input.consume();
+
+            	    }
+            	    else {
+            	        MismatchedSetException mse = new MismatchedSetException(null,input);
+            	        recover(mse);
+            	        throw mse;}
+
+
+            	    }
+            	    break;
+
+            	default :
+            	    break loop3;
+                }
+            } while (true);
+
+            match('\''); 
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:241:24: ( '\\'' (~ '\\'' )* '\\'' )*
+            loop5:
+            do {
+                int alt5=2;
+                int LA5_0 = input.LA(1);
+
+                if ( (LA5_0=='\'') ) {
+                    alt5=1;
+                }
+
+
+                switch (alt5) {
+            	case 1 :
+            	    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:241:26: '\\'' (~ '\\'' )* '\\''
+            	    {
+            	    match('\''); 
+            	    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:241:31: (~ '\\'' )*
+            	    loop4:
+            	    do {
+            	        int alt4=2;
+            	        int LA4_0 = input.LA(1);
+
+            	        if ( ((LA4_0>='\u0000' && LA4_0<='&')||(LA4_0>='(' && LA4_0<='\uFFFF')) ) {
+            	            alt4=1;
+            	        }
+
+
+            	        switch (alt4) {
+            	    	case 1 :
+            	    	    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:241:32: ~ '\\''
+            	    	    {
+            	    	    if ( (input.LA(1)>='\u0000' && input.LA(1)<='&')||(input.LA(1)>='(' && input.LA(1)<='\uFFFF') ) {
+            	    	        input.consume();
+
+            	    	    }
+            	    	    else {
+            	    	        MismatchedSetException mse = new MismatchedSetException(null,input);
+            	    	        recover(mse);
+            	    	        throw mse;}
+
+
+            	    	    }
+            	    	    break;
+
+            	    	default :
+            	    	    break loop4;
+            	        }
+            	    } while (true);
+
+            	    match('\''); 
+
+            	    }
+            	    break;
+
+            	default :
+            	    break loop5;
+                }
+            } while (true);
+
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "StringLiteral"
+
+    // $ANTLR start "DOT"
+    public final void mDOT() throws RecognitionException {
+        try {
+            int _type = DOT;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:249:5: ( '.' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:249:7: '.'
+            {
+            match('.'); 
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "DOT"
+
+    // $ANTLR start "SLASH"
+    public final void mSLASH() throws RecognitionException {
+        try {
+            int _type = SLASH;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:253:5: ( '/' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:253:7: '/'
+            {
+            match('/'); 
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "SLASH"
+
+    // $ANTLR start "SEMICOLON"
+    public final void mSEMICOLON() throws RecognitionException {
+        try {
+            int _type = SEMICOLON;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:257:5: ( ';' )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:257:7: ';'
+            {
+            match(';'); 
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "SEMICOLON"
+
+    // $ANTLR start "WS"
+    public final void mWS() throws RecognitionException {
+        try {
+            int _type = WS;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:261:5: ( ( ' ' | '\\r' | '\\t' | '\\n' ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:261:8: ( ' ' | '\\r' | '\\t' | '\\n' )
+            {
+            if ( (input.LA(1)>='\t' && input.LA(1)<='\n')||input.LA(1)=='\r'||input.LA(1)==' ' ) {
+                input.consume();
+
+            }
+            else {
+                MismatchedSetException mse = new MismatchedSetException(null,input);
+                recover(mse);
+                throw mse;}
+
+            _channel=HIDDEN;
+
+            }
+
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "WS"
+
+    // $ANTLR start "COMMENT"
+    public final void mCOMMENT() throws RecognitionException {
+        try {
+            int _type = COMMENT;
+            int _channel = DEFAULT_TOKEN_CHANNEL;
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:265:5: ( '--' (~ ( '\\n' | '\\r' ) )* | '/*' ( options {greedy=false; } : . )* '*/' )
+            int alt8=2;
+            int LA8_0 = input.LA(1);
+
+            if ( (LA8_0=='-') ) {
+                alt8=1;
+            }
+            else if ( (LA8_0=='/') ) {
+                alt8=2;
+            }
+            else {
+                NoViableAltException nvae =
+                    new NoViableAltException("", 8, 0, input);
+
+                throw nvae;
+            }
+            switch (alt8) {
+                case 1 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:265:7: '--' (~ ( '\\n' | '\\r' ) )*
+                    {
+                    match("--"); 
+
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:265:12: (~ ( '\\n' | '\\r' ) )*
+                    loop6:
+                    do {
+                        int alt6=2;
+                        int LA6_0 = input.LA(1);
+
+                        if ( ((LA6_0>='\u0000' && LA6_0<='\t')||(LA6_0>='\u000B' && LA6_0<='\f')||(LA6_0>='\u000E' && LA6_0<='\uFFFF')) ) {
+                            alt6=1;
+                        }
+
+
+                        switch (alt6) {
+                    	case 1 :
+                    	    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:265:13: ~ ( '\\n' | '\\r' )
+                    	    {
+                    	    if ( (input.LA(1)>='\u0000' && input.LA(1)<='\t')||(input.LA(1)>='\u000B' && input.LA(1)<='\f')||(input.LA(1)>='\u000E' && input.LA(1)<='\uFFFF') ) {
+                    	        input.consume();
+
+                    	    }
+                    	    else {
+                    	        MismatchedSetException mse = new MismatchedSetException(null,input);
+                    	        recover(mse);
+                    	        throw mse;}
+
+
+                    	    }
+                    	    break;
+
+                    	default :
+                    	    break loop6;
+                        }
+                    } while (true);
+
+                     _channel=HIDDEN; 
+
+                    }
+                    break;
+                case 2 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:266:7: '/*' ( options {greedy=false; } : . )* '*/'
+                    {
+                    match("/*"); 
+
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:266:12: ( options {greedy=false; } : . )*
+                    loop7:
+                    do {
+                        int alt7=2;
+                        int LA7_0 = input.LA(1);
+
+                        if ( (LA7_0=='*') ) {
+                            int LA7_1 = input.LA(2);
+
+                            if ( (LA7_1=='/') ) {
+                                alt7=2;
+                            }
+                            else if ( ((LA7_1>='\u0000' && LA7_1<='.')||(LA7_1>='0' && LA7_1<='\uFFFF')) ) {
+                                alt7=1;
+                            }
+
+
+                        }
+                        else if ( ((LA7_0>='\u0000' && LA7_0<=')')||(LA7_0>='+' && LA7_0<='\uFFFF')) ) {
+                            alt7=1;
+                        }
+
+
+                        switch (alt7) {
+                    	case 1 :
+                    	    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:266:39: .
+                    	    {
+                    	    matchAny(); 
+
+                    	    }
+                    	    break;
+
+                    	default :
+                    	    break loop7;
+                        }
+                    } while (true);
+
+                    match("*/"); 
+
+                     _channel=HIDDEN; 
+
+                    }
+                    break;
+
+            }
+            state.type = _type;
+            state.channel = _channel;
+        }
+        finally {
+        }
+    }
+    // $ANTLR end "COMMENT"
+
+    public void mTokens() throws RecognitionException {
+        // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:8: ( T__55 | T__56 | T__57 | T__58 | K_CONFIG | K_CONNECT | K_COUNT | K_CLUSTER | K_DEL | K_DESCRIBE | K_GET | K_HELP | K_EXIT | K_FILE | K_NAME | K_QUIT | K_SET | K_SHOW | K_TABLE | K_TABLES | K_VERSION | K_CONSISTENCY_ZERO | K_CONSISTENCY_ONE | K_CONSISTENCY_QUORUM | K_CONSISTENCY_DCQUORUM | K_CONSISTENCY_DCQUORUMSYNC | K_CONSISTENCY_ALL | K_CONSISTENCY_ANY | IntegerLiteral | Identifier | StringLiteral | DOT | SLASH | SEMICOLON | WS | COMMENT )
+        int alt9=36;
+        alt9 = dfa9.predict(input);
+        switch (alt9) {
+            case 1 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:10: T__55
+                {
+                mT__55(); 
+
+                }
+                break;
+            case 2 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:16: T__56
+                {
+                mT__56(); 
+
+                }
+                break;
+            case 3 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:22: T__57
+                {
+                mT__57(); 
+
+                }
+                break;
+            case 4 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:28: T__58
+                {
+                mT__58(); 
+
+                }
+                break;
+            case 5 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:34: K_CONFIG
+                {
+                mK_CONFIG(); 
+
+                }
+                break;
+            case 6 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:43: K_CONNECT
+                {
+                mK_CONNECT(); 
+
+                }
+                break;
+            case 7 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:53: K_COUNT
+                {
+                mK_COUNT(); 
+
+                }
+                break;
+            case 8 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:61: K_CLUSTER
+                {
+                mK_CLUSTER(); 
+
+                }
+                break;
+            case 9 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:71: K_DEL
+                {
+                mK_DEL(); 
+
+                }
+                break;
+            case 10 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:77: K_DESCRIBE
+                {
+                mK_DESCRIBE(); 
+
+                }
+                break;
+            case 11 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:88: K_GET
+                {
+                mK_GET(); 
+
+                }
+                break;
+            case 12 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:94: K_HELP
+                {
+                mK_HELP(); 
+
+                }
+                break;
+            case 13 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:101: K_EXIT
+                {
+                mK_EXIT(); 
+
+                }
+                break;
+            case 14 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:108: K_FILE
+                {
+                mK_FILE(); 
+
+                }
+                break;
+            case 15 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:115: K_NAME
+                {
+                mK_NAME(); 
+
+                }
+                break;
+            case 16 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:122: K_QUIT
+                {
+                mK_QUIT(); 
+
+                }
+                break;
+            case 17 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:129: K_SET
+                {
+                mK_SET(); 
+
+                }
+                break;
+            case 18 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:135: K_SHOW
+                {
+                mK_SHOW(); 
+
+                }
+                break;
+            case 19 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:142: K_TABLE
+                {
+                mK_TABLE(); 
+
+                }
+                break;
+            case 20 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:150: K_TABLES
+                {
+                mK_TABLES(); 
+
+                }
+                break;
+            case 21 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:159: K_VERSION
+                {
+                mK_VERSION(); 
+
+                }
+                break;
+            case 22 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:169: K_CONSISTENCY_ZERO
+                {
+                mK_CONSISTENCY_ZERO(); 
+
+                }
+                break;
+            case 23 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:188: K_CONSISTENCY_ONE
+                {
+                mK_CONSISTENCY_ONE(); 
+
+                }
+                break;
+            case 24 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:206: K_CONSISTENCY_QUORUM
+                {
+                mK_CONSISTENCY_QUORUM(); 
+
+                }
+                break;
+            case 25 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:227: K_CONSISTENCY_DCQUORUM
+                {
+                mK_CONSISTENCY_DCQUORUM(); 
+
+                }
+                break;
+            case 26 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:250: K_CONSISTENCY_DCQUORUMSYNC
+                {
+                mK_CONSISTENCY_DCQUORUMSYNC(); 
+
+                }
+                break;
+            case 27 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:277: K_CONSISTENCY_ALL
+                {
+                mK_CONSISTENCY_ALL(); 
+
+                }
+                break;
+            case 28 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:295: K_CONSISTENCY_ANY
+                {
+                mK_CONSISTENCY_ANY(); 
+
+                }
+                break;
+            case 29 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:313: IntegerLiteral
+                {
+                mIntegerLiteral(); 
+
+                }
+                break;
+            case 30 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:328: Identifier
+                {
+                mIdentifier(); 
+
+                }
+                break;
+            case 31 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:339: StringLiteral
+                {
+                mStringLiteral(); 
+
+                }
+                break;
+            case 32 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:353: DOT
+                {
+                mDOT(); 
+
+                }
+                break;
+            case 33 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:357: SLASH
+                {
+                mSLASH(); 
+
+                }
+                break;
+            case 34 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:363: SEMICOLON
+                {
+                mSEMICOLON(); 
+
+                }
+                break;
+            case 35 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:373: WS
+                {
+                mWS(); 
+
+                }
+                break;
+            case 36 :
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:1:376: COMMENT
+                {
+                mCOMMENT(); 
+
+                }
+                break;
+
+        }
+
+    }
+
+
+    protected DFA9 dfa9 = new DFA9(this);
+    static final String DFA9_eotS =
+        "\5\uffff\15\23\1\54\3\uffff\1\56\3\uffff\22\23\1\uffff\1\54\1\uffff"+
+        "\3\23\1\110\2\23\1\113\6\23\1\122\3\23\1\126\1\127\1\23\1\131\4"+
+        "\23\1\uffff\2\23\1\uffff\1\140\1\141\1\142\1\143\1\144\1\23\1\uffff"+
+        "\1\146\1\23\3\uffff\1\150\1\uffff\2\23\1\153\3\23\5\uffff\1\23\1"+
+        "\uffff\1\23\1\uffff\1\161\1\23\1\uffff\3\23\1\166\1\23\1\uffff\1"+
+        "\170\1\171\2\23\1\uffff\1\23\2\uffff\1\175\1\177\1\u0081\1\uffff"+
+        "\1\23\1\uffff\1\u0083\1\uffff\1\23\1\uffff\1\23\1\u0086\1\uffff";
+    static final String DFA9_eofS =
+        "\u0087\uffff";
+    static final String DFA9_minS =
+        "\1\11\4\uffff\1\114\1\103\2\105\1\130\1\111\1\101\1\125\2\105\1"+
+        "\114\1\105\1\116\1\55\3\uffff\1\52\3\uffff\1\116\1\125\1\114\1\121"+
+        "\1\124\1\114\1\111\1\114\1\115\1\111\1\124\1\117\1\131\1\111\1\114"+
+        "\1\131\1\122\1\105\1\uffff\1\55\1\uffff\1\106\1\116\1\123\1\55\1"+
+        "\103\1\125\1\55\1\120\1\124\2\105\1\124\1\122\1\55\1\127\1\123\1"+
+        "\40\2\55\1\117\1\55\1\111\1\105\2\124\1\uffff\1\122\1\117\1\uffff"+
+        "\5\55\1\125\1\uffff\1\55\1\120\3\uffff\1\55\1\uffff\1\107\1\103"+
+        "\1\55\1\105\1\111\1\122\5\uffff\1\115\1\uffff\1\101\1\uffff\1\55"+
+        "\1\124\1\uffff\1\122\1\102\1\125\1\55\1\103\1\uffff\2\55\1\105\1"+
+        "\115\1\uffff\1\105\2\uffff\3\55\1\uffff\1\131\1\uffff\1\55\1\uffff"+
+        "\1\116\1\uffff\1\103\1\55\1\uffff";
+    static final String DFA9_maxS =
+        "\1\172\4\uffff\1\117\3\105\1\130\1\111\1\101\1\125\1\110\1\105\1"+
+        "\120\1\105\1\116\1\172\3\uffff\1\52\3\uffff\2\125\1\123\1\121\1"+
+        "\124\1\114\1\111\1\114\1\115\1\117\1\124\1\117\1\131\1\111\1\114"+
+        "\1\131\1\122\1\105\1\uffff\1\172\1\uffff\2\116\1\123\1\172\1\103"+
+        "\1\125\1\172\1\120\1\124\2\105\1\124\1\122\1\172\1\127\1\123\1\40"+
+        "\2\172\1\117\1\172\1\111\1\105\2\124\1\uffff\1\122\1\117\1\uffff"+
+        "\5\172\1\125\1\uffff\1\172\1\120\3\uffff\1\172\1\uffff\1\107\1\103"+
+        "\1\172\1\105\1\111\1\122\5\uffff\1\115\1\uffff\1\101\1\uffff\1\172"+
+        "\1\124\1\uffff\1\122\1\102\1\125\1\172\1\103\1\uffff\2\172\1\105"+
+        "\1\115\1\uffff\1\105\2\uffff\3\172\1\uffff\1\131\1\uffff\1\172\1"+
+        "\uffff\1\116\1\uffff\1\103\1\172\1\uffff";
+    static final String DFA9_acceptS =
+        "\1\uffff\1\1\1\2\1\3\1\4\16\uffff\1\36\1\37\1\40\1\uffff\1\42\1"+
+        "\43\1\44\22\uffff\1\35\1\uffff\1\41\31\uffff\1\11\2\uffff\1\13\6"+
+        "\uffff\1\21\2\uffff\1\25\1\33\1\34\1\uffff\1\27\6\uffff\1\14\1\15"+
+        "\1\16\1\17\1\20\1\uffff\1\22\1\uffff\1\26\2\uffff\1\7\5\uffff\1"+
+        "\5\4\uffff\1\30\1\uffff\1\6\1\10\3\uffff\1\12\1\uffff\1\31\1\uffff"+
+        "\1\23\1\uffff\1\24\2\uffff\1\32";
+    static final String DFA9_specialS =
+        "\u0087\uffff}>";
+    static final String[] DFA9_transitionS = {
+            "\2\30\2\uffff\1\30\22\uffff\1\30\6\uffff\1\24\5\uffff\1\31\1"+
+            "\25\1\26\12\22\1\uffff\1\27\1\uffff\1\2\1\uffff\1\1\1\uffff"+
+            "\1\17\1\23\1\5\1\6\1\11\1\12\1\7\1\10\2\23\1\16\2\23\1\13\1"+
+            "\21\1\23\1\14\1\23\1\15\6\23\1\20\1\3\1\uffff\1\4\3\uffff\32"+
+            "\23",
+            "",
+            "",
+            "",
+            "",
+            "\1\33\2\uffff\1\32",
+            "\1\35\1\uffff\1\34",
+            "\1\36",
+            "\1\37",
+            "\1\40",
+            "\1\41",
+            "\1\42",
+            "\1\43",
+            "\1\44\2\uffff\1\45",
+            "\1\46",
+            "\1\50\1\uffff\1\51\1\uffff\1\47",
+            "\1\52",
+            "\1\53",
+            "\1\23\2\uffff\12\55\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "",
+            "",
+            "",
+            "\1\31",
+            "",
+            "",
+            "",
+            "\1\57\6\uffff\1\60",
+            "\1\61",
+            "\1\62\6\uffff\1\63",
+            "\1\64",
+            "\1\65",
+            "\1\66",
+            "\1\67",
+            "\1\70",
+            "\1\71",
+            "\1\72\5\uffff\1\73",
+            "\1\74",
+            "\1\75",
+            "\1\76",
+            "\1\77",
+            "\1\100",
+            "\1\101",
+            "\1\102",
+            "\1\103",
+            "",
+            "\1\23\2\uffff\12\55\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "",
+            "\1\104\7\uffff\1\105",
+            "\1\106",
+            "\1\107",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\111",
+            "\1\112",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\114",
+            "\1\115",
+            "\1\116",
+            "\1\117",
+            "\1\120",
+            "\1\121",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\123",
+            "\1\124",
+            "\1\125",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\130",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\132",
+            "\1\133",
+            "\1\134",
+            "\1\135",
+            "",
+            "\1\136",
+            "\1\137",
+            "",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\145",
+            "",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\147",
+            "",
+            "",
+            "",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "",
+            "\1\151",
+            "\1\152",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\154",
+            "\1\155",
+            "\1\156",
+            "",
+            "",
+            "",
+            "",
+            "",
+            "\1\157",
+            "",
+            "\1\160",
+            "",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\162",
+            "",
+            "\1\163",
+            "\1\164",
+            "\1\165",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\167",
+            "",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\172",
+            "\1\173",
+            "",
+            "\1\174",
+            "",
+            "",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "\1\23\2\uffff\12\23\7\uffff\22\23\1\176\7\23\4\uffff\1\23\1"+
+            "\uffff\32\23",
+            "\1\23\2\uffff\12\23\7\uffff\22\23\1\u0080\7\23\4\uffff\1\23"+
+            "\1\uffff\32\23",
+            "",
+            "\1\u0082",
+            "",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            "",
+            "\1\u0084",
+            "",
+            "\1\u0085",
+            "\1\23\2\uffff\12\23\7\uffff\32\23\4\uffff\1\23\1\uffff\32\23",
+            ""
+    };
+
+    static final short[] DFA9_eot = DFA.unpackEncodedString(DFA9_eotS);
+    static final short[] DFA9_eof = DFA.unpackEncodedString(DFA9_eofS);
+    static final char[] DFA9_min = DFA.unpackEncodedStringToUnsignedChars(DFA9_minS);
+    static final char[] DFA9_max = DFA.unpackEncodedStringToUnsignedChars(DFA9_maxS);
+    static final short[] DFA9_accept = DFA.unpackEncodedString(DFA9_acceptS);
+    static final short[] DFA9_special = DFA.unpackEncodedString(DFA9_specialS);
+    static final short[][] DFA9_transition;
+
+    static {
+        int numStates = DFA9_transitionS.length;
+        DFA9_transition = new short[numStates][];
+        for (int i=0; i<numStates; i++) {
+            DFA9_transition[i] = DFA.unpackEncodedString(DFA9_transitionS[i]);
+        }
+    }
+
+    class DFA9 extends DFA {
+
+        public DFA9(BaseRecognizer recognizer) {
+            this.recognizer = recognizer;
+            this.decisionNumber = 9;
+            this.eot = DFA9_eot;
+            this.eof = DFA9_eof;
+            this.min = DFA9_min;
+            this.max = DFA9_max;
+            this.accept = DFA9_accept;
+            this.special = DFA9_special;
+            this.transition = DFA9_transition;
+        }
+        public String getDescription() {
+            return "1:1: Tokens : ( T__55 | T__56 | T__57 | T__58 | K_CONFIG | K_CONNECT | K_COUNT | K_CLUSTER | K_DEL | K_DESCRIBE | K_GET | K_HELP | K_EXIT | K_FILE | K_NAME | K_QUIT | K_SET | K_SHOW | K_TABLE | K_TABLES | K_VERSION | K_CONSISTENCY_ZERO | K_CONSISTENCY_ONE | K_CONSISTENCY_QUORUM | K_CONSISTENCY_DCQUORUM | K_CONSISTENCY_DCQUORUMSYNC | K_CONSISTENCY_ALL | K_CONSISTENCY_ANY | IntegerLiteral | Identifier | StringLiteral | DOT | SLASH | SEMICOLON | WS | COMMENT );";
+        }
+    }
+ 
+
+}
\ No newline at end of file
@@ -0,0 +1,2836 @@
+// $ANTLR 3.1.3 Mar 18, 2009 10:09:25 /root/project/src/java/org/apache/cassandra/cli/Cli.g 2026-10-18 11:06:53
+
+package org.apache.cassandra.cli;
+
+
+import org.antlr.runtime.*;
+import java.util.Stack;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+
+import org.antlr.runtime.tree.*;
+
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+public class CliParser extends Parser {
+    public static final String[] tokenNames = new String[] {
+        "<invalid>", "<EOR>", "<DOWN>", "<UP>", "NODE_CONNECT", "NODE_DESCRIBE_TABLE", "NODE_EXIT", "NODE_HELP", "NODE_NO_OP", "NODE_SHOW_CLUSTER_NAME", "NODE_SHOW_CONFIG_FILE", "NODE_SHOW_VERSION", "NODE_SHOW_TABLES", "NODE_THRIFT_GET", "NODE_THRIFT_SET", "NODE_THRIFT_COUNT", "NODE_THRIFT_DEL", "NODE_COLUMN_ACCESS", "NODE_ID_LIST", "NODE_CONSISTENCY", "SEMICOLON", "K_CONNECT", "SLASH", "K_HELP", "K_QUIT", "K_EXIT", "K_GET", "K_SET", "K_COUNT", "K_DEL", "K_SHOW", "K_CLUSTER", "K_NAME", "K_CONFIG", "K_FILE", "K_VERSION", "K_TABLES", "K_DESCRIBE", "K_TABLE", "DOT", "Identifier", "IntegerLiteral", "StringLiteral", "K_CONSISTENCY_ZERO", "K_CONSISTENCY_ONE", "K_CONSISTENCY_QUORUM", "K_CONSISTENCY_DCQUORUM", "K_CONSISTENCY_DCQUORUMSYNC", "K_CONSISTENCY_ALL", "K_CONSISTENCY_ANY", "Letter", "Digit", "Alnum", "WS", "COMMENT", "'?'", "'='", "'['", "']'"
+    };
+    public static final int K_DESCRIBE=37;
+    public static final int K_SET=27;
+    public static final int K_CLUSTER=31;
+    public static final int NODE_SHOW_VERSION=11;
+    public static final int K_CONSISTENCY_ONE=44;
+    public static final int NODE_CONSISTENCY=19;
+    public static final int K_CONFIG=33;
+    public static final int K_GET=26;
+    public static final int NODE_SHOW_TABLES=12;
+    public static final int K_CONSISTENCY_ANY=49;
+    public static final int Identifier=40;
+    public static final int SEMICOLON=20;
+    public static final int T__55=55;
+    public static final int K_VERSION=35;
+    public static final int T__56=56;
+    public static final int T__57=57;
+    public static final int T__58=58;
+    public static final int Alnum=52;
+    public static final int NODE_SHOW_CONFIG_FILE=10;
+    public static final int K_COUNT=28;
+    public static final int IntegerLiteral=41;
+    public static final int K_QUIT=24;
+    public static final int NODE_THRIFT_SET=14;
+    public static final int NODE_EXIT=6;
+    public static final int K_NAME=32;
+    public static final int K_FILE=34;
+    public static final int DOT=39;
+    public static final int K_TABLES=36;
+    public static final int K_SHOW=30;
+    public static final int NODE_THRIFT_COUNT=15;
+    public static final int Letter=50;
+    public static final int K_CONSISTENCY_ZERO=43;
+    public static final int StringLiteral=42;
+    public static final int NODE_THRIFT_GET=13;
+    public static final int NODE_CONNECT=4;
+    public static final int K_DEL=29;
+    public static final int NODE_COLUMN_ACCESS=17;
+    public static final int NODE_ID_LIST=18;
+    public static final int K_EXIT=25;
+    public static final int NODE_HELP=7;
+    public static final int K_CONSISTENCY_DCQUORUM=46;
+    public static final int K_CONSISTENCY_ALL=48;
+    public static final int K_CONNECT=21;
+    public static final int NODE_NO_OP=8;
+    public static final int COMMENT=54;
+    public static final int NODE_SHOW_CLUSTER_NAME=9;
+    public static final int WS=53;
+    public static final int EOF=-1;
+    public static final int K_CONSISTENCY_DCQUORUMSYNC=47;
+    public static final int K_HELP=23;
+    public static final int Digit=51;
+    public static final int SLASH=22;
+    public static final int NODE_DESCRIBE_TABLE=5;
+    public static final int K_CONSISTENCY_QUORUM=45;
+    public static final int K_TABLE=38;
+    public static final int NODE_THRIFT_DEL=16;
+
+    // delegates
+    // delegators
+
+
+        public CliParser(TokenStream input) {
+            this(input, new RecognizerSharedState());
+        }
+        public CliParser(TokenStream input, RecognizerSharedState state) {
+            super(input, state);
+             
+        }
+        
+    protected TreeAdaptor adaptor = new CommonTreeAdaptor();
+
+    public void setTreeAdaptor(TreeAdaptor adaptor) {
+        this.adaptor = adaptor;
+    }
+    public TreeAdaptor getTreeAdaptor() {
+        return adaptor;
+    }
+
+    public String[] getTokenNames() { return CliParser.tokenNames; }
+    public String getGrammarFileName() { return "/root/project/src/java/org/apache/cassandra/cli/Cli.g"; }
+
+
+    public static class root_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "root"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:70:1: root : stmt ( consistency )? ( SEMICOLON )? EOF -> ^( stmt ( consistency )? ) ;
+    public final CliParser.root_return root() throws RecognitionException {
+        CliParser.root_return retval = new CliParser.root_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token SEMICOLON3=null;
+        Token EOF4=null;
+        CliParser.stmt_return stmt1 = null;
+
+        CliParser.consistency_return consistency2 = null;
+
+
+        CommonTree SEMICOLON3_tree=null;
+        CommonTree EOF4_tree=null;
+        RewriteRuleTokenStream stream_SEMICOLON=new RewriteRuleTokenStream(adaptor,"token SEMICOLON");
+        RewriteRuleTokenStream stream_EOF=new RewriteRuleTokenStream(adaptor,"token EOF");
+        RewriteRuleSubtreeStream stream_consistency=new RewriteRuleSubtreeStream(adaptor,"rule consistency");
+        RewriteRuleSubtreeStream stream_stmt=new RewriteRuleSubtreeStream(adaptor,"rule stmt");
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:70:5: ( stmt ( consistency )? ( SEMICOLON )? EOF -> ^( stmt ( consistency )? ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:70:7: stmt ( consistency )? ( SEMICOLON )? EOF
+            {
+            pushFollow(FOLLOW_stmt_in_root215);
+            stmt1=stmt();
+
+            state._fsp--;
+            if (state.failed) return retval;
+            if ( state.backtracking==0 ) stream_stmt.add(stmt1.getTree());
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:70:12: ( consistency )?
+            int alt1=2;
+            int LA1_0 = input.LA(1);
+
+            if ( ((LA1_0>=K_CONSISTENCY_ZERO && LA1_0<=K_CONSISTENCY_ANY)) ) {
+                alt1=1;
+            }
+            switch (alt1) {
+                case 1 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:0:0: consistency
+                    {
+                    pushFollow(FOLLOW_consistency_in_root217);
+                    consistency2=consistency();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) stream_consistency.add(consistency2.getTree());
+
+                    }
+                    break;
+
+            }
+
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:70:25: ( SEMICOLON )?
+            int alt2=2;
+            int LA2_0 = input.LA(1);
+
+            if ( (LA2_0==SEMICOLON) ) {
+                alt2=1;
+            }
+            switch (alt2) {
+                case 1 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:0:0: SEMICOLON
+                    {
+                    SEMICOLON3=(Token)match(input,SEMICOLON,FOLLOW_SEMICOLON_in_root220); if (state.failed) return retval; 
+                    if ( state.backtracking==0 ) stream_SEMICOLON.add(SEMICOLON3);
+
+
+                    }
+                    break;
+
+            }
+
+            EOF4=(Token)match(input,EOF,FOLLOW_EOF_in_root223); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_EOF.add(EOF4);
+
+
+
+            // AST REWRITE
+            // elements: stmt, consistency
+            // token labels: 
+            // rule labels: retval
+            // token list labels: 
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 70:40: -> ^( stmt ( consistency )? )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:70:43: ^( stmt ( consistency )? )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot(stream_stmt.nextNode(), root_1);
+
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:70:50: ( consistency )?
+                if ( stream_consistency.hasNext() ) {
+                    adaptor.addChild(root_1, stream_consistency.nextTree());
+
+                }
+                stream_consistency.reset();
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "root"
+
+    public static class stmt_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "stmt"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:72:1: stmt : ( connectStmt | exitStmt | countStmt | describeTable | delStmt | getStmt | helpStmt | setStmt | showStmt | -> ^( NODE_NO_OP ) );
+    public final CliParser.stmt_return stmt() throws RecognitionException {
+        CliParser.stmt_return retval = new CliParser.stmt_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        CliParser.connectStmt_return connectStmt5 = null;
+
+        CliParser.exitStmt_return exitStmt6 = null;
+
+        CliParser.countStmt_return countStmt7 = null;
+
+        CliParser.describeTable_return describeTable8 = null;
+
+        CliParser.delStmt_return delStmt9 = null;
+
+        CliParser.getStmt_return getStmt10 = null;
+
+        CliParser.helpStmt_return helpStmt11 = null;
+
+        CliParser.setStmt_return setStmt12 = null;
+
+        CliParser.showStmt_return showStmt13 = null;
+
+
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:73:5: ( connectStmt | exitStmt | countStmt | describeTable | delStmt | getStmt | helpStmt | setStmt | showStmt | -> ^( NODE_NO_OP ) )
+            int alt3=10;
+            switch ( input.LA(1) ) {
+            case K_CONNECT:
+                {
+                alt3=1;
+                }
+                break;
+            case K_QUIT:
+            case K_EXIT:
+                {
+                alt3=2;
+                }
+                break;
+            case K_COUNT:
+                {
+                alt3=3;
+                }
+                break;
+            case K_DESCRIBE:
+                {
+                alt3=4;
+                }
+                break;
+            case K_DEL:
+                {
+                alt3=5;
+                }
+                break;
+            case K_GET:
+                {
+                alt3=6;
+                }
+                break;
+            case K_HELP:
+            case 55:
+                {
+                alt3=7;
+                }
+                break;
+            case K_SET:
+                {
+                alt3=8;
+                }
+                break;
+            case K_SHOW:
+                {
+                alt3=9;
+                }
+                break;
+            case EOF:
+            case SEMICOLON:
+            case K_CONSISTENCY_ZERO:
+            case K_CONSISTENCY_ONE:
+            case K_CONSISTENCY_QUORUM:
+            case K_CONSISTENCY_DCQUORUM:
+            case K_CONSISTENCY_DCQUORUMSYNC:
+            case K_CONSISTENCY_ALL:
+            case K_CONSISTENCY_ANY:
+                {
+                alt3=10;
+                }
+                break;
+            default:
+                if (state.backtracking>0) {state.failed=true; return retval;}
+                NoViableAltException nvae =
+                    new NoViableAltException("", 3, 0, input);
+
+                throw nvae;
+            }
+
+            switch (alt3) {
+                case 1 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:73:7: connectStmt
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_connectStmt_in_stmt244);
+                    connectStmt5=connectStmt();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, connectStmt5.getTree());
+
+                    }
+                    break;
+                case 2 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:74:7: exitStmt
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_exitStmt_in_stmt252);
+                    exitStmt6=exitStmt();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, exitStmt6.getTree());
+
+                    }
+                    break;
+                case 3 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:75:7: countStmt
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_countStmt_in_stmt260);
+                    countStmt7=countStmt();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, countStmt7.getTree());
+
+                    }
+                    break;
+                case 4 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:76:7: describeTable
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_describeTable_in_stmt268);
+                    describeTable8=describeTable();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, describeTable8.getTree());
+
+                    }
+                    break;
+                case 5 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:77:7: delStmt
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_delStmt_in_stmt276);
+                    delStmt9=delStmt();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, delStmt9.getTree());
+
+                    }
+                    break;
+                case 6 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:78:7: getStmt
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_getStmt_in_stmt284);
+                    getStmt10=getStmt();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, getStmt10.getTree());
+
+                    }
+                    break;
+                case 7 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:79:7: helpStmt
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_helpStmt_in_stmt292);
+                    helpStmt11=helpStmt();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, helpStmt11.getTree());
+
+                    }
+                    break;
+                case 8 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:80:7: setStmt
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_setStmt_in_stmt300);
+                    setStmt12=setStmt();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, setStmt12.getTree());
+
+                    }
+                    break;
+                case 9 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:81:7: showStmt
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_showStmt_in_stmt308);
+                    showStmt13=showStmt();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, showStmt13.getTree());
+
+                    }
+                    break;
+                case 10 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:82:7: 
+                    {
+
+                    // AST REWRITE
+                    // elements: 
+                    // token labels: 
+                    // rule labels: retval
+                    // token list labels: 
+                    // rule list labels: 
+                    // wildcard labels: 
+                    if ( state.backtracking==0 ) {
+                    retval.tree = root_0;
+                    RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+                    root_0 = (CommonTree)adaptor.nil();
+                    // 82:7: -> ^( NODE_NO_OP )
+                    {
+                        // /root/project/src/java/org/apache/cassandra/cli/Cli.g:82:10: ^( NODE_NO_OP )
+                        {
+                        CommonTree root_1 = (CommonTree)adaptor.nil();
+                        root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_NO_OP, "NODE_NO_OP"), root_1);
+
+                        adaptor.addChild(root_0, root_1);
+                        }
+
+                    }
+
+                    retval.tree = root_0;}
+                    }
+                    break;
+
+            }
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "stmt"
+
+    public static class connectStmt_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "connectStmt"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:85:1: connectStmt : ( K_CONNECT host SLASH port -> ^( NODE_CONNECT host port ) | K_CONNECT ipaddr SLASH port -> ^( NODE_CONNECT ipaddr port ) );
+    public final CliParser.connectStmt_return connectStmt() throws RecognitionException {
+        CliParser.connectStmt_return retval = new CliParser.connectStmt_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_CONNECT14=null;
+        Token SLASH16=null;
+        Token K_CONNECT18=null;
+        Token SLASH20=null;
+        CliParser.host_return host15 = null;
+
+        CliParser.port_return port17 = null;
+
+        CliParser.ipaddr_return ipaddr19 = null;
+
+        CliParser.port_return port21 = null;
+
+
+        CommonTree K_CONNECT14_tree=null;
+        CommonTree SLASH16_tree=null;
+        CommonTree K_CONNECT18_tree=null;
+        CommonTree SLASH20_tree=null;
+        RewriteRuleTokenStream stream_SLASH=new RewriteRuleTokenStream(adaptor,"token SLASH");
+        RewriteRuleTokenStream stream_K_CONNECT=new RewriteRuleTokenStream(adaptor,"token K_CONNECT");
+        RewriteRuleSubtreeStream stream_port=new RewriteRuleSubtreeStream(adaptor,"rule port");
+        RewriteRuleSubtreeStream stream_host=new RewriteRuleSubtreeStream(adaptor,"rule host");
+        RewriteRuleSubtreeStream stream_ipaddr=new RewriteRuleSubtreeStream(adaptor,"rule ipaddr");
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:86:5: ( K_CONNECT host SLASH port -> ^( NODE_CONNECT host port ) | K_CONNECT ipaddr SLASH port -> ^( NODE_CONNECT ipaddr port ) )
+            int alt4=2;
+            int LA4_0 = input.LA(1);
+
+            if ( (LA4_0==K_CONNECT) ) {
+                int LA4_1 = input.LA(2);
+
+                if ( (LA4_1==Identifier) ) {
+                    alt4=1;
+                }
+                else if ( (LA4_1==IntegerLiteral) ) {
+                    alt4=2;
+                }
+                else {
+                    if (state.backtracking>0) {state.failed=true; return retval;}
+                    NoViableAltException nvae =
+                        new NoViableAltException("", 4, 1, input);
+
+                    throw nvae;
+                }
+            }
+            else {
+                if (state.backtracking>0) {state.failed=true; return retval;}
+                NoViableAltException nvae =
+                    new NoViableAltException("", 4, 0, input);
+
+                throw nvae;
+            }
+            switch (alt4) {
+                case 1 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:86:7: K_CONNECT host SLASH port
+                    {
+                    K_CONNECT14=(Token)match(input,K_CONNECT,FOLLOW_K_CONNECT_in_connectStmt337); if (state.failed) return retval; 
+                    if ( state.backtracking==0 ) stream_K_CONNECT.add(K_CONNECT14);
+
+                    pushFollow(FOLLOW_host_in_connectStmt339);
+                    host15=host();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) stream_host.add(host15.getTree());
+                    SLASH16=(Token)match(input,SLASH,FOLLOW_SLASH_in_connectStmt341); if (state.failed) return retval; 
+                    if ( state.backtracking==0 ) stream_SLASH.add(SLASH16);
+
+                    pushFollow(FOLLOW_port_in_connectStmt343);
+                    port17=port();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) stream_port.add(port17.getTree());
+
+
+                    // AST REWRITE
+                    // elements: host, port
+                    // token labels: 
+                    // rule labels: retval
+                    // token list labels: 
+                    // rule list labels: 
+                    // wildcard labels: 
+                    if ( state.backtracking==0 ) {
+                    retval.tree = root_0;
+                    RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+                    root_0 = (CommonTree)adaptor.nil();
+                    // 86:33: -> ^( NODE_CONNECT host port )
+                    {
+                        // /root/project/src/java/org/apache/cassandra/cli/Cli.g:86:36: ^( NODE_CONNECT host port )
+                        {
+                        CommonTree root_1 = (CommonTree)adaptor.nil();
+                        root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_CONNECT, "NODE_CONNECT"), root_1);
+
+                        adaptor.addChild(root_1, stream_host.nextTree());
+                        adaptor.addChild(root_1, stream_port.nextTree());
+
+                        adaptor.addChild(root_0, root_1);
+                        }
+
+                    }
+
+                    retval.tree = root_0;}
+                    }
+                    break;
+                case 2 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:87:7: K_CONNECT ipaddr SLASH port
+                    {
+                    K_CONNECT18=(Token)match(input,K_CONNECT,FOLLOW_K_CONNECT_in_connectStmt361); if (state.failed) return retval; 
+                    if ( state.backtracking==0 ) stream_K_CONNECT.add(K_CONNECT18);
+
+                    pushFollow(FOLLOW_ipaddr_in_connectStmt363);
+                    ipaddr19=ipaddr();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) stream_ipaddr.add(ipaddr19.getTree());
+                    SLASH20=(Token)match(input,SLASH,FOLLOW_SLASH_in_connectStmt365); if (state.failed) return retval; 
+                    if ( state.backtracking==0 ) stream_SLASH.add(SLASH20);
+
+                    pushFollow(FOLLOW_port_in_connectStmt367);
+                    port21=port();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) stream_port.add(port21.getTree());
+
+
+                    // AST REWRITE
+                    // elements: ipaddr, port
+                    // token labels: 
+                    // rule labels: retval
+                    // token list labels: 
+                    // rule list labels: 
+                    // wildcard labels: 
+                    if ( state.backtracking==0 ) {
+                    retval.tree = root_0;
+                    RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+                    root_0 = (CommonTree)adaptor.nil();
+                    // 87:35: -> ^( NODE_CONNECT ipaddr port )
+                    {
+                        // /root/project/src/java/org/apache/cassandra/cli/Cli.g:87:38: ^( NODE_CONNECT ipaddr port )
+                        {
+                        CommonTree root_1 = (CommonTree)adaptor.nil();
+                        root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_CONNECT, "NODE_CONNECT"), root_1);
+
+                        adaptor.addChild(root_1, stream_ipaddr.nextTree());
+                        adaptor.addChild(root_1, stream_port.nextTree());
+
+                        adaptor.addChild(root_0, root_1);
+                        }
+
+                    }
+
+                    retval.tree = root_0;}
+                    }
+                    break;
+
+            }
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "connectStmt"
+
+    public static class helpStmt_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "helpStmt"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:90:1: helpStmt : ( K_HELP -> ^( NODE_HELP ) | '?' -> ^( NODE_HELP ) );
+    public final CliParser.helpStmt_return helpStmt() throws RecognitionException {
+        CliParser.helpStmt_return retval = new CliParser.helpStmt_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_HELP22=null;
+        Token char_literal23=null;
+
+        CommonTree K_HELP22_tree=null;
+        CommonTree char_literal23_tree=null;
+        RewriteRuleTokenStream stream_55=new RewriteRuleTokenStream(adaptor,"token 55");
+        RewriteRuleTokenStream stream_K_HELP=new RewriteRuleTokenStream(adaptor,"token K_HELP");
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:91:5: ( K_HELP -> ^( NODE_HELP ) | '?' -> ^( NODE_HELP ) )
+            int alt5=2;
+            int LA5_0 = input.LA(1);
+
+            if ( (LA5_0==K_HELP) ) {
+                alt5=1;
+            }
+            else if ( (LA5_0==55) ) {
+                alt5=2;
+            }
+            else {
+                if (state.backtracking>0) {state.failed=true; return retval;}
+                NoViableAltException nvae =
+                    new NoViableAltException("", 5, 0, input);
+
+                throw nvae;
+            }
+            switch (alt5) {
+                case 1 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:91:7: K_HELP
+                    {
+                    K_HELP22=(Token)match(input,K_HELP,FOLLOW_K_HELP_in_helpStmt394); if (state.failed) return retval; 
+                    if ( state.backtracking==0 ) stream_K_HELP.add(K_HELP22);
+
+
+
+                    // AST REWRITE
+                    // elements: 
+                    // token labels: 
+                    // rule labels: retval
+                    // token list labels: 
+                    // rule list labels: 
+                    // wildcard labels: 
+                    if ( state.backtracking==0 ) {
+                    retval.tree = root_0;
+                    RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+                    root_0 = (CommonTree)adaptor.nil();
+                    // 91:14: -> ^( NODE_HELP )
+                    {
+                        // /root/project/src/java/org/apache/cassandra/cli/Cli.g:91:17: ^( NODE_HELP )
+                        {
+                        CommonTree root_1 = (CommonTree)adaptor.nil();
+                        root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_HELP, "NODE_HELP"), root_1);
+
+                        adaptor.addChild(root_0, root_1);
+                        }
+
+                    }
+
+                    retval.tree = root_0;}
+                    }
+                    break;
+                case 2 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:92:7: '?'
+                    {
+                    char_literal23=(Token)match(input,55,FOLLOW_55_in_helpStmt408); if (state.failed) return retval; 
+                    if ( state.backtracking==0 ) stream_55.add(char_literal23);
+
+
+
+                    // AST REWRITE
+                    // elements: 
+                    // token labels: 
+                    // rule labels: retval
+                    // token list labels: 
+                    // rule list labels: 
+                    // wildcard labels: 
+                    if ( state.backtracking==0 ) {
+                    retval.tree = root_0;
+                    RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+                    root_0 = (CommonTree)adaptor.nil();
+                    // 92:14: -> ^( NODE_HELP )
+                    {
+                        // /root/project/src/java/org/apache/cassandra/cli/Cli.g:92:17: ^( NODE_HELP )
+                        {
+                        CommonTree root_1 = (CommonTree)adaptor.nil();
+                        root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_HELP, "NODE_HELP"), root_1);
+
+                        adaptor.addChild(root_0, root_1);
+                        }
+
+                    }
+
+                    retval.tree = root_0;}
+                    }
+                    break;
+
+            }
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "helpStmt"
+
+    public static class exitStmt_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "exitStmt"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:95:1: exitStmt : ( K_QUIT -> ^( NODE_EXIT ) | K_EXIT -> ^( NODE_EXIT ) );
+    public final CliParser.exitStmt_return exitStmt() throws RecognitionException {
+        CliParser.exitStmt_return retval = new CliParser.exitStmt_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_QUIT24=null;
+        Token K_EXIT25=null;
+
+        CommonTree K_QUIT24_tree=null;
+        CommonTree K_EXIT25_tree=null;
+        RewriteRuleTokenStream stream_K_EXIT=new RewriteRuleTokenStream(adaptor,"token K_EXIT");
+        RewriteRuleTokenStream stream_K_QUIT=new RewriteRuleTokenStream(adaptor,"token K_QUIT");
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:96:5: ( K_QUIT -> ^( NODE_EXIT ) | K_EXIT -> ^( NODE_EXIT ) )
+            int alt6=2;
+            int LA6_0 = input.LA(1);
+
+            if ( (LA6_0==K_QUIT) ) {
+                alt6=1;
+            }
+            else if ( (LA6_0==K_EXIT) ) {
+                alt6=2;
+            }
+            else {
+                if (state.backtracking>0) {state.failed=true; return retval;}
+                NoViableAltException nvae =
+                    new NoViableAltException("", 6, 0, input);
+
+                throw nvae;
+            }
+            switch (alt6) {
+                case 1 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:96:7: K_QUIT
+                    {
+                    K_QUIT24=(Token)match(input,K_QUIT,FOLLOW_K_QUIT_in_exitStmt434); if (state.failed) return retval; 
+                    if ( state.backtracking==0 ) stream_K_QUIT.add(K_QUIT24);
+
+
+
+                    // AST REWRITE
+                    // elements: 
+                    // token labels: 
+                    // rule labels: retval
+                    // token list labels: 
+                    // rule list labels: 
+                    // wildcard labels: 
+                    if ( state.backtracking==0 ) {
+                    retval.tree = root_0;
+                    RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+                    root_0 = (CommonTree)adaptor.nil();
+                    // 96:14: -> ^( NODE_EXIT )
+                    {
+                        // /root/project/src/java/org/apache/cassandra/cli/Cli.g:96:17: ^( NODE_EXIT )
+                        {
+                        CommonTree root_1 = (CommonTree)adaptor.nil();
+                        root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_EXIT, "NODE_EXIT"), root_1);
+
+                        adaptor.addChild(root_0, root_1);
+                        }
+
+                    }
+
+                    retval.tree = root_0;}
+                    }
+                    break;
+                case 2 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:97:7: K_EXIT
+                    {
+                    K_EXIT25=(Token)match(input,K_EXIT,FOLLOW_K_EXIT_in_exitStmt448); if (state.failed) return retval; 
+                    if ( state.backtracking==0 ) stream_K_EXIT.add(K_EXIT25);
+
+
+
+                    // AST REWRITE
+                    // elements: 
+                    // token labels: 
+                    // rule labels: retval
+                    // token list labels: 
+                    // rule list labels: 
+                    // wildcard labels: 
+                    if ( state.backtracking==0 ) {
+                    retval.tree = root_0;
+                    RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+                    root_0 = (CommonTree)adaptor.nil();
+                    // 97:14: -> ^( NODE_EXIT )
+                    {
+                        // /root/project/src/java/org/apache/cassandra/cli/Cli.g:97:17: ^( NODE_EXIT )
+                        {
+                        CommonTree root_1 = (CommonTree)adaptor.nil();
+                        root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_EXIT, "NODE_EXIT"), root_1);
+
+                        adaptor.addChild(root_0, root_1);
+                        }
+
+                    }
+
+                    retval.tree = root_0;}
+                    }
+                    break;
+
+            }
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "exitStmt"
+
+    public static class getStmt_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "getStmt"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:100:1: getStmt : K_GET columnFamilyExpr -> ^( NODE_THRIFT_GET columnFamilyExpr ) ;
+    public final CliParser.getStmt_return getStmt() throws RecognitionException {
+        CliParser.getStmt_return retval = new CliParser.getStmt_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_GET26=null;
+        CliParser.columnFamilyExpr_return columnFamilyExpr27 = null;
+
+
+        CommonTree K_GET26_tree=null;
+        RewriteRuleTokenStream stream_K_GET=new RewriteRuleTokenStream(adaptor,"token K_GET");
+        RewriteRuleSubtreeStream stream_columnFamilyExpr=new RewriteRuleSubtreeStream(adaptor,"rule columnFamilyExpr");
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:101:5: ( K_GET columnFamilyExpr -> ^( NODE_THRIFT_GET columnFamilyExpr ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:101:7: K_GET columnFamilyExpr
+            {
+            K_GET26=(Token)match(input,K_GET,FOLLOW_K_GET_in_getStmt471); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_GET.add(K_GET26);
+
+            pushFollow(FOLLOW_columnFamilyExpr_in_getStmt473);
+            columnFamilyExpr27=columnFamilyExpr();
+
+            state._fsp--;
+            if (state.failed) return retval;
+            if ( state.backtracking==0 ) stream_columnFamilyExpr.add(columnFamilyExpr27.getTree());
+
+
+            // AST REWRITE
+            // elements: columnFamilyExpr
+            // token labels: 
+            // rule labels: retval
+            // token list labels: 
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 101:30: -> ^( NODE_THRIFT_GET columnFamilyExpr )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:101:33: ^( NODE_THRIFT_GET columnFamilyExpr )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_THRIFT_GET, "NODE_THRIFT_GET"), root_1);
+
+                adaptor.addChild(root_1, stream_columnFamilyExpr.nextTree());
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "getStmt"
+
+    public static class setStmt_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "setStmt"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:104:1: setStmt : K_SET columnFamilyExpr '=' value -> ^( NODE_THRIFT_SET columnFamilyExpr value ) ;
+    public final CliParser.setStmt_return setStmt() throws RecognitionException {
+        CliParser.setStmt_return retval = new CliParser.setStmt_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_SET28=null;
+        Token char_literal30=null;
+        CliParser.columnFamilyExpr_return columnFamilyExpr29 = null;
+
+        CliParser.value_return value31 = null;
+
+
+        CommonTree K_SET28_tree=null;
+        CommonTree char_literal30_tree=null;
+        RewriteRuleTokenStream stream_56=new RewriteRuleTokenStream(adaptor,"token 56");
+        RewriteRuleTokenStream stream_K_SET=new RewriteRuleTokenStream(adaptor,"token K_SET");
+        RewriteRuleSubtreeStream stream_columnFamilyExpr=new RewriteRuleSubtreeStream(adaptor,"rule columnFamilyExpr");
+        RewriteRuleSubtreeStream stream_value=new RewriteRuleSubtreeStream(adaptor,"rule value");
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:105:5: ( K_SET columnFamilyExpr '=' value -> ^( NODE_THRIFT_SET columnFamilyExpr value ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:105:7: K_SET columnFamilyExpr '=' value
+            {
+            K_SET28=(Token)match(input,K_SET,FOLLOW_K_SET_in_setStmt498); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_SET.add(K_SET28);
+
+            pushFollow(FOLLOW_columnFamilyExpr_in_setStmt500);
+            columnFamilyExpr29=columnFamilyExpr();
+
+            state._fsp--;
+            if (state.failed) return retval;
+            if ( state.backtracking==0 ) stream_columnFamilyExpr.add(columnFamilyExpr29.getTree());
+            char_literal30=(Token)match(input,56,FOLLOW_56_in_setStmt502); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_56.add(char_literal30);
+
+            pushFollow(FOLLOW_value_in_setStmt504);
+            value31=value();
+
+            state._fsp--;
+            if (state.failed) return retval;
+            if ( state.backtracking==0 ) stream_value.add(value31.getTree());
+
+
+            // AST REWRITE
+            // elements: columnFamilyExpr, value
+            // token labels: 
+            // rule labels: retval
+            // token list labels: 
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 105:40: -> ^( NODE_THRIFT_SET columnFamilyExpr value )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:105:43: ^( NODE_THRIFT_SET columnFamilyExpr value )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_THRIFT_SET, "NODE_THRIFT_SET"), root_1);
+
+                adaptor.addChild(root_1, stream_columnFamilyExpr.nextTree());
+                adaptor.addChild(root_1, stream_value.nextTree());
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "setStmt"
+
+    public static class countStmt_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "countStmt"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:108:1: countStmt : K_COUNT columnFamilyExpr -> ^( NODE_THRIFT_COUNT columnFamilyExpr ) ;
+    public final CliParser.countStmt_return countStmt() throws RecognitionException {
+        CliParser.countStmt_return retval = new CliParser.countStmt_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_COUNT32=null;
+        CliParser.columnFamilyExpr_return columnFamilyExpr33 = null;
+
+
+        CommonTree K_COUNT32_tree=null;
+        RewriteRuleTokenStream stream_K_COUNT=new RewriteRuleTokenStream(adaptor,"token K_COUNT");
+        RewriteRuleSubtreeStream stream_columnFamilyExpr=new RewriteRuleSubtreeStream(adaptor,"rule columnFamilyExpr");
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:109:5: ( K_COUNT columnFamilyExpr -> ^( NODE_THRIFT_COUNT columnFamilyExpr ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:109:7: K_COUNT columnFamilyExpr
+            {
+            K_COUNT32=(Token)match(input,K_COUNT,FOLLOW_K_COUNT_in_countStmt531); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_COUNT.add(K_COUNT32);
+
+            pushFollow(FOLLOW_columnFamilyExpr_in_countStmt533);
+            columnFamilyExpr33=columnFamilyExpr();
+
+            state._fsp--;
+            if (state.failed) return retval;
+            if ( state.backtracking==0 ) stream_columnFamilyExpr.add(columnFamilyExpr33.getTree());
+
+
+            // AST REWRITE
+            // elements: columnFamilyExpr
+            // token labels: 
+            // rule labels: retval
+            // token list labels: 
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 109:32: -> ^( NODE_THRIFT_COUNT columnFamilyExpr )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:109:35: ^( NODE_THRIFT_COUNT columnFamilyExpr )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_THRIFT_COUNT, "NODE_THRIFT_COUNT"), root_1);
+
+                adaptor.addChild(root_1, stream_columnFamilyExpr.nextTree());
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "countStmt"
+
+    public static class delStmt_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "delStmt"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:112:1: delStmt : K_DEL columnFamilyExpr -> ^( NODE_THRIFT_DEL columnFamilyExpr ) ;
+    public final CliParser.delStmt_return delStmt() throws RecognitionException {
+        CliParser.delStmt_return retval = new CliParser.delStmt_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_DEL34=null;
+        CliParser.columnFamilyExpr_return columnFamilyExpr35 = null;
+
+
+        CommonTree K_DEL34_tree=null;
+        RewriteRuleTokenStream stream_K_DEL=new RewriteRuleTokenStream(adaptor,"token K_DEL");
+        RewriteRuleSubtreeStream stream_columnFamilyExpr=new RewriteRuleSubtreeStream(adaptor,"rule columnFamilyExpr");
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:113:5: ( K_DEL columnFamilyExpr -> ^( NODE_THRIFT_DEL columnFamilyExpr ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:113:7: K_DEL columnFamilyExpr
+            {
+            K_DEL34=(Token)match(input,K_DEL,FOLLOW_K_DEL_in_delStmt558); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_DEL.add(K_DEL34);
+
+            pushFollow(FOLLOW_columnFamilyExpr_in_delStmt560);
+            columnFamilyExpr35=columnFamilyExpr();
+
+            state._fsp--;
+            if (state.failed) return retval;
+            if ( state.backtracking==0 ) stream_columnFamilyExpr.add(columnFamilyExpr35.getTree());
+
+
+            // AST REWRITE
+            // elements: columnFamilyExpr
+            // token labels: 
+            // rule labels: retval
+            // token list labels: 
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 113:30: -> ^( NODE_THRIFT_DEL columnFamilyExpr )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:113:33: ^( NODE_THRIFT_DEL columnFamilyExpr )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_THRIFT_DEL, "NODE_THRIFT_DEL"), root_1);
+
+                adaptor.addChild(root_1, stream_columnFamilyExpr.nextTree());
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "delStmt"
+
+    public static class showStmt_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "showStmt"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:116:1: showStmt : ( showClusterName | showVersion | showConfigFile | showTables );
+    public final CliParser.showStmt_return showStmt() throws RecognitionException {
+        CliParser.showStmt_return retval = new CliParser.showStmt_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        CliParser.showClusterName_return showClusterName36 = null;
+
+        CliParser.showVersion_return showVersion37 = null;
+
+        CliParser.showConfigFile_return showConfigFile38 = null;
+
+        CliParser.showTables_return showTables39 = null;
+
+
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:117:5: ( showClusterName | showVersion | showConfigFile | showTables )
+            int alt7=4;
+            int LA7_0 = input.LA(1);
+
+            if ( (LA7_0==K_SHOW) ) {
+                switch ( input.LA(2) ) {
+                case K_CLUSTER:
+                    {
+                    alt7=1;
+                    }
+                    break;
+                case K_VERSION:
+                    {
+                    alt7=2;
+                    }
+                    break;
+                case K_CONFIG:
+                    {
+                    alt7=3;
+                    }
+                    break;
+                case K_TABLES:
+                    {
+                    alt7=4;
+                    }
+                    break;
+                default:
+                    if (state.backtracking>0) {state.failed=true; return retval;}
+                    NoViableAltException nvae =
+                        new NoViableAltException("", 7, 1, input);
+
+                    throw nvae;
+                }
+
+            }
+            else {
+                if (state.backtracking>0) {state.failed=true; return retval;}
+                NoViableAltException nvae =
+                    new NoViableAltException("", 7, 0, input);
+
+                throw nvae;
+            }
+            switch (alt7) {
+                case 1 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:117:7: showClusterName
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_showClusterName_in_showStmt585);
+                    showClusterName36=showClusterName();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, showClusterName36.getTree());
+
+                    }
+                    break;
+                case 2 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:118:7: showVersion
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_showVersion_in_showStmt593);
+                    showVersion37=showVersion();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, showVersion37.getTree());
+
+                    }
+                    break;
+                case 3 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:119:7: showConfigFile
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_showConfigFile_in_showStmt601);
+                    showConfigFile38=showConfigFile();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, showConfigFile38.getTree());
+
+                    }
+                    break;
+                case 4 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:120:7: showTables
+                    {
+                    root_0 = (CommonTree)adaptor.nil();
+
+                    pushFollow(FOLLOW_showTables_in_showStmt609);
+                    showTables39=showTables();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) adaptor.addChild(root_0, showTables39.getTree());
+
+                    }
+                    break;
+
+            }
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "showStmt"
+
+    public static class showClusterName_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "showClusterName"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:123:1: showClusterName : K_SHOW K_CLUSTER K_NAME -> ^( NODE_SHOW_CLUSTER_NAME ) ;
+    public final CliParser.showClusterName_return showClusterName() throws RecognitionException {
+        CliParser.showClusterName_return retval = new CliParser.showClusterName_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_SHOW40=null;
+        Token K_CLUSTER41=null;
+        Token K_NAME42=null;
+
+        CommonTree K_SHOW40_tree=null;
+        CommonTree K_CLUSTER41_tree=null;
+        CommonTree K_NAME42_tree=null;
+        RewriteRuleTokenStream stream_K_CLUSTER=new RewriteRuleTokenStream(adaptor,"token K_CLUSTER");
+        RewriteRuleTokenStream stream_K_NAME=new RewriteRuleTokenStream(adaptor,"token K_NAME");
+        RewriteRuleTokenStream stream_K_SHOW=new RewriteRuleTokenStream(adaptor,"token K_SHOW");
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:124:5: ( K_SHOW K_CLUSTER K_NAME -> ^( NODE_SHOW_CLUSTER_NAME ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:124:7: K_SHOW K_CLUSTER K_NAME
+            {
+            K_SHOW40=(Token)match(input,K_SHOW,FOLLOW_K_SHOW_in_showClusterName626); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_SHOW.add(K_SHOW40);
+
+            K_CLUSTER41=(Token)match(input,K_CLUSTER,FOLLOW_K_CLUSTER_in_showClusterName628); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_CLUSTER.add(K_CLUSTER41);
+
+            K_NAME42=(Token)match(input,K_NAME,FOLLOW_K_NAME_in_showClusterName630); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_NAME.add(K_NAME42);
+
+
+
+            // AST REWRITE
+            // elements: 
+            // token labels: 
+            // rule labels: retval
+            // token list labels: 
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 124:31: -> ^( NODE_SHOW_CLUSTER_NAME )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:124:34: ^( NODE_SHOW_CLUSTER_NAME )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_SHOW_CLUSTER_NAME, "NODE_SHOW_CLUSTER_NAME"), root_1);
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "showClusterName"
+
+    public static class showConfigFile_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "showConfigFile"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:127:1: showConfigFile : K_SHOW K_CONFIG K_FILE -> ^( NODE_SHOW_CONFIG_FILE ) ;
+    public final CliParser.showConfigFile_return showConfigFile() throws RecognitionException {
+        CliParser.showConfigFile_return retval = new CliParser.showConfigFile_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_SHOW43=null;
+        Token K_CONFIG44=null;
+        Token K_FILE45=null;
+
+        CommonTree K_SHOW43_tree=null;
+        CommonTree K_CONFIG44_tree=null;
+        CommonTree K_FILE45_tree=null;
+        RewriteRuleTokenStream stream_K_FILE=new RewriteRuleTokenStream(adaptor,"token K_FILE");
+        RewriteRuleTokenStream stream_K_SHOW=new RewriteRuleTokenStream(adaptor,"token K_SHOW");
+        RewriteRuleTokenStream stream_K_CONFIG=new RewriteRuleTokenStream(adaptor,"token K_CONFIG");
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:128:5: ( K_SHOW K_CONFIG K_FILE -> ^( NODE_SHOW_CONFIG_FILE ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:128:7: K_SHOW K_CONFIG K_FILE
+            {
+            K_SHOW43=(Token)match(input,K_SHOW,FOLLOW_K_SHOW_in_showConfigFile653); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_SHOW.add(K_SHOW43);
+
+            K_CONFIG44=(Token)match(input,K_CONFIG,FOLLOW_K_CONFIG_in_showConfigFile655); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_CONFIG.add(K_CONFIG44);
+
+            K_FILE45=(Token)match(input,K_FILE,FOLLOW_K_FILE_in_showConfigFile657); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_FILE.add(K_FILE45);
+
+
+
+            // AST REWRITE
+            // elements: 
+            // token labels: 
+            // rule labels: retval
+            // token list labels: 
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 128:30: -> ^( NODE_SHOW_CONFIG_FILE )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:128:33: ^( NODE_SHOW_CONFIG_FILE )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_SHOW_CONFIG_FILE, "NODE_SHOW_CONFIG_FILE"), root_1);
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "showConfigFile"
+
+    public static class showVersion_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "showVersion"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:131:1: showVersion : K_SHOW K_VERSION -> ^( NODE_SHOW_VERSION ) ;
+    public final CliParser.showVersion_return showVersion() throws RecognitionException {
+        CliParser.showVersion_return retval = new CliParser.showVersion_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_SHOW46=null;
+        Token K_VERSION47=null;
+
+        CommonTree K_SHOW46_tree=null;
+        CommonTree K_VERSION47_tree=null;
+        RewriteRuleTokenStream stream_K_VERSION=new RewriteRuleTokenStream(adaptor,"token K_VERSION");
+        RewriteRuleTokenStream stream_K_SHOW=new RewriteRuleTokenStream(adaptor,"token K_SHOW");
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:132:5: ( K_SHOW K_VERSION -> ^( NODE_SHOW_VERSION ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:132:7: K_SHOW K_VERSION
+            {
+            K_SHOW46=(Token)match(input,K_SHOW,FOLLOW_K_SHOW_in_showVersion680); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_SHOW.add(K_SHOW46);
+
+            K_VERSION47=(Token)match(input,K_VERSION,FOLLOW_K_VERSION_in_showVersion682); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_VERSION.add(K_VERSION47);
+
+
+
+            // AST REWRITE
+            // elements: 
+            // token labels: 
+            // rule labels: retval
+            // token list labels: 
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 132:24: -> ^( NODE_SHOW_VERSION )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:132:27: ^( NODE_SHOW_VERSION )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_SHOW_VERSION, "NODE_SHOW_VERSION"), root_1);
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "showVersion"
+
+    public static class showTables_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "showTables"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:135:1: showTables : K_SHOW K_TABLES -> ^( NODE_SHOW_TABLES ) ;
+    public final CliParser.showTables_return showTables() throws RecognitionException {
+        CliParser.showTables_return retval = new CliParser.showTables_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_SHOW48=null;
+        Token K_TABLES49=null;
+
+        CommonTree K_SHOW48_tree=null;
+        CommonTree K_TABLES49_tree=null;
+        RewriteRuleTokenStream stream_K_TABLES=new RewriteRuleTokenStream(adaptor,"token K_TABLES");
+        RewriteRuleTokenStream stream_K_SHOW=new RewriteRuleTokenStream(adaptor,"token K_SHOW");
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:136:5: ( K_SHOW K_TABLES -> ^( NODE_SHOW_TABLES ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:136:7: K_SHOW K_TABLES
+            {
+            K_SHOW48=(Token)match(input,K_SHOW,FOLLOW_K_SHOW_in_showTables705); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_SHOW.add(K_SHOW48);
+
+            K_TABLES49=(Token)match(input,K_TABLES,FOLLOW_K_TABLES_in_showTables707); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_TABLES.add(K_TABLES49);
+
+
+
+            // AST REWRITE
+            // elements: 
+            // token labels: 
+            // rule labels: retval
+            // token list labels: 
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 136:23: -> ^( NODE_SHOW_TABLES )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:136:26: ^( NODE_SHOW_TABLES )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_SHOW_TABLES, "NODE_SHOW_TABLES"), root_1);
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "showTables"
+
+    public static class describeTable_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "describeTable"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:139:1: describeTable : K_DESCRIBE K_TABLE table -> ^( NODE_DESCRIBE_TABLE table ) ;
+    public final CliParser.describeTable_return describeTable() throws RecognitionException {
+        CliParser.describeTable_return retval = new CliParser.describeTable_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token K_DESCRIBE50=null;
+        Token K_TABLE51=null;
+        CliParser.table_return table52 = null;
+
+
+        CommonTree K_DESCRIBE50_tree=null;
+        CommonTree K_TABLE51_tree=null;
+        RewriteRuleTokenStream stream_K_DESCRIBE=new RewriteRuleTokenStream(adaptor,"token K_DESCRIBE");
+        RewriteRuleTokenStream stream_K_TABLE=new RewriteRuleTokenStream(adaptor,"token K_TABLE");
+        RewriteRuleSubtreeStream stream_table=new RewriteRuleSubtreeStream(adaptor,"rule table");
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:140:5: ( K_DESCRIBE K_TABLE table -> ^( NODE_DESCRIBE_TABLE table ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:140:7: K_DESCRIBE K_TABLE table
+            {
+            K_DESCRIBE50=(Token)match(input,K_DESCRIBE,FOLLOW_K_DESCRIBE_in_describeTable730); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_DESCRIBE.add(K_DESCRIBE50);
+
+            K_TABLE51=(Token)match(input,K_TABLE,FOLLOW_K_TABLE_in_describeTable732); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_K_TABLE.add(K_TABLE51);
+
+            pushFollow(FOLLOW_table_in_describeTable734);
+            table52=table();
+
+            state._fsp--;
+            if (state.failed) return retval;
+            if ( state.backtracking==0 ) stream_table.add(table52.getTree());
+
+
+            // AST REWRITE
+            // elements: table
+            // token labels: 
+            // rule labels: retval
+            // token list labels: 
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 140:32: -> ^( NODE_DESCRIBE_TABLE table )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:140:35: ^( NODE_DESCRIBE_TABLE table )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_DESCRIBE_TABLE, "NODE_DESCRIBE_TABLE"), root_1);
+
+                adaptor.addChild(root_1, stream_table.nextTree());
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "describeTable"
+
+    public static class columnFamilyExpr_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "columnFamilyExpr"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:142:1: columnFamilyExpr : table DOT columnFamily '[' rowKey ']' ( '[' a+= columnOrSuperColumn ']' ( '[' a+= columnOrSuperColumn ']' )? )? -> ^( NODE_COLUMN_ACCESS table columnFamily rowKey ( ( $a)+ )? ) ;
+    public final CliParser.columnFamilyExpr_return columnFamilyExpr() throws RecognitionException {
+        CliParser.columnFamilyExpr_return retval = new CliParser.columnFamilyExpr_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token DOT54=null;
+        Token char_literal56=null;
+        Token char_literal58=null;
+        Token char_literal59=null;
+        Token char_literal60=null;
+        Token char_literal61=null;
+        Token char_literal62=null;
+        List list_a=null;
+        CliParser.table_return table53 = null;
+
+        CliParser.columnFamily_return columnFamily55 = null;
+
+        CliParser.rowKey_return rowKey57 = null;
+
+        CliParser.columnOrSuperColumn_return a = null;
+         a = null;
+        CommonTree DOT54_tree=null;
+        CommonTree char_literal56_tree=null;
+        CommonTree char_literal58_tree=null;
+        CommonTree char_literal59_tree=null;
+        CommonTree char_literal60_tree=null;
+        CommonTree char_literal61_tree=null;
+        CommonTree char_literal62_tree=null;
+        RewriteRuleTokenStream stream_57=new RewriteRuleTokenStream(adaptor,"token 57");
+        RewriteRuleTokenStream stream_58=new RewriteRuleTokenStream(adaptor,"token 58");
+        RewriteRuleTokenStream stream_DOT=new RewriteRuleTokenStream(adaptor,"token DOT");
+        RewriteRuleSubtreeStream stream_columnFamily=new RewriteRuleSubtreeStream(adaptor,"rule columnFamily");
+        RewriteRuleSubtreeStream stream_columnOrSuperColumn=new RewriteRuleSubtreeStream(adaptor,"rule columnOrSuperColumn");
+        RewriteRuleSubtreeStream stream_table=new RewriteRuleSubtreeStream(adaptor,"rule table");
+        RewriteRuleSubtreeStream stream_rowKey=new RewriteRuleSubtreeStream(adaptor,"rule rowKey");
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:143:5: ( table DOT columnFamily '[' rowKey ']' ( '[' a+= columnOrSuperColumn ']' ( '[' a+= columnOrSuperColumn ']' )? )? -> ^( NODE_COLUMN_ACCESS table columnFamily rowKey ( ( $a)+ )? ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:143:7: table DOT columnFamily '[' rowKey ']' ( '[' a+= columnOrSuperColumn ']' ( '[' a+= columnOrSuperColumn ']' )? )?
+            {
+            pushFollow(FOLLOW_table_in_columnFamilyExpr754);
+            table53=table();
+
+            state._fsp--;
+            if (state.failed) return retval;
+            if ( state.backtracking==0 ) stream_table.add(table53.getTree());
+            DOT54=(Token)match(input,DOT,FOLLOW_DOT_in_columnFamilyExpr756); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_DOT.add(DOT54);
+
+            pushFollow(FOLLOW_columnFamily_in_columnFamilyExpr758);
+            columnFamily55=columnFamily();
+
+            state._fsp--;
+            if (state.failed) return retval;
+            if ( state.backtracking==0 ) stream_columnFamily.add(columnFamily55.getTree());
+            char_literal56=(Token)match(input,57,FOLLOW_57_in_columnFamilyExpr760); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_57.add(char_literal56);
+
+            pushFollow(FOLLOW_rowKey_in_columnFamilyExpr762);
+            rowKey57=rowKey();
+
+            state._fsp--;
+            if (state.failed) return retval;
+            if ( state.backtracking==0 ) stream_rowKey.add(rowKey57.getTree());
+            char_literal58=(Token)match(input,58,FOLLOW_58_in_columnFamilyExpr764); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_58.add(char_literal58);
+
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:144:9: ( '[' a+= columnOrSuperColumn ']' ( '[' a+= columnOrSuperColumn ']' )? )?
+            int alt9=2;
+            int LA9_0 = input.LA(1);
+
+            if ( (LA9_0==57) ) {
+                alt9=1;
+            }
+            switch (alt9) {
+                case 1 :
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:144:11: '[' a+= columnOrSuperColumn ']' ( '[' a+= columnOrSuperColumn ']' )?
+                    {
+                    char_literal59=(Token)match(input,57,FOLLOW_57_in_columnFamilyExpr777); if (state.failed) return retval; 
+                    if ( state.backtracking==0 ) stream_57.add(char_literal59);
+
+                    pushFollow(FOLLOW_columnOrSuperColumn_in_columnFamilyExpr781);
+                    a=columnOrSuperColumn();
+
+                    state._fsp--;
+                    if (state.failed) return retval;
+                    if ( state.backtracking==0 ) stream_columnOrSuperColumn.add(a.getTree());
+                    if (list_a==null) list_a=new ArrayList();
+                    list_a.add(a.getTree());
+
+                    char_literal60=(Token)match(input,58,FOLLOW_58_in_columnFamilyExpr783); if (state.failed) return retval; 
+                    if ( state.backtracking==0 ) stream_58.add(char_literal60);
+
+                    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:145:13: ( '[' a+= columnOrSuperColumn ']' )?
+                    int alt8=2;
+                    int LA8_0 = input.LA(1);
+
+                    if ( (LA8_0==57) ) {
+                        alt8=1;
+                    }
+                    switch (alt8) {
+                        case 1 :
+                            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:145:14: '[' a+= columnOrSuperColumn ']'
+                            {
+                            char_literal61=(Token)match(input,57,FOLLOW_57_in_columnFamilyExpr799); if (state.failed) return retval; 
+                            if ( state.backtracking==0 ) stream_57.add(char_literal61);
+
+                            pushFollow(FOLLOW_columnOrSuperColumn_in_columnFamilyExpr803);
+                            a=columnOrSuperColumn();
+
+                            state._fsp--;
+                            if (state.failed) return retval;
+                            if ( state.backtracking==0 ) stream_columnOrSuperColumn.add(a.getTree());
+                            if (list_a==null) list_a=new ArrayList();
+                            list_a.add(a.getTree());
+
+                            char_literal62=(Token)match(input,58,FOLLOW_58_in_columnFamilyExpr805); if (state.failed) return retval; 
+                            if ( state.backtracking==0 ) stream_58.add(char_literal62);
+
+
+                            }
+                            break;
+
+                    }
+
+
+                    }
+                    break;
+
+            }
+
+
+
+            // AST REWRITE
+            // elements: rowKey, columnFamily, a, table
+            // token labels: 
+            // rule labels: retval
+            // token list labels: 
+            // rule list labels: a
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+            RewriteRuleSubtreeStream stream_a=new RewriteRuleSubtreeStream(adaptor,"token a",list_a);
+            root_0 = (CommonTree)adaptor.nil();
+            // 147:7: -> ^( NODE_COLUMN_ACCESS table columnFamily rowKey ( ( $a)+ )? )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:147:10: ^( NODE_COLUMN_ACCESS table columnFamily rowKey ( ( $a)+ )? )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_COLUMN_ACCESS, "NODE_COLUMN_ACCESS"), root_1);
+
+                adaptor.addChild(root_1, stream_table.nextTree());
+                adaptor.addChild(root_1, stream_columnFamily.nextTree());
+                adaptor.addChild(root_1, stream_rowKey.nextTree());
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:147:57: ( ( $a)+ )?
+                if ( stream_a.hasNext() ) {
+                    if ( !(stream_a.hasNext()) ) {
+                        throw new RewriteEarlyExitException();
+                    }
+                    while ( stream_a.hasNext() ) {
+                        adaptor.addChild(root_1, stream_a.nextTree());
+
+                    }
+                    stream_a.reset();
+
+                }
+                stream_a.reset();
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "columnFamilyExpr"
+
+    public static class table_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "table"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:150:1: table : ( Identifier | IntegerLiteral ) ;
+    public final CliParser.table_return table() throws RecognitionException {
+        CliParser.table_return retval = new CliParser.table_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token set63=null;
+
+        CommonTree set63_tree=null;
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:150:6: ( ( Identifier | IntegerLiteral ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:150:8: ( Identifier | IntegerLiteral )
+            {
+            root_0 = (CommonTree)adaptor.nil();
+
+            set63=(Token)input.LT(1);
+            if ( (input.LA(1)>=Identifier && input.LA(1)<=IntegerLiteral) ) {
+                input.consume();
+                if ( state.backtracking==0 ) adaptor.addChild(root_0, (CommonTree)adaptor.create(set63));
+                state.errorRecovery=false;state.failed=false;
+            }
+            else {
+                if (state.backtracking>0) {state.failed=true; return retval;}
+                MismatchedSetException mse = new MismatchedSetException(null,input);
+                throw mse;
+            }
+
+
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "table"
+
+    public static class columnFamily_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "columnFamily"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:152:1: columnFamily : ( Identifier | IntegerLiteral ) ;
+    public final CliParser.columnFamily_return columnFamily() throws RecognitionException {
+        CliParser.columnFamily_return retval = new CliParser.columnFamily_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token set64=null;
+
+        CommonTree set64_tree=null;
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:152:13: ( ( Identifier | IntegerLiteral ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:152:15: ( Identifier | IntegerLiteral )
+            {
+            root_0 = (CommonTree)adaptor.nil();
+
+            set64=(Token)input.LT(1);
+            if ( (input.LA(1)>=Identifier && input.LA(1)<=IntegerLiteral) ) {
+                input.consume();
+                if ( state.backtracking==0 ) adaptor.addChild(root_0, (CommonTree)adaptor.create(set64));
+                state.errorRecovery=false;state.failed=false;
+            }
+            else {
+                if (state.backtracking>0) {state.failed=true; return retval;}
+                MismatchedSetException mse = new MismatchedSetException(null,input);
+                throw mse;
+            }
+
+
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "columnFamily"
+
+    public static class rowKey_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "rowKey"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:154:1: rowKey : StringLiteral ;
+    public final CliParser.rowKey_return rowKey() throws RecognitionException {
+        CliParser.rowKey_return retval = new CliParser.rowKey_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token StringLiteral65=null;
+
+        CommonTree StringLiteral65_tree=null;
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:154:7: ( StringLiteral )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:154:11: StringLiteral
+            {
+            root_0 = (CommonTree)adaptor.nil();
+
+            StringLiteral65=(Token)match(input,StringLiteral,FOLLOW_StringLiteral_in_rowKey884); if (state.failed) return retval;
+            if ( state.backtracking==0 ) {
+            StringLiteral65_tree = (CommonTree)adaptor.create(StringLiteral65);
+            adaptor.addChild(root_0, StringLiteral65_tree);
+            }
+
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "rowKey"
+
+    public static class value_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "value"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:156:1: value : StringLiteral ;
+    public final CliParser.value_return value() throws RecognitionException {
+        CliParser.value_return retval = new CliParser.value_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token StringLiteral66=null;
+
+        CommonTree StringLiteral66_tree=null;
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:156:6: ( StringLiteral )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:156:8: StringLiteral
+            {
+            root_0 = (CommonTree)adaptor.nil();
+
+            StringLiteral66=(Token)match(input,StringLiteral,FOLLOW_StringLiteral_in_value891); if (state.failed) return retval;
+            if ( state.backtracking==0 ) {
+            StringLiteral66_tree = (CommonTree)adaptor.create(StringLiteral66);
+            adaptor.addChild(root_0, StringLiteral66_tree);
+            }
+
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "value"
+
+    public static class columnOrSuperColumn_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "columnOrSuperColumn"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:158:1: columnOrSuperColumn : StringLiteral ;
+    public final CliParser.columnOrSuperColumn_return columnOrSuperColumn() throws RecognitionException {
+        CliParser.columnOrSuperColumn_return retval = new CliParser.columnOrSuperColumn_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token StringLiteral67=null;
+
+        CommonTree StringLiteral67_tree=null;
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:158:20: ( StringLiteral )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:158:22: StringLiteral
+            {
+            root_0 = (CommonTree)adaptor.nil();
+
+            StringLiteral67=(Token)match(input,StringLiteral,FOLLOW_StringLiteral_in_columnOrSuperColumn898); if (state.failed) return retval;
+            if ( state.backtracking==0 ) {
+            StringLiteral67_tree = (CommonTree)adaptor.create(StringLiteral67);
+            adaptor.addChild(root_0, StringLiteral67_tree);
+            }
+
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "columnOrSuperColumn"
+
+    public static class host_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "host"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:160:1: host : id+= Identifier (id+= DOT id+= Identifier )* -> ^( NODE_ID_LIST ( $id)+ ) ;
+    public final CliParser.host_return host() throws RecognitionException {
+        CliParser.host_return retval = new CliParser.host_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token id=null;
+        List list_id=null;
+
+        CommonTree id_tree=null;
+        RewriteRuleTokenStream stream_Identifier=new RewriteRuleTokenStream(adaptor,"token Identifier");
+        RewriteRuleTokenStream stream_DOT=new RewriteRuleTokenStream(adaptor,"token DOT");
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:160:5: (id+= Identifier (id+= DOT id+= Identifier )* -> ^( NODE_ID_LIST ( $id)+ ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:160:7: id+= Identifier (id+= DOT id+= Identifier )*
+            {
+            id=(Token)match(input,Identifier,FOLLOW_Identifier_in_host907); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_Identifier.add(id);
+
+            if (list_id==null) list_id=new ArrayList();
+            list_id.add(id);
+
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:160:22: (id+= DOT id+= Identifier )*
+            loop10:
+            do {
+                int alt10=2;
+                int LA10_0 = input.LA(1);
+
+                if ( (LA10_0==DOT) ) {
+                    alt10=1;
+                }
+
+
+                switch (alt10) {
+            	case 1 :
+            	    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:160:23: id+= DOT id+= Identifier
+            	    {
+            	    id=(Token)match(input,DOT,FOLLOW_DOT_in_host912); if (state.failed) return retval; 
+            	    if ( state.backtracking==0 ) stream_DOT.add(id);
+
+            	    if (list_id==null) list_id=new ArrayList();
+            	    list_id.add(id);
+
+            	    id=(Token)match(input,Identifier,FOLLOW_Identifier_in_host916); if (state.failed) return retval; 
+            	    if ( state.backtracking==0 ) stream_Identifier.add(id);
+
+            	    if (list_id==null) list_id=new ArrayList();
+            	    list_id.add(id);
+
+
+            	    }
+            	    break;
+
+            	default :
+            	    break loop10;
+                }
+            } while (true);
+
+
+
+            // AST REWRITE
+            // elements: id
+            // token labels: 
+            // rule labels: retval
+            // token list labels: id
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleTokenStream stream_id=new RewriteRuleTokenStream(adaptor,"token id", list_id);
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 160:48: -> ^( NODE_ID_LIST ( $id)+ )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:160:51: ^( NODE_ID_LIST ( $id)+ )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_ID_LIST, "NODE_ID_LIST"), root_1);
+
+                if ( !(stream_id.hasNext()) ) {
+                    throw new RewriteEarlyExitException();
+                }
+                while ( stream_id.hasNext() ) {
+                    adaptor.addChild(root_1, stream_id.nextNode());
+
+                }
+                stream_id.reset();
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "host"
+
+    public static class ipaddr_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "ipaddr"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:162:1: ipaddr : id+= IntegerLiteral id+= DOT id+= IntegerLiteral id+= DOT id+= IntegerLiteral id+= DOT id+= IntegerLiteral -> ^( NODE_ID_LIST ( $id)+ ) ;
+    public final CliParser.ipaddr_return ipaddr() throws RecognitionException {
+        CliParser.ipaddr_return retval = new CliParser.ipaddr_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token id=null;
+        List list_id=null;
+
+        CommonTree id_tree=null;
+        RewriteRuleTokenStream stream_DOT=new RewriteRuleTokenStream(adaptor,"token DOT");
+        RewriteRuleTokenStream stream_IntegerLiteral=new RewriteRuleTokenStream(adaptor,"token IntegerLiteral");
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:162:7: (id+= IntegerLiteral id+= DOT id+= IntegerLiteral id+= DOT id+= IntegerLiteral id+= DOT id+= IntegerLiteral -> ^( NODE_ID_LIST ( $id)+ ) )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:162:9: id+= IntegerLiteral id+= DOT id+= IntegerLiteral id+= DOT id+= IntegerLiteral id+= DOT id+= IntegerLiteral
+            {
+            id=(Token)match(input,IntegerLiteral,FOLLOW_IntegerLiteral_in_ipaddr937); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_IntegerLiteral.add(id);
+
+            if (list_id==null) list_id=new ArrayList();
+            list_id.add(id);
+
+            id=(Token)match(input,DOT,FOLLOW_DOT_in_ipaddr941); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_DOT.add(id);
+
+            if (list_id==null) list_id=new ArrayList();
+            list_id.add(id);
+
+            id=(Token)match(input,IntegerLiteral,FOLLOW_IntegerLiteral_in_ipaddr945); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_IntegerLiteral.add(id);
+
+            if (list_id==null) list_id=new ArrayList();
+            list_id.add(id);
+
+            id=(Token)match(input,DOT,FOLLOW_DOT_in_ipaddr949); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_DOT.add(id);
+
+            if (list_id==null) list_id=new ArrayList();
+            list_id.add(id);
+
+            id=(Token)match(input,IntegerLiteral,FOLLOW_IntegerLiteral_in_ipaddr953); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_IntegerLiteral.add(id);
+
+            if (list_id==null) list_id=new ArrayList();
+            list_id.add(id);
+
+            id=(Token)match(input,DOT,FOLLOW_DOT_in_ipaddr957); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_DOT.add(id);
+
+            if (list_id==null) list_id=new ArrayList();
+            list_id.add(id);
+
+            id=(Token)match(input,IntegerLiteral,FOLLOW_IntegerLiteral_in_ipaddr961); if (state.failed) return retval; 
+            if ( state.backtracking==0 ) stream_IntegerLiteral.add(id);
+
+            if (list_id==null) list_id=new ArrayList();
+            list_id.add(id);
+
+
+
+            // AST REWRITE
+            // elements: id
+            // token labels: 
+            // rule labels: retval
+            // token list labels: id
+            // rule list labels: 
+            // wildcard labels: 
+            if ( state.backtracking==0 ) {
+            retval.tree = root_0;
+            RewriteRuleTokenStream stream_id=new RewriteRuleTokenStream(adaptor,"token id", list_id);
+            RewriteRuleSubtreeStream stream_retval=new RewriteRuleSubtreeStream(adaptor,"rule retval",retval!=null?retval.tree:null);
+
+            root_0 = (CommonTree)adaptor.nil();
+            // 162:109: -> ^( NODE_ID_LIST ( $id)+ )
+            {
+                // /root/project/src/java/org/apache/cassandra/cli/Cli.g:162:112: ^( NODE_ID_LIST ( $id)+ )
+                {
+                CommonTree root_1 = (CommonTree)adaptor.nil();
+                root_1 = (CommonTree)adaptor.becomeRoot((CommonTree)adaptor.create(NODE_ID_LIST, "NODE_ID_LIST"), root_1);
+
+                if ( !(stream_id.hasNext()) ) {
+                    throw new RewriteEarlyExitException();
+                }
+                while ( stream_id.hasNext() ) {
+                    adaptor.addChild(root_1, stream_id.nextNode());
+
+                }
+                stream_id.reset();
+
+                adaptor.addChild(root_0, root_1);
+                }
+
+            }
+
+            retval.tree = root_0;}
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "ipaddr"
+
+    public static class port_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "port"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:164:1: port : IntegerLiteral ;
+    public final CliParser.port_return port() throws RecognitionException {
+        CliParser.port_return retval = new CliParser.port_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token IntegerLiteral68=null;
+
+        CommonTree IntegerLiteral68_tree=null;
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:164:5: ( IntegerLiteral )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:164:7: IntegerLiteral
+            {
+            root_0 = (CommonTree)adaptor.nil();
+
+            IntegerLiteral68=(Token)match(input,IntegerLiteral,FOLLOW_IntegerLiteral_in_port978); if (state.failed) return retval;
+            if ( state.backtracking==0 ) {
+            IntegerLiteral68_tree = (CommonTree)adaptor.create(IntegerLiteral68);
+            adaptor.addChild(root_0, IntegerLiteral68_tree);
+            }
+
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "port"
+
+    public static class consistency_return extends ParserRuleReturnScope {
+        CommonTree tree;
+        public Object getTree() { return tree; }
+    };
+
+    // $ANTLR start "consistency"
+    // /root/project/src/java/org/apache/cassandra/cli/Cli.g:166:1: consistency : ( K_CONSISTENCY_ZERO | K_CONSISTENCY_ONE | K_CONSISTENCY_QUORUM | K_CONSISTENCY_DCQUORUM | K_CONSISTENCY_DCQUORUMSYNC | K_CONSISTENCY_ALL | K_CONSISTENCY_ANY );
+    public final CliParser.consistency_return consistency() throws RecognitionException {
+        CliParser.consistency_return retval = new CliParser.consistency_return();
+        retval.start = input.LT(1);
+
+        CommonTree root_0 = null;
+
+        Token set69=null;
+
+        CommonTree set69_tree=null;
+
+        try {
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:167:2: ( K_CONSISTENCY_ZERO | K_CONSISTENCY_ONE | K_CONSISTENCY_QUORUM | K_CONSISTENCY_DCQUORUM | K_CONSISTENCY_DCQUORUMSYNC | K_CONSISTENCY_ALL | K_CONSISTENCY_ANY )
+            // /root/project/src/java/org/apache/cassandra/cli/Cli.g:
+            {
+            root_0 = (CommonTree)adaptor.nil();
+
+            set69=(Token)input.LT(1);
+            if ( (input.LA(1)>=K_CONSISTENCY_ZERO && input.LA(1)<=K_CONSISTENCY_ANY) ) {
+                input.consume();
+                if ( state.backtracking==0 ) adaptor.addChild(root_0, (CommonTree)adaptor.create(set69));
+                state.errorRecovery=false;state.failed=false;
+            }
+            else {
+                if (state.backtracking>0) {state.failed=true; return retval;}
+                MismatchedSetException mse = new MismatchedSetException(null,input);
+                throw mse;
+            }
+
+
+            }
+
+            retval.stop = input.LT(-1);
+
+            if ( state.backtracking==0 ) {
+
+            retval.tree = (CommonTree)adaptor.rulePostProcessing(root_0);
+            adaptor.setTokenBoundaries(retval.tree, retval.start, retval.stop);
+            }
+        }
+        catch (RecognitionException re) {
+            reportError(re);
+            recover(input,re);
+    	retval.tree = (CommonTree)adaptor.errorNode(input, retval.start, input.LT(-1), re);
+
+        }
+        finally {
+        }
+        return retval;
+    }
+    // $ANTLR end "consistency"
+
+    // Delegated rules
+
+
+ 
+
+    public static final BitSet FOLLOW_stmt_in_root215 = new BitSet(new long[]{0x0003F80000100000L});
+    public static final BitSet FOLLOW_consistency_in_root217 = new BitSet(new long[]{0x0000000000100000L});
+    public static final BitSet FOLLOW_SEMICOLON_in_root220 = new BitSet(new long[]{0x0000000000000000L});
+    public static final BitSet FOLLOW_EOF_in_root223 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_connectStmt_in_stmt244 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_exitStmt_in_stmt252 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_countStmt_in_stmt260 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_describeTable_in_stmt268 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_delStmt_in_stmt276 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_getStmt_in_stmt284 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_helpStmt_in_stmt292 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_setStmt_in_stmt300 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_showStmt_in_stmt308 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_CONNECT_in_connectStmt337 = new BitSet(new long[]{0x0000010000000000L});
+    public static final BitSet FOLLOW_host_in_connectStmt339 = new BitSet(new long[]{0x0000000000400000L});
+    public static final BitSet FOLLOW_SLASH_in_connectStmt341 = new BitSet(new long[]{0x0000020000000000L});
+    public static final BitSet FOLLOW_port_in_connectStmt343 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_CONNECT_in_connectStmt361 = new BitSet(new long[]{0x0000020000000000L});
+    public static final BitSet FOLLOW_ipaddr_in_connectStmt363 = new BitSet(new long[]{0x0000000000400000L});
+    public static final BitSet FOLLOW_SLASH_in_connectStmt365 = new BitSet(new long[]{0x0000020000000000L});
+    public static final BitSet FOLLOW_port_in_connectStmt367 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_HELP_in_helpStmt394 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_55_in_helpStmt408 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_QUIT_in_exitStmt434 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_EXIT_in_exitStmt448 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_GET_in_getStmt471 = new BitSet(new long[]{0x0000030000000000L});
+    public static final BitSet FOLLOW_columnFamilyExpr_in_getStmt473 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_SET_in_setStmt498 = new BitSet(new long[]{0x0000030000000000L});
+    public static final BitSet FOLLOW_columnFamilyExpr_in_setStmt500 = new BitSet(new long[]{0x0100000000000000L});
+    public static final BitSet FOLLOW_56_in_setStmt502 = new BitSet(new long[]{0x0000040000000000L});
+    public static final BitSet FOLLOW_value_in_setStmt504 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_COUNT_in_countStmt531 = new BitSet(new long[]{0x0000030000000000L});
+    public static final BitSet FOLLOW_columnFamilyExpr_in_countStmt533 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_DEL_in_delStmt558 = new BitSet(new long[]{0x0000030000000000L});
+    public static final BitSet FOLLOW_columnFamilyExpr_in_delStmt560 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_showClusterName_in_showStmt585 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_showVersion_in_showStmt593 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_showConfigFile_in_showStmt601 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_showTables_in_showStmt609 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_SHOW_in_showClusterName626 = new BitSet(new long[]{0x0000000080000000L});
+    public static final BitSet FOLLOW_K_CLUSTER_in_showClusterName628 = new BitSet(new long[]{0x0000000100000000L});
+    public static final BitSet FOLLOW_K_NAME_in_showClusterName630 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_SHOW_in_showConfigFile653 = new BitSet(new long[]{0x0000000200000000L});
+    public static final BitSet FOLLOW_K_CONFIG_in_showConfigFile655 = new BitSet(new long[]{0x0000000400000000L});
+    public static final BitSet FOLLOW_K_FILE_in_showConfigFile657 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_SHOW_in_showVersion680 = new BitSet(new long[]{0x0000000800000000L});
+    public static final BitSet FOLLOW_K_VERSION_in_showVersion682 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_SHOW_in_showTables705 = new BitSet(new long[]{0x0000001000000000L});
+    public static final BitSet FOLLOW_K_TABLES_in_showTables707 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_K_DESCRIBE_in_describeTable730 = new BitSet(new long[]{0x0000004000000000L});
+    public static final BitSet FOLLOW_K_TABLE_in_describeTable732 = new BitSet(new long[]{0x0000030000000000L});
+    public static final BitSet FOLLOW_table_in_describeTable734 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_table_in_columnFamilyExpr754 = new BitSet(new long[]{0x0000008000000000L});
+    public static final BitSet FOLLOW_DOT_in_columnFamilyExpr756 = new BitSet(new long[]{0x0000030000000000L});
+    public static final BitSet FOLLOW_columnFamily_in_columnFamilyExpr758 = new BitSet(new long[]{0x0200000000000000L});
+    public static final BitSet FOLLOW_57_in_columnFamilyExpr760 = new BitSet(new long[]{0x0000040000000000L});
+    public static final BitSet FOLLOW_rowKey_in_columnFamilyExpr762 = new BitSet(new long[]{0x0400000000000000L});
+    public static final BitSet FOLLOW_58_in_columnFamilyExpr764 = new BitSet(new long[]{0x0200000000000002L});
+    public static final BitSet FOLLOW_57_in_columnFamilyExpr777 = new BitSet(new long[]{0x0000040000000000L});
+    public static final BitSet FOLLOW_columnOrSuperColumn_in_columnFamilyExpr781 = new BitSet(new long[]{0x0400000000000000L});
+    public static final BitSet FOLLOW_58_in_columnFamilyExpr783 = new BitSet(new long[]{0x0200000000000002L});
+    public static final BitSet FOLLOW_57_in_columnFamilyExpr799 = new BitSet(new long[]{0x0000040000000000L});
+    public static final BitSet FOLLOW_columnOrSuperColumn_in_columnFamilyExpr803 = new BitSet(new long[]{0x0400000000000000L});
+    public static final BitSet FOLLOW_58_in_columnFamilyExpr805 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_set_in_table856 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_set_in_columnFamily869 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_StringLiteral_in_rowKey884 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_StringLiteral_in_value891 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_StringLiteral_in_columnOrSuperColumn898 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_Identifier_in_host907 = new BitSet(new long[]{0x0000008000000002L});
+    public static final BitSet FOLLOW_DOT_in_host912 = new BitSet(new long[]{0x0000010000000000L});
+    public static final BitSet FOLLOW_Identifier_in_host916 = new BitSet(new long[]{0x0000008000000002L});
+    public static final BitSet FOLLOW_IntegerLiteral_in_ipaddr937 = new BitSet(new long[]{0x0000008000000000L});
+    public static final BitSet FOLLOW_DOT_in_ipaddr941 = new BitSet(new long[]{0x0000020000000000L});
+    public static final BitSet FOLLOW_IntegerLiteral_in_ipaddr945 = new BitSet(new long[]{0x0000008000000000L});
+    public static final BitSet FOLLOW_DOT_in_ipaddr949 = new BitSet(new long[]{0x0000020000000000L});
+    public static final BitSet FOLLOW_IntegerLiteral_in_ipaddr953 = new BitSet(new long[]{0x0000008000000000L});
+    public static final BitSet FOLLOW_DOT_in_ipaddr957 = new BitSet(new long[]{0x0000020000000000L});
+    public static final BitSet FOLLOW_IntegerLiteral_in_ipaddr961 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_IntegerLiteral_in_port978 = new BitSet(new long[]{0x0000000000000002L});
+    public static final BitSet FOLLOW_set_in_consistency0 = new BitSet(new long[]{0x0000000000000002L});
+
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package edu.berkeley.poseidon;
+
+import java.io.UnsupportedEncodingException;
+
+import org.apache.cassandra.config.CFMetaData;
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.db.ColumnFamily;
+import org.apache.cassandra.db.RowMutation;
+import org.apache.cassandra.net.Message;
+
+/**
+ * When a replica acknowledges a mutation that refers to blobs. Each column
+ * family chooses a durability with its <code>BlobDurability</code> attribute,
+ * and the coordinator sends the durability of a mutation with it in the
+ * {@value #HEADER} header. Either way an acknowledgement counts toward the
+ * mutation's consistency level like any other; the durability decides what
+ * the acknowledgement promises.
+ *
+ * @author James Ide
+ */
+public enum BlobDurability {
+
+    /**
+     * The replica acknowledges the mutation once it has been applied and the
+     * references to its blobs have been recorded, and downloads the blobs in
+     * the background. A blob that is read before it has been downloaded is
+     * fetched from the replicas that have it.
+     */
+    METADATA,
+
+    /**
+     * The replica applies and acknowledges the mutation only once every blob
+     * that it refers to has been downloaded and verified. If a blob fails to
+     * download, the replica drops the mutation without acknowledging it, as
+     * an overloaded replica would, and leaves it to the coordinator's hints
+     * and to repair.
+     */
+    BLOB;
+
+    /** The header of a mutation message that holds its durability. */
+    public static final String HEADER = "BLOB_DURABILITY";
+
+    /**
+     * Returns the durability of a mutation, which is the strongest durability
+     * of its column families.
+     */
+    public static BlobDurability of(RowMutation rm) {
+        for (ColumnFamily cf : rm.getColumnFamilies()) {
+            CFMetaData metadata = DatabaseDescriptor.getCFMetaData(rm.getTable(), cf.name());
+            if ((metadata == null) || (metadata.blobDurability == BLOB)) {
+                return BLOB;
+            }
+        }
+        return METADATA;
+    }
+
+    /**
+     * Returns the durability that the coordinator requested for a mutation
+     * message. Coordinators that do not send one expect {@link #BLOB}.
+     */
+    public static BlobDurability of(Message message) {
+        byte[] header = message.getHeader(HEADER);
+        if (header == null) {
+            return BLOB;
+        }
+        try {
+            return valueOf(new String(header, "UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        } catch (IllegalArgumentException e) {
+            return BLOB;
+        }
+    }
+
+    /** Records this durability in a mutation message. */
+    public void setHeader(Message message) {
+        try {
+            message.setHeader(HEADER, name().getBytes("UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package edu.berkeley.poseidon;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.cassandra.io.IteratingRow;
+import org.apache.cassandra.io.SSTableReader;
+import org.apache.cassandra.io.SSTableScanner;
+import org.apache.cassandra.service.StorageService;
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import edu.berkeley.poseidon.torrent.RingPeerSource;
+import edu.berkeley.poseidon.torrent.ScheduledTorrentClient;
+import edu.berkeley.poseidon.torrent.Torrent;
+import edu.berkeley.poseidon.torrent.TorrentException;
+import edu.berkeley.poseidon.torrent.TorrentListener;
+import edu.berkeley.poseidon.util.DaemonThreadFactory;
+
+/**
+ * Fetches the blobs of the torrent columns in sstables that are streamed to
+ * this node when it bootstraps or takes over a range, so that the first reads
+ * of the range do not wait for their blobs. Each streamed sstable is scanned
+ * in the background; its blobs are referenced in the {@link BlobStore} and
+ * downloaded as background work of the torrent client, from the current
+ * replicas of their rows and the node that streamed them.
+ * <p>
+ * The progress of the fetches from each source is reported through
+ * <code>StreamingService</code>, and a bootstrapping node waits for them (see
+ * {@link #whenDone}) before it joins the ring, for at most
+ * {@link #MAX_WAIT_MINUTES}. Blobs that fail to download, or that are still
+ * downloading when the wait ends, are left to be fetched when they are read.
+ *
+ * @author James Ide
+ */
+public class BlobFetcher {
+
+    private static Logger logger_ = Logger.getLogger(BlobFetcher.class);
+
+    public static final BlobFetcher instance = new BlobFetcher();
+
+    /** The size of the read buffer of the sstable scans. */
+    private static final int SCAN_BUFFER_SIZE = 1024 * 1024;
+
+    /** How long a scan waits at a time for room in the download queue. */
+    private static final long ADMIT_TIMEOUT_SECONDS = 10;
+
+    /**
+     * How long {@link #whenDone} waits for the fetches from a source. Some
+     * blobs may have no live seeder, and a download of the uTorrent engine
+     * never fails on its own.
+     */
+    public static final long MAX_WAIT_MINUTES = 60;
+
+    private final ExecutorService scanner_ = Executors.newSingleThreadExecutor(
+        new DaemonThreadFactory("BLOB-FETCHER"));
+    private final ScheduledExecutorService timer_ =
+        Executors.newSingleThreadScheduledExecutor(
+            new DaemonThreadFactory("BLOB-FETCHER-TIMER"));
+    /** The fetches from each source that have not finished. */
+    private final Map<InetAddress, Progress> sources_ = Maps.newHashMap();
+
+    private BlobFetcher() {
+    }
+
+    /**
+     * Scans a streamed sstable in the background and fetches the blobs that
+     * its live torrent columns refer to.
+     */
+    public void fetch(final InetAddress source, final String table,
+                      final SSTableReader sstable) {
+        final ScheduledTorrentClient client = StorageService.torrentClient;
+        final BlobStore blobStore = StorageService.blobStore;
+        if ((client == null) || (blobStore == null)) {
+            return;
+        }
+        final Progress progress = start(source);
+        scanner_.execute(new Runnable() {
+            public void run() {
+                try {
+                    scan(source, table, sstable, client, blobStore, progress);
+                } catch (IOException e) {
+                    logger_.error("Failed to scan " + sstable.getFilename() +
+                                  " for blobs", e);
+                } finally {
+                    finished(source, progress);
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs the specified task once the fetches from a source have finished,
+     * or immediately if there are none. If they have not finished within
+     * {@link #MAX_WAIT_MINUTES}, the task runs anyway and the rest of the
+     * fetches carry on in the background.
+     */
+    public void whenDone(final InetAddress source, Runnable task) {
+        final Waiter waiter = new Waiter(task);
+        synchronized (this) {
+            final Progress progress = sources_.get(source);
+            if (progress != null) {
+                progress.tasks.add(waiter);
+                timer_.schedule(new Runnable() {
+                    public void run() {
+                        if (!waiter.ran.get()) {
+                            logger_.warn("Stopped waiting for the streamed blobs from " +
+                                         source + " after " + MAX_WAIT_MINUTES +
+                                         " minutes (" + getStatus(source) +
+                                         "); the rest are fetched in the background");
+                            waiter.run();
+                        }
+                    }
+                }, MAX_WAIT_MINUTES, TimeUnit.MINUTES);
+                return;
+            }
+        }
+        waiter.run();
+    }
+
+    /**
+     * Returns the progress of the fetches from the specified source, or null
+     * if there are none.
+     */
+    public synchronized String getStatus(InetAddress source) {
+        Progress progress = sources_.get(source);
+        return (progress == null) ? null : progress.toString();
+    }
+
+    public synchronized List<InetAddress> getSources() {
+        return Lists.newArrayList(sources_.keySet());
+    }
+
+    private void scan(final InetAddress source, String table,
+                      SSTableReader sstable, ScheduledTorrentClient client,
+                      BlobStore blobStore,
+                      final Progress progress) throws IOException {
+        String group = "streamed:" + table;
+        SSTableScanner scanner = sstable.getScanner(SCAN_BUFFER_SIZE);
+        try {
+            while (scanner.hasNext()) {
+                IteratingRow row = scanner.next();
+                String key = row.getKey().key;
+                List<Torrent> torrents = blobStore.acquireRow(
+                    table, key, row.getColumnFamily());
+                for (Torrent torrent : torrents) {
+                    // Bulk fetches wait for room rather than flooding the
+                    // queue that replica writes share.
+                    while (!admit(client)) {
+                        if (logger_.isDebugEnabled()) {
+                            logger_.debug("Waiting to fetch the blobs of " +
+                                          sstable.getFilename());
+                        }
+                    }
+                    synchronized (this) {
+                        progress.pending++;
+                        progress.scheduled++;
+                        progress.scheduledBytes += torrent.getLength();
+                    }
+                    try {
+                        RingPeerSource.instance.expect(torrent, table, key,
+                                                       source);
+                        client.download(torrent, group, new TorrentListener() {
+                            public void fileDownloaded(Torrent downloaded,
+                                                       File file) {
+                                synchronized (BlobFetcher.this) {
+                                    progress.fetched++;
+                                    progress.fetchedBytes += downloaded.getLength();
+                                }
+                                finished(source, progress);
+                            }
+
+                            public void downloadFailed(Torrent failed,
+                                                       TorrentException e) {
+                                logger_.warn("Failed to fetch streamed blob " +
+                                             failed.getName(), e);
+                                synchronized (BlobFetcher.this) {
+                                    progress.failed++;
+                                }
+                                finished(source, progress);
+                            }
+                        });
+                    } catch (TorrentException e) {
+                        logger_.warn("Failed to fetch streamed blob " +
+                                     torrent.getName(), e);
+                        synchronized (this) {
+                            progress.failed++;
+                        }
+                        finished(source, progress);
+                    }
+                }
+            }
+        } finally {
+            scanner.close();
+        }
+    }
+
+    private static boolean admit(ScheduledTorrentClient client) {
+        try {
+            return client.admit(ADMIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            return true;
+        }
+    }
+
+    /** Counts a scan of an sstable from the specified source as pending. */
+    private synchronized Progress start(InetAddress source) {
+        Progress progress = sources_.get(source);
+        if (progress == null) {
+            progress = new Progress();
+            sources_.put(source, progress);
+        }
+        progress.pending++;
+        return progress;
+    }
+
+    /**
+     * Counts a scan or download as finished and runs the tasks waiting for
+     * the source once nothing from it is pending.
+     */
+    private void finished(InetAddress source, Progress progress) {
+        List<Runnable> tasks;
+        synchronized (this) {
+            progress.pending--;
+            if (progress.pending > 0) {
+                return;
+            }
+            sources_.remove(source);
+            logger_.info("Fetched the streamed blobs from " + source + ": " +
+                         progress);
+            tasks = progress.tasks;
+        }
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+
+    /** A task waiting for the fetches from a source, which runs once. */
+    private static class Waiter implements Runnable {
+
+        final AtomicBoolean ran = new AtomicBoolean();
+        final Runnable task;
+
+        Waiter(Runnable task) {
+            this.task = task;
+        }
+
+        public void run() {
+            if (ran.compareAndSet(false, true)) {
+                task.run();
+            }
+        }
+    }
+
+    /** The fetches of the blobs streamed from one source. */
+    private static class Progress {
+
+        /** The scans and downloads that have not finished. */
+        int pending;
+        int scheduled;
+        int fetched;
+        int failed;
+        long scheduledBytes;
+        long fetchedBytes;
+        final List<Runnable> tasks = Lists.newArrayList();
+
+        @Override
+        public String toString() {
+            return String.format("%d/%d blobs (%d/%d bytes), %d failed",
+                                 fetched, scheduled, fetchedBytes,
+                                 scheduledBytes, failed);
+        }
+    }
+}
@@ -0,0 +1,1142 @@
+package edu.berkeley.poseidon;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.db.ColumnFamily;
+import org.apache.cassandra.db.ColumnFamilyStore;
+import org.apache.cassandra.db.IColumn;
+import org.apache.cassandra.db.Row;
+import org.apache.cassandra.db.RowMutation;
+import org.apache.cassandra.db.Table;
+import org.apache.cassandra.db.filter.NamesQueryFilter;
+import org.apache.cassandra.db.filter.QueryFilter;
+import org.apache.cassandra.db.filter.QueryPath;
+import org.apache.cassandra.db.filter.SliceQueryFilter;
+import org.apache.cassandra.db.marshal.AbstractType;
+import org.apache.cassandra.db.marshal.AsciiType;
+import org.apache.cassandra.db.marshal.BytesType;
+import org.apache.cassandra.db.marshal.UTF8Type;
+import org.apache.cassandra.dht.IPartitioner;
+import org.apache.cassandra.dht.Range;
+import org.apache.cassandra.dht.Token;
+import org.apache.cassandra.io.util.DataOutputBuffer;
+import org.apache.cassandra.service.StorageService;
+import org.apache.cassandra.thrift.SliceRange;
+import org.apache.cassandra.utils.FBUtilities;
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import edu.berkeley.poseidon.torrent.EmbeddedTorrentClient;
+import edu.berkeley.poseidon.torrent.RingPeerSource;
+import edu.berkeley.poseidon.torrent.ScheduledTorrentClient;
+import edu.berkeley.poseidon.torrent.Torrent;
+import edu.berkeley.poseidon.torrent.TorrentClient;
+import edu.berkeley.poseidon.torrent.TorrentDecoder;
+import edu.berkeley.poseidon.torrent.TorrentException;
+import edu.berkeley.poseidon.torrent.TorrentListener;
+import edu.berkeley.poseidon.torrent.Torrentizer;
+import edu.berkeley.poseidon.torrent.Torrents;
+import edu.berkeley.poseidon.util.DaemonThreadFactory;
+
+/**
+ * The node-local store of blobs, which are addressed by the info hashes of
+ * their torrents. A blob is kept for as long as a torrent column on this node
+ * refers to it, so a blob that is written under many keys is downloaded and
+ * stored only once.
+ * <p>
+ * References are recorded in the {@value #REFERENCES_CF} column family of the
+ * system keyspace. Each row is keyed by the name of a blob's file and holds
+ * one column per torrent column that refers to the blob, with the timestamp
+ * of that torrent column. Rows are keyed by name rather than info hash since
+ * the same content may have torrents of different piece lengths, which share
+ * one file. Since references are ordinary columns, they are durable through
+ * the commit log and replayed or reordered mutations resolve exactly as the
+ * torrent columns themselves do. The value of a reference is the encoded
+ * torrent, so blobs can be found from their references alone.
+ * <p>
+ * A node that stores a hint for a mutation also pins the blobs of the
+ * mutation with a reference of its own (see {@link #pin}), so it can seed
+ * them to the recovering replica however long the replica is down. The pin
+ * lasts until the hinted row is delivered or the hinted column is superseded
+ * on this node, when the hint carries the newer column instead.
+ * <p>
+ * References are removed when a mutation overwrites or deletes a torrent
+ * column and, for columns that reached this node some other way, when
+ * compaction discards them (see {@link #prepareDropped}). An unreferenced blob
+ * is reaped after {@link #REAP_DELAY_MINUTES}, unless it has been referenced
+ * again: its torrent is removed from the client and its file is deleted. The
+ * orphan scanner periodically deletes files in the client's directories that
+ * neither the references nor the live torrent columns name, so the
+ * directories must not be shared with anything else.
+ * <p>
+ * At startup the referenced blobs that this node holds are shared again and
+ * the downloads of those that it does not hold are resumed (see
+ * {@link #resumeDownloads()}).
+ * <p>
+ * Repairs that verify blobs (see {@link #verifyRow}) check each local blob
+ * against the piece hashes of its torrent and download only the pieces that
+ * are missing or corrupt.
+ *
+ * @author James Ide
+ */
+public class BlobStore {
+
+    private static Logger logger_ = Logger.getLogger(BlobStore.class);
+
+    public static final String REFERENCES_CF = "BlobReferences";
+
+    /** The bounds of the slice of a row that holds its torrent columns. */
+    private static final byte[] TORRENT_SLICE_START = { '_', '_', 'T' };
+    private static final byte[] TORRENT_SLICE_FINISH = { '_', '_', 'U' };
+
+    /** The prefix of the names of the references that pin hinted blobs. */
+    private static final byte[] PIN_PREFIX = { 'H', 'I', 'N', 'T', ':' };
+
+    /** The number of locks over which blobs are striped. */
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * How long an unreferenced blob is kept, so reads of the old value finish
+     * and a rewrite of the same value does not download it again.
+     */
+    public static final long REAP_DELAY_MINUTES = 10;
+
+    /**
+     * How old an unnamed file must be before the orphan scanner deletes it.
+     * Newer files may be downloads in progress or values that the coordinator
+     * is still seeding to the replicas.
+     */
+    public static final long ORPHAN_GRACE_HOURS = 24;
+    public static final long ORPHAN_SCAN_DELAY_MINUTES = 10;
+    public static final long ORPHAN_SCAN_INTERVAL_HOURS = 24;
+
+    /** The download group of blob repairs. */
+    private static final String REPAIR_GROUP = "repair";
+
+    /** The download group of the blobs whose downloads resume at startup. */
+    private static final String RESUME_GROUP = "resume";
+
+    /** How long a resumption waits at a time for room in the download queue. */
+    private static final long ADMIT_TIMEOUT_SECONDS = 10;
+
+    /** The number of rows that the orphan scanner reads at a time. */
+    private static final int SCAN_PAGE_SIZE = 100;
+
+    private final TorrentClient client_;
+    private final TorrentDecoder decoder_;
+    private final long reapDelayMillis_;
+    private final Object[] locks_ = new Object[LOCK_STRIPES];
+    private final Object[] rowLocks_ = new Object[LOCK_STRIPES];
+    /** The info hashes of the blobs that are being repaired. */
+    private final ConcurrentMap<String, Boolean> repairing_ =
+        new ConcurrentHashMap<String, Boolean>();
+    private final ScheduledExecutorService reaper_ =
+        Executors.newSingleThreadScheduledExecutor(
+            new DaemonThreadFactory("BLOB-REAPER"));
+
+    public BlobStore(TorrentClient client, TorrentDecoder decoder) {
+        this(client, decoder, TimeUnit.MINUTES.toMillis(REAP_DELAY_MINUTES));
+    }
+
+    /**
+     * Creates a store that reaps unreferenced blobs after the specified delay
+     * instead of {@link #REAP_DELAY_MINUTES}.
+     */
+    BlobStore(TorrentClient client, TorrentDecoder decoder,
+              long reapDelayMillis) {
+        client_ = client;
+        decoder_ = decoder;
+        reapDelayMillis_ = reapDelayMillis;
+        for (int i = 0; i < locks_.length; i++) {
+            locks_[i] = new Object();
+            rowLocks_[i] = new Object();
+        }
+    }
+
+    /**
+     * Schedules the orphan scanner to run shortly after startup, once the
+     * commit log has been replayed, and periodically after that.
+     */
+    public void scheduleOrphanScans() {
+        if (client_ == null) {
+            return;
+        }
+        reaper_.scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                try {
+                    scanOrphans();
+                } catch (IOException e) {
+                    logger_.error("Failed to scan for orphaned blobs", e);
+                }
+            }
+        }, ORPHAN_SCAN_DELAY_MINUTES, TimeUnit.HOURS.toMinutes(ORPHAN_SCAN_INTERVAL_HOURS),
+           TimeUnit.MINUTES);
+    }
+
+    /**
+     * Resumes, in the background, the downloads of the referenced blobs that
+     * this node does not hold. Mutations that were applied before their blobs
+     * arrived are not journaled, so their downloads are found again from the
+     * references once the commit log has been replayed. The embedded client
+     * shares the referenced blobs that it holds again, since it does not
+     * remember them across restarts.
+     */
+    public void resumeDownloads() {
+        if (!(client_ instanceof ScheduledTorrentClient)) {
+            return;
+        }
+        final ScheduledTorrentClient client = (ScheduledTorrentClient) client_;
+        new DaemonThreadFactory("BLOB-RESUME").newThread(new Runnable() {
+            public void run() {
+                try {
+                    resumeDownloads(client);
+                } catch (IOException e) {
+                    logger_.error("Failed to resume the downloads of blobs", e);
+                }
+            }
+        }).start();
+    }
+
+    /**
+     * Computes the references that applying the specified mutation adds and
+     * removes. Torrent columns that the mutation overwrites or deletes are
+     * read from the local table to find the blobs they refer to.
+     *
+     * @throws IOException if the local table could not be read
+     */
+    public Changes prepare(RowMutation rm) throws IOException {
+        Changes changes = new Changes();
+        // The references that this node already has, as it does when a
+        // mutation is delivered again.
+        Set<String> held = Sets.newHashSet();
+        for (ColumnFamily cf : rm.getColumnFamilies()) {
+            // Like the torrent verb handler, only standard column families
+            // hold torrent columns.
+            if (cf.isSuper()) {
+                continue;
+            }
+
+            // Any column of a column family with a placement threshold may
+            // refer to a blob.
+            boolean placed = Placement.getThreshold(rm.getTable(), cf.name()) > 0;
+            SortedSet<byte[]> names = new TreeSet<byte[]>(new BytesType());
+            for (IColumn column : cf.getSortedColumns()) {
+                if (placed || Torrentizer.isTorrentColumn(column)) {
+                    names.add(column.name());
+                }
+            }
+            if (names.isEmpty() && !cf.isMarkedForDelete()) {
+                continue;
+            }
+
+            ColumnFamily existing = readExisting(rm, cf, names, placed);
+            if (existing != null) {
+                for (IColumn old : existing.getSortedColumns()) {
+                    prepareRemoval(rm, cf, old, changes);
+                    Reference reference = referenceOf(rm.getTable(), cf.name(),
+                                                      rm.key(), old,
+                                                      old.timestamp());
+                    if (reference != null) {
+                        held.add(reference.getKey());
+                    }
+                }
+            }
+        }
+
+        // The torrents of the mutation's own torrent columns are referenced.
+        for (ColumnFamily cf : rm.getColumnFamilies()) {
+            if (cf.isSuper()) {
+                continue;
+            }
+            for (IColumn column : cf.getSortedColumns()) {
+                Reference reference = referenceOf(rm.getTable(), cf.name(),
+                                                  rm.key(), column,
+                                                  column.timestamp());
+                if (reference != null) {
+                    reference.held = held.contains(reference.getKey());
+                    changes.added.add(reference);
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Adds the columns of one version of a row that refer to blobs to the
+     * specified list. Compaction collects them before merging the versions.
+     */
+    public static void collectReferringColumns(String table, ColumnFamily cf,
+                                               List<IColumn> columns) {
+        if (cf.isSuper()) {
+            return;
+        }
+        for (IColumn column : cf.getSortedColumns()) {
+            if (Placement.torrentOf(table, cf.name(), column) != null) {
+                columns.add(column);
+            }
+        }
+    }
+
+    /**
+     * Adds the references of the referring columns that compaction discarded
+     * to the specified changes, which are released once the compacted sstables
+     * replace their inputs. A column is discarded if the compacted row, which
+     * is null if nothing is left of it, holds no column of the same name and
+     * timestamp; it was superseded or purged. A column superseded by one that
+     * refers to the same blob keeps its blob.
+     */
+    public void prepareDropped(String table, String cfName, String key,
+                               Collection<IColumn> referring,
+                               ColumnFamily compacted, Changes changes) {
+        for (IColumn old : referring) {
+            IColumn current = (compacted == null) ? null
+                                                  : compacted.getColumn(old.name());
+            if ((current != null) && (current.timestamp() == old.timestamp())) {
+                continue;
+            }
+            Reference reference = referenceOf(table, cfName, key, old,
+                                              old.timestamp());
+            if (reference == null) {
+                continue;
+            }
+            if (current != null) {
+                Reference replacement = referenceOf(table, cfName, key,
+                                                    current, current.timestamp());
+                if ((replacement != null) &&
+                        replacement.infoHash.equals(reference.infoHash)) {
+                    continue;
+                }
+            }
+            changes.removed.add(reference);
+        }
+    }
+
+    /**
+     * Records the references that the prepared mutation adds. This must be
+     * done before the blobs are downloaded so that a concurrent release does
+     * not delete a blob that is about to be referenced.
+     *
+     * @throws IOException if the references could not be written
+     */
+    public void acquire(Changes changes) throws IOException {
+        for (Reference reference : changes.added) {
+            synchronized (lockFor(reference.blob)) {
+                RowMutation rm = new RowMutation(Table.SYSTEM_TABLE,
+                                                 reference.blob);
+                rm.add(new QueryPath(REFERENCES_CF, null, reference.name),
+                       reference.encoded, reference.timestamp);
+                rm.apply();
+            }
+        }
+    }
+
+    /**
+     * Records references for the live torrent columns of a row that reached
+     * this node without a mutation, such as one in a streamed sstable, and
+     * returns the torrents that they refer to.
+     *
+     * @throws IOException if the references could not be written
+     */
+    public List<Torrent> acquireRow(String table, String key, ColumnFamily cf)
+            throws IOException {
+        List<Torrent> torrents = Lists.newArrayList();
+        cf = ColumnFamilyStore.removeDeleted(cf, Integer.MAX_VALUE);
+        if ((cf == null) || cf.isSuper()) {
+            return torrents;
+        }
+        Changes changes = new Changes();
+        for (IColumn column : cf.getSortedColumns()) {
+            Reference reference = referenceOf(table, cf.name(), key, column,
+                                              column.timestamp());
+            if (reference != null) {
+                changes.added.add(reference);
+                torrents.add(reference.torrent);
+            }
+        }
+        acquire(changes);
+        return torrents;
+    }
+
+    /**
+     * Verifies the blobs that the live torrent columns of a row refer to and
+     * starts repairing those that are missing or corrupt. Returns the info
+     * hashes of the damaged blobs, concatenated, which are empty if every
+     * blob is intact. Each blob is verified once per map of results.
+     *
+     * @throws IOException if a blob could not be read
+     */
+    public byte[] verifyRow(String table, String key, ColumnFamily cf,
+                            Map<String, Boolean> results) throws IOException {
+        byte[] damaged = ArrayUtils.EMPTY_BYTE_ARRAY;
+        cf = ColumnFamilyStore.removeDeleted(cf, Integer.MAX_VALUE);
+        if ((client_ == null) || (cf == null) || cf.isSuper()) {
+            return damaged;
+        }
+        for (IColumn column : cf.getSortedColumns()) {
+            Reference reference = referenceOf(table, cf.name(), key, column,
+                                              column.timestamp());
+            if (reference == null) {
+                continue;
+            }
+            Boolean intact = results.get(reference.infoHash);
+            if ((intact == null) && isDownloading(reference.infoHash)) {
+                // A blob that is still arriving only has a partial file; its
+                // download is left to finish rather than repaired.
+                intact = Boolean.TRUE;
+                results.put(reference.infoHash, intact);
+            } else if (intact == null) {
+                intact = !repairing_.containsKey(reference.infoHash) &&
+                         verify(reference.torrent);
+                results.put(reference.infoHash, intact);
+                if (!intact) {
+                    repair(reference.torrent, table, key);
+                }
+            }
+            if (!intact) {
+                damaged = ArrayUtils.addAll(damaged, infoHashBytesOf(reference.torrent));
+            }
+        }
+        return damaged;
+    }
+
+    /**
+     * Returns true if this node holds an intact copy of the specified blob.
+     *
+     * @throws IOException if the blob could not be read
+     */
+    public boolean verify(Torrent torrent) throws IOException {
+        File blob = new File(client_.getCompletedDirectory(), torrent.getName());
+        if (!blob.isFile()) {
+            blob = new File(client_.getActiveDirectory(), torrent.getName());
+        }
+        if (!blob.isFile()) {
+            blob = client_.getPartialFile(torrent);
+        }
+        try {
+            return Torrents.verifyPieces(torrent, blob).cardinality() ==
+                torrent.getPieceCount();
+        } catch (TorrentException e) {
+            throw new IOException("Failed to verify " + blob, e);
+        }
+    }
+
+    /**
+     * Downloads the missing or corrupt pieces of a blob in the background,
+     * preferably from the replicas of the specified row. The damaged copy is
+     * no longer shared, and its intact pieces are kept. A blob that is
+     * already waiting to download or downloading is left alone.
+     */
+    public void repair(final Torrent torrent, String table, String key) {
+        final String infoHash = infoHashOf(torrent);
+        if (repairing_.putIfAbsent(infoHash, Boolean.TRUE) != null) {
+            return;
+        }
+        TorrentListener listener = new TorrentListener() {
+            public void fileDownloaded(Torrent repaired, File file) {
+                repairing_.remove(infoHash);
+                logger_.info("Repaired blob " + torrent.getName());
+            }
+
+            public void downloadFailed(Torrent failed, TorrentException e) {
+                repairing_.remove(infoHash);
+                logger_.warn("Failed to repair blob " + torrent.getName(), e);
+            }
+        };
+        try {
+            synchronized (lockFor(torrent.getName())) {
+                // Removing a download in flight would fail the mutations that
+                // wait for it, and the repair itself.
+                if (isDownloading(infoHash)) {
+                    repairing_.remove(infoHash);
+                    return;
+                }
+                logger_.info("Repairing blob " + torrent.getName());
+                client_.remove(torrent);
+                // The download resumes from the pieces in the partial file.
+                File completed = new File(client_.getCompletedDirectory(),
+                                          torrent.getName());
+                File partial = client_.getPartialFile(torrent);
+                if (completed.isFile() && !partial.exists() &&
+                        !completed.renameTo(partial)) {
+                    logger_.warn("Failed to move " + completed + " to be repaired");
+                }
+            }
+            RingPeerSource.instance.expect(torrent, table, key);
+            if (client_ instanceof ScheduledTorrentClient) {
+                ((ScheduledTorrentClient) client_).download(
+                    torrent, REPAIR_GROUP, listener);
+            } else {
+                client_.download(torrent, listener);
+            }
+        } catch (TorrentException e) {
+            listener.downloadFailed(torrent, e);
+        }
+    }
+
+    private void resumeDownloads(ScheduledTorrentClient client)
+            throws IOException {
+        ColumnFamilyStore references = Table.open(Table.SYSTEM_TABLE)
+            .getColumnFamilyStore(REFERENCES_CF);
+        SliceRange all = new SliceRange(ArrayUtils.EMPTY_BYTE_ARRAY,
+                                        ArrayUtils.EMPTY_BYTE_ARRAY,
+                                        false, Integer.MAX_VALUE);
+        int resumed = 0;
+        for (List<Row> rows = nextRows(references, null, all); !rows.isEmpty();
+             rows = nextRows(references, rows.get(rows.size() - 1).key, all)) {
+            for (Row row : rows) {
+                ColumnFamily cf = ColumnFamilyStore.removeDeleted(
+                    row.cf, Integer.MAX_VALUE);
+                if (cf == null) {
+                    continue;
+                }
+                for (IColumn column : cf.getSortedColumns()) {
+                    // Any reference names the blob and a row that holds it.
+                    if (column.value().length > 0) {
+                        if (resume(client, column, row.key)) {
+                            resumed++;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        if (resumed > 0) {
+            logger_.info("Resumed the downloads of " + resumed + " blobs");
+        }
+    }
+
+    /**
+     * Downloads the blob of a reference in the background unless this node
+     * holds it or is downloading it, and returns true if the download was
+     * started. A blob that the embedded client holds is shared again.
+     */
+    private boolean resume(ScheduledTorrentClient client, IColumn reference,
+                           String blob) {
+        final Torrent torrent;
+        try {
+            torrent = decoder_.decode(reference.value());
+        } catch (TorrentException e) {
+            logger_.error("Malformed torrent in the references of " + blob, e);
+            return false;
+        }
+        if (isDownloading(infoHashOf(torrent)) || holds(client, torrent)) {
+            return false;
+        }
+        byte[] name = reference.name();
+        if (ArrayUtils.isEquals(ArrayUtils.subarray(name, 0, PIN_PREFIX.length),
+                                PIN_PREFIX)) {
+            name = ArrayUtils.subarray(name, PIN_PREFIX.length, name.length);
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(name));
+            String table = in.readUTF();
+            in.readUTF();
+            RingPeerSource.instance.expect(torrent, table, in.readUTF());
+        } catch (IOException e) {
+            logger_.warn("Malformed reference to blob " + blob, e);
+        } catch (TorrentException e) {
+            logger_.warn("Failed to find the replicas of blob " + blob, e);
+        }
+        // Waiting downloads are bounded as they are for streamed sstables.
+        while (!admit(client)) {
+            if (logger_.isDebugEnabled()) {
+                logger_.debug("Waiting to resume the download of " + torrent.getName());
+            }
+        }
+        try {
+            client.download(torrent, RESUME_GROUP, new TorrentListener() {
+                public void fileDownloaded(Torrent downloaded, File file) {
+                    if (logger_.isDebugEnabled()) {
+                        logger_.debug("Resumed blob " + torrent.getName());
+                    }
+                }
+
+                public void downloadFailed(Torrent failed, TorrentException e) {
+                    logger_.warn("Failed to resume blob " + torrent.getName(), e);
+                }
+            });
+        } catch (TorrentException e) {
+            logger_.warn("Failed to resume blob " + torrent.getName(), e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if this node holds the specified blob. The embedded client
+     * shares the blob again if it does.
+     */
+    private boolean holds(ScheduledTorrentClient client, Torrent torrent) {
+        if (client.getClient() instanceof EmbeddedTorrentClient) {
+            try {
+                return ((EmbeddedTorrentClient) client.getClient()).reshare(torrent);
+            } catch (TorrentException e) {
+                logger_.warn("Failed to share blob " + torrent.getName() +
+                             " again", e);
+                return false;
+            }
+        }
+        return new File(client.getCompletedDirectory(), torrent.getName()).isFile() ||
+            new File(client.getActiveDirectory(), torrent.getName()).isFile();
+    }
+
+    private static boolean admit(ScheduledTorrentClient client) {
+        try {
+            return client.admit(ADMIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Pins the blobs that the torrent columns of a hinted mutation refer to
+     * until the hint is delivered.
+     *
+     * @throws IOException if the pins could not be written
+     */
+    public void pin(RowMutation rm) throws IOException {
+        for (ColumnFamily cf : rm.getColumnFamilies()) {
+            if (cf.isSuper()) {
+                continue;
+            }
+            for (IColumn column : cf.getSortedColumns()) {
+                Reference reference = referenceOf(rm.getTable(), cf.name(),
+                                                  rm.key(), column,
+                                                  column.timestamp());
+                if (reference == null) {
+                    continue;
+                }
+                synchronized (lockFor(reference.blob)) {
+                    RowMutation pin = new RowMutation(Table.SYSTEM_TABLE,
+                                                      reference.blob);
+                    pin.add(new QueryPath(REFERENCES_CF, null,
+                                          pinName(reference.name)),
+                            reference.encoded, reference.timestamp);
+                    pin.apply();
+                }
+            }
+        }
+    }
+
+    /**
+     * Unpins the blobs of a hinted row that has been delivered to every
+     * replica it was hinted for, and schedules those that are no longer
+     * referenced to be reaped.
+     *
+     * @throws IOException if the pins could not be deleted
+     */
+    public void unpin(String table, String key, ColumnFamily cf)
+            throws IOException {
+        if (cf.isSuper()) {
+            return;
+        }
+        for (IColumn column : cf.getSortedColumns()) {
+            Reference reference = referenceOf(table, cf.name(), key, column,
+                                              column.timestamp());
+            if (reference == null) {
+                continue;
+            }
+            synchronized (lockFor(reference.blob)) {
+                RowMutation rm = new RowMutation(Table.SYSTEM_TABLE,
+                                                 reference.blob);
+                rm.delete(new QueryPath(REFERENCES_CF, null,
+                                        pinName(reference.name)),
+                          reference.timestamp);
+                rm.apply();
+                if (!isReferenced(reference.blob)) {
+                    scheduleReap(reference);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the references and pins that the applied mutation or the
+     * compaction removes and schedules every blob that is no longer
+     * referenced by any torrent column to be reaped.
+     *
+     * @throws IOException if the references could not be updated
+     */
+    public void release(Changes changes) throws IOException {
+        for (Reference reference : changes.removed) {
+            synchronized (lockFor(reference.blob)) {
+                RowMutation rm = new RowMutation(Table.SYSTEM_TABLE,
+                                                 reference.blob);
+                rm.delete(new QueryPath(REFERENCES_CF, null, reference.name),
+                          reference.timestamp);
+                rm.delete(new QueryPath(REFERENCES_CF, null,
+                                        pinName(reference.name)),
+                          reference.timestamp);
+                rm.apply();
+                if (!isReferenced(reference.blob)) {
+                    scheduleReap(reference);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies a mutation whose references have been acquired with the
+     * specified task, and releases the references of the torrent columns that
+     * it supersedes. Those columns are read as the mutation is applied rather
+     * than when it arrived, since the row may have been written while its
+     * blobs downloaded. Mutations of one row that are applied through here
+     * are applied one at a time, so each reads the columns the last one wrote.
+     *
+     * @throws IOException if the row or the references could not be read or
+     *         updated
+     */
+    public void applyAndRelease(RowMutation rm, Runnable apply)
+            throws IOException {
+        Changes changes;
+        synchronized (lockForRow(rm)) {
+            changes = prepare(rm);
+            apply.run();
+        }
+        release(changes);
+    }
+
+    /**
+     * Deletes the references that a prepared mutation added once the mutation
+     * has been dropped, and schedules every blob that is no longer referenced
+     * to be reaped. References that this node held before the mutation are
+     * kept.
+     *
+     * @throws IOException if the references could not be deleted
+     */
+    public void abandon(Changes changes) throws IOException {
+        for (Reference reference : changes.added) {
+            if (reference.held) {
+                continue;
+            }
+            synchronized (lockFor(reference.blob)) {
+                RowMutation rm = new RowMutation(Table.SYSTEM_TABLE,
+                                                 reference.blob);
+                rm.delete(new QueryPath(REFERENCES_CF, null, reference.name),
+                          reference.timestamp);
+                rm.apply();
+                if (!isReferenced(reference.blob)) {
+                    scheduleReap(reference);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if any torrent column on this node refers to a torrent of
+     * the blob with the specified name.
+     */
+    public boolean isReferenced(String blob) throws IOException {
+        QueryFilter filter = new SliceQueryFilter(
+            blob, new QueryPath(REFERENCES_CF),
+            ArrayUtils.EMPTY_BYTE_ARRAY, ArrayUtils.EMPTY_BYTE_ARRAY, false, 1);
+        ColumnFamily cf = Table.open(Table.SYSTEM_TABLE)
+            .getColumnFamilyStore(REFERENCES_CF).getColumnFamily(filter);
+        cf = ColumnFamilyStore.removeDeleted(cf, Integer.MAX_VALUE);
+        return (cf != null) && !cf.getSortedColumns().isEmpty();
+    }
+
+    private void prepareRemoval(RowMutation rm, ColumnFamily cf, IColumn old,
+                                Changes changes) {
+        // A deletion or an overwrite with a different blob only removes the
+        // old reference if it supersedes the old column.
+        long timestamp;
+        IColumn replacement = cf.getColumn(old.name());
+        if (replacement != null) {
+            if (replacement.timestamp() < old.timestamp()) {
+                return;
+            }
+            timestamp = replacement.timestamp();
+        } else if (cf.isMarkedForDelete() &&
+                   (cf.getMarkedForDeleteAt() >= old.timestamp())) {
+            timestamp = cf.getMarkedForDeleteAt();
+        } else {
+            return;
+        }
+
+        Reference reference = referenceOf(rm.getTable(), cf.name(), rm.key(),
+                                          old, timestamp);
+        if (reference == null) {
+            return;
+        }
+        if (replacement != null) {
+            Reference current = referenceOf(rm.getTable(), cf.name(), rm.key(),
+                                            replacement, replacement.timestamp());
+            if ((current != null) && current.infoHash.equals(reference.infoHash)) {
+                return;
+            }
+        }
+        changes.removed.add(reference);
+    }
+
+    private ColumnFamily readExisting(RowMutation rm, ColumnFamily cf,
+                                      SortedSet<byte[]> names, boolean placed)
+            throws IOException {
+        QueryPath path = new QueryPath(cf.name());
+        QueryFilter filter;
+        if (cf.isMarkedForDelete() && placed) {
+            filter = new SliceQueryFilter(rm.key(), path,
+                                          ArrayUtils.EMPTY_BYTE_ARRAY,
+                                          ArrayUtils.EMPTY_BYTE_ARRAY,
+                                          false, Integer.MAX_VALUE);
+        } else if (cf.isMarkedForDelete()) {
+            // Every torrent column in the row may have been deleted. With a
+            // lexical comparator, they are all in the slice starting at the
+            // torrent prefix; otherwise torrent columns are not recognized.
+            AbstractType comparator = cf.getComparator();
+            if (!(comparator instanceof BytesType) &&
+                    !(comparator instanceof AsciiType) &&
+                    !(comparator instanceof UTF8Type)) {
+                return null;
+            }
+            filter = new SliceQueryFilter(rm.key(), path,
+                                          TORRENT_SLICE_START,
+                                          TORRENT_SLICE_FINISH,
+                                          false, Integer.MAX_VALUE);
+        } else {
+            filter = new NamesQueryFilter(rm.key(), path, names);
+        }
+        ColumnFamily existing = Table.open(rm.getTable())
+            .getColumnFamilyStore(cf.name()).getColumnFamily(filter);
+        return ColumnFamilyStore.removeDeleted(existing, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Deletes the files in the client's directories that no reference and no
+     * live torrent column names and that are older than
+     * {@link #ORPHAN_GRACE_HOURS}. They are left by blobs that were
+     * unreferenced before a restart, torrent columns that reached this node
+     * without a reference, and values that this node seeded as a coordinator.
+     * Their torrents are unknown, so the client is not asked to remove them.
+     *
+     * @throws IOException if the local tables could not be read
+     */
+    public void scanOrphans() throws IOException {
+        if (client_ == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Set<String> live = Sets.newHashSet();
+
+        // Referenced blobs include those whose mutations are still waiting
+        // for their downloads.
+        ColumnFamilyStore references = Table.open(Table.SYSTEM_TABLE)
+            .getColumnFamilyStore(REFERENCES_CF);
+        SliceRange all = new SliceRange(ArrayUtils.EMPTY_BYTE_ARRAY,
+                                        ArrayUtils.EMPTY_BYTE_ARRAY,
+                                        false, Integer.MAX_VALUE);
+        for (List<Row> rows = nextRows(references, null, all); !rows.isEmpty();
+             rows = nextRows(references, rows.get(rows.size() - 1).key, all)) {
+            for (Row row : rows) {
+                ColumnFamily cf = ColumnFamilyStore.removeDeleted(
+                    row.cf, Integer.MAX_VALUE);
+                if (cf == null) {
+                    continue;
+                }
+                for (IColumn column : cf.getSortedColumns()) {
+                    // References recorded before their values held torrents
+                    // are covered by the scan of the torrent columns.
+                    if (column.value().length > 0) {
+                        addName(ByteBuffer.wrap(column.value()), live);
+                    }
+                }
+            }
+        }
+
+        for (String table : DatabaseDescriptor.getNonSystemTables()) {
+            for (ColumnFamilyStore cfs : Table.open(table).getColumnFamilyStores()) {
+                addLiveNames(table, cfs, live);
+            }
+        }
+
+        long cutoff = start - TimeUnit.HOURS.toMillis(ORPHAN_GRACE_HOURS);
+        int deleted = 0;
+        for (File directory : new File[] { client_.getCompletedDirectory(),
+                                           client_.getActiveDirectory() }) {
+            File[] files = directory.listFiles();
+            if (files == null) {
+                continue;
+            }
+            for (File file : files) {
+                if (!file.isFile() || live.contains(file.getName()) ||
+                        (file.lastModified() >= cutoff)) {
+                    continue;
+                }
+                if (file.delete()) {
+                    deleted++;
+                    logger_.info("Deleted orphaned blob " + file);
+                } else {
+                    logger_.warn("Failed to delete orphaned blob " + file);
+                }
+            }
+        }
+        if (logger_.isDebugEnabled()) {
+            logger_.debug("Scanned for orphaned blobs in " +
+                          (System.currentTimeMillis() - start) + " ms; deleted " +
+                          deleted + " of them");
+        }
+    }
+
+    /**
+     * Adds the names of the blobs that the live columns of the specified
+     * column family refer to.
+     */
+    private void addLiveNames(String table, ColumnFamilyStore cfs,
+                              Set<String> live) throws IOException {
+        String cfName = cfs.getColumnFamilyName();
+        if ("Super".equals(DatabaseDescriptor.getColumnType(table, cfName))) {
+            return;
+        }
+        SliceRange slice;
+        if (Placement.getThreshold(table, cfName) > 0) {
+            slice = new SliceRange(ArrayUtils.EMPTY_BYTE_ARRAY,
+                                   ArrayUtils.EMPTY_BYTE_ARRAY,
+                                   false, Integer.MAX_VALUE);
+        } else {
+            // As in readExisting, torrent columns are only recognized with a
+            // lexical comparator.
+            AbstractType comparator = cfs.getComparator();
+            if (!(comparator instanceof BytesType) &&
+                    !(comparator instanceof AsciiType) &&
+                    !(comparator instanceof UTF8Type)) {
+                return;
+            }
+            slice = new SliceRange(TORRENT_SLICE_START, TORRENT_SLICE_FINISH,
+                                   false, Integer.MAX_VALUE);
+        }
+
+        for (List<Row> rows = nextRows(cfs, null, slice); !rows.isEmpty();
+             rows = nextRows(cfs, rows.get(rows.size() - 1).key, slice)) {
+            for (Row row : rows) {
+                ColumnFamily cf = ColumnFamilyStore.removeDeleted(
+                    row.cf, Integer.MAX_VALUE);
+                if (cf == null) {
+                    continue;
+                }
+                for (IColumn column : cf.getSortedColumns()) {
+                    ByteBuffer encoded = Placement.torrentOf(table, cfName,
+                                                             column);
+                    if (encoded != null) {
+                        addName(encoded, live);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addName(ByteBuffer encoded, Set<String> names) {
+        try {
+            Torrent torrent = decoder_.decode(encoded);
+            names.add(torrent.getName());
+            names.add(client_.getPartialFile(torrent).getName());
+        } catch (TorrentException e) {
+            logger_.error("Malformed torrent while scanning for orphans", e);
+        }
+    }
+
+    /**
+     * Returns the next page of rows of a local column family after the
+     * specified key, or from the start if the key is null.
+     */
+    static List<Row> nextRows(ColumnFamilyStore cfs, String lastKey,
+                              SliceRange slice) throws IOException {
+        IPartitioner<?> partitioner = StorageService.getPartitioner();
+        Token<?> min = partitioner.getMinimumToken();
+        Token<?> start = (lastKey == null) ? min : partitioner.getToken(lastKey);
+        try {
+            return cfs.getRangeSlice(null, new Range(start, min),
+                                     SCAN_PAGE_SIZE, slice, null).rows;
+        } catch (ExecutionException e) {
+            throw new IOException(e);
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private void scheduleReap(final Reference reference) {
+        reaper_.schedule(new Runnable() {
+            public void run() {
+                synchronized (lockFor(reference.blob)) {
+                    try {
+                        // The blob may have been referenced again meanwhile.
+                        if (!isReferenced(reference.blob)) {
+                            deleteBlob(reference.torrent);
+                        }
+                    } catch (IOException e) {
+                        logger_.error("Failed to reap blob " +
+                                      reference.torrent.getName(), e);
+                    }
+                }
+            }
+        }, reapDelayMillis_, TimeUnit.MILLISECONDS);
+    }
+
+    private void deleteBlob(Torrent torrent) {
+        if (client_ == null) {
+            return;
+        }
+        try {
+            client_.remove(torrent);
+        } catch (TorrentException e) {
+            logger_.warn("Failed to remove torrent " + torrent.getName(), e);
+        }
+        // Blobs that this node seeded remain in the active directory.
+        for (File blob : new File[] {
+                 new File(client_.getCompletedDirectory(), torrent.getName()),
+                 new File(client_.getActiveDirectory(), torrent.getName()),
+                 client_.getPartialFile(torrent) }) {
+            if (!blob.exists()) {
+                continue;
+            }
+            if (!blob.delete()) {
+                logger_.warn("Failed to delete unreferenced blob " + blob);
+            } else if (logger_.isDebugEnabled()) {
+                logger_.debug("Deleted unreferenced blob " + blob);
+            }
+        }
+    }
+
+    /**
+     * Returns the reference of the specified column, or null if the column
+     * does not refer to a blob.
+     */
+    private Reference referenceOf(String table, String cfName, String key,
+                                  IColumn column, long timestamp) {
+        ByteBuffer encoded = Placement.torrentOf(table, cfName, column);
+        if (encoded == null) {
+            return null;
+        }
+        Torrent torrent;
+        try {
+            torrent = decoder_.decode(encoded.duplicate());
+        } catch (TorrentException e) {
+            logger_.error("Malformed torrent in column " + column + ".", e);
+            return null;
+        }
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        return new Reference(torrent, bytes,
+                             referenceName(table, cfName, key, column),
+                             timestamp);
+    }
+
+    /**
+     * Returns true if the scheduler has the blob with the specified info hash
+     * waiting to download or downloading.
+     */
+    private boolean isDownloading(String infoHash) {
+        return (client_ instanceof ScheduledTorrentClient) &&
+            ((ScheduledTorrentClient) client_).isPending(infoHash);
+    }
+
+    private Object lockFor(String blob) {
+        return locks_[(blob.hashCode() & Integer.MAX_VALUE) % locks_.length];
+    }
+
+    private Object lockForRow(RowMutation rm) {
+        int hash = 31 * rm.getTable().hashCode() + rm.key().hashCode();
+        return rowLocks_[(hash & Integer.MAX_VALUE) % rowLocks_.length];
+    }
+
+    private static byte[] infoHashBytesOf(Torrent torrent) {
+        try {
+            return torrent.getInfoHash();
+        } catch (TorrentException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String infoHashOf(Torrent torrent) {
+        try {
+            return torrent.getInfoHashHex();
+        } catch (TorrentException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the name of the reference column for the specified torrent
+     * column, which identifies the column across the whole cluster.
+     */
+    private static byte[] referenceName(String table, String cfName, String key,
+                                        IColumn column) {
+        DataOutputBuffer buffer = new DataOutputBuffer();
+        try {
+            buffer.writeUTF(table);
+            buffer.writeUTF(cfName);
+            buffer.writeUTF(key);
+            buffer.write(column.name());
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        byte[] name = new byte[buffer.getLength()];
+        System.arraycopy(buffer.getData(), 0, name, 0, name.length);
+        return name;
+    }
+
+    private static byte[] pinName(byte[] referenceName) {
+        return ArrayUtils.addAll(PIN_PREFIX, referenceName);
+    }
+
+    /** A reference from a torrent column to a blob. */
+    private static class Reference {
+
+        final Torrent torrent;
+        final String infoHash;
+        /** The name of the blob's file, which keys its references. */
+        final String blob;
+        final byte[] encoded;
+        final byte[] name;
+        final long timestamp;
+        /** Whether this node held the reference before it was acquired. */
+        boolean held;
+
+        Reference(Torrent torrent, byte[] encoded, byte[] name, long timestamp) {
+            this.torrent = torrent;
+            this.infoHash = infoHashOf(torrent);
+            this.blob = torrent.getName();
+            this.encoded = encoded;
+            this.name = name;
+            this.timestamp = timestamp;
+        }
+
+        /** Returns a key that is equal for the same reference of a blob. */
+        String getKey() {
+            return infoHash + ":" + FBUtilities.bytesToHex(name) + "@" + timestamp;
+        }
+    }
+
+    /**
+     * The references that a single mutation adds and removes, or that a
+     * compaction removes.
+     */
+    public static class Changes {
+
+        private final List<Reference> added = Lists.newArrayList();
+        private final List<Reference> removed = Lists.newArrayList();
+
+        public boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty();
+        }
+    }
+}
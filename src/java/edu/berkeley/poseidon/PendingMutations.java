@@ -0,0 +1,149 @@
+package edu.berkeley.poseidon;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.cassandra.db.ColumnFamily;
+import org.apache.cassandra.db.ColumnFamilyStore;
+import org.apache.cassandra.db.IColumn;
+import org.apache.cassandra.db.RowMutation;
+import org.apache.cassandra.db.Row;
+import org.apache.cassandra.db.Table;
+import org.apache.cassandra.db.filter.QueryPath;
+import org.apache.cassandra.io.ICompactSerializer;
+import org.apache.cassandra.io.util.DataOutputBuffer;
+import org.apache.cassandra.net.Message;
+import org.apache.cassandra.thrift.SliceRange;
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Lists;
+
+/**
+ * A journal of the mutations that are waiting for their blobs to download
+ * before they are applied. Each is recorded in the {@value #PENDING_CF} column
+ * family of the system keyspace, as the serialized message it arrived in,
+ * before its downloads start, and removed once it has been applied. Since the
+ * journal is written through the commit log, a node that restarts while
+ * mutations are waiting finds them again (see {@link #load}) and resumes their
+ * downloads instead of leaving the writes to repair.
+ * <p>
+ * Each entry is a row of its own, keyed by an id generated when it is
+ * recorded, so no row accumulates the tombstones of removed entries.
+ *
+ * @author James Ide
+ */
+public class PendingMutations {
+
+    private static Logger logger_ = Logger.getLogger(PendingMutations.class);
+
+    public static final String PENDING_CF = "PendingBlobMutations";
+
+    /** The name of the column of an entry that holds its message. */
+    private static final byte[] MESSAGE_COLUMN = { 'm', 'e', 's', 's', 'a', 'g', 'e' };
+
+    private static final ICompactSerializer<Message> serializer_ =
+        Message.serializer();
+
+    private PendingMutations() {
+    }
+
+    /**
+     * Records that a mutation message is waiting for its blobs and returns
+     * its entry in the journal.
+     *
+     * @throws IOException if the entry could not be written
+     */
+    public static Entry record(Message message) throws IOException {
+        DataOutputBuffer buffer = new DataOutputBuffer();
+        serializer_.serialize(message, buffer);
+        byte[] serialized = ArrayUtils.subarray(buffer.getData(), 0,
+                                                buffer.getLength());
+        // Message ids restart with every process, so they cannot key entries
+        // that outlive it.
+        Entry entry = new Entry(UUID.randomUUID().toString(),
+                                System.currentTimeMillis());
+        RowMutation rm = new RowMutation(Table.SYSTEM_TABLE, entry.key);
+        rm.add(new QueryPath(PENDING_CF, null, MESSAGE_COLUMN), serialized,
+               entry.timestamp);
+        rm.apply();
+        return entry;
+    }
+
+    /**
+     * Removes an applied mutation from the journal.
+     *
+     * @throws IOException if the entry could not be removed
+     */
+    public static void remove(Entry entry) throws IOException {
+        RowMutation rm = new RowMutation(Table.SYSTEM_TABLE, entry.key);
+        // A deletion must supersede the entry even within the same millisecond.
+        rm.delete(new QueryPath(PENDING_CF, null, MESSAGE_COLUMN),
+                  Math.max(System.currentTimeMillis(), entry.timestamp + 1));
+        rm.apply();
+    }
+
+    /**
+     * Returns the journaled mutation messages, which were waiting for their
+     * blobs when this node stopped, with their entries. Messages that cannot
+     * be read are logged and removed.
+     *
+     * @throws IOException if the journal could not be read
+     */
+    public static List<Pending> load() throws IOException {
+        ColumnFamilyStore store = Table.open(Table.SYSTEM_TABLE)
+            .getColumnFamilyStore(PENDING_CF);
+        SliceRange all = new SliceRange(ArrayUtils.EMPTY_BYTE_ARRAY,
+                                        ArrayUtils.EMPTY_BYTE_ARRAY,
+                                        false, Integer.MAX_VALUE);
+        List<Pending> pending = Lists.newArrayList();
+        for (List<Row> rows = BlobStore.nextRows(store, null, all); !rows.isEmpty();
+             rows = BlobStore.nextRows(store, rows.get(rows.size() - 1).key, all)) {
+            for (Row row : rows) {
+                ColumnFamily cf = ColumnFamilyStore.removeDeleted(
+                    row.cf, Integer.MAX_VALUE);
+                IColumn column = (cf == null) ? null : cf.getColumn(MESSAGE_COLUMN);
+                if (column == null) {
+                    continue;
+                }
+                Entry entry = new Entry(row.key, column.timestamp());
+                try {
+                    Message message = serializer_.deserialize(new DataInputStream(
+                        new ByteArrayInputStream(column.value())));
+                    pending.add(new Pending(entry, message));
+                } catch (IOException e) {
+                    logger_.error("Dropping an unreadable pending mutation", e);
+                    remove(entry);
+                }
+            }
+        }
+        return pending;
+    }
+
+    /** The entry of a mutation in the journal. */
+    public static class Entry {
+
+        private final String key;
+        private final long timestamp;
+
+        private Entry(String key, long timestamp) {
+            this.key = key;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /** A journaled mutation message that has yet to be applied. */
+    public static class Pending {
+
+        public final Entry entry;
+        public final Message message;
+
+        private Pending(Entry entry, Message message) {
+            this.entry = entry;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package edu.berkeley.poseidon;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.cassandra.config.CFMetaData;
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.db.Column;
+import org.apache.cassandra.db.ColumnFamily;
+import org.apache.cassandra.db.IColumn;
+import org.apache.cassandra.db.RowMutation;
+import org.apache.log4j.Logger;
+
+import edu.berkeley.poseidon.torrent.Bdecoder;
+import edu.berkeley.poseidon.torrent.Bencoder;
+import edu.berkeley.poseidon.torrent.RingPeerSource;
+import edu.berkeley.poseidon.torrent.Torrent;
+import edu.berkeley.poseidon.torrent.TorrentClient;
+import edu.berkeley.poseidon.torrent.TorrentDecoder;
+import edu.berkeley.poseidon.torrent.TorrentEncoder;
+import edu.berkeley.poseidon.torrent.TorrentException;
+import edu.berkeley.poseidon.torrent.TorrentWriter;
+import edu.berkeley.poseidon.torrent.Torrentizer;
+import edu.berkeley.poseidon.torrent.Torrents;
+
+/**
+ * Chooses whether the values of a column family are stored inline or as
+ * torrents by their size. Column families with a <code>TorrentThreshold</code>
+ * store every value behind a placement byte: {@link #INLINE} values follow it
+ * directly and {@link #TORRENT} values are replaced by their encoded torrent.
+ * The coordinator places the values of a mutation before it is sent to the
+ * replicas and restores them before they are returned to the client, so
+ * clients read and write ordinary values.
+ * <p>
+ * Torrent columns (whose names begin with <code>__T</code>) are placed by the
+ * client instead; small ones hold their value inline as described by
+ * {@link Torrentizer#isInline(byte[])}.
+ *
+ * @author James Ide
+ */
+public class Placement {
+
+    private static Logger logger_ = Logger.getLogger(Placement.class);
+
+    public static final byte INLINE = 0;
+    public static final byte TORRENT = 1;
+
+    private static final TorrentDecoder decoder_ = new TorrentDecoder(new Bdecoder());
+    private static final TorrentEncoder encoder_ = new TorrentEncoder(new Bencoder());
+
+    private Placement() {
+    }
+
+    /**
+     * Returns the size in bytes above which values of the specified column
+     * family are stored as torrents, or 0 if placement is left to the names
+     * of the columns.
+     */
+    public static int getThreshold(String table, String cfName) {
+        CFMetaData metadata = DatabaseDescriptor.getCFMetaData(table, cfName);
+        return (metadata == null) ? 0 : metadata.torrentThreshold;
+    }
+
+    /**
+     * Returns the encoded torrent that the specified column refers to, or null
+     * if the column is deleted or its value is stored inline.
+     */
+    public static ByteBuffer torrentOf(String table, String cfName,
+                                       IColumn column) {
+        if (column.isMarkedForDelete()) {
+            return null;
+        }
+        byte[] value = column.value();
+        if (Torrentizer.isTorrentColumn(column)) {
+            return Torrentizer.isInline(value) ? null : ByteBuffer.wrap(value);
+        }
+        if ((getThreshold(table, cfName) > 0) && (value.length > 0) &&
+                (value[0] == TORRENT)) {
+            return ByteBuffer.wrap(value, 1, value.length - 1);
+        }
+        return null;
+    }
+
+    /**
+     * Returns a mutation whose values are placed according to the thresholds
+     * of their column families. Values larger than the threshold are written
+     * to the client's active directory and seeded.
+     *
+     * @throws IOException if a large value could not be seeded
+     */
+    public static RowMutation place(RowMutation rm, TorrentClient client)
+            throws IOException {
+        RowMutation placed = null;
+        for (ColumnFamily cf : rm.getColumnFamilies()) {
+            if (getThreshold(rm.getTable(), cf.name()) > 0) {
+                placed = new RowMutation(rm.getTable(), rm.key());
+                break;
+            }
+        }
+        if (placed == null) {
+            return rm;
+        }
+
+        for (ColumnFamily cf : rm.getColumnFamilies()) {
+            int threshold = getThreshold(rm.getTable(), cf.name());
+            if (threshold == 0) {
+                placed.add(cf);
+                continue;
+            }
+            ColumnFamily placedCf = cf.cloneMeShallow();
+            for (IColumn column : cf.getSortedColumns()) {
+                if (column.isMarkedForDelete() ||
+                        Torrentizer.isTorrentColumn(column)) {
+                    placedCf.addColumn(column);
+                } else {
+                    byte[] value = place(column.value(), threshold, client);
+                    placedCf.addColumn(new Column(column.name(), value,
+                                                  column.timestamp()));
+                }
+            }
+            placed.add(placedCf);
+        }
+        return placed;
+    }
+
+    /**
+     * Returns a column family of the specified row whose values are restored
+     * from their placement. Values that are stored as torrents are downloaded
+     * if this node does not already have them, preferably from the row's
+     * replicas.
+     *
+     * @throws IOException if a torrent could not be downloaded or read
+     * @throws TimeoutException if a torrent was not downloaded in time
+     */
+    public static ColumnFamily restore(String table, String key,
+                                       ColumnFamily cf, TorrentClient client)
+            throws IOException, TimeoutException {
+        if ((cf == null) || (getThreshold(table, cf.name()) == 0)) {
+            return cf;
+        }
+        ColumnFamily restored = cf.cloneMeShallow();
+        for (IColumn column : cf.getSortedColumns()) {
+            byte[] value = column.value();
+            if (column.isMarkedForDelete() ||
+                    Torrentizer.isTorrentColumn(column) || (value.length == 0)) {
+                restored.addColumn(column);
+            } else if (value[0] == TORRENT) {
+                restored.addColumn(new Column(
+                    column.name(),
+                    fetch(table, key,
+                          ByteBuffer.wrap(value, 1, value.length - 1), client),
+                    column.timestamp()));
+            } else {
+                byte[] inline = new byte[value.length - 1];
+                System.arraycopy(value, 1, inline, 0, inline.length);
+                restored.addColumn(new Column(column.name(), inline,
+                                              column.timestamp()));
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * Returns the specified range of the value of a live column. Only the
+     * pieces of a torrent that cover the range are fetched. Fewer bytes are
+     * returned if the range extends past the end of the value.
+     *
+     * @throws IOException if the pieces could not be fetched
+     * @throws TimeoutException if the pieces were not fetched in time
+     */
+    public static byte[] readRange(String table, String key, String cfName,
+                                   IColumn column, long offset, int length,
+                                   TorrentClient client)
+            throws IOException, TimeoutException {
+        ByteBuffer encoded = torrentOf(table, cfName, column);
+        ByteBuffer range;
+        if (encoded != null) {
+            if (client == null) {
+                throw new IOException("No torrent client is running");
+            }
+            try {
+                Torrent torrent = decoder_.decode(encoded);
+                long end = Math.min(torrent.getLength(), offset + length);
+                if (offset >= end) {
+                    return new byte[0];
+                }
+                RingPeerSource.instance.expect(torrent, table, key);
+                range = client.read(torrent, offset, (int) (end - offset));
+            } catch (TorrentException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    throw (TimeoutException) e.getCause();
+                }
+                throw new IOException("Failed to read torrent in column " +
+                                      column, e);
+            }
+        } else {
+            range = inlineValueOf(table, cfName, column);
+            if (offset >= range.remaining()) {
+                return new byte[0];
+            }
+            range.position(range.position() + (int) offset);
+            range.limit(range.position() +
+                        Math.min(length, range.remaining()));
+        }
+        byte[] bytes = new byte[range.remaining()];
+        range.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Returns the value of a live column that is stored inline, without its
+     * placement.
+     */
+    private static ByteBuffer inlineValueOf(String table, String cfName,
+                                            IColumn column) {
+        byte[] value = column.value();
+        if (Torrentizer.isTorrentColumn(column)) {
+            return Torrentizer.unwrapInline(value).duplicate();
+        }
+        if ((getThreshold(table, cfName) > 0) && (value.length > 0)) {
+            return ByteBuffer.wrap(value, 1, value.length - 1);
+        }
+        return ByteBuffer.wrap(value);
+    }
+
+    private static byte[] place(byte[] value, int threshold,
+                                TorrentClient client) throws IOException {
+        if ((value.length > threshold) && (client != null)) {
+            try {
+                return prepend(TORRENT, encoder_.encode(
+                    seed(value, client),
+                    DatabaseDescriptor.getTorrentCompactMetadata()));
+            } catch (TorrentException e) {
+                throw new IOException("Failed to seed a value of " +
+                                      value.length + " bytes", e);
+            }
+        }
+        if (value.length > threshold) {
+            logger_.warn("No torrent client is running; storing a value of " +
+                         value.length + " bytes inline");
+        }
+        return prepend(INLINE, value);
+    }
+
+    private static Torrent seed(byte[] value, TorrentClient client)
+            throws IOException, TorrentException {
+        File directory = client.getActiveDirectory();
+        TorrentWriter writer = new TorrentWriter(
+            File.createTempFile("placement", ".tmp", directory),
+            Torrent.PieceHasher.pieceLengthFor(value.length));
+        try {
+            writer.write(value);
+        } finally {
+            writer.close();
+        }
+        // Identical values share one blob.
+        writer.moveToContentAddress(directory);
+        return client.seed(writer.getFile(), writer.newTorrentBuilder());
+    }
+
+    private static byte[] fetch(String table, String key, ByteBuffer encoded,
+                                TorrentClient client)
+            throws IOException, TimeoutException {
+        if (client == null) {
+            throw new IOException("No torrent client is running");
+        }
+        Torrent torrent;
+        try {
+            torrent = decoder_.decode(encoded);
+        } catch (TorrentException e) {
+            throw new IOException("Malformed torrent in placed value", e);
+        }
+
+        File file;
+        try {
+            RingPeerSource.instance.expect(torrent, table, key);
+            file = Torrents.download(client, torrent,
+                                     DatabaseDescriptor.getRpcTimeout(),
+                                     TimeUnit.MILLISECONDS);
+        } catch (TorrentException e) {
+            throw new IOException("Failed to download " + torrent.getName(), e);
+        }
+        return read(file);
+    }
+
+    private static byte[] read(File file) throws IOException {
+        byte[] bytes = new byte[(int) file.length()];
+        DataInputStream in = new DataInputStream(new FileInputStream(file));
+        try {
+            in.readFully(bytes);
+        } finally {
+            in.close();
+        }
+        return bytes;
+    }
+
+    private static byte[] prepend(byte placement, byte[] value) {
+        byte[] placed = new byte[value.length + 1];
+        placed[0] = placement;
+        System.arraycopy(value, 0, placed, 1, value.length);
+        return placed;
+    }
+}
@@ -4,10 +4,16 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.cassandra.concurrent.StageManager;
+import org.apache.cassandra.config.DatabaseDescriptor;
 import org.apache.cassandra.db.Column;
 import org.apache.cassandra.db.ColumnFamily;
 import org.apache.cassandra.db.IColumn;
@@ -21,12 +27,12 @@ import org.apache.cassandra.utils.WrappedRunnable;
 import org.apache.log4j.Logger;
 
 import edu.berkeley.poseidon.torrent.Bdecoder;
+import edu.berkeley.poseidon.torrent.RingPeerSource;
+import edu.berkeley.poseidon.torrent.ScheduledTorrentClient;
 import edu.berkeley.poseidon.torrent.Torrent;
 import edu.berkeley.poseidon.torrent.TorrentDecoder;
 import edu.berkeley.poseidon.torrent.TorrentException;
 import edu.berkeley.poseidon.torrent.TorrentListener;
-import edu.berkeley.poseidon.torrent.Torrentizer;
-import edu.berkeley.poseidon.torrent.UTorrentClient;
 
 
 public class RowMutationTorrentVerbHandler implements IVerbHandler {
@@ -36,44 +42,149 @@ public class RowMutationTorrentVerbHandler implements IVerbHandler {
     private class TorrentCompleted implements TorrentListener {
         private Set<Torrent> torrentFiles;
         private Message mutation;
+        private RowMutation rm;
+        /** The references that the mutation adds, acquired on arrival. */
+        private BlobStore.Changes references;
+        /** Whether the mutation is applied before its blobs are downloaded. */
+        private boolean appliedEarly;
+        /** The entry of the mutation in the journal, if it is journaled. */
+        private PendingMutations.Entry journaled;
+        /** Whether a blob failed to download. */
+        private boolean failed;
 
-        public TorrentCompleted (Message originalMutation, Set<Torrent> torrentFiles) throws IOException {
+        public TorrentCompleted (Message originalMutation, RowMutation rm, Set<Torrent> torrentFiles, BlobStore.Changes references) throws IOException {
+            this.rm = rm;
             this.torrentFiles = torrentFiles;
+            this.references = references;
             this.mutation = new Message(originalMutation.getFrom(), StageManager.MUTATION_STAGE, Verb.MUTATION, originalMutation.getMessageBody());
             this.mutation.setMessageId(originalMutation.getMessageId());
+            // A hinted mutation must still record its hints once it is applied.
+            byte[] hint = originalMutation.getHeader(RowMutation.HINT);
+            if (hint != null) {
+                this.mutation.setHeader(RowMutation.HINT, hint);
+            }
+        }
+
+        /**
+         * Applies and acknowledges the mutation now, leaving its blobs to
+         * download in the background.
+         */
+        public synchronized void applyEarly() {
+            appliedEarly = true;
+            finishedAll();
         }
 
         public synchronized void fileDownloaded(Torrent torrent, File torrentFile) {
             torrentFiles.remove(torrent);
-            if (torrentFiles.size() == 0) {
-                finishedAll();
+            if (torrentFiles.size() == 0 && !appliedEarly) {
+                if (failed) {
+                    dropped();
+                } else {
+                    finishedAll();
+                }
             }
         }
 
         public synchronized void downloadFailed(Torrent torrent, TorrentException error) {
             logger_.error("Torrent download failed: \n"+torrent.toString(), error);
+            failed = true;
             fileDownloaded(torrent, null);
         }
 
+        /**
+         * Drops a mutation that was waiting for a blob that failed to
+         * download. It is not acknowledged, so the coordinator times out
+         * instead of counting a replica that lacks the blob.
+         */
+        public synchronized void dropped() {
+            Runnable runnable = new WrappedRunnable()
+            {
+                public void runMayThrow() throws IOException
+                {
+                    MessagingService.incrementDroppedMessages();
+                    logger_.warn("Dropped a mutation from " + mutation.getFrom() +
+                                 " because its blobs failed to download");
+                    blobStore_.abandon(references);
+                    if (journaled != null) {
+                        PendingMutations.remove(journaled);
+                    }
+                }
+            };
+            StageManager.getStage(StageManager.MUTATION_STAGE).execute(runnable);
+        }
+
         public synchronized void finishedAll() {
             Runnable runnable = new WrappedRunnable()
             {
                 public void runMayThrow() throws IOException
                 {
-                    MessagingService.instance.getVerbHandler(Verb.MUTATION).doVerb(mutation);
+                    // Blobs that the mutation no longer refers to may now be
+                    // deleted. The row may have been written since the mutation
+                    // arrived, so they are found as it is applied.
+                    blobStore_.applyAndRelease(rm, new Runnable()
+                    {
+                        public void run()
+                        {
+                            MessagingService.instance.getVerbHandler(Verb.MUTATION).doVerb(mutation);
+                        }
+                    });
+                    if (journaled != null) {
+                        PendingMutations.remove(journaled);
+                    }
                 }
             };
             StageManager.getStage(StageManager.MUTATION_STAGE).execute(runnable);
         }
     }
 
-    private UTorrentClient client_;
+    /**
+     * The header naming a node that is seeding the blobs of a mutation, which
+     * is set by a node delivering a hint.
+     */
+    public static final String SEEDER = "TORRENT_SEEDER";
+
+    /** Decoders are stateless, so one is shared by every mutation. */
+    private static final TorrentDecoder decoder_ = new TorrentDecoder(new Bdecoder());
+
+    private ScheduledTorrentClient client_;
+    private BlobStore blobStore_;
     
-    public RowMutationTorrentVerbHandler(UTorrentClient client) {
+    public RowMutationTorrentVerbHandler(ScheduledTorrentClient client, BlobStore blobStore) {
         this.client_ = client;
+        this.blobStore_ = blobStore;
     }
     
 	public void doVerb(Message message) {
+        process(message, null);
+    }
+
+    /**
+     * Resumes the mutations that were waiting for their blobs when this node
+     * stopped. Their downloads keep the pieces that arrived before the stop.
+     */
+    public void resumePending() {
+        List<PendingMutations.Pending> pending;
+        try {
+            pending = PendingMutations.load();
+        } catch (IOException e) {
+            logger_.error("Failed to read the mutations waiting for blobs", e);
+            return;
+        }
+        if (!pending.isEmpty()) {
+            logger_.info("Resuming " + pending.size() +
+                         " mutations that were waiting for blobs");
+        }
+        for (PendingMutations.Pending mutation : pending) {
+            process(mutation.message, mutation.entry);
+        }
+    }
+
+    /**
+     * Applies a mutation once its blobs have been downloaded. A mutation that
+     * is resumed from the journal has its entry, and is neither journaled
+     * again nor subject to admission.
+     */
+    private void process(Message message, PendingMutations.Entry journaled) {
         byte[] bytes = message.getMessageBody();
         ByteArrayInputStream buffer = new ByteArrayInputStream(bytes);
         try
@@ -82,25 +193,58 @@ public class RowMutationTorrentVerbHandler implements IVerbHandler {
             if (logger_.isDebugEnabled())
               logger_.debug("Applying " + rm);
             Set<Torrent> torrentFilesToProcess = new HashSet<Torrent>();
-            TorrentDecoder decoder = new TorrentDecoder(new Bdecoder());
             for (ColumnFamily cf : rm.getColumnFamilies()) {
                 for (IColumn cm : cf.getColumnsMap().values()) {
-                    if (Torrentizer.isTorrentWithData(cm)) {
+                    ByteBuffer torrentContents = Placement.torrentOf(rm.getTable(), cf.name(), cm);
+                    if (torrentContents != null) {
                         try {
-                            byte[] torrentContents = cm.value();
-                            torrentFilesToProcess.add(decoder.decode(torrentContents));
+                            torrentFilesToProcess.add(decoder_.decode(torrentContents));
                         } catch (TorrentException e) {
                             logger_.error("Malformed torrent in column "+cm+".", e);
                         }
                     }
                 }
             }
-            TorrentCompleted status = new TorrentCompleted(message, torrentFilesToProcess);
+            // A replica that is behind on its downloads holds up the mutation
+            // stage and drops the write, as it would when overloaded by any
+            // other mutation, rather than queueing blobs without bound.
+            if ((journaled == null) && !torrentFilesToProcess.isEmpty() && !admit()) {
+                MessagingService.incrementDroppedMessages();
+                logger_.warn("Dropped a mutation of " + rm.key() + " because " +
+                             client_.getQueuedCount() + " blob downloads are waiting");
+                return;
+            }
+            // References are recorded before the downloads start so that the
+            // blobs cannot be deleted while they are being fetched.
+            BlobStore.Changes references = blobStore_.prepare(rm);
+            blobStore_.acquire(references);
+            TorrentCompleted status = new TorrentCompleted(message, rm, torrentFilesToProcess, references);
+            // The references are in the commit log, so the replica can
+            // acknowledge without the blobs if the coordinator allows it;
+            // after a restart the downloads resume from the references.
+            if (!torrentFilesToProcess.isEmpty() && BlobDurability.of(message) == BlobDurability.METADATA) {
+                status.applyEarly();
+            } else if (!torrentFilesToProcess.isEmpty()) {
+                // Until the blobs arrive the mutation exists only here, so it
+                // is journaled to survive a restart.
+                status.journaled = (journaled == null) ? PendingMutations.record(message) : journaled;
+            } else {
+                status.journaled = journaled;
+            }
+            InetAddress seeder = null;
+            byte[] seederBytes = message.getHeader(SEEDER);
+            if (seederBytes != null) {
+                seeder = InetAddress.getByAddress(seederBytes);
+            }
             boolean waitingForTorrents = false;
-            for (Torrent torrentFile : torrentFilesToProcess) {
+            // Downloads of blobs that this node already has complete at once
+            // and remove themselves from the set.
+            for (Torrent torrentFile : new ArrayList<Torrent>(torrentFilesToProcess)) {
                 try {
                     waitingForTorrents = true;
-                    client_.download(torrentFile, status);
+                    // The row's other replicas may be closer than the seeder.
+                    RingPeerSource.instance.expect(torrentFile, rm.getTable(), rm.key(), seeder);
+                    client_.download(torrentFile, rm.getTable(), status);
                 } catch (TorrentException e) {
                     logger_.error("Failed to add torrent:\n"+torrentFile, e);
                     status.downloadFailed(torrentFile, e);
@@ -116,4 +260,11 @@ public class RowMutationTorrentVerbHandler implements IVerbHandler {
         }
 	}
 
+    private boolean admit() {
+        try {
+            return client_.admit(DatabaseDescriptor.getRpcTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
 }
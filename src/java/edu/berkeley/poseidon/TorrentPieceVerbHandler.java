@@ -0,0 +1,55 @@
+package edu.berkeley.poseidon;
+
+import java.nio.ByteBuffer;
+
+import org.apache.cassandra.net.IVerbHandler;
+import org.apache.cassandra.net.Message;
+import org.apache.cassandra.net.MessagingService;
+import org.apache.cassandra.utils.FBUtilities;
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.log4j.Logger;
+
+import edu.berkeley.poseidon.torrent.EmbeddedTorrentClient;
+import edu.berkeley.poseidon.torrent.MessagingPieceTransport;
+import edu.berkeley.poseidon.torrent.Torrent;
+import edu.berkeley.poseidon.torrent.TorrentException;
+
+/**
+ * Serves the pieces that other nodes request through a
+ * {@link MessagingPieceTransport}. The request holds the info hash of a
+ * torrent and the index of a piece; the reply holds the piece, or nothing if
+ * this node does not share it.
+ *
+ * @author James Ide
+ */
+public class TorrentPieceVerbHandler implements IVerbHandler {
+
+    private static Logger logger_ = Logger.getLogger(TorrentPieceVerbHandler.class);
+
+    private final EmbeddedTorrentClient client_;
+
+    public TorrentPieceVerbHandler(EmbeddedTorrentClient client) {
+        client_ = client;
+    }
+
+    public void doVerb(Message message) {
+        ByteBuffer request = ByteBuffer.wrap(message.getMessageBody());
+        byte[] infoHash = new byte[Torrent.PIECE_HASH_LENGTH];
+        request.get(infoHash);
+        int index = request.getInt();
+
+        byte[] piece = ArrayUtils.EMPTY_BYTE_ARRAY;
+        try {
+            ByteBuffer shared = client_.readPiece(infoHash, index);
+            if (shared != null) {
+                piece = new byte[shared.remaining()];
+                shared.get(piece);
+            }
+        } catch (TorrentException e) {
+            logger_.warn("Failed to read piece " + index + " of " +
+                         FBUtilities.bytesToHex(infoHash), e);
+        }
+        Message reply = message.getReply(FBUtilities.getLocalAddress(), piece);
+        MessagingService.instance.sendOneWay(reply, message.getFrom());
+    }
+}
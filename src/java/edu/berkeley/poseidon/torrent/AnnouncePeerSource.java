@@ -0,0 +1,53 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * A {@link PeerSource} that reads peer addresses directly out of a torrent's
+ * announce list. Torrents seeded by an {@link EmbeddedTorrentClient} announce
+ * the seeder itself with a {@code poseidon://host:port/} URI, so no tracker
+ * is needed to find the initial seed.
+ *
+ * @author James Ide
+ */
+public class AnnouncePeerSource implements PeerSource {
+
+    /** The URI scheme that identifies a peer rather than a tracker. */
+    public static final String PEER_SCHEME = "poseidon";
+
+    /**
+     * Returns the announce URI that points other peers at the specified
+     * address.
+     */
+    public static URI toAnnounceUri(InetSocketAddress address) {
+        return URI.create(PEER_SCHEME + "://" +
+                          address.getAddress().getHostAddress() + ":" +
+                          address.getPort() + "/");
+    }
+
+    @Override
+    public List<InetSocketAddress> getPeers(Torrent torrent) {
+        List<InetSocketAddress> peers = Lists.newArrayList();
+        for (ImmutableList<String> group : torrent.getAnnounceList()) {
+            for (String announce : group) {
+                URI uri;
+                try {
+                    uri = URI.create(announce);
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                if (PEER_SCHEME.equals(uri.getScheme()) &&
+                        (uri.getHost() != null) && (uri.getPort() != -1)) {
+                    peers.add(new InetSocketAddress(uri.getHost(),
+                                                    uri.getPort()));
+                }
+            }
+        }
+        return peers;
+    }
+}
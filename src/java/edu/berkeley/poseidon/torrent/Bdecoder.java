@@ -1,23 +1,34 @@
 package edu.berkeley.poseidon.torrent;
 
-import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.base.Preconditions.checkPositionIndex;
 import static com.google.common.base.Preconditions.checkState;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.cassandra.utils.Pair;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
+/**
+ * A bencode parser. The parser holds no decoding state, so a single instance
+ * may be shared by any number of threads.
+ * <p>
+ * Decoding does not copy: byte strings are returned as read-only
+ * {@link ByteBuffer} slices of the input, and dictionaries are returned as
+ * {@link Dictionary} views whose values are only decoded when they are looked
+ * up. Integers are returned as {@code Long} objects and lists as {@code List}
+ * objects of decoded values.
+ */
 public class Bdecoder {
 
-    public class BdecoderException extends RuntimeException {
+    public static class BdecoderException extends RuntimeException {
         public BdecoderException(String str, RuntimeException cause) {
             super(str, cause);
         }
@@ -30,41 +41,44 @@ public class Bdecoder {
     private final Charset utf8;
     private final Charset ascii;
 
-    private int offset;
-
     public Bdecoder() {
         utf8 = Charset.forName("UTF-8");
         ascii = Charset.forName("US-ASCII");
     }
 
     public Pair<?, Type> decode(byte[] data) {
-        offset = 0;
+        checkNotNull(data);
+        return decode(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Decodes the bencoded value between the position and the limit of the
+     * specified buffer. The position of the given buffer is not modified.
+     */
+    public Pair<?, Type> decode(ByteBuffer data) {
+        checkNotNull(data);
+        ByteBuffer in = data.slice();
         try {
-            return decodeInternal(data);
+            return decodeInternal(in);
         } catch (RuntimeException e) {
-            int i = offset - 5;
-            StringBuilder toPrint = new StringBuilder();
-            if (i <= 0) {
-                i = 0;
-                toPrint.append(" ^");
-            }
-            for (; i < offset + 5; i++) {
-                if (i >= data.length) {
-                    toPrint.append(" $");
-                    break;
-                }
-                toPrint.append(" ");
-                toPrint.append(((int)(data[i])) & 0xff);
-            }
-/* // For debugging invalid torrent files.
-            try {
-                java.io.FileOutputStream fos = new java.io.FileOutputStream("/tmp/bdecoder_"+Math.random()+".torrent");
-                fos.write(data);
-                fos.close();
-            } catch (java.io.IOException ioex) {
-            }
-*/
-            throw new BdecoderException("Failed to decode at position "+offset+" out of "+data.length+":"+toPrint, e);
+            throw decodingFailure(in, e);
+        }
+    }
+
+    /**
+     * Decodes a bencoded dictionary from the specified buffer. The returned
+     * dictionary only indexes the positions of its values.
+     *
+     * @throws BdecoderException if the buffer does not hold a well-formed
+     *         dictionary
+     */
+    public Dictionary decodeDictionary(ByteBuffer data) {
+        checkNotNull(data);
+        ByteBuffer in = data.slice();
+        try {
+            return decodeDictionaryInternal(in);
+        } catch (RuntimeException e) {
+            throw decodingFailure(in, e);
         }
     }
 
@@ -73,105 +87,249 @@ public class Bdecoder {
         return new String(data, utf8);
     }
     
-    private Pair<?, Type> decodeInternal(byte[] data) {
-        checkElementIndex(offset, data.length);
-        switch (data[offset]) {
+    public String asString(ByteBuffer data) {
+        checkNotNull(data);
+        return utf8.decode(data.duplicate()).toString();
+    }
+
+    private BdecoderException decodingFailure(ByteBuffer in,
+                                              RuntimeException e) {
+        int offset = in.position();
+        int i = offset - 5;
+        StringBuilder toPrint = new StringBuilder();
+        if (i <= 0) {
+            i = 0;
+            toPrint.append(" ^");
+        }
+        for (; i < offset + 5; i++) {
+            if (i >= in.limit()) {
+                toPrint.append(" $");
+                break;
+            }
+            toPrint.append(" ");
+            toPrint.append(((int) (in.get(i))) & 0xff);
+        }
+        return new BdecoderException("Failed to decode at position " + offset +
+                                     " out of " + in.limit() + ":" + toPrint,
+                                     e);
+    }
+
+    private Pair<?, Type> decodeInternal(ByteBuffer in) {
+        byte delimiter = peek(in);
+        switch (delimiter) {
             case 'i':
-                return Pair.create(decodeInteger(data), Type.INTEGER);
+                return Pair.create(decodeInteger(in), Type.INTEGER);
             case 'l':
-                return Pair.create(decodeList(data), Type.LIST);
+                return Pair.create(decodeList(in), Type.LIST);
             case 'd':
-                return Pair.create(decodeDictionary(data), Type.DICTIONARY);
+                return Pair.create(decodeDictionaryInternal(in),
+                                   Type.DICTIONARY);
             default:
-                int originalOffset = offset;
-                int lengthPrefix = readLength(data);
-                if (lengthPrefix != -1) {
-                    // Since the byte-string decoder will try to read the
-                    // length, we need to restore the offset into the array.
-                    offset = originalOffset;
-                    return Pair.create(decodeByteString(data),
-                                       Type.BYTE_STRING);
+                if (isDigit(delimiter)) {
+                    return Pair.create(decodeByteString(in), Type.BYTE_STRING);
                 }
 
                 String error = String.format("'%c' is an unknown delimiter",
-                                             data[offset]);
+                                             delimiter);
                 throw new RuntimeException(error);
         }
     }
 
-    private byte[] decodeByteString(byte[] data) {
-        int length = readLength(data);
+    private ByteBuffer decodeByteString(ByteBuffer in) {
+        int length = readLength(in);
         checkState(length != -1);
-        consume(data, ':');
-        checkPositionIndex(offset + length, data.length);
+        consume(in, ':');
+        checkState(length <= in.remaining(), "byte string is truncated");
 
-        byte[] byteString = Arrays.copyOfRange(data, offset, offset + length);
-        offset += length;
-        return byteString;
+        ByteBuffer byteString = in.slice();
+        byteString.limit(length);
+        in.position(in.position() + length);
+        return byteString.asReadOnlyBuffer();
     }
 
-    private String decodeString(byte[] data) {
-        return asString(decodeByteString(data));
+    private String decodeString(ByteBuffer in) {
+        return asString(decodeByteString(in));
     }
 
-    private long decodeInteger(byte[] data) {
-        consume(data, 'i');
-        int start = offset;
-        while (data[offset] != 'e') {
-            offset++;
+    private long decodeInteger(ByteBuffer in) {
+        consume(in, 'i');
+        int start = in.position();
+        while (peek(in) != 'e') {
+            in.get();
         }
+        int end = in.position();
+        consume(in, 'e');
 
-        byte[] slice = Arrays.copyOfRange(data, start, offset);
-        consume(data, 'e');        
-        return Long.valueOf(new String(slice, ascii));
+        ByteBuffer digits = in.duplicate();
+        digits.position(start).limit(end);
+        return Long.valueOf(ascii.decode(digits).toString());
     }
 
-    private List<?> decodeList(byte[] data) {
-        consume(data, 'l');
+    private List<?> decodeList(ByteBuffer in) {
+        consume(in, 'l');
         List<Object> list = Lists.newArrayList();
-        while (data[offset] != 'e') {
-            list.add(decodeInternal(data).left);
+        while (peek(in) != 'e') {
+            list.add(decodeInternal(in).left);
         }
-        consume(data, 'e');
+        consume(in, 'e');
         return list;
     }
 
-    private Map<String, ?> decodeDictionary(byte[] data) {
-        consume(data, 'd');
-        Map<String, Object> dictionary = Maps.newHashMap();
-        while (data[offset] != 'e') {
-            // Java evaluates arguments from left to right.
-            dictionary.put(decodeString(data), decodeInternal(data).left);
+    /**
+     * Indexes the keys of a dictionary, skipping over the values without
+     * decoding them.
+     */
+    private Dictionary decodeDictionaryInternal(ByteBuffer in) {
+        int start = in.position();
+        consume(in, 'd');
+        Map<String, Integer> positions = Maps.newHashMap();
+        while (peek(in) != 'e') {
+            String key = decodeString(in);
+            positions.put(key, in.position() - start);
+            skip(in);
+        }
+        consume(in, 'e');
+
+        ByteBuffer encoded = in.duplicate();
+        encoded.position(start).limit(in.position());
+        return new Dictionary(encoded.slice(), positions);
+    }
+
+    /** Advances past the next value without decoding it. */
+    private void skip(ByteBuffer in) {
+        byte delimiter = peek(in);
+        switch (delimiter) {
+            case 'i':
+                while (in.get() != 'e') {
+                    // Skip the digits of the integer.
+                }
+                break;
+            case 'l':
+            case 'd':
+                in.get();
+                while (peek(in) != 'e') {
+                    skip(in);
+                }
+                in.get();
+                break;
+            default:
+                int length = readLength(in);
+                checkState(length != -1, "'%s' is an unknown delimiter",
+                           (char) delimiter);
+                consume(in, ':');
+                checkState(length <= in.remaining(), "byte string is truncated");
+                in.position(in.position() + length);
         }
-        consume(data, 'e');
-        return dictionary;
     }
 
-    private void consume(byte[] data, char expected) {
-        checkState(data[offset] == expected);
-        offset++;
+    private byte peek(ByteBuffer in) {
+        checkState(in.hasRemaining(), "unexpected end of data");
+        return in.get(in.position());
+    }
+
+    private void consume(ByteBuffer in, char expected) {
+        checkState(peek(in) == expected);
+        in.get();
+    }
+
+    private static boolean isDigit(byte b) {
+        return (b >= '0') && (b <= '9');
     }
 
     /**
-     * Reads a base-10 ASCII-encoded integer from the specified byte array and
-     * increments the offset into the array by the appropriate amount. If there
-     * is no non-negative integer to read from the array, this method returns
-     * -1 and the offset into the array is unchanged.
+     * Reads a base-10 ASCII-encoded integer from the specified buffer and
+     * advances the buffer's position by the appropriate amount. If there is no
+     * non-negative integer to read from the buffer, this method returns -1 and
+     * the position of the buffer is unchanged.
      *
-     * @param data the array of bytes from which to read an integer
+     * @param in the buffer from which to read an integer
      */
-    private int readLength(byte[] data) {
-        // Read as many digits from the array as possible.
-        int start = offset;
-        while ((offset < data.length) &&
-                Character.isDigit((char) data[offset])) {
-            offset++;
+    private int readLength(ByteBuffer in) {
+        long length = 0;
+        int digits = 0;
+        while (in.hasRemaining() && isDigit(in.get(in.position()))) {
+            length = length * 10 + (in.get() - '0');
+            checkState(length <= Integer.MAX_VALUE, "length is too large");
+            digits++;
+        }
+        return (digits == 0) ? -1 : (int) length;
+    }
+
+    /**
+     * A decoded dictionary that keeps its encoded form and decodes each value
+     * when it is looked up. Dictionaries are immutable and safe to share.
+     */
+    public class Dictionary {
+
+        private final ByteBuffer encoded;
+        private final Map<String, Integer> positions;
+
+        private Dictionary(ByteBuffer encoded, Map<String, Integer> positions) {
+            this.encoded = encoded;
+            this.positions = positions;
+        }
+
+        public boolean containsKey(String key) {
+            return positions.containsKey(key);
+        }
+
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(positions.keySet());
+        }
+
+        /**
+         * Returns the encoded bytes of this dictionary, such as those over
+         * which a torrent's info hash is computed.
+         */
+        public ByteBuffer getEncoded() {
+            return encoded.asReadOnlyBuffer();
+        }
+
+        /**
+         * Decodes and returns the value of the specified key, or null if the
+         * dictionary does not contain the key.
+         */
+        public Object get(String key) {
+            ByteBuffer value = getValue(key);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return decodeInternal(value).left;
+            } catch (RuntimeException e) {
+                throw decodingFailure(value, e);
+            }
+        }
+
+        /** Returns the byte string value of the specified key. */
+        public ByteBuffer getBytes(String key) {
+            Object value = get(key);
+            checkArgument(value instanceof ByteBuffer,
+                          "'%s' is not a byte string", key);
+            return (ByteBuffer) value;
+        }
+
+        /** Returns the dictionary value of the specified key. */
+        public Dictionary getDictionary(String key) {
+            Object value = get(key);
+            checkArgument(value instanceof Dictionary,
+                          "'%s' is not a dictionary", key);
+            return (Dictionary) value;
+        }
+
+        private ByteBuffer getValue(String key) {
+            Integer position = positions.get(key);
+            if (position == null) {
+                return null;
+            }
+            ByteBuffer value = encoded.duplicate();
+            value.position(position);
+            return value.slice();
         }
 
-        if (offset == start) {
-            return -1;
+        @Override
+        public String toString() {
+            return "Dictionary" + positions.keySet();
         }
-        byte[] slice = Arrays.copyOfRange(data, start, offset);
-        return Integer.valueOf(new String(slice, ascii));
     }
 }
@@ -2,6 +2,8 @@ package edu.berkeley.poseidon.torrent;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.charset.Charset;
 import java.util.Comparator;
 import java.util.List;
@@ -28,6 +30,19 @@ public class Bencoder {
         out.write(bytes);
     }
 
+    public void encode(ByteBuffer bytes, OutputStream out) throws IOException {
+        Preconditions.checkNotNull(bytes);
+        out.write(Integer.toString(bytes.remaining()).getBytes(ascii));
+        out.write(':');
+        if (bytes.hasArray()) {
+            out.write(bytes.array(), bytes.arrayOffset() + bytes.position(),
+                      bytes.remaining());
+        } else {
+            // Read-only and direct buffers are written in small chunks.
+            Channels.newChannel(out).write(bytes.duplicate());
+        }
+    }
+
     public void encode(String string, OutputStream out) throws IOException {
         Preconditions.checkNotNull(string);
         encode(stringToBytes(string), out);
@@ -72,6 +87,8 @@ public class Bencoder {
         Preconditions.checkNotNull(obj);
         if (obj instanceof byte[]) {
             encode((byte[]) obj, out);
+        } else if (obj instanceof ByteBuffer) {
+            encode((ByteBuffer) obj, out);
         } else if (obj instanceof String) {
             encode((String) obj, out);
         } else if (obj instanceof Number) {
@@ -0,0 +1,215 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Sets;
+import com.google.common.io.Files;
+
+/**
+ * A size-bounded cache of fetched blobs on the client's disk, keyed by info
+ * hash, so that reading a blob again does not start another download. The
+ * cache keeps a copy of each blob in its own directory, named by the info
+ * hash of its torrent, and evicts the least recently used blobs once their
+ * total size exceeds the capacity. Recency is recorded in the modification
+ * times of the files, so the cache survives restarts.
+ * <p>
+ * A blob is checked against the piece hashes of its torrent the first time
+ * the cache serves it in each process; a blob that fails the check is evicted
+ * and fetched again.
+ * <p>
+ * Callers keep the paths that the cache hands out, so the file of an evicted
+ * blob whose path was handed out is not deleted until the process exits;
+ * until then the cache may use more disk than its capacity.
+ *
+ * @author James Ide
+ */
+class BlobCache {
+
+    private static Logger logger = Logger.getLogger(BlobCache.class);
+
+    /** The suffix of the files that are being copied into the cache. */
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final long capacity;
+    /** The size of each cached blob by info hash, least recently used first. */
+    private final LinkedHashMap<String, Long> sizes =
+        new LinkedHashMap<String, Long>(16, 0.75f, true);
+    /** The blobs that have been verified since they were loaded. */
+    private final Set<String> verified = Sets.newHashSet();
+    /** The blobs whose paths have been handed out in this process. */
+    private final Set<String> handedOut = Sets.newHashSet();
+    private long size;
+
+    /**
+     * Creates a cache of at most <code>capacity</code> bytes in the specified
+     * directory, which holds the blobs cached by earlier processes.
+     */
+    BlobCache(File directory, long capacity) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        this.directory = directory;
+        this.capacity = capacity;
+        load();
+    }
+
+    /**
+     * Returns the cached copy of the blob of the specified torrent, or null
+     * if it is not cached or its copy is damaged.
+     */
+    File get(Torrent torrent) throws TorrentException {
+        String infoHash = torrent.getInfoHashHex();
+        File file = fileOf(infoHash);
+        synchronized (this) {
+            if (sizes.get(infoHash) == null) {
+                return null;
+            }
+            if (verified.contains(infoHash)) {
+                touch(file);
+                handedOut.add(infoHash);
+                return file;
+            }
+        }
+        // Blobs are verified outside the lock since they are read in full.
+        boolean intact = file.length() == torrent.getLength() &&
+            Torrents.verifyPieces(torrent, file).cardinality() ==
+                torrent.getPieceCount();
+        synchronized (this) {
+            if (!intact) {
+                logger.warn("Evicting damaged blob " + infoHash + " from the cache");
+                evict(infoHash);
+                return null;
+            }
+            if (sizes.get(infoHash) == null) {
+                return null;
+            }
+            verified.add(infoHash);
+            touch(file);
+            handedOut.add(infoHash);
+            return file;
+        }
+    }
+
+    /**
+     * Copies the fetched blob of the specified torrent into the cache and
+     * returns the copy, evicting other blobs to make room. The blob itself is
+     * returned if it is larger than the cache.
+     */
+    File put(Torrent torrent, File blob) throws TorrentException {
+        String infoHash = torrent.getInfoHashHex();
+        long length = blob.length();
+        if (length > capacity) {
+            return blob;
+        }
+        File file = fileOf(infoHash);
+        synchronized (this) {
+            if (sizes.get(infoHash) != null) {
+                handedOut.add(infoHash);
+                return file;
+            }
+        }
+        File temporary = new File(directory, infoHash + TEMPORARY_SUFFIX +
+                                  Thread.currentThread().getId());
+        try {
+            Files.copy(blob, temporary);
+        } catch (IOException e) {
+            temporary.delete();
+            logger.warn("Failed to cache blob " + infoHash, e);
+            return blob;
+        }
+        synchronized (this) {
+            if (sizes.get(infoHash) != null || !temporary.renameTo(file)) {
+                temporary.delete();
+                if (sizes.get(infoHash) == null) {
+                    return blob;
+                }
+                handedOut.add(infoHash);
+                return file;
+            }
+            sizes.put(infoHash, length);
+            // The blob was just fetched, so its pieces have been checked.
+            verified.add(infoHash);
+            size += length;
+            handedOut.add(infoHash);
+            evictToCapacity();
+            return file;
+        }
+    }
+
+    private File fileOf(String infoHash) {
+        return new File(directory, infoHash);
+    }
+
+    /** Indexes the blobs cached by earlier processes by recency. */
+    private synchronized void load() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            public int compare(File a, File b) {
+                long difference = a.lastModified() - b.lastModified();
+                return (difference < 0) ? -1 : ((difference > 0) ? 1 : 0);
+            }
+        });
+        for (File file : files) {
+            if (file.getName().contains(TEMPORARY_SUFFIX)) {
+                // Left behind by a process that stopped while copying.
+                file.delete();
+            } else if (file.isFile()) {
+                sizes.put(file.getName(), file.length());
+                size += file.length();
+            }
+        }
+        evictToCapacity();
+        logger.info("Blob cache " + directory + " holds " + sizes.size() +
+                    " blobs (" + size + " bytes)");
+    }
+
+    private void evictToCapacity() {
+        Iterator<Map.Entry<String, Long>> eldest = sizes.entrySet().iterator();
+        while ((size > capacity) && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            eldest.remove();
+            verified.remove(entry.getKey());
+            size -= entry.getValue();
+            delete(entry.getKey());
+        }
+    }
+
+    private void evict(String infoHash) {
+        Long length = sizes.remove(infoHash);
+        if (length != null) {
+            size -= length;
+            delete(infoHash);
+        }
+        verified.remove(infoHash);
+    }
+
+    /**
+     * Deletes the file of an evicted blob, or once the process exits if its
+     * path has been handed out.
+     */
+    private void delete(String infoHash) {
+        File file = fileOf(infoHash);
+        if (handedOut.contains(infoHash)) {
+            file.deleteOnExit();
+        } else {
+            file.delete();
+        }
+    }
+
+    private static void touch(File file) {
+        file.setLastModified(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,52 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.io.File;
+
+import org.apache.cassandra.utils.Pair;
+import org.apache.log4j.Logger;
+
+/**
+ * A listener that is waiting for a download, and the torrent with which it
+ * asked for the download. Downloads of torrents with the same info hash are
+ * shared, so each listener is notified with its own torrent rather than that
+ * of the first caller: listeners may look up the torrents they are waiting
+ * for by identity.
+ *
+ * @author James Ide
+ */
+class Callback extends Pair<Torrent, TorrentListener> {
+
+    private static Logger logger = Logger.getLogger(Callback.class);
+
+    Callback(Torrent torrent, TorrentListener listener) {
+        super(torrent, listener);
+    }
+
+    Torrent getTorrent() {
+        return left;
+    }
+
+    TorrentListener getListener() {
+        return right;
+    }
+
+    /**
+     * Notifies the listener that the download finished with the specified
+     * file, or failed if the error is not null, and returns false if the
+     * listener threw.
+     */
+    boolean invoke(File file, TorrentException error) {
+        try {
+            if (error == null) {
+                right.fileDownloaded(left, file);
+            } else {
+                right.downloadFailed(left, error);
+            }
+            return true;
+        } catch (Exception e) {
+            logger.error("callback for torrent " + left.getName() +
+                         " failed", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+/**
+ * A binary encoding of torrent metainfo for column values, which is smaller
+ * than bencoding and is decoded without parsing a dictionary. It holds the
+ * same fields, so a torrent has the same info hash in either encoding.
+ * Encoded torrents begin with {@link #MAGIC}, which no bencoded torrent or
+ * inline value begins with, so {@link TorrentDecoder} reads both.
+ * <p>
+ * The layout is the magic, a byte of flags, the name, the length, the piece
+ * length, the piece count and the raw piece hashes, the creation date, the
+ * announce groups, and the comment, creator and encoding if they are set and
+ * differ from the defaults. Strings are UTF-8 with a two-byte length.
+ *
+ * @author James Ide
+ */
+class CompactTorrentCodec {
+
+    /** The first bytes of a compact torrent, ending with its version. */
+    static final byte[] MAGIC = { 0, 'P', 'T', 1 };
+
+    private static final int PRIVATE = 1;
+    private static final int COMMENT = 2;
+    private static final int CREATOR = 4;
+    private static final int ENCODING = 8;
+
+    private CompactTorrentCodec() {
+    }
+
+    /** Returns true if the bytes after the position begin with the magic. */
+    static boolean isCompact(ByteBuffer data) {
+        if (data.remaining() < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data.get(data.position() + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static byte[] encode(Torrent torrent) throws TorrentException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+            64 + torrent.getPieceCount() * Torrent.PIECE_HASH_LENGTH);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            boolean creator = !Torrent.DEFAULT_CREATOR.equals(torrent.getCreator());
+            boolean encoding = !Torrent.DEFAULT_ENCODING.equals(torrent.getEncoding());
+            int flags = (torrent.isPrivate() ? PRIVATE : 0) |
+                        ((torrent.getComment() != null) ? COMMENT : 0) |
+                        (creator ? CREATOR : 0) |
+                        (encoding ? ENCODING : 0);
+            out.write(MAGIC);
+            out.writeByte(flags);
+            writeString(out, torrent.getName());
+            out.writeLong(torrent.getLength());
+            out.writeInt(torrent.getPieceLength());
+            out.writeInt(torrent.getPieceCount());
+            ByteBuffer hashes = torrent.getPieceHashes();
+            byte[] buffer = new byte[hashes.remaining()];
+            hashes.get(buffer);
+            out.write(buffer);
+            out.writeLong(torrent.getCreationDate());
+            out.writeShort(torrent.getAnnounceList().size());
+            for (List<String> group : torrent.getAnnounceList()) {
+                out.writeShort(group.size());
+                for (String uri : group) {
+                    writeString(out, uri);
+                }
+            }
+            if (torrent.getComment() != null) {
+                writeString(out, torrent.getComment());
+            }
+            if (creator) {
+                writeString(out, torrent.getCreator());
+            }
+            if (encoding) {
+                writeString(out, torrent.getEncoding());
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new TorrentException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the compact torrent between the position and the limit of the
+     * specified buffer. The piece hashes are a view of the buffer.
+     */
+    static Torrent decode(ByteBuffer data) throws TorrentException {
+        ByteBuffer in = data.slice();
+        try {
+            in.position(MAGIC.length);
+            int flags = in.get();
+            Torrent.Builder builder = new Torrent.Builder();
+            builder.setPrivate((flags & PRIVATE) != 0);
+            builder.setName(readString(in));
+            builder.setLength(in.getLong());
+            builder.setPieceLength(in.getInt());
+            int hashesLength = in.getInt() * Torrent.PIECE_HASH_LENGTH;
+            ByteBuffer hashes = in.duplicate();
+            hashes.limit(hashes.position() + hashesLength);
+            builder.setPieceHashes(hashes);
+            in.position(in.position() + hashesLength);
+            builder.setCreationDate(in.getLong());
+            int groups = in.getShort() & 0xffff;
+            for (int i = 0; i < groups; i++) {
+                int size = in.getShort() & 0xffff;
+                List<URI> uris = Lists.newArrayList();
+                for (int j = 0; j < size; j++) {
+                    uris.add(new URI(readString(in)));
+                }
+                builder.addAnnounceUriGroup(uris);
+            }
+            if ((flags & COMMENT) != 0) {
+                builder.setComment(readString(in));
+            }
+            if ((flags & CREATOR) != 0) {
+                builder.setCreator(readString(in));
+            }
+            if ((flags & ENCODING) != 0) {
+                builder.setEncoding(readString(in));
+            }
+            return builder.build();
+        } catch (BufferUnderflowException e) {
+            throw new TorrentException("truncated compact torrent");
+        } catch (IllegalArgumentException e) {
+            throw new TorrentException(e);
+        } catch (IllegalStateException e) {
+            throw new TorrentException(e);
+        } catch (URISyntaxException e) {
+            throw new TorrentException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String string)
+            throws IOException {
+        byte[] bytes = string.getBytes("UTF-8");
+        if (bytes.length > 0xffff) {
+            throw new IOException("string of " + bytes.length +
+                                  " bytes is too long");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xffff];
+        in.get(bytes);
+        try {
+            return new String(bytes, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package edu.berkeley.poseidon.torrent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cassandra.utils.FBUtilities;
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import edu.berkeley.poseidon.util.DaemonThreadFactory;
+
+/**
+ * A {@link TorrentClient} that exchanges pieces with other peers from within
+ * the JVM rather than by driving an external BitTorrent client. Shared files
+ * are served by a {@link PieceServer} and downloads are carried out by
+ * {@link PieceDownload} tasks, each of which verifies every piece against the
+ * torrent's piece hashes.
+ * <p>
+ * Torrents seeded by this client announce the client's own peer address, so
+ * peers can find the initial seed without a tracker.
+ * <p>
+ * The files being shared are only known in memory, so after a restart the
+ * files that this client still holds are shared again with
+ * {@link #reshare(Torrent)}.
+ *
+ * @author James Ide
+ */
+public class EmbeddedTorrentClient implements TorrentClient {
+
+    private static Logger logger = Logger.getLogger(EmbeddedTorrentClient.class);
+
+    /** The number of torrents that are downloaded concurrently. */
+    private static final int DOWNLOAD_THREADS = 8;
+
+    /** The directory where active downloads reside. */
+    private final File activeDirectory;
+    /** The directory where completed downloads reside. */
+    private final File completedDirectory;
+    /** The server that shares pieces with other peers. */
+    private final PieceServer server;
+    /** The address announced in torrents that this client seeds. */
+    private final InetSocketAddress peerAddress;
+    /** The source of peers for downloads. */
+    private final PeerSource peerSource;
+    /** The means by which pieces are requested from peers. */
+    private final PieceTransport transport;
+    /** The pool on which downloads run. */
+    private final ExecutorService downloadExecutor;
+
+    /** The files being shared, keyed by hexadecimal info hash. */
+    private final ConcurrentMap<String, SharedFile> sharedFiles =
+        new ConcurrentHashMap<String, SharedFile>();
+    /** The downloads in progress, keyed by hexadecimal info hash. */
+    private final ConcurrentMap<String, ActiveDownload> downloads =
+        new ConcurrentHashMap<String, ActiveDownload>();
+
+    /**
+     * Creates a client that keeps its files in the specified directories and
+     * serves pieces on the given address. The piece server is started before
+     * this constructor returns.
+     *
+     * @param activeDirectory the directory where active downloads reside
+     * @param completedDirectory the directory where completed downloads reside
+     * @param address the address on which to serve pieces
+     * @param peerSource the source of peers for downloads
+     * @throws TorrentException if the directories cannot be created or the
+     *         piece server cannot be bound
+     */
+    public EmbeddedTorrentClient(File activeDirectory, File completedDirectory,
+                                 InetSocketAddress address,
+                                 PeerSource peerSource)
+                                 throws TorrentException {
+        this(activeDirectory, completedDirectory, address, peerSource,
+             new SocketPieceTransport());
+    }
+
+    /**
+     * Creates a client like the constructor above that requests pieces over
+     * the specified transport. Other peers may still request pieces from the
+     * piece server.
+     *
+     * @param transport the means by which pieces are requested from peers
+     */
+    public EmbeddedTorrentClient(File activeDirectory, File completedDirectory,
+                                 InetSocketAddress address,
+                                 PeerSource peerSource,
+                                 PieceTransport transport)
+                                 throws TorrentException {
+        this.activeDirectory = activeDirectory.getAbsoluteFile();
+        this.completedDirectory = completedDirectory.getAbsoluteFile();
+        this.peerSource = peerSource;
+        this.transport = transport;
+        for (File directory : ImmutableList.of(this.activeDirectory,
+                                               this.completedDirectory)) {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new TorrentException("could not create " + directory);
+            }
+        }
+
+        try {
+            server = new PieceServer(this, address);
+        } catch (IOException e) {
+            throw new TorrentException(e);
+        }
+        peerAddress = new InetSocketAddress(address.getAddress(),
+                                            server.getAddress().getPort());
+        Thread serverThread = new Thread(server, "PIECE-SERVER");
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            DOWNLOAD_THREADS, DOWNLOAD_THREADS, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new DaemonThreadFactory("PIECE-DOWNLOAD"));
+        executor.allowCoreThreadTimeOut(true);
+        downloadExecutor = executor;
+
+        logger.info("Embedded torrent engine serving pieces on " +
+                    peerAddress);
+        logger.info("Torrent active directory is: " + this.activeDirectory);
+        logger.info("Torrent completed directory is: " +
+                    this.completedDirectory);
+    }
+
+    @Override
+    public File getActiveDirectory() {
+        return activeDirectory;
+    }
+
+    @Override
+    public File getCompletedDirectory() {
+        return completedDirectory;
+    }
+
+    /**
+     * The file's name includes the info hash, so downloads of two torrents
+     * with the same name do not write into the same file.
+     */
+    @Override
+    public File getPartialFile(Torrent torrent) {
+        try {
+            return new File(activeDirectory,
+                            torrent.getName() + "." + torrent.getInfoHashHex());
+        } catch (TorrentException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the address on which this client serves pieces.
+     */
+    public InetSocketAddress getPeerAddress() {
+        return peerAddress;
+    }
+
+    @Override
+    public Torrent seed(File file) throws TorrentException {
+        checkNotNull(file);
+        return seed(file, new Torrent.PieceHasher().addFile(file));
+    }
+
+    @Override
+    public Torrent seed(File file, Torrent.Builder builder)
+            throws TorrentException {
+        checkNotNull(file);
+        checkArgument(getActiveDirectory().equals(
+            file.getAbsoluteFile().getParentFile()));
+
+        Torrent torrent = builder
+            .addAnnounceUri(AnnouncePeerSource.toAnnounceUri(peerAddress))
+            .build();
+        share(torrent, file);
+        return torrent;
+    }
+
+    @Override
+    public void download(Torrent torrent, TorrentListener listener)
+            throws TorrentException {
+        String key = torrent.getInfoHashHex();
+        SharedFile shared = sharedFiles.get(key);
+        if (shared != null) {
+            listener.fileDownloaded(torrent, shared.file);
+            return;
+        }
+
+        start(torrent, key).addListener(torrent, listener);
+    }
+
+    /**
+     * Returns a stream that hands out each piece as soon as it has been
+     * verified. The stream shares the download with any other readers and
+     * listeners of the torrent, and closing it does not stop the download.
+     */
+    @Override
+    public InputStream openStream(Torrent torrent) throws TorrentException {
+        String key = torrent.getInfoHashHex();
+        SharedFile shared = sharedFiles.get(key);
+        if (shared != null) {
+            try {
+                return new FileInputStream(shared.file);
+            } catch (FileNotFoundException e) {
+                throw new TorrentException(e);
+            }
+        }
+        return new PieceInputStream(this, start(torrent, key).task);
+    }
+
+    /**
+     * Reads the range from the shared file if there is one. Otherwise only
+     * the pieces that cover the range are fetched, on the calling thread, and
+     * they are not kept once the range has been read.
+     */
+    @Override
+    public ByteBuffer read(Torrent torrent, long offset, int length)
+            throws TorrentException {
+        checkArgument((offset >= 0) && (length >= 0) &&
+                      (offset + length <= torrent.getLength()),
+                      "range is outside of %s", torrent.getName());
+        SharedFile shared = sharedFiles.get(torrent.getInfoHashHex());
+        if (shared != null) {
+            return Torrents.readRange(shared.file, offset, length);
+        }
+        if (length == 0) {
+            return ByteBuffer.allocate(0);
+        }
+
+        int pieceLength = torrent.getPieceLength();
+        int firstPiece = (int) (offset / pieceLength);
+        int endPiece = (int) ((offset + length - 1) / pieceLength) + 1;
+        ByteBuffer pieces = new PieceDownload(torrent, firstPiece, endPiece,
+                                              peerSource, transport).fetch();
+        pieces.position((int) (offset - (long) firstPiece * pieceLength));
+        pieces.limit(pieces.position() + length);
+        return pieces.slice();
+    }
+
+    /**
+     * Shares the file of a torrent that this client held before a restart,
+     * and returns true if the file is shared. A completed or seeded file is
+     * shared if it has the torrent's length, and a partial file only if all
+     * of its pieces verify, in which case it is moved to the completed
+     * directory. A torrent that is downloading is left to its download.
+     *
+     * @throws TorrentException if the partial file could not be read
+     */
+    public boolean reshare(Torrent torrent) throws TorrentException {
+        String key = torrent.getInfoHashHex();
+        if (sharedFiles.containsKey(key)) {
+            return true;
+        }
+        if (downloads.containsKey(key)) {
+            return false;
+        }
+        for (File directory : ImmutableList.of(completedDirectory,
+                                               activeDirectory)) {
+            File file = new File(directory, torrent.getName());
+            if (file.isFile() && (file.length() == torrent.getLength())) {
+                share(torrent, file);
+                return true;
+            }
+        }
+        File partial = getPartialFile(torrent);
+        if (partial.isFile() &&
+                (Torrents.verifyPieces(torrent, partial).cardinality() ==
+                 torrent.getPieceCount())) {
+            share(torrent, moveToCompleted(partial, torrent.getName()));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Torrent torrent) throws TorrentException {
+        String key = torrent.getInfoHashHex();
+        ActiveDownload download = downloads.remove(key);
+        if ((download != null) && (download.task != null)) {
+            download.task.cancel();
+        }
+        return (sharedFiles.remove(key) != null) || (download != null);
+    }
+
+    @Override
+    public void destroy() {
+        server.shutdown();
+        downloadExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the specified piece of a shared file for a peer, or null if the
+     * file is not shared or has no such piece.
+     *
+     * @throws TorrentException if the file could not be read
+     */
+    public ByteBuffer readPiece(byte[] infoHash, int index)
+            throws TorrentException {
+        SharedFile shared = sharedFiles.get(FBUtilities.bytesToHex(infoHash));
+        if ((shared == null) || (index < 0) ||
+                (index >= shared.torrent.getPieceCount())) {
+            return null;
+        }
+        return Torrents.readRange(shared.file, shared.getPieceOffset(index),
+                                  shared.torrent.getPieceLength(index));
+    }
+
+    /**
+     * Returns the shared file with the specified hexadecimal info hash, or
+     * null if no such file is being shared.
+     */
+    SharedFile getSharedFile(String infoHashHex) {
+        return sharedFiles.get(infoHashHex);
+    }
+
+    /**
+     * Starts downloading the specified torrent, or returns the download that
+     * is already in progress.
+     */
+    private ActiveDownload start(Torrent torrent, String key)
+            throws TorrentException {
+        ActiveDownload download = new ActiveDownload(torrent, key);
+        download.task = new PieceDownload(torrent, getPartialFile(torrent),
+                                          peerSource, transport, download);
+        ActiveDownload existing = downloads.putIfAbsent(key, download);
+        if (existing != null) {
+            return existing;
+        }
+
+        // The torrent may have completed after the caller looked it up.
+        SharedFile shared = sharedFiles.get(key);
+        if (shared != null) {
+            download.task.cancel();
+            download.fileDownloaded(torrent, shared.file);
+        } else {
+            downloadExecutor.execute(download.task);
+        }
+        return download;
+    }
+
+    private void share(Torrent torrent, File file) throws TorrentException {
+        sharedFiles.put(torrent.getInfoHashHex(), new SharedFile(torrent, file));
+    }
+
+    /**
+     * Moves a downloaded file into the completed directory under the
+     * specified name, mirroring the behavior of uTorrent.
+     */
+    private File moveToCompleted(File file, String name) {
+        if (completedDirectory.equals(file.getAbsoluteFile().getParentFile())) {
+            return file;
+        }
+        File completed = new File(completedDirectory, name);
+        if (!file.renameTo(completed)) {
+            logger.warn("could not move " + file + " to " + completedDirectory);
+            return file;
+        }
+        return completed;
+    }
+
+    /** A file that is available to other peers. */
+    static class SharedFile {
+
+        final Torrent torrent;
+        final File file;
+
+        SharedFile(Torrent torrent, File file) {
+            this.torrent = torrent;
+            this.file = file;
+        }
+
+        long getPieceOffset(int index) {
+            return (long) index * torrent.getPieceLength();
+        }
+    }
+
+    /**
+     * A download in progress and the listeners that are waiting for it.
+     */
+    private class ActiveDownload implements TorrentListener {
+
+        private final Torrent torrent;
+        private final String key;
+        private final List<Callback> callbacks = Lists.newArrayList();
+        private File file;
+        private TorrentException error;
+        private boolean done;
+
+        PieceDownload task;
+
+        ActiveDownload(Torrent torrent, String key) {
+            this.torrent = torrent;
+            this.key = key;
+        }
+
+        void addListener(Torrent requested, TorrentListener listener) {
+            Callback callback = new Callback(requested, listener);
+            synchronized (this) {
+                if (!done) {
+                    callbacks.add(callback);
+                    return;
+                }
+            }
+            callback.invoke(file, error);
+        }
+
+        @Override
+        public void fileDownloaded(Torrent downloaded, File downloadedFile) {
+            File completed = moveToCompleted(downloadedFile,
+                                             torrent.getName());
+            sharedFiles.put(key, new SharedFile(torrent, completed));
+            finish(completed, null);
+        }
+
+        @Override
+        public void downloadFailed(Torrent failed, TorrentException e) {
+            finish(null, e);
+        }
+
+        private void finish(File completed, TorrentException e) {
+            List<Callback> waiting;
+            synchronized (this) {
+                file = completed;
+                error = e;
+                done = true;
+                waiting = Lists.newArrayList(callbacks);
+                callbacks.clear();
+            }
+            downloads.remove(key, this);
+            for (Callback callback : waiting) {
+                callback.invoke(completed, e);
+            }
+        }
+    }
+}
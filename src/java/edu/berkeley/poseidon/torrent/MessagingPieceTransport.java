@@ -0,0 +1,105 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.cassandra.concurrent.StageManager;
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.gms.FailureDetector;
+import org.apache.cassandra.net.IAsyncResult;
+import org.apache.cassandra.net.Message;
+import org.apache.cassandra.net.MessagingService;
+import org.apache.cassandra.service.StorageService;
+import org.apache.cassandra.utils.FBUtilities;
+
+/**
+ * A {@link PieceTransport} that requests pieces from other nodes of the ring
+ * with {@link StorageService.Verb#TORRENT_PIECE} messages, so that pieces
+ * travel over the connections that the nodes already keep to each other and
+ * are subject to the same failure detector and RPC timeout as other
+ * requests. A reply holds the piece, or nothing if the node does not have
+ * it.
+ * <p>
+ * Peers that are not live nodes of the ring, such as clients, and torrents
+ * longer than {@link #MAX_MESSAGING_LENGTH} are left to a fallback transport.
+ *
+ * @author James Ide
+ */
+public class MessagingPieceTransport implements PieceTransport {
+
+    /**
+     * The length of the longest torrent whose pieces are sent as messages.
+     * Longer torrents are transferred by the piece server so that they do not
+     * hold up other traffic between nodes.
+     */
+    public static final long MAX_MESSAGING_LENGTH = 16 << 20;
+
+    private final RingPeerSource ring;
+    private final PieceTransport fallback;
+
+    public MessagingPieceTransport(RingPeerSource ring,
+                                   PieceTransport fallback) {
+        this.ring = ring;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Connection connect(InetSocketAddress peer, Torrent torrent)
+            throws IOException {
+        InetAddress endpoint = ring.getEndpoint(peer);
+        if ((endpoint == null) || (torrent.getLength() > MAX_MESSAGING_LENGTH) ||
+                !FailureDetector.instance.isAlive(endpoint)) {
+            return fallback.connect(peer, torrent);
+        }
+        return new MessageConnection(endpoint);
+    }
+
+    private static class MessageConnection implements Connection {
+
+        private final InetAddress endpoint;
+
+        MessageConnection(InetAddress endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        @Override
+        public boolean requestPiece(byte[] infoHash, int index,
+                                    ByteBuffer piece) throws IOException {
+            byte[] request = ByteBuffer.allocate(PieceServer.REQUEST_LENGTH)
+                .put(infoHash).putInt(index).array();
+            Message message = new Message(FBUtilities.getLocalAddress(),
+                                          StageManager.TORRENT_PIECE_STAGE,
+                                          StorageService.Verb.TORRENT_PIECE,
+                                          request);
+            IAsyncResult result =
+                MessagingService.instance.sendRR(message, endpoint);
+
+            byte[] response;
+            try {
+                response = result.get(DatabaseDescriptor.getRpcTimeout(),
+                                      TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw new IOException("timed out requesting piece " + index +
+                                      " from " + endpoint);
+            }
+            if (response.length == 0) {
+                return false;
+            }
+            if (response.length > piece.capacity()) {
+                throw new IOException(endpoint + " sent piece " + index +
+                                      " with bad length " + response.length);
+            }
+            piece.clear();
+            piece.put(response).flip();
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * A source of peers from which the pieces of a torrent may be downloaded.
+ *
+ * @author James Ide
+ */
+public interface PeerSource {
+
+    /**
+     * Returns the addresses of the peers that may hold the pieces of the
+     * specified torrent, ordered from most to least preferred.
+     */
+    List<InetSocketAddress> getPeers(Torrent torrent);
+}
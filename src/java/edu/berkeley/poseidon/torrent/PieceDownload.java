@@ -0,0 +1,337 @@
+package edu.berkeley.poseidon.torrent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Downloads the pieces of a torrent from the peers given by a
+ * {@link PeerSource} over a {@link PieceTransport}, verifying each piece
+ * against its SHA-1 hash before it is written to disk. Peers that do not have
+ * the torrent, that fail or that serve corrupt pieces are skipped in favor of
+ * the next peer.
+ * <p>
+ * A download into a file that already exists keeps the pieces of the file that
+ * are intact and only fetches the rest, so a corrupt or partly downloaded file
+ * is repaired without downloading it again.
+ * <p>
+ * Pieces are requested in order, so the file may be read sequentially by a
+ * {@link PieceInputStream} while it is being downloaded. A download may also
+ * fetch only a range of pieces into memory, which serves reads of part of a
+ * file that has not been downloaded.
+ *
+ * @author James Ide
+ */
+class PieceDownload implements Runnable {
+
+    private static Logger logger = Logger.getLogger(PieceDownload.class);
+
+    /** The number of passes over the peer list before giving up. */
+    private static final int MAX_ATTEMPTS = 5;
+    /** The base delay between passes, which grows with each attempt. */
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final Torrent torrent;
+    private final File file;
+    private final PeerSource peerSource;
+    private final PieceTransport transport;
+    private final TorrentListener listener;
+    private final byte[] infoHash;
+    private final BitSet verified;
+    /** The first piece to download. */
+    private final int firstPiece;
+    /** The piece after the last piece to download. */
+    private final int endPiece;
+    /** The downloaded pieces of a range, or null if writing to the file. */
+    private final ByteBuffer range;
+
+    private volatile boolean cancelled;
+    /** Whether the download has ended; guarded by {@link #verified}. */
+    private boolean finished;
+
+    /**
+     * Creates a download of the specified torrent into the given file. The
+     * listener is notified once every piece has been verified or once the
+     * download has been abandoned.
+     *
+     * @throws TorrentException if the torrent's info hash cannot be computed
+     */
+    PieceDownload(Torrent torrent, File file, PeerSource peerSource,
+                  PieceTransport transport, TorrentListener listener)
+            throws TorrentException {
+        this.torrent = torrent;
+        this.file = file;
+        this.peerSource = peerSource;
+        this.transport = transport;
+        this.listener = listener;
+        infoHash = torrent.getInfoHash();
+        verified = new BitSet(torrent.getPieceCount());
+        firstPiece = 0;
+        endPiece = torrent.getPieceCount();
+        range = null;
+    }
+
+    /**
+     * Creates a download of the pieces of the specified torrent from
+     * <code>firstPiece</code> up to but excluding <code>endPiece</code> into
+     * memory. The download is carried out by {@link #fetch()}.
+     *
+     * @throws TorrentException if the torrent's info hash cannot be computed
+     */
+    PieceDownload(Torrent torrent, int firstPiece, int endPiece,
+                  PeerSource peerSource, PieceTransport transport)
+            throws TorrentException {
+        checkPositionIndexes(firstPiece, endPiece, torrent.getPieceCount());
+        this.torrent = torrent;
+        this.file = null;
+        this.peerSource = peerSource;
+        this.transport = transport;
+        this.listener = null;
+        infoHash = torrent.getInfoHash();
+        verified = new BitSet(torrent.getPieceCount());
+        this.firstPiece = firstPiece;
+        this.endPiece = endPiece;
+        long start = (long) firstPiece * torrent.getPieceLength();
+        long end = Math.min((long) endPiece * torrent.getPieceLength(),
+                            torrent.getLength());
+        checkArgument(end - start <= Integer.MAX_VALUE,
+                      "range of pieces is too long to fetch into memory");
+        range = ByteBuffer.allocate((int) Math.max(end - start, 0));
+    }
+
+    Torrent getTorrent() {
+        return torrent;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    void cancel() {
+        cancelled = true;
+        synchronized (verified) {
+            verified.notifyAll();
+        }
+    }
+
+    /**
+     * Blocks until the specified piece has been verified and written to the
+     * file, and returns true, or returns false once the download has ended or
+     * been cancelled without that piece. Pieces are downloaded in order, so a
+     * reader that consumes them sequentially waits for at most one piece.
+     */
+    boolean awaitPiece(int index) throws InterruptedException {
+        synchronized (verified) {
+            while (!verified.get(index)) {
+                if (finished || cancelled) {
+                    return false;
+                }
+                verified.wait();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Blocks until the download has ended and its listener has been notified,
+     * or until it has been cancelled.
+     */
+    void awaitFinished() throws InterruptedException {
+        synchronized (verified) {
+            while (!finished && !cancelled) {
+                verified.wait();
+            }
+        }
+    }
+
+    /**
+     * Downloads the range of pieces of this download and returns them. The
+     * returned buffer begins at the start of the first piece.
+     *
+     * @throws TorrentException if not every piece could be downloaded
+     */
+    ByteBuffer fetch() throws TorrentException {
+        checkState(range != null, "not a download of a range of pieces");
+        download();
+        return range.duplicate();
+    }
+
+    @Override
+    public void run() {
+        try {
+            try {
+                download();
+            } catch (TorrentException e) {
+                listener.downloadFailed(torrent, e);
+                return;
+            }
+            if (!cancelled) {
+                listener.fileDownloaded(torrent, file);
+            }
+        } finally {
+            // Readers that are still waiting fall back to the completed file.
+            synchronized (verified) {
+                finished = true;
+                verified.notifyAll();
+            }
+        }
+    }
+
+    private void download() throws TorrentException {
+        MessageDigest sha1;
+        try {
+            sha1 = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new TorrentException("failed to create SHA-1 digest");
+        }
+
+        RandomAccessFile out = null;
+        FileChannel channel = null;
+        if (file != null) {
+            BitSet intact = Torrents.verifyPieces(torrent, file);
+            if (!intact.isEmpty()) {
+                logger.info("resuming " + torrent.getName() + " with " +
+                            intact.cardinality() + " of " +
+                            torrent.getPieceCount() + " pieces intact");
+                synchronized (verified) {
+                    verified.or(intact);
+                    verified.notifyAll();
+                }
+            }
+            try {
+                out = new RandomAccessFile(file, "rw");
+                out.setLength(torrent.getLength());
+            } catch (IOException e) {
+                throw new TorrentException(e);
+            }
+            channel = out.getChannel();
+        }
+
+        try {
+            ByteBuffer piece = ByteBuffer.allocate(torrent.getPieceLength());
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                List<InetSocketAddress> peers = peerSource.getPeers(torrent);
+                for (InetSocketAddress peer : peers) {
+                    if (cancelled || isComplete()) {
+                        break;
+                    }
+                    downloadFrom(peer, channel, piece, sha1);
+                }
+                if (cancelled || isComplete()) {
+                    break;
+                }
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS * (attempt + 1));
+                } catch (InterruptedException e) {
+                    throw new TorrentException(e);
+                }
+            }
+            if (channel != null) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new TorrentException(e);
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    logger.debug("failed to close " + file, e);
+                }
+            }
+        }
+
+        if (cancelled) {
+            throw new TorrentException("download was cancelled");
+        }
+        if (!isComplete()) {
+            throw new TorrentException(
+                (endPiece - firstPiece - verified.cardinality()) +
+                " pieces of " + torrent.getName() + " could not be found");
+        }
+    }
+
+    private boolean isComplete() {
+        return verified.nextClearBit(firstPiece) >= endPiece;
+    }
+
+    /**
+     * Requests every missing piece from the specified peer, stopping at the
+     * first piece that the peer cannot supply.
+     */
+    private void downloadFrom(InetSocketAddress peer, FileChannel out,
+                              ByteBuffer piece, MessageDigest sha1) {
+        PieceTransport.Connection connection = null;
+        try {
+            connection = transport.connect(peer, torrent);
+            for (int index = verified.nextClearBit(firstPiece);
+                    index < endPiece && !cancelled;
+                    index = verified.nextClearBit(index + 1)) {
+                if (!connection.requestPiece(infoHash, index, piece)) {
+                    return;
+                }
+                int length = piece.remaining();
+                if (length != torrent.getPieceLength(index)) {
+                    logger.warn(peer + " sent piece " + index + " of " +
+                                torrent.getName() + " with bad length " +
+                                length);
+                    return;
+                }
+
+                sha1.update(piece.array(), 0, length);
+                if (!Arrays.equals(sha1.digest(), torrent.getPieceHash(index))) {
+                    logger.warn(peer + " sent corrupt piece " + index +
+                                " of " + torrent.getName());
+                    return;
+                }
+
+                store(index, piece, out);
+                synchronized (verified) {
+                    verified.set(index);
+                    verified.notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("failed to download " + torrent.getName() +
+                             " from " + peer, e);
+            }
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Writes a verified piece to the file, or to the range in memory if the
+     * file is null.
+     */
+    private void store(int index, ByteBuffer piece, FileChannel out)
+            throws IOException {
+        if (out == null) {
+            ByteBuffer target = range.duplicate();
+            target.position((index - firstPiece) * torrent.getPieceLength());
+            target.put(piece);
+            return;
+        }
+        long offset = (long) index * torrent.getPieceLength();
+        while (piece.hasRemaining()) {
+            offset += out.write(piece, offset);
+        }
+    }
+}
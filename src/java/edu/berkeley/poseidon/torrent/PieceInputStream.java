@@ -0,0 +1,150 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+
+/**
+ * A stream over the file of a torrent that is being downloaded by a
+ * {@link PieceDownload}. Each piece is returned as soon as it has been
+ * verified, so the first bytes are available after one piece rather than
+ * after the whole file. If the download ends before a piece arrives, such as
+ * when another download of the same torrent completes first, the stream
+ * continues from the completed file.
+ *
+ * @author James Ide
+ */
+class PieceInputStream extends InputStream {
+
+    private final EmbeddedTorrentClient client;
+    private final PieceDownload download;
+    private final Torrent torrent;
+
+    private RandomAccessFile file;
+    /** Whether every remaining piece is known to be in the file. */
+    private boolean complete;
+    private long position;
+    private long mark;
+
+    PieceInputStream(EmbeddedTorrentClient client, PieceDownload download) {
+        this.client = client;
+        this.download = download;
+        this.torrent = download.getTorrent();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return (read(b, 0, 1) < 0) ? -1 : (b[0] & 0xff);
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (position >= torrent.getLength()) {
+            return -1;
+        }
+
+        int index = (int) (position / torrent.getPieceLength());
+        awaitPiece(index);
+        long pieceEnd = Math.min((long) (index + 1) * torrent.getPieceLength(),
+                                 torrent.getLength());
+        int count = (int) Math.min(length, pieceEnd - position);
+        file.seek(position);
+        count = file.read(bytes, offset, count);
+        if (count < 0) {
+            throw new IOException(torrent.getName() + " ended early");
+        }
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = Math.max(Math.min(n, torrent.getLength() - position), 0);
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (complete) {
+            return (int) Math.min(torrent.getLength() - position,
+                                  Integer.MAX_VALUE);
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        mark = position;
+    }
+
+    @Override
+    public synchronized void reset() {
+        position = mark;
+    }
+
+    /**
+     * Closes the file without stopping the download, which other readers may
+     * share.
+     */
+    @Override
+    public void close() throws IOException {
+        if (file != null) {
+            file.close();
+            file = null;
+        }
+    }
+
+    /**
+     * Waits until the specified piece is in the file and opens the file if it
+     * is not already open.
+     */
+    private void awaitPiece(int index) throws IOException {
+        if (complete) {
+            return;
+        }
+        try {
+            if (!download.awaitPiece(index)) {
+                openCompletedFile();
+            } else if (file == null) {
+                try {
+                    file = new RandomAccessFile(download.getFile(), "r");
+                } catch (FileNotFoundException e) {
+                    // The download has completed and its file has been moved.
+                    openCompletedFile();
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    private void openCompletedFile() throws IOException, InterruptedException {
+        // The completed file is shared before the download finishes.
+        download.awaitFinished();
+        EmbeddedTorrentClient.SharedFile shared;
+        try {
+            shared = client.getSharedFile(torrent.getInfoHashHex());
+        } catch (TorrentException e) {
+            throw new IOException(e);
+        }
+        if (shared == null) {
+            throw new IOException("download of " + torrent.getName() +
+                                  " failed");
+        }
+        close();
+        file = new RandomAccessFile(shared.file, "r");
+        complete = true;
+    }
+}
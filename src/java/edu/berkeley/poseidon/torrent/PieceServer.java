@@ -0,0 +1,236 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+import org.apache.cassandra.utils.FBUtilities;
+import org.apache.log4j.Logger;
+
+/**
+ * Serves the pieces of shared torrents to other peers over non-blocking
+ * sockets. A single selector thread multiplexes all of the connections and
+ * piece data is sent with {@link FileChannel#transferTo} so that it does not
+ * need to be copied through the Java heap.
+ * <p>
+ * The wire protocol is deliberately small. A peer sends a request consisting
+ * of a 20-byte info hash followed by a 4-byte piece index. The server replies
+ * with a 1-byte status, a 4-byte length and, if the status is
+ * {@link #STATUS_OK}, that many bytes of piece data. A connection may carry
+ * any number of sequential requests.
+ *
+ * @author James Ide
+ */
+class PieceServer implements Runnable {
+
+    private static Logger logger = Logger.getLogger(PieceServer.class);
+
+    static final int REQUEST_LENGTH = Torrent.PIECE_HASH_LENGTH + 4;
+    static final int RESPONSE_HEADER_LENGTH = 5;
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_UNKNOWN_TORRENT = 1;
+    static final byte STATUS_UNKNOWN_PIECE = 2;
+
+    private final EmbeddedTorrentClient client;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+
+    private volatile boolean running = true;
+
+    /**
+     * Creates a server that serves the files shared by the specified client
+     * and binds it to the given address. The server does not accept
+     * connections until it is run.
+     *
+     * @throws IOException if the server socket could not be bound
+     */
+    PieceServer(EmbeddedTorrentClient client, InetSocketAddress address)
+            throws IOException {
+        this.client = client;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.socket().setReuseAddress(true);
+        serverChannel.socket().bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    InetSocketAddress getAddress() {
+        return (InetSocketAddress) serverChannel.socket()
+                                                .getLocalSocketAddress();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                logger.error("piece server selector failed", e);
+                break;
+            }
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        read(key);
+                    } else if (key.isWritable()) {
+                        write(key);
+                    }
+                } catch (IOException e) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("closing piece connection", e);
+                    }
+                    close(key);
+                }
+            }
+        }
+        closeAll();
+    }
+
+    void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        channel.register(selector, SelectionKey.OP_READ, new Connection());
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        if (channel.read(connection.request) == -1) {
+            close(key);
+            return;
+        }
+        if (!connection.request.hasRemaining()) {
+            connection.request.flip();
+            prepareResponse(connection);
+            key.interestOps(SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        if (connection.header.hasRemaining()) {
+            channel.write(connection.header);
+            if (connection.header.hasRemaining()) {
+                return;
+            }
+        }
+        if (connection.remaining > 0) {
+            long sent = connection.file.transferTo(connection.position,
+                                                   connection.remaining,
+                                                   channel);
+            connection.position += sent;
+            connection.remaining -= sent;
+            if (connection.remaining > 0) {
+                return;
+            }
+        }
+        connection.reset();
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void prepareResponse(Connection connection) throws IOException {
+        byte[] infoHash = new byte[Torrent.PIECE_HASH_LENGTH];
+        connection.request.get(infoHash);
+        int index = connection.request.getInt();
+
+        EmbeddedTorrentClient.SharedFile shared =
+            client.getSharedFile(FBUtilities.bytesToHex(infoHash));
+        byte status;
+        int length = 0;
+        if (shared == null) {
+            status = STATUS_UNKNOWN_TORRENT;
+        } else if ((index < 0) || (index >= shared.torrent.getPieceCount())) {
+            status = STATUS_UNKNOWN_PIECE;
+        } else {
+            status = STATUS_OK;
+            length = shared.torrent.getPieceLength(index);
+            connection.file = new RandomAccessFile(shared.file, "r")
+                .getChannel();
+            connection.position = shared.getPieceOffset(index);
+            connection.remaining = length;
+        }
+
+        connection.header.clear();
+        connection.header.put(status).putInt(length).flip();
+    }
+
+    private void close(SelectionKey key) {
+        key.cancel();
+        Object attachment = key.attachment();
+        if (attachment instanceof Connection) {
+            ((Connection) attachment).closeFile();
+        }
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            logger.debug("failed to close piece connection", e);
+        }
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            close(key);
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.debug("failed to close piece server selector", e);
+        }
+    }
+
+    /** The state of a single peer connection. */
+    private static class Connection {
+
+        final ByteBuffer request = ByteBuffer.allocate(REQUEST_LENGTH);
+        final ByteBuffer header = ByteBuffer.allocate(RESPONSE_HEADER_LENGTH);
+        FileChannel file;
+        long position;
+        long remaining;
+
+        void reset() {
+            closeFile();
+            request.clear();
+            position = 0;
+            remaining = 0;
+        }
+
+        void closeFile() {
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException e) {
+                    logger.debug("failed to close shared file", e);
+                }
+                file = null;
+            }
+        }
+    }
+}
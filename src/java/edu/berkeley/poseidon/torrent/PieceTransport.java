@@ -0,0 +1,41 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * The means by which a {@link PieceDownload} requests pieces from a peer.
+ *
+ * @author James Ide
+ */
+public interface PieceTransport {
+
+    /**
+     * Opens a connection to the specified peer over which pieces of the given
+     * torrent are requested.
+     *
+     * @throws IOException if the peer could not be reached
+     */
+    Connection connect(InetSocketAddress peer, Torrent torrent)
+            throws IOException;
+
+    /**
+     * A connection to one peer that carries sequential piece requests.
+     */
+    interface Connection {
+
+        /**
+         * Requests a piece and reads it into the given buffer, which is
+         * flipped so that it holds exactly the piece. Returns false if the
+         * peer does not have the piece. The piece has not been verified.
+         *
+         * @throws IOException if the request failed or the piece would not
+         *         fit in the buffer
+         */
+        boolean requestPiece(byte[] infoHash, int index, ByteBuffer piece)
+                throws IOException;
+
+        void close();
+    }
+}
@@ -0,0 +1,211 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.gms.ApplicationState;
+import org.apache.cassandra.gms.EndPointState;
+import org.apache.cassandra.gms.Gossiper;
+import org.apache.cassandra.gms.IEndPointStateChangeSubscriber;
+import org.apache.cassandra.service.StorageService;
+import org.apache.cassandra.utils.FBUtilities;
+import org.apache.log4j.Logger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+
+/**
+ * A {@link PeerSource} that finds peers through the ring instead of a
+ * tracker. Every node advertises the address of its {@link PieceServer} in
+ * the {@value #PEER_STATE} gossip state. When the row that refers to a
+ * torrent is known, the live replicas of that row are offered before the
+ * peers in the torrent's announce list, and all of them are ranked by the
+ * keyspace's endpoint snitch, so the closest replica that has the torrent
+ * serves it.
+ * <p>
+ * The row of a torrent is recorded by {@link #expect} before the torrent is
+ * downloaded, along with any node known to be seeding it, such as one that
+ * delivers a hint. Torrents whose row is not known are found through their
+ * announce list alone, like {@link AnnouncePeerSource}.
+ *
+ * @author James Ide
+ */
+public class RingPeerSource implements PeerSource,
+                                       IEndPointStateChangeSubscriber {
+
+    private static Logger logger = Logger.getLogger(RingPeerSource.class);
+
+    /** The gossip state in which nodes advertise their peer addresses. */
+    public static final String PEER_STATE = "TORRENT_PEER";
+
+    /** How long the row of an expected torrent is remembered. */
+    private static final long ROW_EXPIRATION_MINUTES = 10;
+
+    public static final RingPeerSource instance = new RingPeerSource();
+
+    private final AnnouncePeerSource announced = new AnnouncePeerSource();
+    /** The advertised peer addresses of the other nodes. */
+    private final ConcurrentMap<InetAddress, InetSocketAddress> peers =
+        new ConcurrentHashMap<InetAddress, InetSocketAddress>();
+    /** The rows of expected torrents, keyed by hexadecimal info hash. */
+    private final ConcurrentMap<String, Row> rows = new MapMaker()
+        .expiration(ROW_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+        .makeMap();
+
+    private RingPeerSource() {
+    }
+
+    /**
+     * Advertises the address at which this node serves pieces and starts
+     * tracking the addresses of the other nodes. Gossip must have started.
+     */
+    public void advertise(InetSocketAddress address) {
+        Gossiper.instance.register(this);
+        Gossiper.instance.addLocalApplicationState(
+            PEER_STATE, new ApplicationState(
+                address.getAddress().getHostAddress() + ":" +
+                address.getPort()));
+    }
+
+    /**
+     * Records that the specified torrent is about to be downloaded for a
+     * column in the given row, so that the row's replicas are asked for it.
+     */
+    public void expect(Torrent torrent, String table, String key)
+            throws TorrentException {
+        expect(torrent, table, key, null);
+    }
+
+    /**
+     * Records that the specified torrent is about to be downloaded for a
+     * column in the given row and that the given node, which may be null, is
+     * seeding it. The seeder is asked along with the row's replicas.
+     */
+    public void expect(Torrent torrent, String table, String key,
+                       InetAddress seeder) throws TorrentException {
+        rows.put(torrent.getInfoHashHex(), new Row(table, key, seeder));
+    }
+
+    /**
+     * Returns the node that advertised the specified peer address, or null if
+     * the peer is not a known node of the ring.
+     */
+    public InetAddress getEndpoint(InetSocketAddress peer) {
+        for (Map.Entry<InetAddress, InetSocketAddress> entry : peers.entrySet()) {
+            if (entry.getValue().equals(peer)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<InetSocketAddress> getPeers(Torrent torrent) {
+        List<InetSocketAddress> announcedPeers = announced.getPeers(torrent);
+        Row row;
+        try {
+            row = rows.get(torrent.getInfoHashHex());
+        } catch (TorrentException e) {
+            return announcedPeers;
+        }
+        if (row == null) {
+            return announcedPeers;
+        }
+
+        InetAddress local = FBUtilities.getLocalAddress();
+        List<InetAddress> endpoints = Lists.newArrayList();
+        for (InetAddress replica : StorageService.instance
+                 .getLiveNaturalEndpoints(row.table, row.key)) {
+            if (!replica.equals(local) && peers.containsKey(replica)) {
+                endpoints.add(replica);
+            }
+        }
+        if ((row.seeder != null) && !row.seeder.equals(local) &&
+                peers.containsKey(row.seeder) && !endpoints.contains(row.seeder)) {
+            endpoints.add(row.seeder);
+        }
+        for (Map.Entry<InetAddress, InetSocketAddress> peer : peers.entrySet()) {
+            if (announcedPeers.contains(peer.getValue()) &&
+                    !endpoints.contains(peer.getKey())) {
+                endpoints.add(peer.getKey());
+            }
+        }
+        DatabaseDescriptor.getEndPointSnitch(row.table)
+            .sortByProximity(local, endpoints);
+
+        List<InetSocketAddress> ranked = Lists.newArrayList();
+        for (InetAddress endpoint : endpoints) {
+            InetSocketAddress peer = peers.get(endpoint);
+            if (peer != null) {
+                ranked.add(peer);
+            }
+        }
+        // Seeders outside the ring, such as clients, are asked last.
+        for (InetSocketAddress peer : announcedPeers) {
+            if (!ranked.contains(peer)) {
+                ranked.add(peer);
+            }
+        }
+        return ranked;
+    }
+
+    @Override
+    public void onChange(InetAddress endpoint, String stateName,
+                         ApplicationState state) {
+        if (!stateName.equals(PEER_STATE)) {
+            return;
+        }
+        String value = state.getValue();
+        int colon = value.lastIndexOf(':');
+        try {
+            peers.put(endpoint, new InetSocketAddress(
+                value.substring(0, colon),
+                Integer.parseInt(value.substring(colon + 1))));
+        } catch (RuntimeException e) {
+            logger.warn(endpoint + " advertised a bad peer address " + value);
+        }
+    }
+
+    @Override
+    public void onJoin(InetAddress endpoint, EndPointState epState) {
+        ApplicationState state = epState.getApplicationState(PEER_STATE);
+        if (state != null) {
+            onChange(endpoint, PEER_STATE, state);
+        }
+    }
+
+    @Override
+    public void onAlive(InetAddress endpoint, EndPointState state) {
+        onJoin(endpoint, state);
+    }
+
+    @Override
+    public void onDead(InetAddress endpoint, EndPointState state) {
+    }
+
+    @Override
+    public void onRemove(InetAddress endpoint) {
+        peers.remove(endpoint);
+    }
+
+    /** The row whose column refers to a torrent. */
+    private static class Row {
+
+        final String table;
+        final String key;
+        /** A node known to be seeding the torrent, or null. */
+        final InetAddress seeder;
+
+        Row(String table, String key, InetAddress seeder) {
+            this.table = table;
+            this.key = key;
+            this.seeder = seeder;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package edu.berkeley.poseidon.torrent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * A {@link TorrentClient} that limits how many torrents another client
+ * downloads at once. Waiting downloads are started in two tiers: downloads
+ * requested through {@link #download(Torrent, TorrentListener)}, which
+ * callers are blocked on, come first; background downloads requested
+ * through {@link #download(Torrent, String, TorrentListener)} are taken from
+ * each group in turn, so that a burst of writes to one keyspace does not
+ * starve the others. A background download that a caller starts waiting for
+ * is promoted to the first tier.
+ * <p>
+ * The number of waiting background downloads is bounded only by callers
+ * that check {@link #admit} before adding more work.
+ *
+ * @author James Ide
+ */
+public class ScheduledTorrentClient implements TorrentClient {
+
+    private final TorrentClient client;
+    private final int maxActive;
+    private final int maxQueued;
+
+    // The following are guarded by this.
+    /** The waiting and active downloads, keyed by hexadecimal info hash. */
+    private final Map<String, Download> downloads = Maps.newHashMap();
+    /** The waiting downloads that callers are blocked on. */
+    private final LinkedList<Download> urgent = Lists.newLinkedList();
+    /** The waiting background downloads by group, in the order served. */
+    private final Map<String, LinkedList<Download>> background =
+        Maps.newLinkedHashMap();
+    private int queued;
+    private int active;
+
+    /**
+     * Creates a client that runs at most <code>maxActive</code> downloads of
+     * the given client at once and admits background downloads while fewer
+     * than <code>maxQueued</code> are waiting.
+     */
+    public ScheduledTorrentClient(TorrentClient client, int maxActive,
+                                  int maxQueued) {
+        checkArgument(maxActive > 0, "maxActive must be positive");
+        checkArgument(maxQueued > 0, "maxQueued must be positive");
+        this.client = client;
+        this.maxActive = maxActive;
+        this.maxQueued = maxQueued;
+    }
+
+    /** Returns the client that carries out the downloads. */
+    public TorrentClient getClient() {
+        return client;
+    }
+
+    @Override
+    public File getActiveDirectory() {
+        return client.getActiveDirectory();
+    }
+
+    @Override
+    public File getCompletedDirectory() {
+        return client.getCompletedDirectory();
+    }
+
+    @Override
+    public File getPartialFile(Torrent torrent) {
+        return client.getPartialFile(torrent);
+    }
+
+    @Override
+    public Torrent seed(File file) throws TorrentException {
+        return client.seed(file);
+    }
+
+    @Override
+    public Torrent seed(File file, Torrent.Builder torrent)
+            throws TorrentException {
+        return client.seed(file, torrent);
+    }
+
+    /**
+     * Downloads the specified torrent ahead of every background download.
+     */
+    @Override
+    public void download(Torrent torrent, TorrentListener listener)
+            throws TorrentException {
+        schedule(torrent, null, listener);
+    }
+
+    /**
+     * Downloads the specified torrent in the background once the other
+     * groups have had their turn.
+     *
+     * @param group the group, such as a keyspace, whose downloads share a turn
+     */
+    public void download(Torrent torrent, String group,
+                         TorrentListener listener) throws TorrentException {
+        schedule(torrent, group, listener);
+    }
+
+    /**
+     * Waits until fewer than the maximum number of background downloads are
+     * waiting to start, and returns false if that did not happen within the
+     * timeout.
+     */
+    public synchronized boolean admit(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (queued >= maxQueued) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    /** Returns the number of background downloads that are waiting. */
+    public synchronized int getQueuedCount() {
+        return queued;
+    }
+
+    /** Returns the number of downloads in progress. */
+    public synchronized int getActiveCount() {
+        return active;
+    }
+
+    /**
+     * Returns true if the torrent with the specified hexadecimal info hash is
+     * waiting to download or downloading, so its file is still partial.
+     */
+    public synchronized boolean isPending(String infoHash) {
+        return downloads.containsKey(infoHash.toLowerCase());
+    }
+
+    /** Reads are served directly since they only fetch a few pieces. */
+    @Override
+    public ByteBuffer read(Torrent torrent, long offset, int length)
+            throws TorrentException {
+        return client.read(torrent, offset, length);
+    }
+
+    /** Streams are read as they arrive, so they are started directly. */
+    @Override
+    public InputStream openStream(Torrent torrent) throws TorrentException {
+        return client.openStream(torrent);
+    }
+
+    @Override
+    public boolean remove(Torrent torrent) throws TorrentException {
+        Download removed = null;
+        synchronized (this) {
+            Download download = downloads.get(torrent.getInfoHashHex());
+            if ((download != null) && !download.started) {
+                dequeue(download);
+                downloads.remove(download.key);
+                removed = download;
+            }
+        }
+        if (removed != null) {
+            removed.notifyListeners(null,
+                                    new TorrentException("torrent was removed"));
+            return true;
+        }
+        return client.remove(torrent);
+    }
+
+    @Override
+    public void destroy() {
+        client.destroy();
+    }
+
+    private void schedule(Torrent torrent, String group,
+                          TorrentListener listener) throws TorrentException {
+        String key = torrent.getInfoHashHex();
+        List<Download> starting;
+        synchronized (this) {
+            Download download = downloads.get(key);
+            if (download == null) {
+                download = new Download(torrent, key, group);
+                downloads.put(key, download);
+                enqueue(download);
+            } else if ((group == null) && !download.started &&
+                       (download.group != null)) {
+                dequeue(download);
+                download.group = null;
+                enqueue(download);
+            }
+            download.callbacks.add(new Callback(torrent, listener));
+            starting = takeStartable();
+        }
+        start(starting);
+    }
+
+    private void enqueue(Download download) {
+        if (download.group == null) {
+            urgent.add(download);
+            return;
+        }
+        LinkedList<Download> queue = background.get(download.group);
+        if (queue == null) {
+            queue = Lists.newLinkedList();
+            background.put(download.group, queue);
+        }
+        queue.add(download);
+        queued++;
+    }
+
+    private void dequeue(Download download) {
+        if (download.group == null) {
+            urgent.remove(download);
+            return;
+        }
+        LinkedList<Download> queue = background.get(download.group);
+        queue.remove(download);
+        if (queue.isEmpty()) {
+            background.remove(download.group);
+        }
+        queued--;
+        notifyAll();
+    }
+
+    /** Takes the downloads that may start now and counts them as active. */
+    private List<Download> takeStartable() {
+        List<Download> starting = Lists.newArrayList();
+        while (active < maxActive) {
+            Download next = urgent.poll();
+            if (next == null) {
+                Iterator<Map.Entry<String, LinkedList<Download>>> groups =
+                    background.entrySet().iterator();
+                if (!groups.hasNext()) {
+                    break;
+                }
+                Map.Entry<String, LinkedList<Download>> group = groups.next();
+                next = group.getValue().poll();
+                // The group takes its next turn after every other group.
+                groups.remove();
+                if (!group.getValue().isEmpty()) {
+                    background.put(group.getKey(), group.getValue());
+                }
+                queued--;
+                notifyAll();
+            }
+            next.started = true;
+            active++;
+            starting.add(next);
+        }
+        return starting;
+    }
+
+    private void start(List<Download> starting) {
+        for (Download download : starting) {
+            try {
+                client.download(download.torrent, download);
+            } catch (TorrentException e) {
+                download.downloadFailed(download.torrent, e);
+            }
+        }
+    }
+
+    /** A waiting or active download and the listeners waiting for it. */
+    private class Download implements TorrentListener {
+
+        final Torrent torrent;
+        final String key;
+        final List<Callback> callbacks = Lists.newArrayList();
+        /** The group of a background download, or null. */
+        String group;
+        boolean started;
+
+        Download(Torrent torrent, String key, String group) {
+            this.torrent = torrent;
+            this.key = key;
+            this.group = group;
+        }
+
+        @Override
+        public void fileDownloaded(Torrent downloaded, File file) {
+            finish(file, null);
+        }
+
+        @Override
+        public void downloadFailed(Torrent failed, TorrentException e) {
+            finish(null, e);
+        }
+
+        private void finish(File file, TorrentException e) {
+            List<Download> starting;
+            synchronized (ScheduledTorrentClient.this) {
+                downloads.remove(key);
+                active--;
+                starting = takeStartable();
+            }
+            notifyListeners(file, e);
+            start(starting);
+        }
+
+        void notifyListeners(File file, TorrentException e) {
+            List<Callback> waiting;
+            synchronized (ScheduledTorrentClient.this) {
+                waiting = Lists.newArrayList(callbacks);
+                callbacks.clear();
+            }
+            for (Callback callback : waiting) {
+                callback.invoke(file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+import org.apache.log4j.Logger;
+
+/**
+ * A {@link PieceTransport} that speaks the wire protocol of a
+ * {@link PieceServer} over a socket for each connection. Blocking streams are
+ * used on this side of the connection because, unlike socket channels, they
+ * honor the read timeout.
+ *
+ * @author James Ide
+ */
+public class SocketPieceTransport implements PieceTransport {
+
+    private static Logger logger = Logger.getLogger(SocketPieceTransport.class);
+
+    /** The socket connect and read timeout. */
+    private static final int SOCKET_TIMEOUT_MILLIS = 10000;
+
+    @Override
+    public Connection connect(InetSocketAddress peer, Torrent torrent)
+            throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(peer, SOCKET_TIMEOUT_MILLIS);
+            socket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+            socket.setTcpNoDelay(true);
+            return new SocketConnection(peer, socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    private static class SocketConnection implements Connection {
+
+        private final InetSocketAddress peer;
+        private final Socket socket;
+        private final DataOutputStream requests;
+        private final DataInputStream responses;
+
+        SocketConnection(InetSocketAddress peer, Socket socket)
+                throws IOException {
+            this.peer = peer;
+            this.socket = socket;
+            requests = new DataOutputStream(
+                new BufferedOutputStream(socket.getOutputStream()));
+            responses = new DataInputStream(
+                new BufferedInputStream(socket.getInputStream()));
+        }
+
+        @Override
+        public boolean requestPiece(byte[] infoHash, int index,
+                                    ByteBuffer piece) throws IOException {
+            requests.write(infoHash);
+            requests.writeInt(index);
+            requests.flush();
+
+            byte status = responses.readByte();
+            int length = responses.readInt();
+            if (status != PieceServer.STATUS_OK) {
+                return false;
+            }
+            if ((length < 0) || (length > piece.capacity())) {
+                throw new IOException(peer + " sent piece " + index +
+                                      " with bad length " + length);
+            }
+            responses.readFully(piece.array(), 0, length);
+            piece.clear().limit(length);
+            return true;
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                logger.debug("failed to close connection to " + peer, e);
+            }
+        }
+    }
+}
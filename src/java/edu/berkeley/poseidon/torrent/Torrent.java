@@ -2,6 +2,7 @@ package edu.berkeley.poseidon.torrent;
 
 import static com.google.common.base.Objects.firstNonNull;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkPositionIndex;
 import static com.google.common.base.Preconditions.checkState;
@@ -10,19 +11,36 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
 import java.io.SequenceInputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cassandra.utils.FBUtilities;
 
 import com.google.common.base.Function;
 import com.google.common.base.Functions;
 import com.google.common.base.Objects;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 
+import edu.berkeley.poseidon.util.DaemonThreadFactory;
 import edu.berkeley.poseidon.util.FileInputStreamIterator;
 
 /**
@@ -31,8 +49,9 @@ import edu.berkeley.poseidon.util.FileInputStreamIterator;
  * specification</a>. Subclasses may specify additional fields to represent
  * extensions to the BitTorrent standard.
  * <p>
- * Currently, only single-file torrents are supported, although this is simply
- * due to an incomplete implementation.
+ * Only single-file torrents are supported. Each blob is content-addressed and
+ * is shared, referenced and reaped by the info hash of its own torrent, so
+ * the blobs of a row are never grouped into one multi-file torrent.
  *
  * @author James Ide
  */
@@ -40,6 +59,8 @@ public class Torrent {
 
     public static final String DEFAULT_CREATOR = "UCB Poseidon/0.1";
     public static final String DEFAULT_ENCODING = "UTF-8";
+    /** The length in bytes of the SHA-1 hash of each piece. */
+    public static final int PIECE_HASH_LENGTH = 20;
 
     private ImmutableList<ImmutableList<String>> announceList;
     private long creationDate;
@@ -48,12 +69,15 @@ public class Torrent {
     private String encoding;
 
     private int pieceLength;
-    private byte[] pieceHashes;
+    private ByteBuffer pieceHashes;
     private boolean privateTracker;
 
     private String name;
     private long length;
 
+    /** The lazily computed SHA-1 hash of the info dictionary. */
+    private volatile byte[] infoHash;
+
     private Torrent(Builder builder) {
         announceList = ImmutableList.copyOf(Lists.transform(
             builder.announceList,
@@ -73,7 +97,7 @@ public class Torrent {
         pieceHashes = builder.pieceHashes;
         privateTracker = builder.privateTracker;
 
-        // TODO: Support multi-file torrents.
+        // Each torrent holds exactly one blob (see the class documentation).
         name = builder.name;
         length = builder.length;
     }
@@ -106,8 +130,67 @@ public class Torrent {
         return pieceLength;
     }
 
-    public byte[] getPieceHashes() {
-        return pieceHashes;
+    /**
+     * Returns a read-only view of the concatenated SHA-1 hashes of the pieces.
+     */
+    public ByteBuffer getPieceHashes() {
+        return pieceHashes.duplicate();
+    }
+
+    /**
+     * Returns the number of pieces into which the torrent's data is split.
+     */
+    public int getPieceCount() {
+        return pieceHashes.remaining() / PIECE_HASH_LENGTH;
+    }
+
+    /**
+     * Returns the SHA-1 hash of the piece with the specified index.
+     */
+    public byte[] getPieceHash(int index) {
+        checkElementIndex(index, getPieceCount());
+        ByteBuffer hashes = pieceHashes.duplicate();
+        hashes.position(hashes.position() + index * PIECE_HASH_LENGTH);
+        byte[] hash = new byte[PIECE_HASH_LENGTH];
+        hashes.get(hash);
+        return hash;
+    }
+
+    /**
+     * Returns the length in bytes of the piece with the specified index. All
+     * pieces are of the same length except possibly the last one.
+     */
+    public int getPieceLength(int index) {
+        checkElementIndex(index, getPieceCount());
+        long offset = (long) index * pieceLength;
+        return (int) Math.min(pieceLength, length - offset);
+    }
+
+    /**
+     * Returns the SHA-1 hash of the bencoded info dictionary, which uniquely
+     * identifies the torrent's contents.
+     *
+     * @throws TorrentException if the info dictionary could not be encoded
+     */
+    public byte[] getInfoHash() throws TorrentException {
+        if (infoHash == null) {
+            byte[] info = new TorrentEncoder(new Bencoder()).encodeInfo(this);
+            try {
+                infoHash = MessageDigest.getInstance("SHA-1").digest(info);
+            } catch (NoSuchAlgorithmException e) {
+                throw new TorrentException("failed to create SHA-1 digest");
+            }
+        }
+        return infoHash.clone();
+    }
+
+    /**
+     * Returns the info hash as a string of hexadecimal digits.
+     *
+     * @throws TorrentException if the info dictionary could not be encoded
+     */
+    public String getInfoHashHex() throws TorrentException {
+        return FBUtilities.bytesToHex(getInfoHash());
     }
 
     public boolean isPrivate() {
@@ -145,7 +228,7 @@ public class Torrent {
         protected String creator = DEFAULT_CREATOR;
         protected String encoding = DEFAULT_ENCODING;
         protected int pieceLength;
-        protected byte[] pieceHashes;
+        protected ByteBuffer pieceHashes;
         protected boolean privateTracker;
         protected String name;
         protected long length;
@@ -195,7 +278,16 @@ public class Torrent {
 
         public Builder setPieceHashes(byte[] pieceHashes) {
             checkNotNull(pieceHashes);
-            this.pieceHashes = pieceHashes;
+            return setPieceHashes(ByteBuffer.wrap(pieceHashes));
+        }
+
+        /**
+         * Sets the piece hashes to the bytes between the position and the
+         * limit of the specified buffer, which are not copied.
+         */
+        public Builder setPieceHashes(ByteBuffer pieceHashes) {
+            checkNotNull(pieceHashes);
+            this.pieceHashes = pieceHashes.slice().asReadOnlyBuffer();
             return this;
         }
 
@@ -244,9 +336,47 @@ public class Torrent {
 
         public static final int DEFAULT_PIECE_LENGTH = 512 * 1024;
 
+        /** The largest piece length chosen by {@link #pieceLengthFor}. */
+        public static final int MAX_PIECE_LENGTH = 16 * 1024 * 1024;
+
+        /**
+         * The number of pieces above which {@link #pieceLengthFor} grows the
+         * piece length, so that the piece hashes of large blobs stay small.
+         */
+        public static final int MAX_PIECE_COUNT = 1024;
+
+        /**
+         * The smallest number of pieces for which the pieces are hashed in
+         * parallel by default. Smaller files are not worth mapping.
+         */
+        public static final int PARALLEL_PIECE_THRESHOLD = 16;
+
+        /** The number of tasks per hashing thread that a file is split into. */
+        private static final int TASKS_PER_THREAD = 4;
+
+        private static final int HASHING_THREADS =
+            Runtime.getRuntime().availableProcessors();
+
+        /** The pool shared by all parallel hashers. */
+        private static volatile ExecutorService sharedExecutor;
+
+        /** The SHA-1 digest of each hashing thread. */
+        private static final ThreadLocal<MessageDigest> threadDigest =
+            new ThreadLocal<MessageDigest>() {
+                @Override
+                protected MessageDigest initialValue() {
+                    try {
+                        return MessageDigest.getInstance("SHA-1");
+                    } catch (NoSuchAlgorithmException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+        };
+
         private final MessageDigest sha1;
 
         protected List<File> files = Lists.newArrayList();
+        protected Boolean parallel;
 
         /**
          * Constructs a new object for building {@code Torrent} objects from a
@@ -263,11 +393,45 @@ public class Torrent {
             }
         }
 
+        /**
+         * Returns the piece length for content of the specified length: the
+         * default length, or for content of more than
+         * {@link #MAX_PIECE_COUNT} default pieces the smallest power of two
+         * that keeps it to that many pieces, up to {@link #MAX_PIECE_LENGTH}.
+         * Content of up to 512 MB is split into default pieces, so the info
+         * hashes of such blobs do not depend on this choice.
+         */
+        public static int pieceLengthFor(long length) {
+            long pieceLength = DEFAULT_PIECE_LENGTH;
+            while ((pieceLength < MAX_PIECE_LENGTH) &&
+                   (length > pieceLength * MAX_PIECE_COUNT)) {
+                pieceLength <<= 1;
+            }
+            return (int) pieceLength;
+        }
+
+        /**
+         * Sets whether the pieces are hashed in parallel by memory-mapping
+         * the file and splitting it among several threads, each with its own
+         * digest. By default, files of at least
+         * {@link #PARALLEL_PIECE_THRESHOLD} pieces are hashed in parallel.
+         */
+        public PieceHasher setParallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        /**
+         * Sets the file to hash. A torrent holds exactly one blob, so a
+         * second file is rejected.
+         *
+         * @throws UnsupportedOperationException if a file was already added
+         */
         public PieceHasher addFile(File file) {
             checkNotNull(file);
             if (files.size() >= 1) {
                 throw new UnsupportedOperationException(
-                    "multi-file torrents not supported");
+                    "a torrent holds exactly one blob");
             }
             files.add(file);
             return this;
@@ -287,7 +451,7 @@ public class Torrent {
         public Torrent build() throws TorrentException {
             checkState(!files.isEmpty());
             if (pieceLength <= 0) {
-                setPieceLength(DEFAULT_PIECE_LENGTH);
+                setPieceLength(pieceLengthFor(files.get(0).length()));
             }
 
             try {
@@ -304,6 +468,16 @@ public class Torrent {
         }
 
         private byte[] computePieceHashes() throws IOException {
+            long length = files.get(0).length();
+            long pieceCount = (length + pieceLength - 1) / pieceLength;
+            boolean mapped = (parallel != null)
+                ? parallel.booleanValue()
+                : (pieceCount >= PARALLEL_PIECE_THRESHOLD);
+            return mapped ? computePieceHashesInParallel()
+                          : computePieceHashesSequentially();
+        }
+
+        private byte[] computePieceHashesSequentially() throws IOException {
             // The files are treated as a sequential stream of bytes.
             InputStream in = new SequenceInputStream(Iterators.asEnumeration(
                 new FileInputStreamIterator(files)));
@@ -324,6 +498,124 @@ public class Torrent {
             return hashes.toByteArray();
         }
 
+        /**
+         * Hashes the pieces of the file by mapping contiguous runs of pieces
+         * into memory and hashing each run on the shared pool. Every task
+         * writes the hashes of its own pieces into a disjoint range of the
+         * result, so the hashes are assembled in order without copying.
+         */
+        private byte[] computePieceHashesInParallel() throws IOException {
+            File file = files.get(0);
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = raf.getChannel();
+                // Sizing the channel would close it on an interrupt, which is
+                // reported instead while waiting for the runs below.
+                long length = raf.length();
+                int pieceCount = (int) ((length + pieceLength - 1) / pieceLength);
+                byte[] hashes = new byte[pieceCount * PIECE_HASH_LENGTH];
+
+                // Split the file into runs of whole pieces, keeping every
+                // mapped region well under the 2 GB limit of a buffer.
+                int piecesPerTask = Math.max(1, pieceCount /
+                    (HASHING_THREADS * TASKS_PER_THREAD));
+                piecesPerTask = Math.min(piecesPerTask,
+                                         Integer.MAX_VALUE / pieceLength);
+
+                ExecutorService executor = getSharedExecutor();
+                List<Future<?>> futures = Lists.newArrayList();
+                for (int first = 0; first < pieceCount; first += piecesPerTask) {
+                    int last = Math.min(pieceCount, first + piecesPerTask);
+                    futures.add(executor.submit(new RunHasher(
+                        channel, length, first, last, hashes)));
+                }
+                boolean hashed = false;
+                try {
+                    for (Future<?> future : futures) {
+                        future.get();
+                    }
+                    hashed = true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(
+                        "interrupted while hashing " + file);
+                } catch (ExecutionException e) {
+                    Throwables.propagateIfInstanceOf(e.getCause(),
+                                                     IOException.class);
+                    throw Throwables.propagate(e.getCause());
+                } finally {
+                    // The remaining runs would read the file once it is closed.
+                    if (!hashed) {
+                        for (Future<?> future : futures) {
+                            future.cancel(true);
+                        }
+                    }
+                }
+                return hashes;
+            } finally {
+                raf.close();
+            }
+        }
+
+        private static ExecutorService getSharedExecutor() {
+            if (sharedExecutor == null) {
+                synchronized (PieceHasher.class) {
+                    if (sharedExecutor == null) {
+                        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                            HASHING_THREADS, HASHING_THREADS,
+                            60, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(),
+                            new DaemonThreadFactory("PIECE-HASHER"));
+                        executor.allowCoreThreadTimeOut(true);
+                        sharedExecutor = executor;
+                    }
+                }
+            }
+            return sharedExecutor;
+        }
+
+        /** Hashes a contiguous run of pieces of a memory-mapped file. */
+        private class RunHasher implements Callable<Void> {
+
+            private final FileChannel channel;
+            private final long length;
+            private final int first;
+            private final int last;
+            private final byte[] hashes;
+
+            RunHasher(FileChannel channel, long length, int first, int last,
+                      byte[] hashes) {
+                this.channel = channel;
+                this.length = length;
+                this.first = first;
+                this.last = last;
+                this.hashes = hashes;
+            }
+
+            @Override
+            public Void call() throws IOException {
+                long start = (long) first * pieceLength;
+                long end = Math.min(length, (long) last * pieceLength);
+                MappedByteBuffer region = channel.map(
+                    FileChannel.MapMode.READ_ONLY, start, end - start);
+                MessageDigest digest = threadDigest.get();
+                for (int index = first; index < last; index++) {
+                    int offset = (int) ((long) (index - first) * pieceLength);
+                    region.limit((int) Math.min(offset + (long) pieceLength,
+                                                end - start));
+                    region.position(offset);
+                    digest.update(region);
+                    try {
+                        digest.digest(hashes, index * PIECE_HASH_LENGTH,
+                                      PIECE_HASH_LENGTH);
+                    } catch (DigestException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+                return null;
+            }
+        }
+
         private int readPiece(InputStream in, byte[] buffer)
                 throws IOException {
             checkPositionIndex(pieceLength, buffer.length);
@@ -389,6 +681,12 @@ public class Torrent {
             return this;
         }
 
+        @Override
+        public PieceHasher setPieceHashes(ByteBuffer pieceHashes) {
+            super.setPieceHashes(pieceHashes);
+            return this;
+        }
+
         @Override
         public PieceHasher setPrivate(boolean privateTracker) {
             super.setPrivate(privateTracker);
@@ -0,0 +1,109 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A BitTorrent client that shares files with the other members of the cluster.
+ * Implementations either drive an external BitTorrent client (such as
+ * {@link UTorrentClient}) or exchange pieces themselves (such as
+ * {@link EmbeddedTorrentClient}).
+ *
+ * @author James Ide
+ */
+public interface TorrentClient {
+
+    /**
+     * Returns the directory where active downloads reside. Files must be
+     * placed in this directory before they can be seeded.
+     */
+    File getActiveDirectory();
+
+    /**
+     * Returns the directory where completed downloads reside.
+     */
+    File getCompletedDirectory();
+
+    /**
+     * Returns the file in which the specified torrent's file is kept while it
+     * downloads. Pieces that this file already holds intact are not
+     * downloaded again.
+     */
+    File getPartialFile(Torrent torrent);
+
+    /**
+     * Starts seeding the specified file and returns the newly created torrent
+     * for that file. The file to seed must be in the active download directory
+     * that is given by {@link #getActiveDirectory()}.
+     * <p>
+     * This method blocks while the pieces of the file are hashed.
+     *
+     * @param file the file to start sharing
+     * @throws TorrentException if an error occurs while creating the torrent
+     *         or starting to seed
+     */
+    Torrent seed(File file) throws TorrentException;
+
+    /**
+     * Starts seeding the specified file using a torrent whose pieces have
+     * already been hashed, such as one from
+     * {@link TorrentWriter#newTorrentBuilder()}. The client adds its announce
+     * URIs to the builder before building the torrent, so the file is not
+     * read again. The file must be in the active download directory.
+     *
+     * @param file the file to start sharing
+     * @param torrent a builder describing the file's pieces
+     * @throws TorrentException if an error occurs while creating the torrent
+     *         or starting to seed
+     */
+    Torrent seed(File file, Torrent.Builder torrent) throws TorrentException;
+
+    /**
+     * Starts downloading the specified torrent. The given listener is notified
+     * once the download completes or fails, possibly before this method
+     * returns if the torrent has already been downloaded.
+     *
+     * @throws TorrentException if the download could not be started
+     */
+    void download(Torrent torrent, TorrentListener listener)
+            throws TorrentException;
+
+    /**
+     * Reads the specified range of a torrent's file. If the file has not been
+     * downloaded, only the pieces that cover the range are fetched, if the
+     * client is able to, and each is verified against its hash. This method
+     * blocks until the range has been read.
+     *
+     * @param torrent the torrent whose file to read
+     * @param offset the offset of the range in the file
+     * @param length the length of the range, which must not extend past the
+     *        end of the file
+     * @throws TorrentException if the range could not be fetched or read
+     */
+    ByteBuffer read(Torrent torrent, long offset, int length)
+            throws TorrentException;
+
+    /**
+     * Opens a stream over a torrent's file that starts downloading the file if
+     * it has not been downloaded. Clients that download pieces in order return
+     * each piece as soon as it has been verified, so reading the first bytes
+     * waits for one piece rather than the whole file; others return the stream
+     * once the file has been downloaded.
+     *
+     * @throws TorrentException if the download could not be started or the
+     *         file could not be opened
+     */
+    InputStream openStream(Torrent torrent) throws TorrentException;
+
+    /**
+     * Removes the specified torrent (stops downloading/seeding) and returns
+     * true if such a torrent was found and false if otherwise.
+     */
+    boolean remove(Torrent torrent) throws TorrentException;
+
+    /**
+     * Releases the resources held by this client.
+     */
+    void destroy();
+}
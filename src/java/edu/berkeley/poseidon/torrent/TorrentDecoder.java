@@ -5,13 +5,16 @@ import static com.google.common.base.Preconditions.checkState;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Map;
-
-import org.apache.cassandra.utils.Pair;
 
 import com.google.common.collect.Lists;
 
+/**
+ * Decodes torrent metainfo that is either bencoded or in the compact
+ * encoding of {@link TorrentEncoder#encodeCompact}. Decoders hold no state of
+ * their own, so an instance may be shared by any number of threads.
+ */
 public class TorrentDecoder {
 
     private final Bdecoder bdecoder;
@@ -20,11 +23,36 @@ public class TorrentDecoder {
         this.bdecoder = bdecoder;
     }
 
-    @SuppressWarnings("unchecked")
     public Torrent decode(byte[] data) throws TorrentException {
-        Pair<?, Bdecoder.Type> decodedObject = bdecoder.decode(data);
-        checkState(decodedObject.right == Bdecoder.Type.DICTIONARY);
-        Map<String, ?> metainfo = (Map<String, ?>) decodedObject.left;
+        checkNotNull(data);
+        return decode(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Decodes the torrent between the position and the limit of the specified
+     * buffer. The piece hashes of the returned torrent are a view of the
+     * buffer, so its contents must not be modified afterwards.
+     */
+    public Torrent decode(ByteBuffer data) throws TorrentException {
+        if (CompactTorrentCodec.isCompact(data)) {
+            return CompactTorrentCodec.decode(data);
+        }
+        try {
+            return decode(bdecoder.decodeDictionary(data));
+        } catch (Bdecoder.BdecoderException e) {
+            // Values are only decoded as they are read, so malformed values
+            // are found after the dictionary has been indexed.
+            throw new TorrentException(e);
+        } catch (IllegalArgumentException e) {
+            throw new TorrentException(e);
+        } catch (IllegalStateException e) {
+            throw new TorrentException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Torrent decode(Bdecoder.Dictionary metainfo)
+            throws TorrentException {
         Torrent.Builder builder = new Torrent.Builder();
 
         // Add the announce URIs to the builder.
@@ -66,16 +94,15 @@ public class TorrentDecoder {
 
         // The info dictionary contains the details about the files themselves.
         checkState(metainfo.containsKey("info"));
-        checkState(metainfo.get("info") instanceof Map);
-        decodeInfoDictionary((Map<String, ?>) metainfo.get("info"), builder);
+        decodeInfoDictionary(metainfo.getDictionary("info"), builder);
 
         return builder.build();
     }
 
-    private void decodeInfoDictionary(Map<String, ?> info,
+    private void decodeInfoDictionary(Bdecoder.Dictionary info,
                                       Torrent.Builder builder) {
         builder.setPieceLength((int) asLong(info.get("piece length")));
-        builder.setPieceHashes((byte[]) info.get("pieces"));
+        builder.setPieceHashes(info.getBytes("pieces"));
         builder.setPrivate(info.containsKey("private") &&
                            "1".equals(asString(info.get("private"))));
 
@@ -92,7 +119,7 @@ public class TorrentDecoder {
 
     private String asString(Object o) {
         checkNotNull(o);
-        return (o instanceof byte[]) ? bdecoder.asString((byte[]) o)
-                                     : String.valueOf(o);
+        return (o instanceof ByteBuffer) ? bdecoder.asString((ByteBuffer) o)
+                                         : String.valueOf(o);
     }    
 }
@@ -39,6 +39,38 @@ public class TorrentEncoder {
         return out.toByteArray();
     }
 
+    /**
+     * Encodes the specified torrent in the compact binary encoding, which
+     * {@link TorrentDecoder} also reads. Torrents handed to other BitTorrent
+     * clients must be bencoded with {@link #encode} instead.
+     */
+    public byte[] encodeCompact(Torrent torrent) throws TorrentException {
+        return CompactTorrentCodec.encode(torrent);
+    }
+
+    /**
+     * Encodes the specified torrent compactly if <code>compact</code> is true,
+     * and bencodes it otherwise.
+     */
+    public byte[] encode(Torrent torrent, boolean compact)
+            throws TorrentException {
+        return compact ? encodeCompact(torrent) : encode(torrent);
+    }
+
+    /**
+     * Encodes only the info dictionary of the specified torrent. The SHA-1
+     * hash of these bytes is the torrent's info hash.
+     */
+    public byte[] encodeInfo(Torrent torrent) throws TorrentException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            bencoder.encode(buildInfoDictionary(torrent), out);
+        } catch (IOException e) {
+            throw new TorrentException(e);
+        }
+        return out.toByteArray();
+    }
+
     private Map<String, ?> buildInfoDictionary(Torrent torrent) {
         Map<String, Object> info = Maps.newHashMap();
         info.put("piece length", torrent.getPieceLength());
@@ -0,0 +1,131 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+/**
+ * A cache of the status of every torrent known to uTorrent, keyed by info
+ * hash. The cache is kept current by applying uTorrent's incremental torrent
+ * lists: a request of {@code list=1&cid=<id>} only returns the torrents that
+ * changed ({@code torrentp}) or were removed ({@code torrentm}) since the list
+ * identified by {@code <id>}, along with the identifier of the new list
+ * ({@code torrentc}).
+ * <p>
+ * Lookups are served entirely from memory and never block on uTorrent.
+ *
+ * @author James Ide
+ */
+class TorrentStatusCache {
+
+    /* Indices of various values in a uTorrent torrent entry. */
+    private static final int TORRENT_HASH_INDEX = 0;
+    private static final int TORRENT_NAME_INDEX = 2;
+    private static final int TORRENT_PROGRESS_INDEX = 4;
+
+    /** The progress, in per mils, of a completed torrent. */
+    static final int COMPLETE = 1000;
+
+    /** The status of each torrent, keyed by upper-case hexadecimal hash. */
+    private final ConcurrentMap<String, Status> statuses =
+        new ConcurrentHashMap<String, Status>();
+    /** The identifier of the last list applied, or null if none has been. */
+    private volatile String cacheId;
+
+    /**
+     * Returns the query that fetches the changes since the last list applied
+     * to this cache, or the full list if no list has been applied yet.
+     */
+    String getListQuery() {
+        String id = cacheId;
+        return (id == null) ? "list=1" : "list=1&cid=" + id;
+    }
+
+    /**
+     * Returns the status of the torrent with the specified hexadecimal info
+     * hash, or null if uTorrent does not know about such a torrent.
+     */
+    Status get(String infoHashHex) {
+        return statuses.get(infoHashHex.toUpperCase());
+    }
+
+    /**
+     * Records that the torrent with the specified hexadecimal info hash has
+     * been removed from uTorrent.
+     */
+    void remove(String infoHashHex) {
+        statuses.remove(infoHashHex.toUpperCase());
+    }
+
+    /**
+     * Applies a full or incremental torrent list returned by uTorrent. Lists
+     * are applied one at a time so that a delta is never applied on top of a
+     * list that is newer than the one it was computed against.
+     *
+     * @throws TorrentException if the list is malformed
+     */
+    synchronized void apply(JSONObject json) throws TorrentException {
+        try {
+            if (json.get("torrents") instanceof JSONArray) {
+                // A full list replaces the contents of the cache.
+                statuses.clear();
+                putAll((JSONArray) json.get("torrents"));
+            }
+            if (json.get("torrentp") instanceof JSONArray) {
+                putAll((JSONArray) json.get("torrentp"));
+            }
+            if (json.get("torrentm") instanceof JSONArray) {
+                for (Object hash : (JSONArray) json.get("torrentm")) {
+                    statuses.remove(String.valueOf(hash).toUpperCase());
+                }
+            }
+            if (json.containsKey("torrentc")) {
+                cacheId = String.valueOf(json.get("torrentc"));
+            }
+        } catch (ClassCastException e) {
+            throw new TorrentException(e);
+        }
+    }
+
+    /**
+     * Forgets the last list applied so that the next refresh fetches the full
+     * list again.
+     */
+    void invalidate() {
+        cacheId = null;
+    }
+
+    private void putAll(JSONArray entries) {
+        for (Object item : entries) {
+            if (item instanceof JSONArray) {
+                JSONArray entry = (JSONArray) item;
+                Status status = new Status(
+                    entry.get(TORRENT_HASH_INDEX).toString().toUpperCase(),
+                    entry.get(TORRENT_NAME_INDEX).toString(),
+                    ((Number) entry.get(TORRENT_PROGRESS_INDEX)).intValue());
+                statuses.put(status.hash, status);
+            }
+        }
+    }
+
+    /** An immutable snapshot of the status of a single torrent. */
+    static class Status {
+
+        final String hash;
+        final String name;
+        /** Progress is measured per mils, where 1000 represents 100%. */
+        final int progress;
+
+        Status(String hash, String name, int progress) {
+            this.hash = hash;
+            this.name = name;
+            this.progress = progress;
+        }
+
+        boolean isComplete() {
+            return progress == COMPLETE;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package edu.berkeley.poseidon.torrent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.cassandra.utils.FBUtilities;
+
+/**
+ * An output stream that writes a file and hashes its pieces as the bytes are
+ * appended, so that the torrent for the file is available as soon as the last
+ * byte is written instead of after the file is read back from disk. The
+ * stream also computes the SHA-1 hash of the whole file, which the client
+ * torrentizer uses to name blobs.
+ *
+ * @author James Ide
+ */
+public class TorrentWriter extends OutputStream {
+
+    private final int pieceLength;
+    private final OutputStream out;
+    private final MessageDigest pieceDigest;
+    private final MessageDigest fileDigest;
+    private final ByteArrayOutputStream pieceHashes =
+        new ByteArrayOutputStream();
+
+    private File file;
+    private long length;
+    private int pieceOffset;
+    private byte[] fileHash;
+    private boolean closed;
+
+    /**
+     * Creates a writer for the specified file using the default piece length.
+     *
+     * @throws TorrentException if the file cannot be created
+     */
+    public TorrentWriter(File file) throws TorrentException {
+        this(file, Torrent.PieceHasher.DEFAULT_PIECE_LENGTH);
+    }
+
+    /**
+     * Creates a writer for the specified file that hashes pieces of the given
+     * length.
+     *
+     * @throws TorrentException if the file cannot be created
+     */
+    public TorrentWriter(File file, int pieceLength) throws TorrentException {
+        checkNotNull(file);
+        checkArgument(pieceLength > 0);
+        this.file = file;
+        this.pieceLength = pieceLength;
+        try {
+            pieceDigest = MessageDigest.getInstance("SHA-1");
+            fileDigest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new TorrentException("failed to create SHA-1 digest");
+        }
+        try {
+            out = new BufferedOutputStream(new FileOutputStream(file));
+        } catch (IOException e) {
+            throw new TorrentException(e);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int count) throws IOException {
+        checkState(!closed, "writer is closed");
+        out.write(bytes, offset, count);
+        fileDigest.update(bytes, offset, count);
+        length += count;
+
+        // Feed the piece digest, finishing a piece at every boundary.
+        while (count > 0) {
+            int chunk = Math.min(count, pieceLength - pieceOffset);
+            pieceDigest.update(bytes, offset, chunk);
+            pieceOffset += chunk;
+            offset += chunk;
+            count -= chunk;
+            if (pieceOffset == pieceLength) {
+                finishPiece();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Hashes the final, possibly partial, piece and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (pieceOffset > 0) {
+            finishPiece();
+        }
+        fileHash = fileDigest.digest();
+        out.close();
+    }
+
+    private void finishPiece() {
+        byte[] hash = pieceDigest.digest();
+        pieceHashes.write(hash, 0, hash.length);
+        pieceOffset = 0;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the SHA-1 hash of the entire file. The writer must be closed.
+     */
+    public byte[] getFileHash() {
+        checkState(closed, "writer is not closed");
+        return fileHash.clone();
+    }
+
+    /**
+     * Moves the written file to the specified location. The torrent built by
+     * {@link #newTorrentBuilder()} is named after the new location.
+     *
+     * @throws TorrentException if the file could not be moved
+     */
+    public void moveTo(File destination) throws TorrentException {
+        checkState(closed, "writer is not closed");
+        if (!file.renameTo(destination)) {
+            throw new TorrentException("could not move " + file + " to " +
+                                       destination);
+        }
+        file = destination;
+    }
+
+    /**
+     * Moves the written file into the specified directory under the
+     * hexadecimal SHA-1 hash of its contents. A file that is already at that
+     * address holds the same bytes, so the written file is deleted in favor of
+     * the existing one. The torrents built for both are then identical.
+     *
+     * @throws TorrentException if the file could not be moved or deleted
+     */
+    public void moveToContentAddress(File directory) throws TorrentException {
+        checkState(closed, "writer is not closed");
+        File destination =
+            new File(directory, FBUtilities.bytesToHex(fileHash));
+        if (!destination.exists()) {
+            moveTo(destination);
+        } else if (file.delete()) {
+            file = destination;
+        } else {
+            throw new TorrentException("could not delete duplicate " + file);
+        }
+    }
+
+    /**
+     * Returns a torrent builder whose piece length, piece hashes, name and
+     * length describe the written file. The caller only needs to add the
+     * announce URIs. The writer must be closed.
+     */
+    public Torrent.Builder newTorrentBuilder() {
+        checkState(closed, "writer is not closed");
+        return new Torrent.Builder()
+            .setPieceLength(pieceLength)
+            .setPieceHashes(pieceHashes.toByteArray())
+            .setName(file.getName())
+            .setLength(length);
+    }
+}
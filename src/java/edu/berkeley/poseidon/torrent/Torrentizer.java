@@ -1,8 +1,15 @@
 package edu.berkeley.poseidon.torrent;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.concurrent.Semaphore;
 
+import org.apache.cassandra.config.DatabaseDescriptor;
 import org.apache.cassandra.db.Columns;
 import org.apache.cassandra.db.IColumn;
 import org.apache.cassandra.thrift.Column;
@@ -13,10 +20,10 @@ public class Torrentizer {
 
 	public Torrentizer() {
 		try {
-			uTorrentClient = Torrents.createUTorrentClient();
+			torrentClient = Torrents.createTorrentClient();
 		} catch (TorrentException e) {
 			e.printStackTrace();
-			throw new RuntimeException("UTorrentClient didn't start");
+			throw new RuntimeException("TorrentClient didn't start");
 		}
 	}
 	
@@ -45,14 +52,66 @@ public class Torrentizer {
 		return col.name.length >= 5 && col.name[3] == '_' && col.name[4] == 'F';
 	}
 	
-	/** Requires isTorrent(torrent.value) */
+	/**
+	 * True iff value is a torrent column's value that is stored inline
+	 * instead of as a torrent, which is the bencoded dictionary
+	 * <code>{"inline": bytes}</code>. Torrents always begin with their
+	 * announce URI, so they never begin with this key.
+	 */
+	public static boolean isInline(byte[] value) {
+		if (value.length < INLINE_PREFIX.length) {
+			return false;
+		}
+		for (int i = 0; i < INLINE_PREFIX.length; i++) {
+			if (value[i] != INLINE_PREFIX[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** Returns the inline form of a torrent column's value. */
+	public static byte[] wrapInline(byte[] value) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(value.length + 32);
+		try {
+			bencoder.encode(Collections.singletonMap(INLINE_KEY, ByteBuffer.wrap(value)), out);
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+		return out.toByteArray();
+	}
+
+	/** Requires isInline(value) */
+	public static ByteBuffer unwrapInline(byte[] value) {
+		try {
+			return bdecoder.decodeDictionary(ByteBuffer.wrap(value)).getBytes(INLINE_KEY);
+		} catch (Bdecoder.BdecoderException e) {
+			throw new RuntimeException("Malformed inline torrent column value", e);
+		}
+	}
+
+	/**
+	 * Returns the file of a torrent column's value, from the blob cache if it
+	 * holds the blob and otherwise by downloading it. Requires
+	 * isTorrent(torrent.value).
+	 */
 	public File fetchFile(Column torrent) {
 		try {
-			TorrentDecoder decoder = new TorrentDecoder(new Bdecoder());
+			Torrent decoded = decoder.decode(torrent.value);
+			BlobCache cache = getBlobCache();
+			if (cache != null) {
+				File cached = cache.get(decoded);
+				if (cached != null) {
+					return cached;
+				}
+			}
 			Listener listener = new Listener();
-			uTorrentClient.download(decoder.decode(torrent.value), listener);
+			torrentClient.download(decoded, listener);
 			listener.semaphore.acquireUninterruptibly();
-			return listener.file;
+			if ((cache == null) || (listener.file == NULLNAMEFILE)) {
+				return listener.file;
+			}
+			return cache.put(decoded, listener.file);
 			
 		} catch (TorrentException e) {
 			e.printStackTrace();
@@ -60,19 +119,69 @@ public class Torrentizer {
 		}
 	}
 	
+	/**
+	 * Returns the blob cache shared by the Torrentizers of this process, or
+	 * null if it is disabled or could not be opened.
+	 */
+	private static synchronized BlobCache getBlobCache() {
+		if ((blobCache == null) && (CACHE_BYTES > 0)) {
+			File directory = new File(DatabaseDescriptor.getTorrentDataDirectory(), "cache");
+			try {
+				blobCache = new BlobCache(directory, CACHE_BYTES);
+			} catch (IOException e) {
+				e.printStackTrace();
+				// Fetches go to the torrent client, as if there were no cache.
+				return null;
+			}
+		}
+		return blobCache;
+	}
+
+	/**
+	 * Returns a stream over the value of a torrent column that is readable as
+	 * soon as the first piece has arrived, rather than after the whole file
+	 * like fetchFile. Requires isTorrent(torrent.value)
+	 */
+	public InputStream openStream(Column torrent) {
+		if (isInline(torrent.value)) {
+			ByteBuffer value = unwrapInline(torrent.value);
+			byte[] bytes = new byte[value.remaining()];
+			value.get(bytes);
+			return new ByteArrayInputStream(bytes);
+		}
+		try {
+			return torrentClient.openStream(decoder.decode(torrent.value));
+		} catch (TorrentException e) {
+			e.printStackTrace();
+			throw new RuntimeException("Couldn't open a stream over the torrent");
+		}
+	}
 	
 	public void seed(File file, Column torrent) {
 		try {
 			TorrentEncoder encoder = new TorrentEncoder(new Bencoder());
-			torrent.value = encoder.encode(uTorrentClient.seed(file));
+			torrent.value = encoder.encode(torrentClient.seed(file), COMPACT_METADATA);
 		} catch (TorrentException e) {
 			e.printStackTrace();
 			throw new RuntimeException("We somehow couldn't seed a file");
 		}
 	}
 	
+	/** Seeds the file of a closed writer without reading the file again. */
+	public void seed(TorrentWriter writer, Column torrent) {
+		try {
+			TorrentEncoder encoder = new TorrentEncoder(new Bencoder());
+			torrent.value = encoder.encode(
+					torrentClient.seed(writer.getFile(), writer.newTorrentBuilder()),
+					COMPACT_METADATA);
+		} catch (TorrentException e) {
+			e.printStackTrace();
+			throw new RuntimeException("We somehow couldn't seed a file");
+		}
+	}
+
 	public String torrentDirectoryPathName() {
-		return uTorrentClient.getActiveDirectory().getAbsolutePath();
+		return torrentClient.getActiveDirectory().getAbsolutePath();
 	}
 	
 	public static class Listener implements TorrentListener {
@@ -96,12 +205,24 @@ public class Torrentizer {
 			error.printStackTrace();
 			this.file = NULLNAMEFILE;
 			semaphore.release();
-			throw new RuntimeException("uTorrentClient fetch file failed");
+			throw new RuntimeException("TorrentClient fetch file failed");
 		}
 		
 	}
 	
-	private UTorrentClient uTorrentClient;
+	private TorrentClient torrentClient;
+	/** The size in bytes of the blob cache; 0 disables it. */
+	private static final long CACHE_BYTES = Long.getLong("poseidon.client.cacheBytes", 1L << 30);
+	private static BlobCache blobCache;
+	/** Whether torrent columns hold their torrents in the compact encoding. */
+	private static final boolean COMPACT_METADATA = Boolean.getBoolean("poseidon.client.compactMetadata");
+	/** Decoders are stateless, so one is shared by every fetch. */
+	private static final TorrentDecoder decoder = new TorrentDecoder(new Bdecoder());
+	private static final Bencoder bencoder = new Bencoder();
+	private static final Bdecoder bdecoder = new Bdecoder();
+
+	private static final String INLINE_KEY = "inline";
+	private static final byte[] INLINE_PREFIX = { 'd', '6', ':', 'i', 'n', 'l', 'i', 'n', 'e' };
 	
 	private final static File NULLNAMEFILE = new File("null");
 }
@@ -2,9 +2,19 @@ package edu.berkeley.poseidon.torrent;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.cassandra.config.DatabaseDescriptor;
 
@@ -42,6 +52,33 @@ public final class Torrents {
 
     private Torrents() { }
 
+    /**
+     * Creates the {@link TorrentClient} selected by the {@code TorrentEngine}
+     * setting in the storage configuration.
+     */
+    public static TorrentClient createTorrentClient()
+            throws TorrentException {
+        if (DatabaseDescriptor.isEmbeddedTorrentEngine()) {
+            return createEmbeddedTorrentClient();
+        }
+        return createUTorrentClient();
+    }
+
+    public static EmbeddedTorrentClient createEmbeddedTorrentClient()
+            throws TorrentException {
+        File base = new File(DatabaseDescriptor.getTorrentDataDirectory());
+        InetSocketAddress address =
+            new InetSocketAddress(DatabaseDescriptor.getTorrentPeerAddress(),
+                                  DatabaseDescriptor.getTorrentPeerPort());
+        return new EmbeddedTorrentClient(new File(base, "active"),
+                                         new File(base, "completed"),
+                                         address,
+                                         RingPeerSource.instance,
+                                         new MessagingPieceTransport(
+                                             RingPeerSource.instance,
+                                             new SocketPieceTransport()));
+    }
+
     public static UTorrentClient createUTorrentClient()
             throws TorrentException {
         HttpServer httpServer;
@@ -69,4 +106,142 @@ public final class Torrents {
                                   UTORRENT_PASSWORD,
                                   httpServer);
     }
+
+    /**
+     * Downloads the specified torrent with the given client and returns the
+     * downloaded file once the download completes, however long it takes.
+     *
+     * @throws TorrentException if the download could not be started or failed
+     */
+    public static File download(TorrentClient client, Torrent torrent)
+            throws TorrentException {
+        try {
+            return download(client, torrent, Long.MAX_VALUE,
+                            TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Downloads the specified torrent with the given client and returns the
+     * downloaded file once the download completes.
+     *
+     * @throws TorrentException if the download could not be started or failed
+     * @throws TimeoutException if the download did not complete in time
+     */
+    public static File download(TorrentClient client, Torrent torrent,
+                                long timeout, TimeUnit unit)
+            throws TorrentException, TimeoutException {
+        BlockingListener listener = new BlockingListener();
+        client.download(torrent, listener);
+        try {
+            if (!listener.done.await(timeout, unit)) {
+                throw new TimeoutException("timed out downloading " +
+                                           torrent.getName());
+            }
+        } catch (InterruptedException e) {
+            throw new TorrentException(e);
+        }
+        if (listener.error != null) {
+            throw listener.error;
+        }
+        return listener.file;
+    }
+
+    /**
+     * Reads the specified range of a file.
+     *
+     * @throws TorrentException if the file could not be read or is shorter
+     *         than the end of the range
+     */
+    public static ByteBuffer readRange(File file, long offset, int length)
+            throws TorrentException {
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        try {
+            RandomAccessFile in = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = in.getChannel();
+                while (bytes.hasRemaining()) {
+                    if (channel.read(bytes, offset + bytes.position()) < 0) {
+                        throw new TorrentException(file + " ends before " +
+                                                   (offset + length));
+                    }
+                }
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            throw new TorrentException(e);
+        }
+        bytes.flip();
+        return bytes;
+    }
+
+    /**
+     * Returns the pieces of a torrent that the specified file holds intact,
+     * as verified against their hashes. A missing file holds no pieces.
+     *
+     * @throws TorrentException if the file could not be read
+     */
+    public static BitSet verifyPieces(Torrent torrent, File file)
+            throws TorrentException {
+        BitSet intact = new BitSet(torrent.getPieceCount());
+        if (!file.isFile()) {
+            return intact;
+        }
+        MessageDigest sha1;
+        try {
+            sha1 = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new TorrentException("failed to create SHA-1 digest");
+        }
+        try {
+            RandomAccessFile in = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = in.getChannel();
+                ByteBuffer piece = ByteBuffer.allocate(torrent.getPieceLength());
+                for (int index = 0; index < torrent.getPieceCount(); index++) {
+                    long offset = (long) index * torrent.getPieceLength();
+                    piece.clear();
+                    piece.limit(torrent.getPieceLength(index));
+                    while (piece.hasRemaining()) {
+                        if (channel.read(piece, offset + piece.position()) < 0) {
+                            // A short file holds none of the later pieces.
+                            return intact;
+                        }
+                    }
+                    sha1.update(piece.array(), 0, piece.limit());
+                    if (Arrays.equals(sha1.digest(), torrent.getPieceHash(index))) {
+                        intact.set(index);
+                    }
+                }
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            throw new TorrentException(e);
+        }
+        return intact;
+    }
+
+    /** A listener that lets a thread wait for a download to complete. */
+    private static class BlockingListener implements TorrentListener {
+
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile File file;
+        volatile TorrentException error;
+
+        @Override
+        public void fileDownloaded(Torrent torrent, File file) {
+            this.file = file;
+            done.countDown();
+        }
+
+        @Override
+        public void downloadFailed(Torrent torrent, TorrentException error) {
+            this.error = error;
+            done.countDown();
+        }
+    }
 }
@@ -5,15 +5,26 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
-import java.io.UnsupportedEncodingException;
 import java.net.URI;
-import java.net.URLEncoder;
-import java.util.Collection;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -21,32 +32,42 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriBuilder;
 
-import org.apache.cassandra.utils.Pair;
+import org.apache.cassandra.concurrent.DebuggableThreadPoolExecutor;
+import org.apache.cassandra.concurrent.RetryingScheduledThreadPoolExecutor;
+import org.apache.cassandra.config.DatabaseDescriptor;
+import org.apache.cassandra.utils.WrappedRunnable;
 import org.apache.log4j.Logger;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.JSONValue;
 import org.json.simple.parser.ParseException;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import com.google.common.io.Files;
-import com.google.common.io.NullOutputStream;
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.WebResource;
 import com.sun.jersey.api.client.filter.ClientFilter;
 import com.sun.jersey.api.client.filter.HTTPBasicAuthFilter;
-import com.sun.jersey.api.representation.Form;
 import com.sun.jersey.api.uri.UriComponent;
 import com.sun.jersey.multipart.FormDataMultiPart;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 
-public class UTorrentClient {
+import edu.berkeley.poseidon.util.DaemonThreadFactory;
+
+/**
+ * A {@link TorrentClient} that drives a uTorrent server through its WebUI.
+ * Finished downloads are found by polling uTorrent's incremental torrent list
+ * every {@link #STATUS_REFRESH_INTERVAL} milliseconds, and their listeners are
+ * notified on a pool of callback threads, so completions do not wait on
+ * uTorrent to run a program for each torrent or on each other. uTorrent may
+ * still report finished torrents to the HTTP completion handler, with
+ * <code>scripts/pnotify.py</code>, which only makes them known sooner.
+ */
+public class UTorrentClient implements TorrentClient {
 
     private static Logger logger = Logger.getLogger(UTorrentClient.class);
 
@@ -57,11 +78,20 @@ public class UTorrentClient {
      */
     private static final long CSRF_EXPIRATION_THRESHOLD = 29 * 60 * 1000;
 
-    /* Indices of various values in a uTorrent response. */
-    private static final int TORRENT_HASH_INDEX = 0;
-    //private static final int TORRENT_STATUS_INDEX = 1;
-    private static final int TORRENT_NAME_INDEX = 2;
-    private static final int TORRENT_PROGRESS_INDEX = 4;
+    /**
+     * The interval in milliseconds between incremental refreshes of the
+     * torrent status cache.
+     */
+    private static final long STATUS_REFRESH_INTERVAL = 500;
+
+    /** The number of concurrent HTTP requests that are made to uTorrent. */
+    private static final int CONTROL_THREADS = 4;
+
+    /**
+     * The number of threads that notify the listeners of finished downloads
+     * and serve the HTTP completion handler.
+     */
+    private static final int CALLBACK_THREADS = 4;
 
     /** The REST client used to make HTTP connections to uTorrent. */
     private final Client restClient;
@@ -78,14 +108,28 @@ public class UTorrentClient {
     /** The directory where completed downloads reside. */
     private final File completedDirectory;
 
+    /** The status of every torrent known to uTorrent, keyed by info hash. */
+    private final TorrentStatusCache statusCache;
+    /** The executor that periodically refreshes the status cache. */
+    private final ScheduledExecutorService statusRefresher;
+    /** Serializes refreshes so that deltas are applied in order. */
+    private final Object refreshLock = new Object();
+    /** Guards the CSRF token, which the status refresher also uses. */
+    private final Object tokenLock = new Object();
+    /** The bounded pool on which requests that change uTorrent are made. */
+    private final ThreadPoolExecutor controlExecutor;
+    /** The pool on which listeners are notified of finished downloads. */
+    private final ThreadPoolExecutor callbackExecutor;
+
     /** The anti-CSRF token used by uTorrent. */
     private String csrfToken;
     /** The time in milliseconds when the CSRF token expires. */
     private long csrfTokenExpiration;
 
     private final TorrentEncoder encoder;
-    /** The registry, which maps torrent names to callback listeners. */
-    private final Multimap<String, Callback> callbackRegistry;
+    /** The downloads awaiting completion, keyed by hexadecimal info hash. */
+    private final ConcurrentMap<String, PendingDownload> pendingDownloads =
+        new ConcurrentHashMap<String, PendingDownload>();
 
     /**
      * Creates a new client for interface with uTorrent. This constructor makes
@@ -111,10 +155,16 @@ public class UTorrentClient {
                               .build();
         httpServer = server;
         encoder = new TorrentEncoder(new Bencoder());
-        // Since HTTP request threads may access the registry, it is imperative
-        // that access to it is synchronized.
-        callbackRegistry = Multimaps.synchronizedMultimap(
-            LinkedListMultimap.<String, Callback>create());
+        controlExecutor = new DebuggableThreadPoolExecutor(
+            CONTROL_THREADS, CONTROL_THREADS, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new DaemonThreadFactory("TORRENT-CONTROL"));
+        controlExecutor.allowCoreThreadTimeOut(true);
+        callbackExecutor = new DebuggableThreadPoolExecutor(
+            CALLBACK_THREADS, CALLBACK_THREADS, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new DaemonThreadFactory("TORRENT-CALLBACK"));
+        callbackExecutor.allowCoreThreadTimeOut(true);
 
         // Read the uTorrent server settings.
         String activeDirectory = null;
@@ -170,27 +220,54 @@ public class UTorrentClient {
         maxActiveResource.get(String.class);
         maxActiveResource = makeWebResource("action=setsetting&s=max_active_downloads&v=2147483647");
         maxActiveResource.get(String.class);
+
+        // Load the full torrent list once and then follow it incrementally.
+        statusCache = new TorrentStatusCache();
+        refreshStatus();
+        statusRefresher =
+            new RetryingScheduledThreadPoolExecutor("TORRENT-STATUS");
+        statusRefresher.scheduleWithFixedDelay(new WrappedRunnable() {
+            @Override
+            public void runMayThrow() throws TorrentException {
+                refreshStatus();
+                completeFinished();
+            }
+        }, STATUS_REFRESH_INTERVAL, STATUS_REFRESH_INTERVAL,
+           TimeUnit.MILLISECONDS);
     }
 
     private void setUpHttpServer() {
         httpServer.createContext("/download-finished", completedHandler);
+        // Notifications are handled concurrently rather than one at a time.
+        httpServer.setExecutor(callbackExecutor);
         httpServer.start();
     }
 
-    public synchronized void destroy() {
+    @Override
+    public void destroy() {
+        statusRefresher.shutdownNow();
+        controlExecutor.shutdownNow();
         httpServer.stop(0);
+        callbackExecutor.shutdownNow();
     }
 
     private WebResource makeWebResource(String query) throws TorrentException {
-        ensureCsrfToken();
+        String token = ensureCsrfToken();
         URI uri = UriBuilder.fromUri(serverUri)
-            .replaceQuery("token=" + csrfToken + "&" + query).build();
+            .replaceQuery("token=" + token + "&" + query).build();
         WebResource resource = restClient.resource(uri);
         resource.addFilter(authFilter);
         return resource;
     }
 
-    private void ensureCsrfToken() throws TorrentException {
+    private String ensureCsrfToken() throws TorrentException {
+        synchronized (tokenLock) {
+            refreshCsrfToken();
+            return csrfToken;
+        }
+    }
+
+    private void refreshCsrfToken() throws TorrentException {
         long now = System.currentTimeMillis();
         if ((csrfToken == null) || (now >= csrfTokenExpiration)) {
             URI tokenUri = UriBuilder.fromUri(serverUri).path("token.html")
@@ -231,20 +308,29 @@ public class UTorrentClient {
         client.destroy();
     }
 
+    @Override
     public File getActiveDirectory() {
         return activeDirectory;
     }
 
+    @Override
     public File getCompletedDirectory() {
         return completedDirectory;
     }
 
+    /** uTorrent downloads a torrent's file under its own name. */
+    @Override
+    public File getPartialFile(Torrent torrent) {
+        return new File(activeDirectory, torrent.getName());
+    }
+
     /**
      * Starts seeding the specified file and returns the newly created torrent
      * for that file. The file to seed must be in the active download directory
      * that is given by {@link #getActiveDirectory()}.
      * <p>
-     * This method is blocking.
+     * This method blocks while the file is hashed and uTorrent adds the
+     * torrent, but seeds of other files proceed concurrently.
      *
      * @param file the file to start sharing
      * @throws TorrentException if an error occurs while creating the torrent
@@ -253,12 +339,27 @@ public class UTorrentClient {
      *         active download directory
      * @throws NullPointerException if the given file is null
      */
-    public synchronized Torrent seed(File file) throws TorrentException {
+    @Override
+    public Torrent seed(File file) throws TorrentException {
+        checkNotNull(file);
+        // Hashing the file takes time! The hasher reads it when it is built.
+        return seed(file, new Torrent.PieceHasher().addFile(file));
+    }
+
+    /**
+     * Starts seeding the specified file using the given torrent builder, to
+     * which the tracker's announce URI is added.
+     *
+     * @throws IllegalArgumentException if the given file is not in uTorrent's
+     *         active download directory
+     */
+    @Override
+    public Torrent seed(File file, Torrent.Builder builder)
+            throws TorrentException {
         checkNotNull(file);
         checkArgument(getActiveDirectory().equals(file.getParentFile()));
 
-        // Create a new Torrent from the file. This takes time!
-        Torrent torrent = new Torrent.PieceHasher()
+        final Torrent torrent = builder
             .addAnnounceUriGroup(ImmutableList.of(
                 URI.create("http://50.18.56.165:80/announce")))
                 //URI.create("udp://50.18.56.165:80/announce")))
@@ -266,130 +367,220 @@ public class UTorrentClient {
 //                URI.create("http://tracker.publicbt.com:80/announce"),
 //                URI.create("udp://tracker.publicbt.com:80/announce")))
 //            .addAnnounceUri(URI.create("udp://tracker.openbittorrent.com:80/announce"))
-            .addFile(file)
             .build();
-        addTorrent(torrent);
+        if (statusCache.get(torrent.getInfoHashHex()) != null) {
+            // A blob with identical contents is already being seeded.
+            return torrent;
+        }
+        callControl(new Callable<Void>() {
+            @Override
+            public Void call() throws TorrentException {
+                addTorrent(torrent);
+                return null;
+            }
+        });
 
         return torrent;
     }
 
-    public synchronized void download(Torrent torrent, TorrentListener listener)
+    /**
+     * Starts downloading the specified torrent without waiting for uTorrent.
+     * The listener is registered with the torrent's pending download, which
+     * is shared by every caller that asks for the same info hash, and the
+     * torrent is added to uTorrent on the control pool. If uTorrent rejects
+     * the torrent, the listener is notified of the failure.
+     */
+    @Override
+    public void download(final Torrent torrent, TorrentListener listener)
             throws TorrentException {
-        // Register the listener that is notified when a torrent completes.
-        Callback callback = new Callback(torrent, listener);
-        callbackRegistry.put(torrent.getName(), callback);
-
-        if (isDownloaded(torrent)) {
-            File file = getDownloadedFile(torrent);
-            completedHandler.invokeCallbacks(torrent.getName(), file);
-        } else if (!isDownloading(torrent)) {
-            boolean added = false;
+        final String key = torrent.getInfoHashHex();
+        final PendingDownload download = new PendingDownload(torrent);
+        PendingDownload existing = pendingDownloads.putIfAbsent(key, download);
+        if (existing != null) {
+            existing.addListener(torrent, listener);
+            return;
+        }
+        download.addListener(torrent, listener);
+
+        TorrentStatusCache.Status status = statusCache.get(key);
+        if ((status != null) && status.isComplete()) {
+            File file = new File(getCompletedDirectory(), status.name);
+            pendingDownloads.remove(key, download);
+            download.complete(file);
+        } else if (status == null) {
             try {
-                addTorrent(torrent);
-                added = true;
-            } finally {
-                if (!added) {
-                    callbackRegistry.remove(torrent.getName(), callback);
-                }
+                controlExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            addTorrent(torrent);
+                        } catch (Exception e) {
+                            pendingDownloads.remove(key, download);
+                            download.fail(toTorrentException(e));
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                pendingDownloads.remove(key, download);
+                throw new TorrentException(e);
             }
         }
     }
 
     /**
-     * Removes the specified torrent (stops downloading/seeding) and returns
-     * true if such a torrent was found and false if otherwise.
+     * uTorrent only downloads whole files, so the range is read once the
+     * whole file has been downloaded. The download is awaited for at most
+     * the RPC timeout; if it takes longer, the thrown exception's cause is a
+     * {@link TimeoutException}.
      */
-    public synchronized boolean remove(Torrent torrent) throws TorrentException {
-        String response = makeWebResource("list=1").get(String.class);
-        String name = torrent.getName();
-        JSONObject json = toJsonObject(response);
-        // Filter out all of the entries with the matching name.
-        List<JSONArray> torrentEntries = torrentEntriesByName(name, json);
-
-        if (!torrentEntries.isEmpty()) {
-            // Extract their hashes (opaque IDs) from the entries.
-            List<String> torrentHashes = Lists.newLinkedList();
-            for (JSONArray entry : torrentEntries) {
-                torrentHashes.add(entry.get(TORRENT_HASH_INDEX).toString());
-            }
-
-            // Create a set of URL parameters, specifying the hashes.
-            MultivaluedMap<String, String> hashParameters = new Form();
-            for (String hash : torrentHashes) {
-                hashParameters.add("hash", hash);
-            }
-            WebResource removalResource = makeWebResource("action=remove")
-                .queryParams(hashParameters);
+    @Override
+    public ByteBuffer read(Torrent torrent, long offset, int length)
+            throws TorrentException {
+        checkArgument((offset >= 0) && (length >= 0) &&
+                      (offset + length <= torrent.getLength()),
+                      "range is outside of %s", torrent.getName());
+        return Torrents.readRange(downloadWithinRpcTimeout(torrent), offset,
+                                  length);
+    }
 
-            // Ensure there were no reported errors.
-            toJsonObject(removalResource.get(String.class));
+    private File downloadWithinRpcTimeout(Torrent torrent)
+            throws TorrentException {
+        try {
+            return Torrents.download(this, torrent,
+                                     DatabaseDescriptor.getRpcTimeout(),
+                                     TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new TorrentException(e);
         }
-
-        return !torrentEntries.isEmpty();
     }
 
-    private boolean isDownloading(Torrent torrent) throws TorrentException {
-        return getDownloadProgress(torrent) >= 0;
+    /**
+     * Returns a stream over the file once uTorrent has downloaded all of it,
+     * since the order in which uTorrent downloads pieces is not controlled.
+     * Like {@link #read}, the download is awaited for at most the RPC
+     * timeout.
+     */
+    @Override
+    public InputStream openStream(Torrent torrent) throws TorrentException {
+        try {
+            return new FileInputStream(downloadWithinRpcTimeout(torrent));
+        } catch (FileNotFoundException e) {
+            throw new TorrentException(e);
+        }
     }
 
-    private boolean isDownloaded(Torrent torrent) throws TorrentException {
-        // Progress is measured per mils, where 1000 represents 100%.
-        return getDownloadProgress(torrent) == 1000;
-    }
+    /**
+     * Removes the specified torrent (stops downloading/seeding) and returns
+     * true if such a torrent was found and false if otherwise.
+     */
+    @Override
+    public boolean remove(Torrent torrent) throws TorrentException {
+        final String hash = torrent.getInfoHashHex();
+        PendingDownload download = pendingDownloads.remove(hash);
+        if (download != null) {
+            download.fail(new TorrentException("torrent was removed"));
+        }
 
-    private int getDownloadProgress(Torrent torrent) throws TorrentException {
-        JSONObject json = toJsonObject(makeWebResource("list=1").get(String.class));
-        List<JSONArray> entries = torrentEntriesByName(torrent.getName(), json);
-        if (entries.isEmpty()) {
-            return -1;
+        final TorrentStatusCache.Status status = statusCache.get(hash);
+        if (status == null) {
+            return false;
         }
-        JSONArray entry = entries.get(0);
-        return ((Number) entry.get(TORRENT_PROGRESS_INDEX)).intValue();
+
+        callControl(new Callable<Void>() {
+            @Override
+            public Void call() throws TorrentException {
+                WebResource removalResource = makeWebResource("action=remove")
+                    .queryParam("hash", status.hash);
+                // Ensure there were no reported errors.
+                toJsonObject(removalResource.get(String.class));
+                return null;
+            }
+        });
+        statusCache.remove(hash);
+        return true;
     }
 
-    private File getDownloadedFile(Torrent torrent) throws TorrentException {
-        WebResource resource = makeWebResource("list=1");
-        JSONObject json = toJsonObject(resource.get(String.class));
-        List<JSONArray> entries = torrentEntriesByName(torrent.getName(), json);
-        if (entries.isEmpty()) {
-            throw new TorrentException("no entry for torrent present");
+    /**
+     * Completes the pending downloads that the status cache shows are done,
+     * by info hash. This covers completions that uTorrent reported before the
+     * download was registered, or reported only by a name that several
+     * torrents share.
+     */
+    private void completeFinished() {
+        for (Map.Entry<String, PendingDownload> entry :
+                pendingDownloads.entrySet()) {
+            TorrentStatusCache.Status status = statusCache.get(entry.getKey());
+            if ((status != null) && status.isComplete() &&
+                    pendingDownloads.remove(entry.getKey(), entry.getValue())) {
+                completeLater(entry.getValue(),
+                              new File(getCompletedDirectory(), status.name));
+            }
         }
+    }
 
-        JSONArray entry = entries.get(0);
-        return new File(getCompletedDirectory(),
-                        entry.get(TORRENT_NAME_INDEX).toString());
-
-//        String hash = entry.get(TORRENT_HASH_INDEX).toString();
-//        return getDownloadedFile(hash);
+    /**
+     * Notifies the listeners of a finished download on the callback pool, so
+     * slow listeners do not hold up other completions.
+     */
+    private void completeLater(final PendingDownload download,
+                               final File file) {
+        try {
+            callbackExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    download.complete(file);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The client is being destroyed.
+            download.fail(new TorrentException(e));
+        }
     }
 
-    @SuppressWarnings("unused")
-    private File getDownloadedFile(String hash) throws TorrentException {
-        WebResource resource;
+    /**
+     * Runs the specified request on the control pool and waits for its
+     * result, which bounds the number of concurrent requests to uTorrent.
+     */
+    private <T> T callControl(Callable<T> request) throws TorrentException {
         try {
-            resource = makeWebResource("action=getfiles&hash=" +
-                                       URLEncoder.encode(hash, "UTF-8"));
-        } catch (UnsupportedEncodingException e) {
+            Future<T> future = controlExecutor.submit(request);
+            return future.get();
+        } catch (ExecutionException e) {
+            throw toTorrentException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TorrentException(e);
+        } catch (RuntimeException e) {
             throw new TorrentException(e);
         }
+    }
 
-        JSONObject json = toJsonObject(resource.get(String.class));
-        try {
-            JSONArray fileEntries = (JSONArray) json.get("files");
-            if (fileEntries.size() < 2) {
-                throw new TorrentException("no file entry for torrent");
-            }
+    private static TorrentException toTorrentException(Throwable t) {
+        Throwables.propagateIfInstanceOf(t, Error.class);
+        if (t instanceof TorrentException) {
+            return (TorrentException) t;
+        }
+        return new TorrentException(t);
+    }
 
-            if (!hash.equals(fileEntries.get(0))) {
-                String error = fileEntries.get(0) + " does not match hash";
-                throw new TorrentException(error);
+    /**
+     * Fetches the torrents that changed since the last refresh and applies
+     * them to the status cache. If the refresh fails, the next one fetches
+     * the full list.
+     */
+    private void refreshStatus() throws TorrentException {
+        synchronized (refreshLock) {
+            try {
+                WebResource resource =
+                    makeWebResource(statusCache.getListQuery());
+                statusCache.apply(toJsonObject(resource.get(String.class)));
+            } catch (TorrentException e) {
+                statusCache.invalidate();
+                throw e;
+            } catch (RuntimeException e) {
+                statusCache.invalidate();
+                throw e;
             }
-
-            JSONArray entries = (JSONArray) fileEntries.get(1);
-            JSONArray entry = (JSONArray) entries.get(0);
-            return new File(getCompletedDirectory(), entry.get(0).toString());
-        } catch (ClassCastException e) {
-            throw new TorrentException(e);
         }
     }
 
@@ -403,13 +594,12 @@ public class UTorrentClient {
                                   .post(String.class, multiPart);
 
         // Propagate any uTorrent error messages as a TorrentException.
-        JSONObject json = toJsonObject(response);
+        toJsonObject(response);
  
         // Confirm that the torrent was added (if it was already present before
         // calling this method, uTorrent should have reported an error).
-        json = toJsonObject(makeWebResource("list=1").get(String.class));
-        List<JSONArray> entries = torrentEntriesByName(torrent.getName(), json);
-        if (entries.isEmpty()) {
+        refreshStatus();
+        if (statusCache.get(torrent.getInfoHashHex()) == null) {
             throw new TorrentException(
                 "uTorrent is not aware of added torrent");
         }
@@ -440,36 +630,71 @@ public class UTorrentClient {
         }
     }
 
-    private static List<JSONArray> torrentEntriesByName(String name, JSONObject json)
-            throws TorrentException {
-        List<JSONArray> entries = Lists.newArrayList();
-        if (json.get("torrents") instanceof JSONArray) {
-            JSONArray allEntries = (JSONArray) json.get("torrents");
-            for (Object item : allEntries) {
-                if (item instanceof JSONArray) {
-                    // If the name within the entry matches, we will keep it.
-                    JSONArray entry = (JSONArray) item;
-                    if (name.equals(entry.get(TORRENT_NAME_INDEX))) {
-                        entries.add(entry);
-                    }
+    /**
+     * A torrent that uTorrent is downloading and the listeners that are
+     * waiting for it. Each pending download is locked independently, so
+     * listeners for one torrent never wait on another.
+     */
+    private static class PendingDownload {
+
+        private final Torrent torrent;
+        private final List<Callback> callbacks = Lists.newArrayList();
+        private File file;
+        private TorrentException error;
+        private boolean done;
+
+        PendingDownload(Torrent torrent) {
+            this.torrent = torrent;
+        }
+
+        Torrent getTorrent() {
+            return torrent;
+        }
+
+        void addListener(Torrent requested, TorrentListener listener) {
+            Callback callback = new Callback(requested, listener);
+            synchronized (this) {
+                if (!done) {
+                    callbacks.add(callback);
+                    return;
                 }
             }
+            callback.invoke(file, error);
         }
-        return entries;
-    }
-
-    private class Callback extends Pair<Torrent, TorrentListener> {
 
-        public Callback(Torrent torrent, TorrentListener listener) {
-            super(torrent, listener);
+        /** Notifies the listeners and returns how many of them threw. */
+        int complete(File downloadedFile) {
+            if (downloadedFile.canRead()) {
+                return finish(downloadedFile, null);
+            }
+            String message = "file is not readable at " +
+                             downloadedFile.getPath();
+            return finish(null, new TorrentException(message));
         }
 
-        public Torrent getTorrent() {
-            return left;
+        int fail(TorrentException e) {
+            return finish(null, e);
         }
 
-        public TorrentListener getListener() {
-            return right;
+        private int finish(File downloadedFile, TorrentException e) {
+            List<Callback> waiting;
+            synchronized (this) {
+                if (done) {
+                    return 0;
+                }
+                file = downloadedFile;
+                error = e;
+                done = true;
+                waiting = Lists.newArrayList(callbacks);
+                callbacks.clear();
+            }
+            int exceptions = 0;
+            for (Callback callback : waiting) {
+                if (!callback.invoke(downloadedFile, e)) {
+                    exceptions++;
+                }
+            }
+            return exceptions;
         }
     }
 
@@ -491,53 +716,56 @@ public class UTorrentClient {
                 String name = arguments.getFirst("name");
                 File file = new File(getCompletedDirectory(),
                                      arguments.getFirst("file"));
-                invokeCallbacks(name, file, out);
+                if (arguments.containsKey("hash")) {
+                    invokeCallbacks(arguments.getFirst("hash").toLowerCase(),
+                                    file, out);
+                } else {
+                    invokeNamedCallbacks(name, file, out);
+                }
             }
             out.flush();
             exchange.close();
         }
 
-        private void invokeCallbacks(String name, File file) {
-            try {
-                invokeCallbacks(name, file,
-                                new PrintWriter(new NullOutputStream()));
-            } catch (IOException e) {
-                logger.error("I/O error when invoking callbacks", e);
+        /**
+         * Completes the pending download of the torrent with the specified
+         * lower-case hexadecimal info hash, which uTorrent reports as %I.
+         */
+        private void invokeCallbacks(String hash, File file, PrintWriter out) {
+            int called = 0;
+            PendingDownload download = pendingDownloads.remove(hash);
+            if (download != null) {
+                called++;
+                completeLater(download, file);
             }
+
+            out.println(called + " downloads completed");
         }
- 
-        private void invokeCallbacks(String name, File file,
-                                     PrintWriter out) throws IOException {
-            boolean successful = file.canRead();
-            int called;
-            int exceptions = 0;
 
-            synchronized (callbackRegistry) {
-                Collection<Callback> callbacks = callbackRegistry.get(name);
-                called = callbacks.size();
-                for (Callback callback : callbacks) {
-                    Torrent torrent = callback.getTorrent();
-                    TorrentListener listener = callback.getListener();
-                    try {
-                        if (successful) {
-                            listener.fileDownloaded(torrent, file);
-                        } else {
-                            String error =
-                                "file is not readable at " + file.getPath();
-                            listener.downloadFailed(
-                                torrent, new TorrentException(error));
-                        }
-                    } catch (Exception e) {
-                        exceptions++;
-                        logger.error("callback for torrent " + name + " failed",
-                                     e);
-                    }
+        /**
+         * Completes the pending downloads of torrents with the specified name,
+         * for notifiers that do not report the info hash. Only downloads that
+         * the status cache shows are finished are completed, since a name may
+         * be shared by torrents that are not the finished one; the status
+         * refresher completes the rest.
+         */
+        private void invokeNamedCallbacks(String name, File file,
+                                          PrintWriter out) {
+            int called = 0;
+            for (Map.Entry<String, PendingDownload> entry :
+                    pendingDownloads.entrySet()) {
+                PendingDownload download = entry.getValue();
+                TorrentStatusCache.Status status =
+                    statusCache.get(entry.getKey());
+                if (name.equals(download.getTorrent().getName()) &&
+                        (status != null) && status.isComplete() &&
+                        pendingDownloads.remove(entry.getKey(), download)) {
+                    called++;
+                    completeLater(download, file);
                 }
-                callbackRegistry.removeAll(name);
             }
 
-            out.println(called + " callbacks processed; " +
-                        exceptions + " threw exceptions");
+            out.println(called + " downloads completed");
         }
 
         private String streamContents(InputStream in, String charset)
@@ -0,0 +1,22 @@
+package edu.berkeley.poseidon.util;
+
+import org.apache.cassandra.concurrent.NamedThreadFactory;
+
+/**
+ * A {@link NamedThreadFactory} whose threads do not prevent the JVM from
+ * exiting. The torrent classes are also used by Thrift clients, which should
+ * not have to shut down our pools explicitly.
+ */
+public class DaemonThreadFactory extends NamedThreadFactory {
+
+    public DaemonThreadFactory(String id) {
+        super(id);
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = super.newThread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -47,6 +47,7 @@ public class StageManager
     public final static String GOSSIP_STAGE = "GS";
     public static final String RESPONSE_STAGE = "RESPONSE-STAGE";
     public final static String AE_SERVICE_STAGE = "AE-SERVICE-STAGE";
+    public final static String TORRENT_PIECE_STAGE = "TORRENT-PIECE-STAGE";
     private static final String LOADBALANCE_STAGE = "LOAD-BALANCER-STAGE";
 
     static
@@ -54,6 +55,8 @@ public class StageManager
         stages.put(MUTATION_STAGE, multiThreadedConfigurableStage(MUTATION_STAGE, getConcurrentWriters()));
         stages.put(READ_STAGE, multiThreadedConfigurableStage(READ_STAGE, getConcurrentReaders()));        
         stages.put(RESPONSE_STAGE, multiThreadedStage("RESPONSE-STAGE", Math.max(2, Runtime.getRuntime().availableProcessors())));
+        // piece reads are kept off the read stage so that blob transfers do not delay row reads
+        stages.put(TORRENT_PIECE_STAGE, multiThreadedStage(TORRENT_PIECE_STAGE, Math.max(2, Runtime.getRuntime().availableProcessors())));
         // the rest are all single-threaded
         stages.put(STREAM_STAGE, new JMXEnabledThreadPoolExecutor(STREAM_STAGE));
         stages.put(GOSSIP_STAGE, new JMXEnabledThreadPoolExecutor("GMFD"));
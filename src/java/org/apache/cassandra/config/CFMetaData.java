@@ -21,10 +21,14 @@ package org.apache.cassandra.config;
 import org.apache.cassandra.db.marshal.AbstractType;
 import org.apache.cassandra.utils.FBUtilities;
 
+import edu.berkeley.poseidon.BlobDurability;
+
 public final class CFMetaData
 {
     public final static double DEFAULT_KEY_CACHE_SIZE = 200000;
     public final static double DEFAULT_ROW_CACHE_SIZE = 0.0;
+    public final static int DEFAULT_TORRENT_THRESHOLD = 0;
+    public final static BlobDurability DEFAULT_BLOB_DURABILITY = BlobDurability.BLOB;
 
     public final String tableName;            // name of table which has this column family
     public final String cfName;               // name of the column family
@@ -36,9 +40,19 @@ public final class CFMetaData
     public final double keyCacheSize; // default 0.01
     public final int rowCacheSavePeriodInSeconds; //default 0 (off)
     public final int keyCacheSavePeriodInSeconds; //default 0 (off)
+    public final int torrentThreshold; // values larger than this many bytes are torrentized; default 0 (off)
+    public final BlobDurability blobDurability; // when replicas ack mutations that refer to blobs; default BLOB
 
     CFMetaData(String tableName, String cfName, String columnType, AbstractType comparator, AbstractType subcolumnComparator,
                String comment, double rowCacheSize, double keyCacheSize, int rowCacheSavePeriodInSeconds, int keyCacheSavePeriodInSeconds)
+    {
+        this(tableName, cfName, columnType, comparator, subcolumnComparator, comment, rowCacheSize, keyCacheSize,
+             rowCacheSavePeriodInSeconds, keyCacheSavePeriodInSeconds, DEFAULT_TORRENT_THRESHOLD, DEFAULT_BLOB_DURABILITY);
+    }
+
+    CFMetaData(String tableName, String cfName, String columnType, AbstractType comparator, AbstractType subcolumnComparator,
+               String comment, double rowCacheSize, double keyCacheSize, int rowCacheSavePeriodInSeconds, int keyCacheSavePeriodInSeconds,
+               int torrentThreshold, BlobDurability blobDurability)
     {
         this.tableName = tableName;
         this.cfName = cfName;
@@ -50,6 +64,8 @@ public final class CFMetaData
         this.keyCacheSize = keyCacheSize;
         this.rowCacheSavePeriodInSeconds = rowCacheSavePeriodInSeconds;
         this.keyCacheSavePeriodInSeconds = keyCacheSavePeriodInSeconds;
+        this.torrentThreshold = torrentThreshold;
+        this.blobDurability = blobDurability;
     }
 
     // a quick and dirty pretty printer for describing the column family...
@@ -74,6 +90,8 @@ public final class CFMetaData
                 && other.rowCacheSize == rowCacheSize
                 && other.keyCacheSize == keyCacheSize
                 && other.rowCacheSavePeriodInSeconds == rowCacheSavePeriodInSeconds
-                && other.keyCacheSavePeriodInSeconds == keyCacheSavePeriodInSeconds;
+                && other.keyCacheSavePeriodInSeconds == keyCacheSavePeriodInSeconds
+                && other.torrentThreshold == torrentThreshold
+                && other.blobDurability == blobDurability;
     }
 }
@@ -50,6 +50,10 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
+import edu.berkeley.poseidon.BlobDurability;
+import edu.berkeley.poseidon.BlobStore;
+import edu.berkeley.poseidon.PendingMutations;
+
 public class DatabaseDescriptor
 {
     private static Logger logger = Logger.getLogger(DatabaseDescriptor.class);
@@ -74,6 +78,19 @@ public class DatabaseDescriptor
     private static int torrentListenPort = 8081;
     private static InetAddress torrentListenAddress;
 
+    /* "utorrent" drives an external uTorrent server; "embedded" exchanges pieces in-process */
+    private static String torrentEngine = "utorrent";
+    private static int torrentPeerPort = 6881;
+    private static InetAddress torrentPeerAddress;
+    private static String torrentDataDirectory = "active-data/torrents";
+    /* how many blobs are downloaded at once, and how many may wait before writes are pushed back */
+    private static int torrentConcurrentDownloads = 8;
+    private static int torrentMaxQueuedDownloads = 1024;
+    /* whether repairs verify the blobs that rows refer to against their piece hashes */
+    private static boolean torrentRepairVerifiesBlobs = false;
+    /* whether placed values hold their torrents in the compact binary encoding instead of bencoding */
+    private static boolean torrentCompactMetadata = false;
+
     public static final String random = "RANDOM";
     public static final String ophf = "OPHF";
     private static int storagePort = 7000;
@@ -416,6 +433,50 @@ public class DatabaseDescriptor
             if (port != null)
                 torrentListenPort = Integer.parseInt(port);
 
+            /* which BitTorrent engine transfers blobs */
+            String engine = xmlUtils.getNodeValue("/Storage/TorrentEngine");
+            if (engine != null)
+            {
+                if (!engine.equalsIgnoreCase("utorrent") && !engine.equalsIgnoreCase("embedded"))
+                    throw new ConfigurationException("TorrentEngine must be either 'utorrent' or 'embedded'");
+                torrentEngine = engine.toLowerCase();
+            }
+
+            /* address and port on which the embedded engine serves pieces */
+            addr = xmlUtils.getNodeValue("/Storage/TorrentPeerAddress");
+            if (addr != null)
+                torrentPeerAddress = InetAddress.getByName(addr);
+
+            port = xmlUtils.getNodeValue("/Storage/TorrentPeerPort");
+            if (port != null)
+                torrentPeerPort = Integer.parseInt(port);
+
+            /* where the embedded engine keeps active and completed downloads */
+            String torrentDirectory = xmlUtils.getNodeValue("/Storage/TorrentDataDirectory");
+            if (torrentDirectory != null)
+                torrentDataDirectory = torrentDirectory;
+
+            /* bounds on blob downloads */
+            String rawDownloads = xmlUtils.getNodeValue("/Storage/TorrentConcurrentDownloads");
+            if (rawDownloads != null)
+                torrentConcurrentDownloads = Integer.parseInt(rawDownloads);
+            if (torrentConcurrentDownloads < 1)
+                throw new ConfigurationException("TorrentConcurrentDownloads must be at least 1");
+
+            rawDownloads = xmlUtils.getNodeValue("/Storage/TorrentMaxQueuedDownloads");
+            if (rawDownloads != null)
+                torrentMaxQueuedDownloads = Integer.parseInt(rawDownloads);
+            if (torrentMaxQueuedDownloads < 1)
+                throw new ConfigurationException("TorrentMaxQueuedDownloads must be at least 1");
+
+            String verifiesBlobs = xmlUtils.getNodeValue("/Storage/TorrentRepairVerifiesBlobs");
+            if (verifiesBlobs != null)
+                torrentRepairVerifiesBlobs = Boolean.valueOf(verifiesBlobs);
+
+            String compactMetadata = xmlUtils.getNodeValue("/Storage/TorrentCompactMetadata");
+            if (compactMetadata != null)
+                torrentCompactMetadata = Boolean.valueOf(compactMetadata);
+
             /* Local IP or hostname to bind thrift server to */
             String thriftAddr = xmlUtils.getNodeValue("/Storage/ThriftAddress");
             if ( thriftAddr != null )
@@ -582,6 +643,28 @@ public class DatabaseDescriptor
                                                                                     DEFAULT_ROW_CACHE_SAVE_PERIOD_IN_SECONDS,
                                                                                     DEFAULT_KEY_CACHE_SAVE_PERIOD_IN_SECONDS));
 
+            systemMeta.cfMetaData.put(BlobStore.REFERENCES_CF, new CFMetaData(Table.SYSTEM_TABLE,
+                                                                              BlobStore.REFERENCES_CF,
+                                                                              "Standard",
+                                                                              new BytesType(),
+                                                                              null,
+                                                                              "references from torrent columns to local blobs",
+                                                                              0.0,
+                                                                              0.01,
+                                                                              DEFAULT_ROW_CACHE_SAVE_PERIOD_IN_SECONDS,
+                                                                              DEFAULT_KEY_CACHE_SAVE_PERIOD_IN_SECONDS));
+
+            systemMeta.cfMetaData.put(PendingMutations.PENDING_CF, new CFMetaData(Table.SYSTEM_TABLE,
+                                                                                  PendingMutations.PENDING_CF,
+                                                                                  "Standard",
+                                                                                  new BytesType(),
+                                                                                  null,
+                                                                                  "mutations waiting for their blobs",
+                                                                                  0.0,
+                                                                                  0.01,
+                                                                                  DEFAULT_ROW_CACHE_SAVE_PERIOD_IN_SECONDS,
+                                                                                  DEFAULT_KEY_CACHE_SAVE_PERIOD_IN_SECONDS));
+
             /* Load the seeds for node contact points */
             String[] seedsxml = xmlUtils.getNodeValues("/Storage/Seeds/Seed");
             if (seedsxml.length <= 0)
@@ -780,6 +863,42 @@ public class DatabaseDescriptor
                         rowCacheSize = FBUtilities.parseDoubleOrPercent(value);
                     }
 
+                    // Values larger than the threshold are stored as torrents
+                    int torrentThreshold = CFMetaData.DEFAULT_TORRENT_THRESHOLD;
+                    if ((value = XMLUtils.getAttributeValue(columnFamily, "TorrentThreshold")) != null)
+                    {
+                        try
+                        {
+                            torrentThreshold = Integer.parseInt(value);
+                        }
+                        catch (NumberFormatException e)
+                        {
+                            throw new ConfigurationException("TorrentThreshold must be a non-negative integer");
+                        }
+                        if (torrentThreshold < 0)
+                        {
+                            throw new ConfigurationException("TorrentThreshold must be a non-negative integer");
+                        }
+                        if (torrentThreshold > 0 && columnType.equals("Super"))
+                        {
+                            throw new ConfigurationException("TorrentThreshold is only a valid attribute on regular columnfamilies (not super columnfamily " + cfName + ")");
+                        }
+                    }
+
+                    // When replicas acknowledge mutations that refer to blobs
+                    BlobDurability blobDurability = CFMetaData.DEFAULT_BLOB_DURABILITY;
+                    if ((value = XMLUtils.getAttributeValue(columnFamily, "BlobDurability")) != null)
+                    {
+                        try
+                        {
+                            blobDurability = BlobDurability.valueOf(value.toUpperCase());
+                        }
+                        catch (IllegalArgumentException e)
+                        {
+                            throw new ConfigurationException("BlobDurability must be either 'Metadata' or 'Blob'");
+                        }
+                    }
+
                     // Parse out user-specified logical names for the various dimensions
                     // of a the column family from the config.
                     String comment = xmlUtils.getNodeValue(xqlCF + "Comment");
@@ -789,7 +908,7 @@ public class DatabaseDescriptor
                     String keyCacheSavePeriodString = XMLUtils.getAttributeValue(columnFamily, "KeyCacheSavePeriodInSeconds");
                     int rowCacheSavePeriod = keyCacheSavePeriodString != null ? Integer.valueOf(keyCacheSavePeriodString) : DEFAULT_KEY_CACHE_SAVE_PERIOD_IN_SECONDS;
                     int keyCacheSavePeriod = rowCacheSavePeriodString != null ? Integer.valueOf(rowCacheSavePeriodString) : DEFAULT_ROW_CACHE_SAVE_PERIOD_IN_SECONDS;
-                    meta.cfMetaData.put(cfName, new CFMetaData(tableName, cfName, columnType, comparator, subcolumnComparator, comment, rowCacheSize, keyCacheSize, keyCacheSavePeriod, rowCacheSavePeriod));
+                    meta.cfMetaData.put(cfName, new CFMetaData(tableName, cfName, columnType, comparator, subcolumnComparator, comment, rowCacheSize, keyCacheSize, keyCacheSavePeriod, rowCacheSavePeriod, torrentThreshold, blobDurability));
                 }
 
                 tables.put(meta.name, meta);
@@ -1216,6 +1335,46 @@ public class DatabaseDescriptor
         return torrentListenAddress;
     }
 
+    public static boolean isEmbeddedTorrentEngine()
+    {
+        return torrentEngine.equals("embedded");
+    }
+
+    public static InetAddress getTorrentPeerAddress()
+    {
+        return torrentPeerAddress == null ? FBUtilities.getLocalAddress() : torrentPeerAddress;
+    }
+
+    public static int getTorrentPeerPort()
+    {
+        return torrentPeerPort;
+    }
+
+    public static String getTorrentDataDirectory()
+    {
+        return torrentDataDirectory;
+    }
+
+    public static int getTorrentConcurrentDownloads()
+    {
+        return torrentConcurrentDownloads;
+    }
+
+    public static int getTorrentMaxQueuedDownloads()
+    {
+        return torrentMaxQueuedDownloads;
+    }
+
+    public static boolean getTorrentRepairVerifiesBlobs()
+    {
+        return torrentRepairVerifiesBlobs;
+    }
+
+    public static boolean getTorrentCompactMetadata()
+    {
+        return torrentCompactMetadata;
+    }
+
     public static InetAddress getListenAddress()
     {
         return listenAddress;
@@ -45,10 +45,14 @@ import org.apache.cassandra.utils.FBUtilities;
 import org.apache.log4j.Logger;
 import org.cliffc.high_scale_lib.NonBlockingHashMap;
 
+import edu.berkeley.poseidon.BlobStore;
+
 public class CompactionManager implements CompactionManagerMBean
 {
     public static final String MBEAN_OBJECT_NAME = "org.apache.cassandra.db:type=CompactionManager";
     private static final Logger logger = Logger.getLogger(CompactionManager.class);
+    /* the read buffer of the scans for the torrent columns of rows that cleanup drops */
+    private static final int CLEANUP_SCAN_BUFFER_SIZE = 1024 * 1024;
     public static final CompactionManager instance;
 
     private int minimumCompactionThreshold = 4; // compact this many sstables min at a time
@@ -275,6 +279,9 @@ public class CompactionManager implements CompactionManagerMBean
 
         SSTableWriter writer;
         CompactionIterator ci = new CompactionIterator(cfs, sstables, gcBefore, major); // retain a handle so we can call close()
+        BlobStore.Changes droppedReferences = null;
+        if (StorageService.blobStore != null && !cfs.getTable().name.equals(Table.SYSTEM_TABLE))
+            droppedReferences = ci.collectDroppedReferences(StorageService.blobStore);
         Iterator<CompactionIterator.CompactedRow> nni = new FilterIterator(ci, PredicateUtils.notNullPredicate());
         executor.beginCompaction(cfs, ci);
 
@@ -286,6 +293,7 @@ public class CompactionManager implements CompactionManagerMBean
                 // we need to sync it (via closeAndOpen) first, so there is no period during which
                 // a crash could cause data loss.
                 cfs.markCompacted(sstables);
+                releaseDroppedReferences(droppedReferences);
                 return 0;
             }
 
@@ -312,6 +320,7 @@ public class CompactionManager implements CompactionManagerMBean
 
         SSTableReader ssTable = writer.closeAndOpenReader();
         cfs.replaceCompactedSSTables(sstables, Arrays.asList(ssTable));
+        releaseDroppedReferences(droppedReferences);
         submitMinorIfNeeded(cfs);
 
         String format = "Compacted to %s.  %d/%d bytes for %d keys.  Time: %dms.";
@@ -407,11 +416,49 @@ public class CompactionManager implements CompactionManagerMBean
     private void doCleanupCompaction(ColumnFamilyStore cfs) throws IOException
     {
         Collection<SSTableReader> originalSSTables = cfs.getSSTables();
-        List<SSTableReader> sstables = doAntiCompaction(cfs, originalSSTables, StorageService.instance.getLocalRanges(cfs.getTable().name), null);
+        Collection<Range> ranges = StorageService.instance.getLocalRanges(cfs.getTable().name);
+        List<SSTableReader> sstables = doAntiCompaction(cfs, originalSSTables, ranges, null);
         if (!sstables.isEmpty())
         {
+            // the rows this node no longer owns no longer refer to their blobs
+            BlobStore.Changes droppedReferences = collectCleanedReferences(cfs, originalSSTables, ranges);
             cfs.replaceCompactedSSTables(originalSSTables, sstables);
+            releaseDroppedReferences(droppedReferences);
+        }
+    }
+
+    /**
+     * Collects the references of the torrent columns in the rows of the given sstables that are
+     * outside of the ranges, which cleanup drops.  Only the dropped rows are read.
+     */
+    private static BlobStore.Changes collectCleanedReferences(ColumnFamilyStore cfs, Collection<SSTableReader> sstables, Collection<Range> ranges)
+            throws IOException
+    {
+        if (StorageService.blobStore == null || cfs.getTable().name.equals(Table.SYSTEM_TABLE))
+            return null;
+        String table = cfs.getTable().name;
+        BlobStore.Changes droppedReferences = new BlobStore.Changes();
+        for (SSTableReader sstable : sstables)
+        {
+            SSTableScanner scanner = sstable.getScanner(CLEANUP_SCAN_BUFFER_SIZE);
+            try
+            {
+                while (scanner.hasNext())
+                {
+                    IteratingRow row = scanner.next();
+                    if (Range.isTokenInRanges(row.getKey().token, ranges))
+                        continue;
+                    List<IColumn> referring = new ArrayList<IColumn>();
+                    BlobStore.collectReferringColumns(table, row.getColumnFamily(), referring);
+                    StorageService.blobStore.prepareDropped(table, cfs.getColumnFamilyName(), row.getKey().key, referring, null, droppedReferences);
+                }
+            }
+            finally
+            {
+                scanner.close();
+            }
         }
+        return droppedReferences;
     }
 
     /**
@@ -485,6 +532,21 @@ public class CompactionManager implements CompactionManagerMBean
         return buckets.keySet();
     }
 
+    private static void releaseDroppedReferences(BlobStore.Changes droppedReferences)
+    {
+        if (droppedReferences == null || droppedReferences.isEmpty())
+            return;
+        try
+        {
+            StorageService.blobStore.release(droppedReferences);
+        }
+        catch (IOException e)
+        {
+            // the compaction itself is complete; the blobs are left for the next scan for orphans
+            logger.error("Failed to release the blobs of discarded torrent columns", e);
+        }
+    }
+
     public static int getDefaultGCBefore()
     {
         return (int)(System.currentTimeMillis() / 1000) - DatabaseDescriptor.getGcGraceInSeconds();
@@ -43,9 +43,13 @@ import org.apache.cassandra.net.MessagingService;
 import org.apache.cassandra.service.*;
 import org.apache.cassandra.thrift.InvalidRequestException;
 import org.apache.cassandra.db.filter.QueryPath;
+import org.apache.cassandra.utils.FBUtilities;
 import org.apache.cassandra.utils.WrappedRunnable;
 import org.cliffc.high_scale_lib.NonBlockingHashSet;
 
+import edu.berkeley.poseidon.BlobDurability;
+import edu.berkeley.poseidon.RowMutationTorrentVerbHandler;
+
 
 /**
  * For each table (keyspace), there is a row in the system hints CF.
@@ -76,6 +80,12 @@ import org.cliffc.high_scale_lib.NonBlockingHashSet;
  *
  * runDelieverHints() is called when some other node starts up (potentially
  * from a failure) and delivers the hinted data just to that node.
+ *
+ * Hinted rows are delivered as torrent mutations, naming this node as a seeder
+ * of their blobs, and are acknowledged once applied (see makeHintMessage). The
+ * BlobStore pins the blobs when the hint is stored, and they are unpinned once the
+ * row has been delivered to the last endpoint it was hinted for; the target then
+ * fetches them from the replicas or from this node within the reap delay.
  */
 
 public class HintedHandOffManager
@@ -98,7 +108,7 @@ public class HintedHandOffManager
         executor_ = new JMXEnabledThreadPoolExecutor("HINTED-HANDOFF-POOL", hhPriority);
     }
 
-    private static boolean sendMessage(InetAddress endPoint, String tableName, String key) throws IOException
+    private static boolean sendMessage(InetAddress endPoint, String tableName, String key, boolean lastEndPoint) throws IOException
     {
         if (!Gossiper.instance.isKnownEndpoint(endPoint))
         {
@@ -130,8 +140,7 @@ public class HintedHandOffManager
                 startColumn = cf.getColumnNames().last();
                 RowMutation rm = new RowMutation(tableName, key);
                 rm.add(cf);
-                // FIXME(pathorn): Should this use MUTATION_TORRENT or MUTATION?
-                Message message = rm.makeRowMutationMessage();
+                Message message = makeHintMessage(rm);
                 WriteResponseHandler responseHandler = new WriteResponseHandler(1, tableName);
                 MessagingService.instance.sendRR(message, new InetAddress[] { endPoint }, responseHandler);
                 try
@@ -142,11 +151,27 @@ public class HintedHandOffManager
                 {
                     return false;
                 }
+                if (lastEndPoint && StorageService.blobStore != null)
+                    StorageService.blobStore.unpin(tableName, key, cf);
             }
         }
         return true;
     }
 
+    /**
+     * Hints go out through the torrent path, which fetches the blobs of the row from this node.
+     * The target acknowledges once the row is applied and downloads the blobs in the background,
+     * whatever the durability of the column family: waiting for a large blob would outlast the
+     * rpc timeout, and the hint would be retried forever without ever being unpinned.
+     */
+    static Message makeHintMessage(RowMutation rm) throws IOException
+    {
+        Message message = rm.makeRowMutationMessage(StorageService.Verb.MUTATION_TORRENT);
+        message.setHeader(RowMutationTorrentVerbHandler.SEEDER, FBUtilities.getLocalAddress().getAddress());
+        BlobDurability.METADATA.setHeader(message);
+        return message;
+    }
+
     private static void deleteEndPoint(byte[] endpointAddress, String tableName, byte[] key, long timestamp) throws IOException
     {
         RowMutation rm = new RowMutation(Table.SYSTEM_TABLE, tableName);
@@ -198,7 +223,7 @@ public class HintedHandOffManager
                     Collection<IColumn> endpoints = keyColumn.getSubColumns();
                     for (IColumn hintEndPoint : endpoints)
                     {
-                        if (Arrays.equals(hintEndPoint.name(), targetEPBytes) && sendMessage(endPoint, tableName, keyStr))
+                        if (Arrays.equals(hintEndPoint.name(), targetEPBytes) && sendMessage(endPoint, tableName, keyStr, endpoints.size() == 1))
                         {
                             rowsReplayed++;
                             if (endpoints.size() == 1)
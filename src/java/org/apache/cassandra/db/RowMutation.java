@@ -45,6 +45,8 @@ import org.apache.cassandra.db.filter.QueryPath;
 import org.apache.cassandra.config.DatabaseDescriptor;
 import org.apache.cassandra.concurrent.StageManager;
 
+import edu.berkeley.poseidon.BlobDurability;
+
 public class RowMutation
 {
     private static ICompactSerializer<RowMutation> serializer_;
@@ -219,7 +221,10 @@ public class RowMutation
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         DataOutputStream dos = new DataOutputStream(bos);
         serializer().serialize(this, dos);
-        return new Message(FBUtilities.getLocalAddress(), StageManager.MUTATION_STAGE, verb, bos.toByteArray());
+        Message message = new Message(FBUtilities.getLocalAddress(), StageManager.MUTATION_STAGE, verb, bos.toByteArray());
+        if (verb == StorageService.Verb.MUTATION_TORRENT)
+            BlobDurability.of(this).setHeader(message);
+        return message;
     }
 
     public static RowMutation getRowMutationFromMutations(String keyspace, String key, Map<String, List<Mutation>> cfmap)
@@ -29,6 +29,7 @@ import org.apache.cassandra.net.Message;
 import org.apache.log4j.Logger;
 
 import org.apache.cassandra.net.*;
+import org.apache.cassandra.service.StorageService;
 import org.apache.cassandra.utils.FBUtilities;
 
 public class RowMutationVerbHandler implements IVerbHandler
@@ -51,6 +52,9 @@ public class RowMutationVerbHandler implements IVerbHandler
             if (hintedBytes != null)
             {
                 assert hintedBytes.length > 0;
+                // the blobs of the hinted columns are kept here to be seeded to the replicas when they recover
+                if (StorageService.blobStore != null)
+                    StorageService.blobStore.pin(rm);
                 ByteBuffer bb = ByteBuffer.wrap(hintedBytes);
                 byte[] addressBytes = new byte[FBUtilities.getLocalAddress().getAddress().length];
                 while (bb.remaining() > 0)
@@ -38,8 +38,11 @@ import org.apache.cassandra.utils.FBUtilities;
 import org.apache.cassandra.db.ColumnFamily;
 import org.apache.cassandra.db.DecoratedKey;
 import org.apache.cassandra.db.ColumnFamilyStore;
+import org.apache.cassandra.db.IColumn;
 import org.apache.cassandra.io.util.DataOutputBuffer;
 
+import edu.berkeley.poseidon.BlobStore;
+
 public class CompactionIterator extends ReducingIterator<IteratingRow, CompactionIterator.CompactedRow> implements Closeable
 {
     private static Logger logger = Logger.getLogger(CompactionIterator.class);
@@ -55,6 +58,9 @@ public class CompactionIterator extends ReducingIterator<IteratingRow, Compactio
     private long bytesRead;
     private long row;
 
+    private BlobStore blobStore;
+    private BlobStore.Changes droppedReferences;
+
     public CompactionIterator(ColumnFamilyStore cfs, Iterable<SSTableReader> sstables, int gcBefore, boolean major) throws IOException
     {
         this(cfs, getCollatingIterator(sstables), gcBefore, major);
@@ -75,6 +81,17 @@ public class CompactionIterator extends ReducingIterator<IteratingRow, Compactio
         this.major = major;
     }
 
+    /**
+     * Collects the blob references of the torrent columns that this compaction discards.
+     * They must only be released once the compacted sstables have replaced their inputs.
+     */
+    public BlobStore.Changes collectDroppedReferences(BlobStore blobStore)
+    {
+        this.blobStore = blobStore;
+        droppedReferences = new BlobStore.Changes();
+        return droppedReferences;
+    }
+
     @SuppressWarnings("unchecked")
     protected static CollatingIterator getCollatingIterator(Iterable<SSTableReader> sstables) throws IOException
     {
@@ -112,6 +129,8 @@ public class CompactionIterator extends ReducingIterator<IteratingRow, Compactio
         {
             if (rows.size() > 1 || shouldPurge)
             {
+                // merging replaces the columns of the first version, so the torrent columns are noted first
+                List<IColumn> referring = blobStore == null ? null : new ArrayList<IColumn>();
                 ColumnFamily cf = null;
                 for (IteratingRow row : rows)
                 {
@@ -125,6 +144,8 @@ public class CompactionIterator extends ReducingIterator<IteratingRow, Compactio
                         logger.error("Skipping row " + key + " in " + row.getPath(), e);
                         continue;
                     }
+                    if (referring != null)
+                        BlobStore.collectReferringColumns(cfs.getTable().name, thisCF, referring);
                     if (cf == null)
                     {
                         cf = thisCF;
@@ -135,6 +156,8 @@ public class CompactionIterator extends ReducingIterator<IteratingRow, Compactio
                     }
                 }
                 ColumnFamily cfPurged = shouldPurge ? ColumnFamilyStore.removeDeleted(cf, gcBefore) : cf;
+                if (referring != null && !referring.isEmpty())
+                    blobStore.prepareDropped(cfs.getTable().name, cfs.getColumnFamilyName(), key.key, referring, cfPurged, droppedReferences);
                 if (cfPurged == null)
                     return null;
                 ColumnFamily.serializer().serializeWithIndexes(cfPurged, buffer);
@@ -26,6 +26,7 @@ import java.util.concurrent.*;
 import org.apache.cassandra.concurrent.StageManager;
 import org.apache.cassandra.config.DatabaseDescriptor;
 import org.apache.cassandra.db.CompactionManager;
+import org.apache.cassandra.db.ColumnFamily;
 import org.apache.cassandra.db.ColumnFamilyStore;
 import org.apache.cassandra.db.DecoratedKey;
 import org.apache.cassandra.db.Table;
@@ -33,6 +34,7 @@ import org.apache.cassandra.dht.Range;
 import org.apache.cassandra.dht.Token;
 import org.apache.cassandra.io.CompactionIterator.CompactedRow;
 import org.apache.cassandra.io.ICompactSerializer;
+import org.apache.cassandra.io.IndexHelper;
 import org.apache.cassandra.io.IndexSummary;
 import org.apache.cassandra.io.SSTableReader;
 import org.apache.cassandra.streaming.StreamOut;
@@ -42,6 +44,7 @@ import org.apache.cassandra.net.MessagingService;
 import org.apache.cassandra.streaming.StreamOutManager;
 import org.apache.cassandra.utils.*;
 
+import org.apache.commons.lang.ArrayUtils;
 import org.apache.log4j.Logger;
 
 /**
@@ -257,6 +260,8 @@ public class AntiEntropyService
         private transient long validated;
         private transient MerkleTree.TreeRange range;
         private transient MerkleTree.TreeRangeIterator ranges;
+        // whether the blobs of each info hash are intact, when repair verifies blobs
+        private transient Map<String, Boolean> blobs;
 
         public final static MerkleTree.RowHash EMPTY_ROW = new MerkleTree.RowHash(null, new byte[0]);
         
@@ -278,6 +283,14 @@ public class AntiEntropyService
             validated = 0;
             range = null;
             ranges = null;
+            blobs = verifiesBlobs(cf) ? new HashMap<String, Boolean>() : null;
+        }
+
+        private static boolean verifiesBlobs(CFPair cf)
+        {
+            return DatabaseDescriptor.getTorrentRepairVerifiesBlobs()
+                   && StorageService.blobStore != null
+                   && !cf.left.equals(Table.SYSTEM_TABLE);
         }
         
         public void prepare(ColumnFamilyStore cfs)
@@ -361,10 +374,42 @@ public class AntiEntropyService
         {
             validated++;
             // MerkleTree uses XOR internally, so we want lots of output bits here
-            byte[] rowhash = FBUtilities.hash("SHA-256", row.key.key.getBytes(), row.buffer.getData());
+            byte[] damaged = damagedBlobs(row);
+            byte[] rowhash = damaged.length == 0
+                             ? FBUtilities.hash("SHA-256", row.key.key.getBytes(), row.buffer.getData())
+                             : FBUtilities.hash("SHA-256", row.key.key.getBytes(), row.buffer.getData(), damaged);
             return new MerkleTree.RowHash(row.key.token, rowhash);
         }
 
+        /**
+         * Returns the info hashes of the blobs of the row that are missing or corrupt
+         * on this node, and starts repairing them. Rows whose blobs are intact hash
+         * as they would without verification, so only damaged replicas differ.
+         */
+        private byte[] damagedBlobs(CompactedRow row)
+        {
+            if (blobs == null)
+                return ArrayUtils.EMPTY_BYTE_ARRAY;
+            try
+            {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(row.buffer.getData(), 0, row.buffer.getLength()));
+                IndexHelper.skipBloomFilter(in);
+                IndexHelper.skipIndex(in);
+                ColumnFamily columns = ColumnFamily.create(cf.left, cf.right);
+                ColumnFamily.serializer().deserializeFromSSTableNoColumns(columns, in);
+                int size = in.readInt();
+                for (int i = 0; i < size; i++)
+                    columns.addColumn(columns.getColumnSerializer().deserialize(in));
+                return StorageService.blobStore.verifyRow(cf.left, row.key.key, columns, blobs);
+            }
+            catch (IOException e)
+            {
+                // hash the row as if its blobs were intact
+                logger.warn("Failed to verify the blobs of row " + row.key.key + " in " + cf, e);
+                return ArrayUtils.EMPTY_BYTE_ARRAY;
+            }
+        }
+
         /**
          * Registers the newly created tree for rendezvous in AE_SERVICE_STAGE.
          */
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.lang.reflect.Constructor;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
 import java.util.*;
 import java.util.concurrent.*;
@@ -33,10 +34,16 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 
+import edu.berkeley.poseidon.BlobStore;
 import edu.berkeley.poseidon.RowMutationTorrentVerbHandler;
+import edu.berkeley.poseidon.TorrentPieceVerbHandler;
+import edu.berkeley.poseidon.torrent.Bdecoder;
+import edu.berkeley.poseidon.torrent.EmbeddedTorrentClient;
+import edu.berkeley.poseidon.torrent.RingPeerSource;
+import edu.berkeley.poseidon.torrent.ScheduledTorrentClient;
+import edu.berkeley.poseidon.torrent.TorrentDecoder;
 import edu.berkeley.poseidon.torrent.TorrentException;
 import edu.berkeley.poseidon.torrent.Torrents;
-import edu.berkeley.poseidon.torrent.UTorrentClient;
 
 import org.apache.commons.lang.StringUtils;
 
@@ -115,6 +122,7 @@ public class StorageService implements IEndPointStateChangeSubscriber, StorageSe
         GOSSIP_DIGEST_ACK,
         GOSSIP_DIGEST_ACK2,
         MUTATION_TORRENT,
+        TORRENT_PIECE,
         ;
         // remember to add new verbs at the end, since we serialize by ordinal
     }
@@ -128,7 +136,10 @@ public class StorageService implements IEndPointStateChangeSubscriber, StorageSe
         return partitioner_;
     }
 
-    public static UTorrentClient torrentClient = null;
+    /* the torrent engine behind a scheduler that bounds its concurrent downloads */
+    public static ScheduledTorrentClient torrentClient = null;
+    /* the references to the blobs on this node, which compaction releases as well as mutations */
+    public static BlobStore blobStore = null;
 
     public Collection<Range> getLocalRanges(String table)
     {
@@ -221,15 +232,21 @@ public class StorageService implements IEndPointStateChangeSubscriber, StorageSe
         
         if (torrentClient == null) {
             try {
-                torrentClient = Torrents.createUTorrentClient();
+                torrentClient = new ScheduledTorrentClient(Torrents.createTorrentClient(),
+                                                           DatabaseDescriptor.getTorrentConcurrentDownloads(),
+                                                           DatabaseDescriptor.getTorrentMaxQueuedDownloads());
             } catch (TorrentException e) {
                 //throw new RuntimeException("Unable to create Torrent client!", e);
             }
         }
+        if (blobStore == null)
+            blobStore = new BlobStore(torrentClient, new TorrentDecoder(new Bdecoder()));
         
         /* register the verb handlers */
         MessagingService.instance.registerVerbHandlers(Verb.BINARY, new BinaryVerbHandler());
-        MessagingService.instance.registerVerbHandlers(Verb.MUTATION_TORRENT, new RowMutationTorrentVerbHandler(torrentClient));
+        MessagingService.instance.registerVerbHandlers(Verb.MUTATION_TORRENT, new RowMutationTorrentVerbHandler(torrentClient, blobStore));
+        if (torrentClient != null && torrentClient.getClient() instanceof EmbeddedTorrentClient)
+            MessagingService.instance.registerVerbHandlers(Verb.TORRENT_PIECE, new TorrentPieceVerbHandler((EmbeddedTorrentClient) torrentClient.getClient()));
         MessagingService.instance.registerVerbHandlers(Verb.MUTATION, new RowMutationVerbHandler());
         MessagingService.instance.registerVerbHandlers(Verb.READ_REPAIR, new ReadRepairVerbHandler());
         MessagingService.instance.registerVerbHandlers(Verb.READ, new ReadVerbHandler());
@@ -353,6 +370,15 @@ public class StorageService implements IEndPointStateChangeSubscriber, StorageSe
         // (we won't be part of the storage ring though until we add a nodeId to our state, below.)
         Gossiper.instance.register(this);
         Gossiper.instance.start(FBUtilities.getLocalAddress(), storageMetadata_.getGeneration()); // needed for node-ring gathering.
+        // replicas find each other's embedded torrent engines through gossip rather than a tracker
+        if (DatabaseDescriptor.isEmbeddedTorrentEngine())
+            RingPeerSource.instance.advertise(new InetSocketAddress(DatabaseDescriptor.getTorrentPeerAddress(), DatabaseDescriptor.getTorrentPeerPort()));
+        // the commit log has been replayed, so the blobs that live data refers to are known
+        blobStore.scheduleOrphanScans();
+        // mutations that were waiting for blobs when this node stopped are only in their journal
+        ((RowMutationTorrentVerbHandler) MessagingService.instance.getVerbHandler(Verb.MUTATION_TORRENT)).resumePending();
+        // as are the downloads of mutations that were applied before their blobs arrived
+        blobStore.resumeDownloads();
 
         MessagingService.instance.listen(FBUtilities.getLocalAddress());
 
@@ -35,6 +35,8 @@ import org.apache.cassandra.streaming.IStreamComplete;
 import org.apache.cassandra.streaming.StreamInManager;
 import org.apache.cassandra.service.StorageService;
 
+import edu.berkeley.poseidon.BlobFetcher;
+
 /**
  * This is the callback handler that is invoked when we have
  * completely received a single file from a remote host.
@@ -45,7 +47,7 @@ class StreamCompletionHandler implements IStreamComplete
 {
     private static Logger logger = Logger.getLogger(StreamCompletionHandler.class);
 
-    public void onStreamCompletion(InetAddress host, PendingFile pendingFile, CompletedFileStatus streamStatus) throws IOException
+    public void onStreamCompletion(final InetAddress host, final PendingFile pendingFile, CompletedFileStatus streamStatus) throws IOException
     {
         /* Parse the stream context and the file to the list of SSTables in the associated Column Family Store. */
         if (pendingFile.getTargetFile().contains("-Data.db"))
@@ -62,6 +64,8 @@ class StreamCompletionHandler implements IStreamComplete
                 //TODO add a sanity check that this sstable has all its parts and is ok
                 Table.open(tableName).getColumnFamilyStore(temp[0]).addSSTable(sstable);
                 logger.info("Streaming added " + sstable.getFilename());
+                // the blobs of the streamed torrent columns are fetched from the replicas in the background
+                BlobFetcher.instance.fetch(host, tableName, sstable);
             }
             catch (IOException e)
             {
@@ -74,10 +78,17 @@ class StreamCompletionHandler implements IStreamComplete
         /* Send a StreamStatus message which may require the source node to re-stream certain files. */
         MessagingService.instance.sendOneWay(streamStatus.makeStreamStatusMessage(), host);
 
-        /* If we're done with everything for this host, remove from bootstrap sources */
+        /* If we're done with everything for this host, remove from bootstrap sources once its blobs have arrived too,
+         * so that the new node serves reads without fetching them; the wait for the blobs is bounded */
         if (StreamInManager.isDone(host) && StorageService.instance.isBootstrapMode())
         {
-            StorageService.instance.removeBootstrapSource(host, pendingFile.getTable());
+            BlobFetcher.instance.whenDone(host, new Runnable()
+            {
+                public void run()
+                {
+                    StorageService.instance.removeBootstrapSource(host, pendingFile.getTable());
+                }
+            });
         }
     }
 }
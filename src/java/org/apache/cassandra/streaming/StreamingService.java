@@ -29,6 +29,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import edu.berkeley.poseidon.BlobFetcher;
+
 public class StreamingService implements StreamingServiceMBean
 {
     private static final Logger logger = Logger.getLogger(StreamingService.class);
@@ -60,6 +62,13 @@ public class StreamingService implements StreamingServiceMBean
                 sb.append(String.format("  %s %d/%d\n", pf.getTargetFile(), pf.getPtr(), pf.getExpectedBytes()));
             }
         }
+        sb.append("Fetching blobs from:\n");
+        for (InetAddress source : BlobFetcher.instance.getSources())
+        {
+            String blobs = BlobFetcher.instance.getStatus(source);
+            if (blobs != null)
+                sb.append(String.format(" %s: %s\n", source.getHostAddress(), blobs));
+        }
         sb.append("Sending to:\n");
         for (InetAddress dest : StreamOutManager.getDestinations())
         {
@@ -99,7 +108,9 @@ public class StreamingService implements StreamingServiceMBean
     /** hosts sending incoming streams */
     public Set<InetAddress> getStreamSources()
     {
-        return StreamInManager.getSources();
+        Set<InetAddress> sources = StreamInManager.getSources();
+        sources.addAll(BlobFetcher.instance.getSources());
+        return sources;
     }
 
     /** details about incoming streams. */
@@ -110,6 +121,9 @@ public class StreamingService implements StreamingServiceMBean
         {
             files.add(String.format("%s: %s %d/%d", pf.getTable(), pf.getTargetFile(), pf.getPtr(), pf.getExpectedBytes()));
         }
+        String blobs = BlobFetcher.instance.getStatus(InetAddress.getByName(host));
+        if (blobs != null)
+            files.add(blobs);
         return files;
     }
 }
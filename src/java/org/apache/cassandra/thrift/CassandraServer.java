@@ -44,6 +44,8 @@ import org.apache.cassandra.utils.Pair;
 import org.apache.thrift.TException;
 import org.json.simple.JSONValue;
 
+import edu.berkeley.poseidon.Placement;
+
 import static org.apache.cassandra.thrift.ThriftGlue.createColumnOrSuperColumn_Column;
 import static org.apache.cassandra.thrift.ThriftGlue.createColumnOrSuperColumn_SuperColumn;
 
@@ -78,6 +80,18 @@ public class CassandraServer implements Cassandra.Iface
     
     protected Map<String, ColumnFamily> readColumnFamily(List<ReadCommand> commands, ConsistencyLevel consistency_level)
     throws InvalidRequestException, UnavailableException, TimedOutException
+    {
+        Map<String, ColumnFamily> columnFamilyKeyMap = readPlacedColumnFamily(commands, consistency_level);
+        for (Map.Entry<String, ColumnFamily> entry : columnFamilyKeyMap.entrySet())
+        {
+            entry.setValue(restore(commands.get(0).table, entry.getKey(), entry.getValue()));
+        }
+        return columnFamilyKeyMap;
+    }
+
+    /** like readColumnFamily, but values are left as they are stored */
+    private Map<String, ColumnFamily> readPlacedColumnFamily(List<ReadCommand> commands, ConsistencyLevel consistency_level)
+    throws InvalidRequestException, UnavailableException, TimedOutException
     {
         // TODO - Support multiple column families per row, right now row only contains 1 column family
         Map<String, ColumnFamily> columnFamilyKeyMap = new HashMap<String,ColumnFamily>();
@@ -220,6 +234,48 @@ public class CassandraServer implements Cassandra.Iface
         return multigetSliceInternal(keyspace, Arrays.asList(key), column_parent, predicate, consistency_level).get(key);
     }
     
+    public byte[] get_blob_range(String table, String key, ColumnPath column_path, long offset, int length, ConsistencyLevel consistency_level)
+    throws InvalidRequestException, NotFoundException, UnavailableException, TimedOutException
+    {
+        if (logger.isDebugEnabled())
+            logger.debug("get_blob_range");
+
+        checkLoginDone();
+
+        ThriftValidation.validateKey(key);
+        ThriftValidation.validateColumnPath(table, column_path);
+        if (column_path.super_column != null || column_path.column == null)
+        {
+            throw new InvalidRequestException("get_blob_range requires the path of a column in a standard column family");
+        }
+        if (offset < 0 || length < 0)
+        {
+            throw new InvalidRequestException("offset and length must not be negative");
+        }
+
+        // the stored value is read so that only the covering pieces of a torrent are fetched
+        QueryPath path = new QueryPath(column_path.column_family);
+        ReadCommand command = new SliceByNamesReadCommand(table, key, path, Arrays.asList(column_path.column));
+        ColumnFamily cf = readPlacedColumnFamily(Arrays.asList(command), consistency_level).get(key);
+        IColumn column = cf == null ? null : cf.getColumn(column_path.column);
+        if (column == null || column.isMarkedForDelete())
+        {
+            throw new NotFoundException();
+        }
+        try
+        {
+            return Placement.readRange(table, key, column_path.column_family, column, offset, length, StorageService.torrentClient);
+        }
+        catch (TimeoutException e)
+        {
+            throw new TimedOutException();
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
     public Map<String, List<ColumnOrSuperColumn>> multiget_slice(String keyspace, List<String> keys, ColumnParent column_parent, SlicePredicate predicate, ConsistencyLevel consistency_level)
     throws InvalidRequestException, UnavailableException, TimedOutException
     {
@@ -329,9 +385,13 @@ public class CassandraServer implements Cassandra.Iface
 
         checkLoginDone();
 
-        SliceRange range = new SliceRange(ArrayUtils.EMPTY_BYTE_ARRAY, ArrayUtils.EMPTY_BYTE_ARRAY, false, Integer.MAX_VALUE);
-        SlicePredicate predicate = new SlicePredicate().setSlice_range(range);
-        return get_slice(table, key, column_parent, predicate, consistency_level).size();
+        ThriftValidation.validateColumnParent(table, column_parent);
+        ThriftValidation.validateKey(key);
+
+        // the stored values are counted, so that placed blobs are not downloaded just to count them
+        ReadCommand command = new SliceFromReadCommand(table, key, column_parent, ArrayUtils.EMPTY_BYTE_ARRAY, ArrayUtils.EMPTY_BYTE_ARRAY, false, Integer.MAX_VALUE);
+        ColumnFamily cf = readPlacedColumnFamily(Arrays.asList(command), consistency_level).get(key);
+        return thriftifyColumnFamily(cf, column_parent.super_column != null, false).size();
     }
 
     public void insert(String table, String key, ColumnPath column_path, byte[] value, long timestamp, ConsistencyLevel consistency_level)
@@ -402,7 +462,7 @@ public class CassandraServer implements Cassandra.Iface
                     ThriftValidation.validateMutation(keyspace, cfName, mutation);
                 }
             }
-            rowMutations.add(RowMutation.getRowMutationFromMutations(keyspace, key, columnFamilyToMutations));
+            rowMutations.add(place(RowMutation.getRowMutationFromMutations(keyspace, key, columnFamilyToMutations)));
         }
         if (consistency_level == ConsistencyLevel.ZERO)
         {
@@ -440,6 +500,7 @@ public class CassandraServer implements Cassandra.Iface
 
     private void doInsert(ConsistencyLevel consistency_level, RowMutation rm) throws UnavailableException, TimedOutException
     {
+        rm = place(rm);
         if (consistency_level != ConsistencyLevel.ZERO)
         {
             try 
@@ -457,6 +518,36 @@ public class CassandraServer implements Cassandra.Iface
         }
     }
 
+    /** stores the values of rm inline or as torrents, according to the TorrentThreshold of their column families */
+    private RowMutation place(RowMutation rm)
+    {
+        try
+        {
+            return Placement.place(rm, StorageService.torrentClient);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** the inverse of place: returns cf with the values it would have had without a TorrentThreshold */
+    private ColumnFamily restore(String table, String key, ColumnFamily cf) throws TimedOutException
+    {
+        try
+        {
+            return Placement.restore(table, key, cf, StorageService.torrentClient);
+        }
+        catch (TimeoutException e)
+        {
+            throw new TimedOutException();
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
     public String get_string_property(String propertyName)
     {
         if (propertyName.equals("cluster name"))
@@ -531,6 +622,8 @@ public class CassandraServer implements Cassandra.Iface
             {
                 columnMap.put("CompareSubcolumnsWith", columnFamilyMetaData.subcolumnComparator.getClass().getName());
             }
+            columnMap.put("TorrentThreshold", String.valueOf(columnFamilyMetaData.torrentThreshold));
+            columnMap.put("BlobDurability", columnFamilyMetaData.blobDurability.name());
             columnFamiliesMap.put(columnFamilyMetaData.cfName, columnMap);
         }
         return columnFamiliesMap;
@@ -596,7 +689,8 @@ public class CassandraServer implements Cassandra.Iface
         boolean reversed = predicate.slice_range != null && predicate.slice_range.reversed;
         for (Row row : rows)
         {
-            List<ColumnOrSuperColumn> thriftifiedColumns = thriftifyColumnFamily(row.cf, column_parent.super_column != null, reversed);
+            ColumnFamily cf = restore(keyspace, row.key, row.cf);
+            List<ColumnOrSuperColumn> thriftifiedColumns = thriftifyColumnFamily(cf, column_parent.super_column != null, reversed);
             keySlices.add(new KeySlice(row.key, thriftifiedColumns));
         }
 
@@ -0,0 +1,188 @@
+package edu.berkeley.poseidon;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cassandra.CleanupHelper;
+import org.apache.cassandra.db.ColumnFamily;
+import org.apache.cassandra.db.RowMutation;
+import org.apache.cassandra.db.filter.QueryPath;
+import org.apache.cassandra.io.util.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.berkeley.poseidon.torrent.Bdecoder;
+import edu.berkeley.poseidon.torrent.EmbeddedTorrentClient;
+import edu.berkeley.poseidon.torrent.PeerSource;
+import edu.berkeley.poseidon.torrent.Torrent;
+import edu.berkeley.poseidon.torrent.TorrentDecoder;
+
+/**
+ * Tests that blobs stay referenced while any column refers to them and are
+ * reaped once none does.
+ *
+ * @author James Ide
+ */
+public class BlobStoreTest extends CleanupHelper {
+
+    private static final String TABLE = "Keyspace1";
+    /** A column family with a threshold of 16 bytes. */
+    private static final String PLACED = "Placed1";
+    private static final byte[] COLUMN = "column".getBytes();
+    private static final long REAP_DELAY_MILLIS = 200;
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private final TorrentDecoder decoder = new TorrentDecoder(new Bdecoder());
+    private File directory;
+    private EmbeddedTorrentClient client;
+    private BlobStore store;
+
+    @Before
+    public void createStore() throws Exception {
+        directory = File.createTempFile("blob-store", "");
+        directory.delete();
+        client = new EmbeddedTorrentClient(
+            new File(directory, "active"), new File(directory, "completed"),
+            new InetSocketAddress("127.0.0.1", 0),
+            new PeerSource() {
+                public List<InetSocketAddress> getPeers(Torrent torrent) {
+                    return Collections.emptyList();
+                }
+            });
+        store = new BlobStore(client, decoder, REAP_DELAY_MILLIS);
+    }
+
+    @After
+    public void destroyClient() throws IOException {
+        client.destroy();
+        FileUtils.deleteDir(directory);
+    }
+
+    /** Returns a mutation of the column whose value is placed as a blob. */
+    private RowMutation write(String key, String value, long timestamp)
+            throws IOException {
+        RowMutation rm = new RowMutation(TABLE, key);
+        rm.add(new QueryPath(PLACED, null, COLUMN), value.getBytes(),
+               timestamp);
+        return Placement.place(rm, client);
+    }
+
+    private static RowMutation delete(String key, long timestamp) {
+        RowMutation rm = new RowMutation(TABLE, key);
+        rm.delete(new QueryPath(PLACED, null, COLUMN), timestamp);
+        return rm;
+    }
+
+    /**
+     * Returns the name of the blob that a placed mutation refers to. The
+     * memtable may take over the column family of an applied mutation, so
+     * this is called before the mutation is applied.
+     */
+    private String blobOf(RowMutation rm) throws Exception {
+        ColumnFamily cf = rm.getColumnFamilies().iterator().next();
+        return decoder.decode(Placement.torrentOf(
+            TABLE, PLACED, cf.getColumn(COLUMN))).getName();
+    }
+
+    /** Records the references of a mutation as it arrives at a replica. */
+    private void arrive(RowMutation rm) throws IOException {
+        store.acquire(store.prepare(rm));
+    }
+
+    /** Applies a mutation once its blobs have arrived. */
+    private void apply(final RowMutation rm) throws IOException {
+        store.applyAndRelease(rm, new Runnable() {
+            public void run() {
+                try {
+                    rm.apply();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+    }
+
+    private boolean isReaped(String blob) throws InterruptedException {
+        File file = new File(client.getActiveDirectory(), blob);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (file.exists() && (System.currentTimeMillis() < deadline)) {
+            Thread.sleep(50);
+        }
+        return !file.exists();
+    }
+
+    @Test
+    public void testSharedBlobIsReapedWithItsLastReference() throws Exception {
+        RowMutation first = write("shared1", "a value that is shared", 1);
+        RowMutation second = write("shared2", "a value that is shared", 1);
+        String blob = blobOf(first);
+        arrive(first);
+        apply(first);
+        arrive(second);
+        apply(second);
+        assertTrue(store.isReferenced(blob));
+
+        RowMutation overwrite = write("shared1", "inline", 2);
+        arrive(overwrite);
+        apply(overwrite);
+        assertTrue(store.isReferenced(blob));
+
+        RowMutation deletion = delete("shared2", 2);
+        arrive(deletion);
+        apply(deletion);
+        assertFalse(store.isReferenced(blob));
+        assertTrue(isReaped(blob));
+    }
+
+    @Test
+    public void testBlobReferencedAgainIsKept() throws Exception {
+        RowMutation first = write("again", "a value that returns", 1);
+        String blob = blobOf(first);
+        arrive(first);
+        apply(first);
+
+        RowMutation deletion = delete("again", 2);
+        arrive(deletion);
+        apply(deletion);
+        RowMutation rewrite = write("again", "a value that returns", 3);
+        arrive(rewrite);
+        apply(rewrite);
+
+        Thread.sleep(4 * REAP_DELAY_MILLIS);
+        assertTrue(store.isReferenced(blob));
+        assertTrue(new File(client.getActiveDirectory(), blob).exists());
+    }
+
+    /**
+     * A mutation that is applied while another mutation of the row waits for
+     * its blobs is superseded by the waiting one, and its blob is released.
+     */
+    @Test
+    public void testOverwriteWhileDownloading() throws Exception {
+        RowMutation original = write("overwritten", "the original value", 1);
+        RowMutation waiting = write("overwritten", "the value that waits", 3);
+        RowMutation overtaking = write("overwritten", "the value that overtakes", 2);
+        String originalBlob = blobOf(original);
+        String waitingBlob = blobOf(waiting);
+        String overtakingBlob = blobOf(overtaking);
+        arrive(original);
+        apply(original);
+
+        arrive(waiting);
+        arrive(overtaking);
+        apply(overtaking);
+        apply(waiting);
+
+        assertFalse(store.isReferenced(originalBlob));
+        assertFalse(store.isReferenced(overtakingBlob));
+        assertTrue(store.isReferenced(waitingBlob));
+        assertTrue(isReaped(overtakingBlob));
+    }
+}
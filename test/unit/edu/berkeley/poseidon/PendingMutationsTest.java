@@ -0,0 +1,101 @@
+package edu.berkeley.poseidon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.util.List;
+
+import org.apache.cassandra.CleanupHelper;
+import org.apache.cassandra.db.RowMutation;
+import org.apache.cassandra.db.Table;
+import org.apache.cassandra.db.filter.QueryPath;
+import org.apache.cassandra.net.Message;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Tests that the journal of mutations waiting for their blobs keeps them
+ * until they are removed.
+ *
+ * @author James Ide
+ */
+public class PendingMutationsTest extends CleanupHelper {
+
+    @Before
+    public void clearJournal() throws Exception {
+        for (PendingMutations.Pending pending : PendingMutations.load()) {
+            PendingMutations.remove(pending.entry);
+        }
+    }
+
+    private static Message message(String key) throws Exception {
+        RowMutation rm = new RowMutation("Keyspace1", key);
+        rm.add(new QueryPath("Standard1", null, "column".getBytes()),
+               "value".getBytes(), 1);
+        Message message = rm.makeRowMutationMessage();
+        BlobDurability.METADATA.setHeader(message);
+        return message;
+    }
+
+    private static String keyOf(Message message) throws Exception {
+        return RowMutation.serializer().deserialize(new DataInputStream(
+            new ByteArrayInputStream(message.getMessageBody()))).key();
+    }
+
+    /** Flushes the journal, so it is read back as after a restart. */
+    private static void flush() throws Exception {
+        Table.open(Table.SYSTEM_TABLE)
+            .getColumnFamilyStore(PendingMutations.PENDING_CF)
+            .forceBlockingFlush();
+    }
+
+    @Test
+    public void testRecordAndLoad() throws Exception {
+        PendingMutations.record(message("first"));
+        PendingMutations.record(message("second"));
+        flush();
+
+        List<PendingMutations.Pending> pending = PendingMutations.load();
+        assertEquals(2, pending.size());
+        List<String> keys = Lists.newArrayList();
+        for (PendingMutations.Pending mutation : pending) {
+            keys.add(keyOf(mutation.message));
+            assertEquals(BlobDurability.METADATA,
+                         BlobDurability.of(mutation.message));
+        }
+        assertTrue(keys.contains("first") && keys.contains("second"));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        PendingMutations.Entry applied =
+            PendingMutations.record(message("applied"));
+        PendingMutations.record(message("waiting"));
+        flush();
+        PendingMutations.remove(applied);
+        flush();
+
+        List<PendingMutations.Pending> pending = PendingMutations.load();
+        assertEquals(1, pending.size());
+        assertEquals("waiting", keyOf(pending.get(0).message));
+    }
+
+    @Test
+    public void testUnreadableEntryIsDropped() throws Exception {
+        RowMutation rm = new RowMutation(Table.SYSTEM_TABLE, "unreadable");
+        rm.add(new QueryPath(PendingMutations.PENDING_CF, null,
+                             "message".getBytes()),
+               new byte[] { 1, 2, 3 }, System.currentTimeMillis());
+        rm.apply();
+        PendingMutations.record(message("readable"));
+
+        List<PendingMutations.Pending> pending = PendingMutations.load();
+        assertEquals(1, pending.size());
+        assertEquals("readable", keyOf(pending.get(0).message));
+        assertEquals(1, PendingMutations.load().size());
+    }
+}
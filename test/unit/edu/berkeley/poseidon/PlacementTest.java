@@ -0,0 +1,129 @@
+package edu.berkeley.poseidon;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cassandra.db.ColumnFamily;
+import org.apache.cassandra.db.IColumn;
+import org.apache.cassandra.db.RowMutation;
+import org.apache.cassandra.db.filter.QueryPath;
+import org.apache.cassandra.io.util.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.berkeley.poseidon.torrent.EmbeddedTorrentClient;
+import edu.berkeley.poseidon.torrent.PeerSource;
+import edu.berkeley.poseidon.torrent.Torrent;
+
+/**
+ * Tests that values are placed inline or as torrents by the threshold of
+ * their column family, and restored to the values that were written.
+ *
+ * @author James Ide
+ */
+public class PlacementTest {
+
+    private static final String TABLE = "Keyspace1";
+    /** A column family with a threshold of 16 bytes. */
+    private static final String PLACED = "Placed1";
+    private static final String KEY = "key";
+
+    private static final byte[] SMALL = "sixteen bytes...".getBytes();
+    private static final byte[] LARGE = "more than sixteen bytes".getBytes();
+
+    private File directory;
+    private EmbeddedTorrentClient client;
+
+    @Before
+    public void createClient() throws Exception {
+        directory = File.createTempFile("placement", "");
+        directory.delete();
+        client = new EmbeddedTorrentClient(
+            new File(directory, "active"), new File(directory, "completed"),
+            new InetSocketAddress("127.0.0.1", 0),
+            new PeerSource() {
+                public List<InetSocketAddress> getPeers(Torrent torrent) {
+                    return Collections.emptyList();
+                }
+            });
+    }
+
+    @After
+    public void destroyClient() throws IOException {
+        client.destroy();
+        FileUtils.deleteDir(directory);
+    }
+
+    private static RowMutation mutation(String cfName) {
+        RowMutation rm = new RowMutation(TABLE, KEY);
+        rm.add(new QueryPath(cfName, null, "small".getBytes()), SMALL, 1);
+        rm.add(new QueryPath(cfName, null, "large".getBytes()), LARGE, 1);
+        return rm;
+    }
+
+    private static ColumnFamily columnFamilyOf(RowMutation rm, String cfName) {
+        for (ColumnFamily cf : rm.getColumnFamilies()) {
+            if (cf.name().equals(cfName)) {
+                return cf;
+            }
+        }
+        throw new AssertionError("no column family " + cfName);
+    }
+
+    @Test
+    public void testThreshold() {
+        assertEquals(16, Placement.getThreshold(TABLE, PLACED));
+        assertEquals(0, Placement.getThreshold(TABLE, "Standard1"));
+    }
+
+    @Test
+    public void testUnplacedColumnFamily() throws Exception {
+        RowMutation rm = mutation("Standard1");
+        assertSame(rm, Placement.place(rm, client));
+        ColumnFamily cf = columnFamilyOf(rm, "Standard1");
+        assertSame(cf, Placement.restore(TABLE, KEY, cf, client));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        ColumnFamily placed = columnFamilyOf(
+            Placement.place(mutation(PLACED), client), PLACED);
+
+        IColumn small = placed.getColumn("small".getBytes());
+        assertEquals(Placement.INLINE, small.value()[0]);
+        assertNull(Placement.torrentOf(TABLE, PLACED, small));
+        IColumn large = placed.getColumn("large".getBytes());
+        assertEquals(Placement.TORRENT, large.value()[0]);
+        assertNotNull(Placement.torrentOf(TABLE, PLACED, large));
+        assertEquals(1, large.timestamp());
+
+        ColumnFamily restored = Placement.restore(TABLE, KEY, placed, client);
+        assertArrayEquals(SMALL, restored.getColumn("small".getBytes()).value());
+        assertArrayEquals(LARGE, restored.getColumn("large".getBytes()).value());
+    }
+
+    @Test
+    public void testReadRange() throws Exception {
+        ColumnFamily placed = columnFamilyOf(
+            Placement.place(mutation(PLACED), client), PLACED);
+        IColumn small = placed.getColumn("small".getBytes());
+        IColumn large = placed.getColumn("large".getBytes());
+
+        assertArrayEquals("teen".getBytes(), Placement.readRange(
+            TABLE, KEY, PLACED, small, 3, 4, client));
+        assertArrayEquals("sixteen bytes".getBytes(), Placement.readRange(
+            TABLE, KEY, PLACED, large, 10, 100, client));
+        assertEquals(0, Placement.readRange(TABLE, KEY, PLACED, large,
+                                            LARGE.length, 1, client).length);
+    }
+}
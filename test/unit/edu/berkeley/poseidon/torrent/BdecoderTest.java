@@ -0,0 +1,131 @@
+package edu.berkeley.poseidon.torrent;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Tests the lazy decoding of bencoded dictionaries and the decoding of
+ * bencoded torrents.
+ *
+ * @author James Ide
+ */
+public class BdecoderTest {
+
+    private final Bdecoder bdecoder = new Bdecoder();
+
+    private static ByteBuffer bytes(String string) throws Exception {
+        return ByteBuffer.wrap(string.getBytes("US-ASCII"));
+    }
+
+    @Test
+    public void testDecodeValues() throws Exception {
+        assertEquals(Long.valueOf(-42), bdecoder.decode(bytes("i-42e")).left);
+        assertEquals(Bdecoder.Type.INTEGER,
+                     bdecoder.decode(bytes("i-42e")).right);
+        assertEquals("spam", bdecoder.asString(
+            (ByteBuffer) bdecoder.decode(bytes("4:spam")).left));
+
+        List<?> list = (List<?>) bdecoder.decode(bytes("l4:spami7ee")).left;
+        assertEquals(2, list.size());
+        assertEquals("spam", bdecoder.asString((ByteBuffer) list.get(0)));
+        assertEquals(Long.valueOf(7), list.get(1));
+    }
+
+    @Test
+    public void testLazyDictionary() throws Exception {
+        String encoded = "d3:bari1e3:food4:spaml1:a1:beee";
+        ByteBuffer data = bytes(encoded);
+        Bdecoder.Dictionary dictionary = bdecoder.decodeDictionary(data);
+        assertEquals(0, data.position());
+        assertEquals(ImmutableSet.of("bar", "foo"), dictionary.keySet());
+        assertTrue(dictionary.containsKey("foo"));
+        assertFalse(dictionary.containsKey("baz"));
+        assertNull(dictionary.get("baz"));
+        assertEquals(Long.valueOf(1), dictionary.get("bar"));
+
+        Bdecoder.Dictionary foo = dictionary.getDictionary("foo");
+        List<?> spam = (List<?>) foo.get("spam");
+        assertEquals(2, spam.size());
+        assertEquals("b", bdecoder.asString((ByteBuffer) spam.get(1)));
+        assertEquals(bytes("d4:spaml1:a1:bee"), foo.getEncoded());
+        assertEquals(bytes(encoded), dictionary.getEncoded());
+    }
+
+    @Test
+    public void testDictionaryWithinBuffer() throws Exception {
+        ByteBuffer data = bytes("xd1:ai1eey");
+        data.position(1).limit(data.limit() - 1);
+        Bdecoder.Dictionary dictionary = bdecoder.decodeDictionary(data);
+        assertEquals(Long.valueOf(1), dictionary.get("a"));
+        assertEquals(bytes("d1:ai1ee"), dictionary.getEncoded());
+    }
+
+    @Test
+    public void testMalformed() throws Exception {
+        for (String malformed : Arrays.asList("d3:foo", "d3:fooi1e", "5:spam",
+                                              "d3:foo-1:ae", "d3:foox1:ae",
+                                              "l4:spam", "")) {
+            try {
+                bdecoder.decodeDictionary(bytes(malformed));
+                fail("decoded " + malformed);
+            } catch (Bdecoder.BdecoderException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = Bdecoder.BdecoderException.class)
+    public void testMalformedValueFoundWhenRead() throws Exception {
+        Bdecoder.Dictionary dictionary =
+            bdecoder.decodeDictionary(bytes("d3:fooi4x2ee"));
+        dictionary.get("foo");
+    }
+
+    @Test
+    public void testInfoDictionaryIsEncodedInfo() throws Exception {
+        TorrentEncoder encoder = new TorrentEncoder(new Bencoder());
+        Torrent torrent = CompactTorrentCodecTest.newTorrent().build();
+        Bdecoder.Dictionary metainfo =
+            bdecoder.decodeDictionary(ByteBuffer.wrap(encoder.encode(torrent)));
+        ByteBuffer info = metainfo.getDictionary("info").getEncoded();
+        byte[] encodedInfo = new byte[info.remaining()];
+        info.get(encodedInfo);
+        assertArrayEquals(encoder.encodeInfo(torrent), encodedInfo);
+    }
+
+    @Test
+    public void testTruncatedTorrent() throws Exception {
+        TorrentEncoder encoder = new TorrentEncoder(new Bencoder());
+        TorrentDecoder decoder = new TorrentDecoder(bdecoder);
+        byte[] encoded = encoder.encode(
+            CompactTorrentCodecTest.newTorrent().build());
+        for (int length = 0; length < encoded.length; length++) {
+            try {
+                decoder.decode(ByteBuffer.wrap(encoded, 0, length));
+                fail("decoded a torrent truncated to " + length + " bytes");
+            } catch (TorrentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = TorrentException.class)
+    public void testMalformedTorrentValue() throws Exception {
+        TorrentDecoder decoder = new TorrentDecoder(bdecoder);
+        decoder.decode(bytes("d8:announce4:peer4:infod6:lengthi5x0e" +
+                             "4:name4:blob12:piece lengthi1024e" +
+                             "6:pieces0:ee"));
+    }
+}
@@ -0,0 +1,137 @@
+package edu.berkeley.poseidon.torrent;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the compact encoding of torrents against the bencoding.
+ *
+ * @author James Ide
+ */
+public class CompactTorrentCodecTest {
+
+    /** The offset of the piece count in the encoding of {@link #newTorrent}. */
+    private static final int PIECE_COUNT_OFFSET =
+        CompactTorrentCodec.MAGIC.length + 1 + (2 + "blob".length()) + 8 + 4;
+
+    private final TorrentEncoder encoder = new TorrentEncoder(new Bencoder());
+    private final TorrentDecoder decoder = new TorrentDecoder(new Bdecoder());
+
+    static Torrent.Builder newTorrent() throws Exception {
+        byte[] hashes = new byte[3 * Torrent.PIECE_HASH_LENGTH];
+        new Random(42).nextBytes(hashes);
+        return new Torrent.Builder()
+            .setName("blob")
+            .setLength(2 * 1024 + 1)
+            .setPieceLength(1024)
+            .setPieceHashes(hashes)
+            .setCreationDate(1234567890L)
+            .addAnnounceUri(new URI("peer://127.0.0.1:7000"))
+            .addAnnounceUriGroup(Arrays.asList(new URI("http://a/announce"),
+                                               new URI("http://b/announce")));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        Torrent torrent = newTorrent().build();
+        byte[] encoded = encoder.encodeCompact(torrent);
+        assertTrue(CompactTorrentCodec.isCompact(ByteBuffer.wrap(encoded)));
+
+        Torrent decoded = decoder.decode(encoded);
+        assertEquals(torrent.getName(), decoded.getName());
+        assertEquals(torrent.getLength(), decoded.getLength());
+        assertEquals(torrent.getPieceLength(), decoded.getPieceLength());
+        assertEquals(torrent.getPieceHashes(), decoded.getPieceHashes());
+        assertEquals(torrent.getCreationDate(), decoded.getCreationDate());
+        assertEquals(torrent.getAnnounceList(), decoded.getAnnounceList());
+        assertFalse(decoded.isPrivate());
+        assertNull(decoded.getComment());
+        assertEquals(Torrent.DEFAULT_CREATOR, decoded.getCreator());
+        assertEquals(Torrent.DEFAULT_ENCODING, decoded.getEncoding());
+        assertArrayEquals(torrent.getInfoHash(), decoded.getInfoHash());
+    }
+
+    @Test
+    public void testOptionalFields() throws Exception {
+        Torrent torrent = newTorrent()
+            .setPrivate(true)
+            .setComment("a comment")
+            .setCreator("a creator")
+            .setEncoding("UTF-16")
+            .build();
+        Torrent decoded = decoder.decode(encoder.encodeCompact(torrent));
+        assertTrue(decoded.isPrivate());
+        assertEquals("a comment", decoded.getComment());
+        assertEquals("a creator", decoded.getCreator());
+        assertEquals("UTF-16", decoded.getEncoding());
+        assertArrayEquals(torrent.getInfoHash(), decoded.getInfoHash());
+    }
+
+    @Test
+    public void testInfoHashMatchesBencoding() throws Exception {
+        Torrent torrent = newTorrent().setPrivate(true).build();
+        byte[] bencoded = encoder.encode(torrent);
+        assertFalse(CompactTorrentCodec.isCompact(ByteBuffer.wrap(bencoded)));
+
+        Torrent fromBencoding = decoder.decode(bencoded);
+        Torrent fromCompact = decoder.decode(encoder.encodeCompact(torrent));
+        assertEquals(fromBencoding.getInfoHashHex(), fromCompact.getInfoHashHex());
+        assertEquals(torrent.getInfoHashHex(), fromCompact.getInfoHashHex());
+    }
+
+    @Test
+    public void testDecodeWithinBuffer() throws Exception {
+        Torrent torrent = newTorrent().build();
+        byte[] encoded = encoder.encodeCompact(torrent);
+        // Placed values begin with a placement byte.
+        byte[] placed = new byte[encoded.length + 1];
+        placed[0] = 1;
+        System.arraycopy(encoded, 0, placed, 1, encoded.length);
+
+        Torrent decoded = decoder.decode(
+            ByteBuffer.wrap(placed, 1, encoded.length));
+        assertArrayEquals(torrent.getInfoHash(), decoded.getInfoHash());
+    }
+
+    @Test
+    public void testTruncated() throws Exception {
+        byte[] encoded = encoder.encodeCompact(
+            newTorrent().setComment("a comment").build());
+        for (int length = CompactTorrentCodec.MAGIC.length;
+             length < encoded.length; length++) {
+            try {
+                decoder.decode(ByteBuffer.wrap(encoded, 0, length));
+                fail("decoded a torrent truncated to " + length + " bytes");
+            } catch (TorrentException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = TorrentException.class)
+    public void testNegativePieceCount() throws Exception {
+        ByteBuffer encoded = ByteBuffer.wrap(
+            encoder.encodeCompact(newTorrent().build()));
+        encoded.putInt(PIECE_COUNT_OFFSET, -1);
+        decoder.decode(encoded);
+    }
+
+    @Test(expected = TorrentException.class)
+    public void testExcessivePieceCount() throws Exception {
+        ByteBuffer encoded = ByteBuffer.wrap(
+            encoder.encodeCompact(newTorrent().build()));
+        encoded.putInt(PIECE_COUNT_OFFSET, Integer.MAX_VALUE);
+        decoder.decode(encoded);
+    }
+}
@@ -0,0 +1,278 @@
+package edu.berkeley.poseidon.torrent;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cassandra.io.util.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Tests seeding and fetching blobs between embedded clients over loopback
+ * sockets.
+ *
+ * @author James Ide
+ */
+public class EmbeddedTorrentClientTest {
+
+    private static final int PIECE_LENGTH = 16 * 1024;
+    /** Three whole pieces and a partial last piece. */
+    private static final byte[] BLOB = new byte[3 * PIECE_LENGTH + 100];
+    private static final long TIMEOUT_SECONDS = 30;
+
+    static {
+        new Random(42).nextBytes(BLOB);
+    }
+
+    private final List<EmbeddedTorrentClient> clients = Lists.newArrayList();
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = File.createTempFile("embedded-torrent-client", "");
+        assertTrue(directory.delete() && directory.mkdir());
+    }
+
+    @After
+    public void destroyClients() throws IOException {
+        for (EmbeddedTorrentClient client : clients) {
+            client.destroy();
+        }
+        FileUtils.deleteDir(directory);
+    }
+
+    /**
+     * Creates a client that downloads from the specified peers, in order.
+     */
+    private EmbeddedTorrentClient newClient(String name,
+                                            List<InetSocketAddress> peers)
+            throws TorrentException {
+        return newClient(name, peers, new SocketPieceTransport());
+    }
+
+    private EmbeddedTorrentClient newClient(String name,
+                                            List<InetSocketAddress> peers,
+                                            PieceTransport transport)
+            throws TorrentException {
+        final List<InetSocketAddress> source = peers;
+        EmbeddedTorrentClient client = new EmbeddedTorrentClient(
+            new File(directory, name + "/active"),
+            new File(directory, name + "/completed"),
+            new InetSocketAddress("127.0.0.1", 0),
+            new PeerSource() {
+                public List<InetSocketAddress> getPeers(Torrent torrent) {
+                    return source;
+                }
+            },
+            transport);
+        clients.add(client);
+        return client;
+    }
+
+    /** Creates a client that seeds the blob. */
+    private EmbeddedTorrentClient newSeeder(String name) throws Exception {
+        EmbeddedTorrentClient seeder =
+            newClient(name, Lists.<InetSocketAddress>newArrayList());
+        File file = new File(seeder.getActiveDirectory(), "blob");
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(BLOB);
+        } finally {
+            out.close();
+        }
+        seeder.seed(file, new Torrent.PieceHasher()
+                              .addFile(file)
+                              .setPieceLength(PIECE_LENGTH));
+        return seeder;
+    }
+
+    /** Returns a new torrent that is equal to the one the seeder seeds. */
+    private static Torrent torrentOf(EmbeddedTorrentClient seeder)
+            throws Exception {
+        File file = new File(seeder.getActiveDirectory(), "blob");
+        return new Torrent.PieceHasher()
+            .addFile(file)
+            .setPieceLength(PIECE_LENGTH)
+            .addAnnounceUri(
+                AnnouncePeerSource.toAnnounceUri(seeder.getPeerAddress()))
+            .build();
+    }
+
+    private static byte[] contentsOf(File file) throws TorrentException {
+        ByteBuffer contents = Torrents.readRange(file, 0, (int) file.length());
+        byte[] bytes = new byte[contents.remaining()];
+        contents.get(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testSeedAndFetch() throws Exception {
+        EmbeddedTorrentClient seeder = newSeeder("seeder");
+        EmbeddedTorrentClient leecher =
+            newClient("leecher", Lists.newArrayList(seeder.getPeerAddress()));
+        Torrent torrent = torrentOf(seeder);
+
+        // A range is fetched from the pieces that cover it without a download.
+        ByteBuffer range = leecher.read(torrent, PIECE_LENGTH - 10, 20);
+        assertEquals(ByteBuffer.wrap(BLOB, PIECE_LENGTH - 10, 20), range);
+        assertFalse(leecher.getPartialFile(torrent).exists());
+
+        File file = Torrents.download(leecher, torrent, TIMEOUT_SECONDS,
+                                      TimeUnit.SECONDS);
+        assertEquals(new File(leecher.getCompletedDirectory(), "blob"), file);
+        assertArrayEquals(BLOB, contentsOf(file));
+        assertFalse(leecher.getPartialFile(torrent).exists());
+
+        // The leecher now serves the blob itself.
+        EmbeddedTorrentClient next =
+            newClient("next", Lists.newArrayList(leecher.getPeerAddress()));
+        file = Torrents.download(next, torrent, TIMEOUT_SECONDS,
+                                 TimeUnit.SECONDS);
+        assertArrayEquals(BLOB, contentsOf(file));
+    }
+
+    /**
+     * A peer that serves a corrupt piece is skipped, and the rest of the blob
+     * is fetched from the next peer.
+     */
+    @Test
+    public void testCorruptPieceIsFetchedFromAnotherPeer() throws Exception {
+        EmbeddedTorrentClient corrupt = newSeeder("corrupt");
+        EmbeddedTorrentClient intact = newSeeder("intact");
+        Torrent torrent = torrentOf(intact);
+        RandomAccessFile file = new RandomAccessFile(
+            new File(corrupt.getActiveDirectory(), "blob"), "rw");
+        try {
+            file.seek(PIECE_LENGTH + 10);
+            file.write(BLOB[PIECE_LENGTH + 10] ^ 0xff);
+        } finally {
+            file.close();
+        }
+
+        EmbeddedTorrentClient leecher = newClient(
+            "leecher", Lists.newArrayList(corrupt.getPeerAddress(),
+                                          intact.getPeerAddress()));
+        File downloaded = Torrents.download(leecher, torrent, TIMEOUT_SECONDS,
+                                            TimeUnit.SECONDS);
+        assertArrayEquals(BLOB, contentsOf(downloaded));
+    }
+
+    /**
+     * A partial file keeps its intact pieces, so a corrupt piece is repaired
+     * without downloading the rest of the blob again.
+     */
+    @Test
+    public void testCorruptPartialFileIsRepaired() throws Exception {
+        EmbeddedTorrentClient seeder = newSeeder("seeder");
+        List<InetSocketAddress> peers =
+            new CopyOnWriteArrayList<InetSocketAddress>();
+        CountingTransport transport = new CountingTransport();
+        EmbeddedTorrentClient leecher = newClient("leecher", peers, transport);
+        Torrent torrent = torrentOf(seeder);
+
+        byte[] partial = BLOB.clone();
+        partial[2 * PIECE_LENGTH] ^= 0xff;
+        FileOutputStream out =
+            new FileOutputStream(leecher.getPartialFile(torrent));
+        try {
+            out.write(partial);
+        } finally {
+            out.close();
+        }
+        assertFalse(leecher.reshare(torrent));
+
+        peers.add(seeder.getPeerAddress());
+        File file = Torrents.download(leecher, torrent, TIMEOUT_SECONDS,
+                                      TimeUnit.SECONDS);
+        assertArrayEquals(BLOB, contentsOf(file));
+        assertEquals(Lists.newArrayList(2), transport.requested);
+    }
+
+    /**
+     * Listeners that ask for the same blob share one download and are each
+     * notified with their own torrent.
+     */
+    @Test
+    public void testCoalescedDownloads() throws Exception {
+        EmbeddedTorrentClient seeder = newSeeder("seeder");
+        EmbeddedTorrentClient leecher =
+            newClient("leecher", Lists.newArrayList(seeder.getPeerAddress()));
+        Torrent first = torrentOf(seeder);
+        Torrent second = torrentOf(seeder);
+        Latch firstListener = new Latch();
+        Latch secondListener = new Latch();
+
+        leecher.download(first, firstListener);
+        leecher.download(second, secondListener);
+        assertTrue(firstListener.await());
+        assertTrue(secondListener.await());
+        assertSame(first, firstListener.torrent);
+        assertSame(second, secondListener.torrent);
+        assertEquals(firstListener.file, secondListener.file);
+        assertArrayEquals(BLOB, contentsOf(firstListener.file));
+    }
+
+    /** A socket transport that records the pieces that are requested. */
+    private static class CountingTransport implements PieceTransport {
+
+        private final PieceTransport transport = new SocketPieceTransport();
+        final List<Integer> requested = new CopyOnWriteArrayList<Integer>();
+
+        public Connection connect(InetSocketAddress peer, Torrent torrent)
+                throws IOException {
+            final Connection connection = transport.connect(peer, torrent);
+            return new Connection() {
+                public boolean requestPiece(byte[] infoHash, int index,
+                                            ByteBuffer piece)
+                        throws IOException {
+                    requested.add(index);
+                    return connection.requestPiece(infoHash, index, piece);
+                }
+
+                public void close() {
+                    connection.close();
+                }
+            };
+        }
+    }
+
+    private static class Latch implements TorrentListener {
+
+        private final CountDownLatch done = new CountDownLatch(1);
+        volatile Torrent torrent;
+        volatile File file;
+
+        boolean await() throws InterruptedException {
+            return done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        public void fileDownloaded(Torrent torrent, File file) {
+            this.torrent = torrent;
+            this.file = file;
+            done.countDown();
+        }
+
+        public void downloadFailed(Torrent torrent, TorrentException e) {
+            this.torrent = torrent;
+            done.countDown();
+        }
+    }
+}
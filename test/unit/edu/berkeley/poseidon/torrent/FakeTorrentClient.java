@@ -0,0 +1,110 @@
+package edu.berkeley.poseidon.torrent;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+/**
+ * A {@link TorrentClient} for tests that records the downloads it is asked
+ * for and finishes them only when the test says so.
+ *
+ * @author James Ide
+ */
+public class FakeTorrentClient implements TorrentClient {
+
+    private final File directory;
+    private final List<Torrent> torrents = Lists.newArrayList();
+    private final List<TorrentListener> listeners = Lists.newArrayList();
+    private final List<Torrent> removed = Lists.newArrayList();
+
+    public FakeTorrentClient(File directory) {
+        this.directory = directory;
+    }
+
+    /** Returns the torrents whose downloads were started, in order. */
+    public synchronized List<Torrent> getStarted() {
+        return Lists.newArrayList(torrents);
+    }
+
+    /** Returns the torrents that were removed, in order. */
+    public synchronized List<Torrent> getRemoved() {
+        return Lists.newArrayList(removed);
+    }
+
+    /** Finishes the download that was started with the specified index. */
+    public void complete(int index, File file) {
+        Torrent torrent;
+        TorrentListener listener;
+        synchronized (this) {
+            torrent = torrents.get(index);
+            listener = listeners.get(index);
+        }
+        listener.fileDownloaded(torrent, file);
+    }
+
+    /** Fails the download that was started with the specified index. */
+    public void fail(int index, TorrentException e) {
+        Torrent torrent;
+        TorrentListener listener;
+        synchronized (this) {
+            torrent = torrents.get(index);
+            listener = listeners.get(index);
+        }
+        listener.downloadFailed(torrent, e);
+    }
+
+    @Override
+    public File getActiveDirectory() {
+        return directory;
+    }
+
+    @Override
+    public File getCompletedDirectory() {
+        return directory;
+    }
+
+    @Override
+    public File getPartialFile(Torrent torrent) {
+        return new File(directory, torrent.getName());
+    }
+
+    @Override
+    public Torrent seed(File file) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Torrent seed(File file, Torrent.Builder torrent) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public synchronized void download(Torrent torrent,
+                                      TorrentListener listener) {
+        torrents.add(torrent);
+        listeners.add(listener);
+    }
+
+    @Override
+    public ByteBuffer read(Torrent torrent, long offset, int length) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public InputStream openStream(Torrent torrent) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public synchronized boolean remove(Torrent torrent) {
+        removed.add(torrent);
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
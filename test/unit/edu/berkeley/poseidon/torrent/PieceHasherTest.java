@@ -0,0 +1,103 @@
+package edu.berkeley.poseidon.torrent;
+
+import static edu.berkeley.poseidon.torrent.Torrent.PieceHasher.DEFAULT_PIECE_LENGTH;
+import static edu.berkeley.poseidon.torrent.Torrent.PieceHasher.MAX_PIECE_COUNT;
+import static edu.berkeley.poseidon.torrent.Torrent.PieceHasher.MAX_PIECE_LENGTH;
+import static edu.berkeley.poseidon.torrent.Torrent.PieceHasher.pieceLengthFor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+
+import org.junit.Test;
+
+/**
+ * Tests the choice of piece length for blobs of different sizes.
+ *
+ * @author James Ide
+ */
+public class PieceHasherTest {
+
+    @Test
+    public void testDefaultPieceLength() {
+        assertEquals(DEFAULT_PIECE_LENGTH, pieceLengthFor(0));
+        assertEquals(DEFAULT_PIECE_LENGTH, pieceLengthFor(1));
+        // Blobs of up to 512 MB keep their info hashes.
+        assertEquals(DEFAULT_PIECE_LENGTH,
+                     pieceLengthFor((long) DEFAULT_PIECE_LENGTH * MAX_PIECE_COUNT));
+    }
+
+    @Test
+    public void testLargePieceLength() {
+        long length = (long) DEFAULT_PIECE_LENGTH * MAX_PIECE_COUNT;
+        assertEquals(2 * DEFAULT_PIECE_LENGTH, pieceLengthFor(length + 1));
+        assertEquals(2 * DEFAULT_PIECE_LENGTH, pieceLengthFor(2 * length));
+        assertEquals(4 * DEFAULT_PIECE_LENGTH, pieceLengthFor(2 * length + 1));
+        assertEquals(MAX_PIECE_LENGTH, pieceLengthFor(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPieceCountIsBounded() {
+        for (long length = 1; length <= (long) MAX_PIECE_LENGTH * MAX_PIECE_COUNT;
+             length = length * 3 + 1) {
+            int pieceLength = pieceLengthFor(length);
+            assertEquals(0, pieceLength & (pieceLength - 1));
+            long pieceCount = (length + pieceLength - 1) / pieceLength;
+            assertTrue(length + " bytes in " + pieceCount + " pieces",
+                       pieceCount <= MAX_PIECE_COUNT);
+        }
+    }
+
+    @Test
+    public void testHasherChoosesPieceLength() throws Exception {
+        File file = File.createTempFile("piece-hasher", ".blob");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(new byte[DEFAULT_PIECE_LENGTH + 1]);
+        } finally {
+            out.close();
+        }
+
+        Torrent torrent = new Torrent.PieceHasher()
+            .addFile(file)
+            .addAnnounceUri(new URI("peer://127.0.0.1:7000"))
+            .build();
+        assertEquals(DEFAULT_PIECE_LENGTH, torrent.getPieceLength());
+        assertEquals(2, torrent.getPieceCount());
+        assertEquals(1, torrent.getPieceLength(1));
+        assertEquals(file.length(), torrent.getLength());
+    }
+
+    @Test
+    public void testInterruptedParallelHashing() throws Exception {
+        File file = File.createTempFile("piece-hasher", ".blob");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(new byte[64 * 1024]);
+        } finally {
+            out.close();
+        }
+
+        Torrent.PieceHasher hasher = new Torrent.PieceHasher();
+        hasher.addFile(file)
+              .setPieceLength(1024)
+              .setParallel(true)
+              .addAnnounceUri(new URI("peer://127.0.0.1:7000"));
+        Thread.currentThread().interrupt();
+        try {
+            hasher.build();
+            fail("hashed the file while interrupted");
+        } catch (TorrentException e) {
+            assertTrue(e.getCause() instanceof InterruptedIOException);
+        } finally {
+            // The interrupt is kept for the caller.
+            assertTrue(Thread.interrupted());
+        }
+    }
+}
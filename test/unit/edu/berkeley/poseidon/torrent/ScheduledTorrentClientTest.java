@@ -0,0 +1,186 @@
+package edu.berkeley.poseidon.torrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Tests the coalescing, ordering and admission of scheduled downloads.
+ *
+ * @author James Ide
+ */
+public class ScheduledTorrentClientTest {
+
+    private static final File FILE = new File("blob");
+
+    private final FakeTorrentClient fake = new FakeTorrentClient(new File("."));
+
+    private static Torrent torrent(String name) throws Exception {
+        return CompactTorrentCodecTest.newTorrent().setName(name).build();
+    }
+
+    @Test
+    public void testCoalescedListenersGetTheirOwnTorrents() throws Exception {
+        ScheduledTorrentClient client = new ScheduledTorrentClient(fake, 4, 4);
+        Torrent first = torrent("blob");
+        Torrent second = torrent("blob");
+        assertEquals(first.getInfoHashHex(), second.getInfoHashHex());
+        Recorder firstListener = new Recorder();
+        Recorder secondListener = new Recorder();
+
+        client.download(first, "ks", firstListener);
+        client.download(second, "ks", secondListener);
+        assertEquals(1, fake.getStarted().size());
+        fake.complete(0, FILE);
+
+        assertEquals(1, firstListener.downloaded.size());
+        assertSame(first, firstListener.downloaded.get(0));
+        assertEquals(1, secondListener.downloaded.size());
+        assertSame(second, secondListener.downloaded.get(0));
+    }
+
+    /**
+     * A mutation with two columns that hold the same blob waits for each of
+     * its torrents by identity.
+     */
+    @Test
+    public void testListenerWaitingForEqualTorrents() throws Exception {
+        ScheduledTorrentClient client = new ScheduledTorrentClient(fake, 4, 4);
+        final Set<Torrent> waiting = Sets.newHashSet(torrent("blob"),
+                                                     torrent("blob"));
+        TorrentListener listener = new TorrentListener() {
+            public void fileDownloaded(Torrent torrent, File file) {
+                assertTrue(waiting.remove(torrent));
+            }
+
+            public void downloadFailed(Torrent torrent, TorrentException e) {
+                assertTrue(waiting.remove(torrent));
+            }
+        };
+
+        for (Torrent torrent : Lists.newArrayList(waiting)) {
+            client.download(torrent, "ks", listener);
+        }
+        assertEquals(1, fake.getStarted().size());
+        fake.fail(0, new TorrentException("failed"));
+        assertTrue(waiting.isEmpty());
+    }
+
+    @Test
+    public void testMaxActive() throws Exception {
+        ScheduledTorrentClient client = new ScheduledTorrentClient(fake, 1, 4);
+        Recorder listener = new Recorder();
+        client.download(torrent("a"), "ks", listener);
+        client.download(torrent("b"), "ks", listener);
+        assertEquals(1, fake.getStarted().size());
+        assertEquals(1, client.getActiveCount());
+        assertEquals(1, client.getQueuedCount());
+        assertTrue(client.isPending(torrent("b").getInfoHashHex()));
+
+        fake.complete(0, FILE);
+        assertEquals(2, fake.getStarted().size());
+        assertEquals("b", fake.getStarted().get(1).getName());
+        fake.complete(1, FILE);
+        assertEquals(0, client.getActiveCount());
+        assertEquals(2, listener.downloaded.size());
+        assertFalse(client.isPending(torrent("b").getInfoHashHex()));
+    }
+
+    @Test
+    public void testUrgentBeforeBackground() throws Exception {
+        ScheduledTorrentClient client = new ScheduledTorrentClient(fake, 1, 4);
+        Recorder listener = new Recorder();
+        client.download(torrent("active"), "ks", listener);
+        client.download(torrent("background"), "ks", listener);
+        client.download(torrent("urgent"), listener);
+        // A caller that starts waiting for a background download promotes it.
+        client.download(torrent("promoted"), "ks", listener);
+        client.download(torrent("promoted"), listener);
+
+        for (int i = 0; i < 4; i++) {
+            fake.complete(i, FILE);
+        }
+        assertEquals(names("active", "urgent", "promoted", "background"),
+                     names(fake.getStarted()));
+    }
+
+    @Test
+    public void testGroupsTakeTurns() throws Exception {
+        ScheduledTorrentClient client = new ScheduledTorrentClient(fake, 1, 8);
+        Recorder listener = new Recorder();
+        client.download(torrent("active"), "a", listener);
+        client.download(torrent("a1"), "a", listener);
+        client.download(torrent("a2"), "a", listener);
+        client.download(torrent("a3"), "a", listener);
+        client.download(torrent("b1"), "b", listener);
+
+        for (int i = 0; i < 5; i++) {
+            fake.complete(i, FILE);
+        }
+        assertEquals(names("active", "a1", "b1", "a2", "a3"),
+                     names(fake.getStarted()));
+    }
+
+    @Test
+    public void testAdmitAndRemoveWaiting() throws Exception {
+        ScheduledTorrentClient client = new ScheduledTorrentClient(fake, 1, 1);
+        Recorder listener = new Recorder();
+        Torrent active = torrent("active");
+        Torrent waiting = torrent("waiting");
+        client.download(active, "ks", listener);
+        assertTrue(client.admit(0, TimeUnit.MILLISECONDS));
+        client.download(waiting, "ks", listener);
+        assertFalse(client.admit(10, TimeUnit.MILLISECONDS));
+
+        // A waiting download is cancelled without reaching the client.
+        assertTrue(client.remove(waiting));
+        assertEquals(1, listener.failed.size());
+        assertSame(waiting, listener.failed.get(0));
+        assertTrue(fake.getRemoved().isEmpty());
+        assertTrue(client.admit(0, TimeUnit.MILLISECONDS));
+
+        // A started download is removed from the client.
+        client.remove(active);
+        assertEquals(1, fake.getRemoved().size());
+        assertEquals(1, fake.getStarted().size());
+    }
+
+    private static List<String> names(String... names) {
+        return Arrays.asList(names);
+    }
+
+    private static List<String> names(List<Torrent> torrents) {
+        List<String> names = Lists.newArrayList();
+        for (Torrent torrent : torrents) {
+            names.add(torrent.getName());
+        }
+        return names;
+    }
+
+    private static class Recorder implements TorrentListener {
+
+        final List<Torrent> downloaded = Lists.newArrayList();
+        final List<Torrent> failed = Lists.newArrayList();
+
+        public synchronized void fileDownloaded(Torrent torrent, File file) {
+            downloaded.add(torrent);
+        }
+
+        public synchronized void downloadFailed(Torrent torrent,
+                                                TorrentException e) {
+            failed.add(torrent);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+* Licensed to the Apache Software Foundation (ASF) under one
+* or more contributor license agreements.  See the NOTICE file
+* distributed with this work for additional information
+* regarding copyright ownership.  The ASF licenses this file
+* to you under the Apache License, Version 2.0 (the
+* "License"); you may not use this file except in compliance
+* with the License.  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+package org.apache.cassandra.db;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.apache.cassandra.db.filter.QueryPath;
+import org.apache.cassandra.net.Message;
+import org.apache.cassandra.service.StorageService;
+import org.apache.cassandra.utils.FBUtilities;
+
+import edu.berkeley.poseidon.BlobDurability;
+import edu.berkeley.poseidon.RowMutationTorrentVerbHandler;
+
+public class HintedHandOffManagerTest
+{
+    @Test
+    public void testHintIsAcknowledgedBeforeItsBlobs() throws IOException
+    {
+        // Standard1 acknowledges ordinary mutations only once their blobs have downloaded
+        RowMutation rm = new RowMutation("Keyspace1", "key1");
+        rm.add(new QueryPath("Standard1", null, "Column1".getBytes()), "value".getBytes(), 0);
+        assertEquals(BlobDurability.BLOB, BlobDurability.of(rm));
+
+        Message message = HintedHandOffManager.makeHintMessage(rm);
+        assertEquals(StorageService.Verb.MUTATION_TORRENT, message.getVerb());
+        assertEquals(BlobDurability.METADATA, BlobDurability.of(message));
+        assertTrue(Arrays.equals(FBUtilities.getLocalAddress().getAddress(),
+                                 message.getHeader(RowMutationTorrentVerbHandler.SEEDER)));
+    }
+}